@@ -0,0 +1,171 @@
+package de.dbmigration.core;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Properties;
+
+import de.dbmigration.util.Logger;
+
+/**
+ * Speichert je Tabelle die Hochwassermarke des letzten inkrementellen Exports.
+ * 
+ * Die Marke ist der höchste exportierte Wert der Änderungsspalte (oder von ORA_ROWSCN).
+ * Sie wird in einer Properties-Datei mit Typkennung abgelegt (T = Zeitstempel, N = Zahl, S = Text),
+ * damit sie beim nächsten Lauf mit dem passenden Typ gebunden werden kann.
+ */
+public class Hochwassermarken {
+    private final File datei;
+    private final Properties marken = new Properties();
+    
+    /**
+     * Bereich eines inkrementellen Exports: alle Zeilen mit von &lt; spalte &lt;= bis.
+     */
+    public static class Bereich {
+        private final String spalte;
+        private final Object von;
+        private final Object bis;
+        
+        public Bereich(String spalte, Object von, Object bis) {
+            this.spalte = spalte;
+            this.von = von;
+            this.bis = bis;
+        }
+        
+        public String getSpalte() { return spalte; }
+        public Object getVon() { return von; }
+        public Object getBis() { return bis; }
+        
+        /**
+         * Gibt die WHERE-Bedingung mit Bind-Parametern für die Grenzen zurück.
+         * Ohne obere Grenze enthält die Tabelle keine Werte in der Änderungsspalte.
+         */
+        public String getBedingung() {
+            if (bis == null) {
+                return "1 = 0";
+            }
+            return von == null ? spalte + " <= ?" : spalte + " > ? AND " + spalte + " <= ?";
+        }
+        
+        /**
+         * Setzt die Grenzen ab dem angegebenen Parameterindex.
+         * 
+         * @param stmt Das vorbereitete Statement der Datenabfrage
+         * @param index Der Index des ersten Parameters
+         * @throws SQLException Bei Datenbankfehlern
+         */
+        public void bindeParameter(PreparedStatement stmt, int index) throws SQLException {
+            if (bis == null) {
+                return;
+            }
+            if (von != null) {
+                stmt.setObject(index++, von);
+            }
+            stmt.setObject(index, bis);
+        }
+        
+        @Override
+        public String toString() {
+            return spalte + " (" + (von == null ? "Erstexport" : "> " + von) + ", <= " + bis + ")";
+        }
+    }
+    
+    /**
+     * Lädt die Hochwassermarken aus der Datei, sofern sie existiert.
+     * 
+     * @param datei Die Datei mit den Hochwassermarken
+     * @throws IOException Wenn die vorhandene Datei nicht gelesen werden kann
+     */
+    public Hochwassermarken(File datei) throws IOException {
+        this.datei = datei;
+        if (datei.exists()) {
+            try (InputStream ein = new FileInputStream(datei)) {
+                marken.load(ein);
+            }
+            Logger.info(marken.size() + " Hochwassermarken gelesen aus " + datei.getPath());
+        }
+    }
+    
+    /**
+     * Gibt die Hochwassermarke einer Tabelle zurück.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Die Marke als Timestamp, BigDecimal oder String, null vor dem ersten Export
+     */
+    public synchronized Object getMarke(String tabellenname) {
+        return dekodiereWert(marken.getProperty(tabellenname.toUpperCase()));
+    }
+    
+    /**
+     * Setzt die Hochwassermarke einer Tabelle und schreibt die Datei sofort,
+     * damit ein späterer Abbruch die bereits exportierten Tabellen nicht erneut exportiert.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @param marke Die neue Marke (Timestamp, Zahl oder Text)
+     * @throws IOException Bei Fehlern beim Schreiben der Datei
+     */
+    public synchronized void setzeMarke(String tabellenname, Object marke) throws IOException {
+        marken.setProperty(tabellenname.toUpperCase(), kodiereWert(marke));
+        
+        // Über eine temporäre Datei schreiben, damit die Marken nie halb geschrieben sind
+        File verzeichnis = datei.getAbsoluteFile().getParentFile();
+        if (verzeichnis != null) {
+            verzeichnis.mkdirs();
+        }
+        File tempDatei = new File(datei.getPath() + ".tmp");
+        try (OutputStream aus = new FileOutputStream(tempDatei)) {
+            marken.store(aus, "Hochwassermarken des inkrementellen Exports");
+        }
+        Files.move(tempDatei.toPath(), datei.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Wandelt einen Schlüsselwert mit Typkennung in Text um (T = Zeitstempel, N = Zahl, S = Text).
+     * 
+     * @param wert Der Wert oder null
+     * @return Der Wert als Text mit Typkennung, null für null
+     */
+    static String kodiereWert(Object wert) {
+        if (wert == null) {
+            return null;
+        } else if (wert instanceof Timestamp) {
+            return "T:" + wert;
+        } else if (wert instanceof BigDecimal) {
+            return "N:" + ((BigDecimal) wert).toPlainString();
+        } else if (wert instanceof Number) {
+            return "N:" + wert;
+        }
+        return "S:" + wert;
+    }
+    
+    /**
+     * Liest einen mit kodiereWert umgewandelten Wert mit seinem ursprünglichen Typ zurück.
+     * 
+     * @param text Der Wert als Text mit Typkennung oder null
+     * @return Der Wert als Timestamp, BigDecimal oder String, null für null
+     */
+    static Object dekodiereWert(String text) {
+        if (text == null || text.length() < 2) {
+            return null;
+        }
+        
+        String inhalt = text.substring(2);
+        switch (text.charAt(0)) {
+            case 'T':
+                return Timestamp.valueOf(inhalt);
+            case 'N':
+                return new BigDecimal(inhalt);
+            default:
+                return inhalt;
+        }
+    }
+}
@@ -24,19 +24,83 @@ public class Konfiguration {
     private static final String KEY_POSTGRES_BENUTZER = "postgres.benutzer";
     private static final String KEY_POSTGRES_PASSWORT = "postgres.passwort";
     private static final String KEY_AUSGABE_PFAD = "ausgabe.pfad";
+    private static final String KEY_AUSGABE_PUFFER_KB = "ausgabe.puffer.kb";
+    private static final String KEY_DATEN_FORMAT = "daten.format";
+    private static final String KEY_INSERT_BATCH_ZEILEN = "insert.batch.zeilen";
+    private static final String KEY_INSERT_BATCH_MAX_KB = "insert.batch.max.kb";
+    private static final String KEY_PARALLEL_WORKER = "parallel.worker";
+    private static final String KEY_PLANUNG_NACH_GROESSE = "planung.nach.groesse";
+    private static final String KEY_PRIORITAET = "prioritaet";
+    private static final String KEY_CHUNK_SCHWELLE_ZEILEN = "chunk.schwelle.zeilen";
+    private static final String KEY_CHUNK_SCHWELLE_MB = "chunk.schwelle.mb";
+    private static final String KEY_CHUNK_ANZAHL = "chunk.anzahl";
+    private static final String KEY_CHUNK_WORKER = "chunk.worker";
+    private static final String KEY_CHUNK_METHODE = "chunk.methode";
+    private static final String KEY_ORACLE_POOL_GROESSE = "oracle.pool.groesse";
+    private static final String KEY_ORACLE_POOL_MIN = "oracle.pool.min";
+    private static final String KEY_POOL_WARTEZEIT_SEKUNDEN = "pool.wartezeit.sekunden";
+    private static final String KEY_FETCHSIZE = "fetchsize";
+    private static final String KEY_FETCHSIZE_AUTO_ZIEL_KB = "fetchsize.auto.ziel.kb";
+    private static final String KEY_LOB_PREFETCH = "lob.prefetch";
+    private static final String KEY_LOB_AUSLAGERN_AB_KB = "lob.auslagern.ab.kb";
+    private static final String KEY_LOB_AUSLAGERN_SERVERPFAD = "lob.auslagern.serverpfad";
+    private static final String KEY_HINT = "hint";
+    private static final String KEY_HINT_PARALLEL_AB_MB = "hint.parallel.ab.mb";
+    private static final String KEY_HINT_PARALLEL_MB_JE_SERVER = "hint.parallel.mb.je.server";
+    private static final String KEY_HINT_PARALLEL_MAX = "hint.parallel.max";
+    private static final String KEY_DROSSEL_ZEILEN_JE_SEKUNDE = "drossel.zeilen.je.sekunde";
+    private static final String KEY_DROSSEL_KB_JE_SEKUNDE = "drossel.kb.je.sekunde";
+    private static final String KEY_DROSSEL_WORKER_ZEILEN_JE_SEKUNDE = "drossel.worker.zeilen.je.sekunde";
+    private static final String KEY_DROSSEL_WORKER_KB_JE_SEKUNDE = "drossel.worker.kb.je.sekunde";
+    private static final String KEY_DROSSEL_LATENZ_BASIS_MS = "drossel.latenz.basis.ms";
+    private static final String KEY_DROSSEL_LATENZ_FAKTOR = "drossel.latenz.faktor";
+    private static final String KEY_KODIERER_GENERIEREN = "kodierer.generieren";
+    private static final String KEY_KODIERER_AB_SPALTEN = "kodierer.ab.spalten";
+    private static final String KEY_ORACLE_TYPISIERT_LESEN = "oracle.typisiert.lesen";
+    private static final String KEY_SCHEMA_CACHE_VERZEICHNIS = "schema.cache.verzeichnis";
+    private static final String KEY_SNAPSHOT = "snapshot";
+    private static final String KEY_SNAPSHOT_LAUFZEIT_MINUTEN = "snapshot.laufzeit.minuten";
+    private static final String KEY_INKREMENTELL_SPALTE = "inkrementell.spalte";
+    private static final String KEY_INKREMENTELL_HWM_DATEI = "inkrementell.hwm.datei";
+    private static final String KEY_FILTER = "filter";
+    private static final String KEY_QUERY = "query";
+    private static final String KEY_SAMPLE_PROZENT = "sample.prozent";
+    private static final String KEY_SAMPLE_METHODE = "sample.methode";
+    private static final String KEY_SAMPLE_SEED = "sample.seed";
+    private static final String KEY_TEILMENGE_WURZELN = "teilmenge.wurzeln";
+    private static final String KEY_TEILMENGE_KINDER = "teilmenge.kinder";
+    private static final String KEY_TEILMENGE_CHUNK_ZEILEN = "teilmenge.chunk.zeilen";
     private static final String KEY_ORDNER_ERSTELLEN = "ordner.erstellen";
     private static final String KEY_SEQUENZEN_MIGRIEREN = "sequenzen.migrieren";
     private static final String KEY_INDIZES_MIGRIEREN = "indizes.migrieren";
     private static final String KEY_CONSTRAINTS_MIGRIEREN = "constraints.migrieren";
     private static final String KEY_VIEWS_MIGRIEREN = "views.migrieren";
+    private static final String KEY_PARTITIONEN_MIGRIEREN = "partitionen.migrieren";
     private static final String KEY_ALLE_TABELLEN_MIGRIEREN = "alle.tabellen.migrieren";
     private static final String KEY_SEQUENZEN_BLACKLIST = "sequenzen.blacklist";
     private static final String KEY_INDIZES_BLACKLIST = "indizes.blacklist";
     private static final String KEY_CONSTRAINTS_BLACKLIST = "constraints.blacklist";
     private static final String KEY_VIEWS_BLACKLIST = "views.blacklist";
     
+    // Mögliche Werte für daten.format
+    public static final String DATEN_FORMAT_INSERT = "insert";
+    public static final String DATEN_FORMAT_COPY = "copy";
+    public static final String DATEN_FORMAT_BINAER = "binaer";
+    
+    // Verfahren für die Aufteilung großer Tabellen in Chunks
+    public static final String CHUNK_METHODE_ROWID = "rowid";
+    public static final String CHUNK_METHODE_PK = "pk";
+    
+    // Verfahren für Stichproben: ganze Blöcke (SAMPLE BLOCK) oder einzelne Zeilen (SAMPLE)
+    public static final String STICHPROBE_METHODE_BLOCK = "block";
+    public static final String STICHPROBE_METHODE_ZEILEN = "zeilen";
+    
+    // Wert von getFetchSize für die automatische Ermittlung aus AVG_ROW_LEN
+    public static final int FETCHSIZE_AUTO = -1;
+    
     // Datenbank-Verbindungsinformationen
     private String oracleUrl;
+    private List<String> oracleQuellUrls;
     private String oracleBenutzer;
     private String oraclePasswort;
     private String postgresUrl;
@@ -47,6 +111,7 @@ public class Konfiguration {
     private String datenbankName;
     private String umgebung;
     private String zeitstempel;
+    private boolean fortsetzen; // Abgebrochenen Lauf anhand des Migrationsjournals fortsetzen (--resume)
     
     // Listen für Tabellennamen
     private List<String> whitelist; // Tabellen, die migriert werden sollen
@@ -71,6 +136,98 @@ public class Konfiguration {
     // Ausgabepfad für SQL-Dateien
     private String ausgabePfad;
     
+    // Puffergröße in Bytes für das Schreiben der Datendateien
+    private int ausgabePufferGroesse;
+    
+    // Ausgabeformat für die Tabellendaten (insert, copy oder binaer)
+    private String datenFormat;
+    
+    // Anzahl Zeilen je INSERT-Statement (global und je Tabelle) sowie maximale Statementgröße in Bytes
+    private int insertBatchZeilen;
+    private Map<String, String> insertBatchZeilenTabellen;
+    private long insertBatchMaxGroesse;
+    
+    // Anzahl paralleler Worker für die Tabellenmigration (je Worker eine Oracle-Sitzung)
+    private int parallelWorker;
+    
+    // Große Tabellen zuerst beginnen, Prioritätsklassen je Tabelle (höher = früher)
+    private boolean planungNachGroesse;
+    private Map<String, String> prioritaetTabellen;
+    
+    // Aufteilung großer Tabellen in Chunks, die parallel auf eigenen Sitzungen gelesen werden
+    private long chunkSchwelleZeilen;
+    private long chunkSchwelleMb;
+    private Map<String, String> chunkSchwelleZeilenTabellen;
+    private Map<String, String> chunkSchwelleMbTabellen;
+    private int chunkAnzahl;
+    private int chunkWorker;
+    private String chunkMethode;
+    
+    // Größen der Verbindungspools und maximale Wartezeit auf eine freie Verbindung
+    private int oraclePoolGroesse;
+    private int oraclePoolMin;
+    private int poolWartezeitSekunden;
+    
+    // Fetch-Size (0 = Treiberstandard, FETCHSIZE_AUTO = aus AVG_ROW_LEN) und LOB-Prefetch in Bytes, global und je Tabelle
+    private int fetchSize;
+    private Map<String, String> fetchSizeTabellen;
+    private long fetchSizeZielBytes;
+    private int lobPrefetch;
+    private Map<String, String> lobPrefetchTabellen;
+    
+    // Optimizer-Hints für die Datenabfragen (global und je Tabelle) und automatischer Parallelitätsgrad
+    private String hint;
+    private Map<String, String> hintTabellen;
+    private long hintParallelAbBytes;
+    private long hintParallelBytesJeServer;
+    private int hintParallelMax;
+    
+    // Drossel der Extraktion: Grenzen gesamt und je Worker (0 = unbegrenzt), Rückzug bei steigender Fetch-Latenz
+    private long drosselZeilenJeSekunde;
+    private long drosselKbJeSekunde;
+    private long drosselWorkerZeilenJeSekunde;
+    private long drosselWorkerKbJeSekunde;
+    private long drosselLatenzBasisMs;
+    private double drosselLatenzFaktor;
+    
+    // Für die Tabellenform erzeugte Zeilenkodierer, nur für Tabellen ab einer Spaltenzahl
+    private boolean kodiererGenerieren;
+    private int kodiererAbSpalten;
+    
+    // Ganzzahlige NUMBER-Spalten und Zeitstempel mit typisierten Gettern lesen
+    private boolean oracleTypisiertLesen;
+    
+    // Große LOBs im INSERT-Format in Nebendateien auslagern (0 = nie) und deren Pfad auf dem PostgreSQL-Server
+    private long lobAuslagernAbBytes;
+    private String lobAuslagernServerpfad;
+    
+    // Verzeichnis für den Schema-Cache zwischen den Läufen (null = kein Cache)
+    private String schemaCacheVerzeichnis;
+    
+    // Alle Datenabfragen auf einer gemeinsamen SCN lesen und die dafür geplante Laufzeit
+    private boolean snapshot;
+    private int snapshotLaufzeitMinuten;
+    
+    // Änderungsspalte je Tabelle für den inkrementellen Export und Datei der Hochwassermarken
+    private Map<String, String> inkrementSpalteTabellen;
+    private String hochwassermarkenDatei;
+    
+    // Zeilenfilter (WHERE-Bedingung) und eigene Quellabfrage je Tabelle, werden in Oracle ausgeführt
+    private Map<String, String> filterTabellen;
+    private Map<String, String> abfrageTabellen;
+    
+    // Stichprobe in Prozent (0 = vollständiger Export), Verfahren und fester SEED (null = zufällig)
+    private double stichprobeProzent;
+    private Map<String, String> stichprobeProzentTabellen;
+    private String stichprobeMethode;
+    private Map<String, String> stichprobeMethodeTabellen;
+    private Long stichprobeSeed;
+    
+    // Referenziell vollständige Teilmenge: Wurzeltabellen, Kindzeilen verfolgen, Schlüssel je Chunk
+    private List<String> teilmengeWurzeln;
+    private boolean teilmengeKinderFolgen;
+    private int teilmengeChunkZeilen;
+    
     // Ordnernamen für verschiedene Objekttypen
     private String ordnerTablesCreate = "tables_create";
     private String ordnerTablesInserts = "tables_inserts";
@@ -86,6 +243,9 @@ public class Konfiguration {
     private boolean viewsMigrieren;
     private boolean alleTabellenMigrieren;
     
+    // Partitionierte Tabellen als deklarativ partitionierte Tabellen anlegen und je Partition lesen
+    private boolean partitionenMigrieren;
+    
     // Spalten-Optionen
     private boolean spaltenNullConstraintsUebertragen;
     private boolean spaltenDefaultWerteUebertragen;
@@ -108,6 +268,15 @@ public class Konfiguration {
         
         // Datenbank-Verbindungsinformationen
         this.oracleUrl = properties.getProperty(KEY_ORACLE_URL, "");
+        
+        // Gleichwertige Quellen für die Worker (oracle.url.1 bis oracle.url.n), ohne Angabe oracle.url
+        this.oracleQuellUrls = new ArrayList<>();
+        for (int i = 1; properties.getProperty(KEY_ORACLE_URL + "." + i) != null; i++) {
+            this.oracleQuellUrls.add(properties.getProperty(KEY_ORACLE_URL + "." + i).trim());
+        }
+        if (this.oracleQuellUrls.isEmpty()) {
+            this.oracleQuellUrls.add(this.oracleUrl);
+        }
         this.oracleBenutzer = properties.getProperty(KEY_ORACLE_BENUTZER, "");
         this.oraclePasswort = properties.getProperty(KEY_ORACLE_PASSWORT, "");
         this.postgresUrl = properties.getProperty(KEY_POSTGRES_URL, "");
@@ -116,6 +285,25 @@ public class Konfiguration {
         
         // Ausgabepfad
         this.ausgabePfad = properties.getProperty(KEY_AUSGABE_PFAD, "output");
+        int ausgabePufferKb = Integer.parseInt(properties.getProperty(KEY_AUSGABE_PUFFER_KB, "1024").trim());
+        if (ausgabePufferKb <= 0 || ausgabePufferKb > Integer.MAX_VALUE / 1024) {
+            Logger.warnung("Ungültige Puffergröße " + KEY_AUSGABE_PUFFER_KB + "=" + ausgabePufferKb + ", verwende 1024");
+            ausgabePufferKb = 1024;
+        }
+        this.ausgabePufferGroesse = ausgabePufferKb * 1024;
+        
+        // Ausgabeformat für Tabellendaten
+        this.datenFormat = properties.getProperty(KEY_DATEN_FORMAT, DATEN_FORMAT_INSERT).trim().toLowerCase();
+        if (!DATEN_FORMAT_INSERT.equals(this.datenFormat) && !DATEN_FORMAT_COPY.equals(this.datenFormat)
+                && !DATEN_FORMAT_BINAER.equals(this.datenFormat)) {
+            Logger.warnung("Unbekanntes Datenformat '" + this.datenFormat + "', verwende " + DATEN_FORMAT_INSERT);
+            this.datenFormat = DATEN_FORMAT_INSERT;
+        }
+        
+        // Parallele Tabellenmigration
+        this.parallelWorker = Math.max(1, Integer.parseInt(properties.getProperty(KEY_PARALLEL_WORKER, "1").trim()));
+        this.planungNachGroesse = Boolean.parseBoolean(properties.getProperty(KEY_PLANUNG_NACH_GROESSE, "true").trim());
+        this.prioritaetTabellen = leseTabellenEinstellungen(properties, KEY_PRIORITAET);
         
         // Ordnerstrukturen
         this.ordnerErstellen = Boolean.parseBoolean(properties.getProperty(KEY_ORDNER_ERSTELLEN, "true"));
@@ -126,6 +314,7 @@ public class Konfiguration {
         this.constraintsMigrieren = Boolean.parseBoolean(properties.getProperty(KEY_CONSTRAINTS_MIGRIEREN, "true"));
         this.viewsMigrieren = Boolean.parseBoolean(properties.getProperty(KEY_VIEWS_MIGRIEREN, "true"));
         this.alleTabellenMigrieren = Boolean.parseBoolean(properties.getProperty(KEY_ALLE_TABELLEN_MIGRIEREN, "true"));
+        this.partitionenMigrieren = Boolean.parseBoolean(properties.getProperty(KEY_PARTITIONEN_MIGRIEREN, "false"));
         
         // Spaltenoptionen
         this.spaltenNullConstraintsUebertragen = Boolean.parseBoolean(properties.getProperty("spalten.null.constraints.uebertragen", "true"));
@@ -155,6 +344,54 @@ public class Konfiguration {
         // Map für Wertetransformationen initialisieren
         initializeValueTransformations(properties);
         
+        // Einstellungen für mehrzeilige INSERT-Statements
+        initializeInsertBatches(properties);
+        
+        // Einstellungen für die Chunk-weise Extraktion großer Tabellen
+        initializeChunks(properties);
+        
+        // Größen der Verbindungspools (nach den Worker-Einstellungen, da diese die Standardwerte bestimmen)
+        initializePools(properties);
+        
+        // Fetch-Size und LOB-Prefetch für die Datenabfragen
+        initializeFetchSize(properties);
+        
+        // Schema-Cache für die Metadaten aus dem Data Dictionary
+        String cacheVerzeichnis = properties.getProperty(KEY_SCHEMA_CACHE_VERZEICHNIS, "schema_cache").trim();
+        this.schemaCacheVerzeichnis = cacheVerzeichnis.isEmpty() ? null : cacheVerzeichnis;
+        
+        // Konsistenter Snapshot über alle Oracle-Sitzungen
+        this.snapshot = Boolean.parseBoolean(properties.getProperty(KEY_SNAPSHOT, "false").trim());
+        this.snapshotLaufzeitMinuten = Integer.parseInt(properties.getProperty(KEY_SNAPSHOT_LAUFZEIT_MINUTEN, "60").trim());
+        
+        // Inkrementeller Export über eine Änderungsspalte je Tabelle
+        this.inkrementSpalteTabellen = leseTabellenEinstellungen(properties, KEY_INKREMENTELL_SPALTE);
+        this.hochwassermarkenDatei = properties.getProperty(KEY_INKREMENTELL_HWM_DATEI, "hochwassermarken.properties").trim();
+        
+        // Zeilenfilter und Quellabfragen je Tabelle
+        this.filterTabellen = leseTabellenEinstellungen(properties, KEY_FILTER);
+        this.abfrageTabellen = leseTabellenEinstellungen(properties, KEY_QUERY);
+        
+        // Stichproben für Test- und Entwicklungsumgebungen
+        this.stichprobeProzent = Double.parseDouble(properties.getProperty(KEY_SAMPLE_PROZENT, "0").trim());
+        this.stichprobeProzentTabellen = leseTabellenEinstellungen(properties, KEY_SAMPLE_PROZENT);
+        this.stichprobeMethode = properties.getProperty(KEY_SAMPLE_METHODE, STICHPROBE_METHODE_BLOCK).trim().toLowerCase();
+        this.stichprobeMethodeTabellen = leseTabellenEinstellungen(properties, KEY_SAMPLE_METHODE);
+        String seed = properties.getProperty(KEY_SAMPLE_SEED, "").trim();
+        this.stichprobeSeed = seed.isEmpty() ? null : Long.valueOf(seed);
+        
+        // Teilmenge entlang der Fremdschlüssel, ausgehend von den gefilterten Wurzeltabellen
+        this.teilmengeWurzeln = new ArrayList<>();
+        for (String wurzel : properties.getProperty(KEY_TEILMENGE_WURZELN, "").split(",")) {
+            if (!wurzel.trim().isEmpty()) {
+                this.teilmengeWurzeln.add(wurzel.trim());
+            }
+        }
+        this.teilmengeKinderFolgen = Boolean.parseBoolean(properties.getProperty(KEY_TEILMENGE_KINDER, "true").trim());
+        // Oracle erlaubt höchstens 65535 Bind-Parameter je Statement
+        this.teilmengeChunkZeilen = Math.max(1, Math.min(60000,
+                Integer.parseInt(properties.getProperty(KEY_TEILMENGE_CHUNK_ZEILEN, "50000").trim())));
+        
         Logger.info("Konfiguration aus Datei '" + dateiPfad + "' geladen");
     }
     
@@ -237,6 +474,128 @@ public class Konfiguration {
         }
     }
     
+    /**
+     * Initialisiert die Einstellungen für mehrzeilige INSERT-Statements.
+     * 
+     * @param properties Die Properties aus der Konfigurationsdatei
+     */
+    private void initializeInsertBatches(Properties properties) {
+        this.insertBatchZeilen = Math.max(1, Integer.parseInt(properties.getProperty(KEY_INSERT_BATCH_ZEILEN, "1").trim()));
+        this.insertBatchMaxGroesse = Long.parseLong(properties.getProperty(KEY_INSERT_BATCH_MAX_KB, "1024").trim()) * 1024;
+        
+        // Format: tabelle.TABELLENNAME.insert.batch.zeilen=500
+        this.insertBatchZeilenTabellen = leseTabellenEinstellungen(properties, KEY_INSERT_BATCH_ZEILEN);
+    }
+    
+    /**
+     * Initialisiert die Einstellungen für die Chunk-weise Extraktion großer Tabellen.
+     * Ein Schwellwert von 0 deaktiviert die jeweilige Prüfung.
+     * 
+     * @param properties Die Properties aus der Konfigurationsdatei
+     */
+    private void initializeChunks(Properties properties) {
+        this.chunkSchwelleZeilen = Long.parseLong(properties.getProperty(KEY_CHUNK_SCHWELLE_ZEILEN, "0").trim());
+        this.chunkSchwelleMb = Long.parseLong(properties.getProperty(KEY_CHUNK_SCHWELLE_MB, "0").trim());
+        this.chunkAnzahl = Math.max(1, Integer.parseInt(properties.getProperty(KEY_CHUNK_ANZAHL, "8").trim()));
+        this.chunkWorker = Math.max(1, Integer.parseInt(properties.getProperty(KEY_CHUNK_WORKER, "4").trim()));
+        
+        this.chunkMethode = properties.getProperty(KEY_CHUNK_METHODE, CHUNK_METHODE_ROWID).trim().toLowerCase();
+        if (!CHUNK_METHODE_ROWID.equals(this.chunkMethode) && !CHUNK_METHODE_PK.equals(this.chunkMethode)) {
+            Logger.warnung("Unbekannte Chunk-Methode '" + this.chunkMethode + "', verwende " + CHUNK_METHODE_ROWID);
+            this.chunkMethode = CHUNK_METHODE_ROWID;
+        }
+        
+        // Format: tabelle.TABELLENNAME.chunk.schwelle.zeilen=50000000
+        this.chunkSchwelleZeilenTabellen = leseTabellenEinstellungen(properties, KEY_CHUNK_SCHWELLE_ZEILEN);
+        this.chunkSchwelleMbTabellen = leseTabellenEinstellungen(properties, KEY_CHUNK_SCHWELLE_MB);
+    }
+    
+    /**
+     * Initialisiert die Größen der Verbindungspools. Die Standardgröße des Oracle-Pools reicht
+     * für alle Tabellen-Worker samt ihrer Chunk-Worker und die Hauptverbindung.
+     * 
+     * @param properties Die Properties aus der Konfigurationsdatei
+     */
+    private void initializePools(Properties properties) {
+        String oracleStandard = String.valueOf(1 + this.parallelWorker * (1 + this.chunkWorker));
+        String oracleMinStandard = String.valueOf(this.parallelWorker > 1 ? this.parallelWorker + 1 : 1);
+        
+        this.oraclePoolGroesse = Integer.parseInt(properties.getProperty(KEY_ORACLE_POOL_GROESSE, oracleStandard).trim());
+        this.oraclePoolMin = Integer.parseInt(properties.getProperty(KEY_ORACLE_POOL_MIN, oracleMinStandard).trim());
+        this.poolWartezeitSekunden = Integer.parseInt(properties.getProperty(KEY_POOL_WARTEZEIT_SEKUNDEN, "300").trim());
+    }
+    
+    /**
+     * Initialisiert Fetch-Size und LOB-Prefetch für die Datenabfragen.
+     * 
+     * @param properties Die Properties aus der Konfigurationsdatei
+     */
+    private void initializeFetchSize(Properties properties) {
+        this.fetchSize = parseFetchSize(properties.getProperty(KEY_FETCHSIZE, "0"));
+        this.fetchSizeZielBytes = Long.parseLong(properties.getProperty(KEY_FETCHSIZE_AUTO_ZIEL_KB, "2048").trim()) * 1024;
+        this.lobPrefetch = Integer.parseInt(properties.getProperty(KEY_LOB_PREFETCH, "0").trim());
+        
+        // Format: tabelle.TABELLENNAME.fetchsize=5000 bzw. auto
+        this.fetchSizeTabellen = leseTabellenEinstellungen(properties, KEY_FETCHSIZE);
+        this.lobPrefetchTabellen = leseTabellenEinstellungen(properties, KEY_LOB_PREFETCH);
+        
+        this.lobAuslagernAbBytes = Long.parseLong(properties.getProperty(KEY_LOB_AUSLAGERN_AB_KB, "0").trim()) * 1024;
+        String serverpfad = properties.getProperty(KEY_LOB_AUSLAGERN_SERVERPFAD, "").trim();
+        this.lobAuslagernServerpfad = serverpfad.isEmpty() ? null : serverpfad;
+        
+        // Optimizer-Hints, PARALLEL automatisch ab einer Segmentgröße (0 = nie)
+        this.hint = properties.getProperty(KEY_HINT, "");
+        this.hintTabellen = leseTabellenEinstellungen(properties, KEY_HINT);
+        this.hintParallelAbBytes = Long.parseLong(properties.getProperty(KEY_HINT_PARALLEL_AB_MB, "0").trim()) * 1024 * 1024;
+        this.hintParallelBytesJeServer = Math.max(1, Long.parseLong(properties.getProperty(KEY_HINT_PARALLEL_MB_JE_SERVER, "2048").trim())) * 1024 * 1024;
+        this.hintParallelMax = Math.max(2, Integer.parseInt(properties.getProperty(KEY_HINT_PARALLEL_MAX, "8").trim()));
+        
+        // Drossel der Extraktion, Latenzregelung nur mit Basislatenz (0 = aus)
+        this.drosselZeilenJeSekunde = Long.parseLong(properties.getProperty(KEY_DROSSEL_ZEILEN_JE_SEKUNDE, "0").trim());
+        this.drosselKbJeSekunde = Long.parseLong(properties.getProperty(KEY_DROSSEL_KB_JE_SEKUNDE, "0").trim());
+        this.drosselWorkerZeilenJeSekunde = Long.parseLong(properties.getProperty(KEY_DROSSEL_WORKER_ZEILEN_JE_SEKUNDE, "0").trim());
+        this.drosselWorkerKbJeSekunde = Long.parseLong(properties.getProperty(KEY_DROSSEL_WORKER_KB_JE_SEKUNDE, "0").trim());
+        this.drosselLatenzBasisMs = Long.parseLong(properties.getProperty(KEY_DROSSEL_LATENZ_BASIS_MS, "0").trim());
+        this.drosselLatenzFaktor = Math.max(1.0, Double.parseDouble(properties.getProperty(KEY_DROSSEL_LATENZ_FAKTOR, "2").trim()));
+        
+        // Erzeugte Zeilenkodierer (benötigt ein JDK zur Laufzeit)
+        this.kodiererGenerieren = Boolean.parseBoolean(properties.getProperty(KEY_KODIERER_GENERIEREN, "false").trim());
+        this.kodiererAbSpalten = Math.max(1, Integer.parseInt(properties.getProperty(KEY_KODIERER_AB_SPALTEN, "50").trim()));
+        this.oracleTypisiertLesen = Boolean.parseBoolean(properties.getProperty(KEY_ORACLE_TYPISIERT_LESEN, "true").trim());
+    }
+    
+    /**
+     * Wandelt eine Fetch-Size aus der Konfiguration um ("auto" oder eine Zeilenzahl).
+     * 
+     * @param wert Der Wert aus der Konfigurationsdatei
+     * @return Die Fetch-Size, 0 für den Treiberstandard oder FETCHSIZE_AUTO
+     */
+    private static int parseFetchSize(String wert) {
+        wert = wert.trim();
+        return "auto".equalsIgnoreCase(wert) ? FETCHSIZE_AUTO : Math.max(0, Integer.parseInt(wert));
+    }
+    
+    /**
+     * Liest tabellenspezifische Einstellungen der Form tabelle.TABELLENNAME.schluessel=wert ein.
+     * 
+     * @param properties Die Properties aus der Konfigurationsdatei
+     * @param schluessel Der Schlüssel der Einstellung ohne Tabellenpräfix
+     * @return Map von Tabellenname (Großschreibung) auf den Wert
+     */
+    private Map<String, String> leseTabellenEinstellungen(Properties properties, String schluessel) {
+        Map<String, String> einstellungen = new HashMap<>();
+        String suffix = "." + schluessel;
+        
+        for (Object key : properties.keySet()) {
+            String keyStr = key.toString();
+            if (keyStr.startsWith("tabelle.") && keyStr.endsWith(suffix) && keyStr.length() > 8 + suffix.length()) {
+                String tabelle = keyStr.substring(8, keyStr.length() - suffix.length());
+                einstellungen.put(tabelle.toUpperCase(), properties.getProperty(keyStr).trim());
+            }
+        }
+        return einstellungen;
+    }
+    
     /**
      * Initialisiert die Map für Datentyp-Mappings.
      * 
@@ -368,6 +727,10 @@ public class Konfiguration {
         return oracleUrl;
     }
     
+    public List<String> getOracleQuellUrls() {
+        return oracleQuellUrls;
+    }
+    
     public String getOracleBenutzer() {
         return oracleBenutzer;
     }
@@ -392,6 +755,259 @@ public class Konfiguration {
         return ausgabePfad;
     }
     
+    public int getAusgabePufferGroesse() {
+        return ausgabePufferGroesse;
+    }
+    
+    public String getDatenFormat() {
+        return datenFormat;
+    }
+    
+    public int getInsertBatchZeilen(String tabellenName) {
+        String wert = insertBatchZeilenTabellen.get(tabellenName.toUpperCase());
+        return wert != null ? Math.max(1, Integer.parseInt(wert)) : insertBatchZeilen;
+    }
+    
+    public long getInsertBatchMaxGroesse() {
+        return insertBatchMaxGroesse;
+    }
+    
+    public int getParallelWorker() {
+        return parallelWorker;
+    }
+    
+    public boolean isPlanungNachGroesse() {
+        return planungNachGroesse;
+    }
+    
+    /**
+     * Gibt die Prioritätsklasse einer Tabelle zurück (tabelle.X.prioritaet, Standard 0).
+     * Tabellen einer höheren Klasse werden vor denen einer niedrigeren begonnen.
+     */
+    public int getPrioritaet(String tabellenName) {
+        String wert = prioritaetTabellen.get(tabellenName.toUpperCase());
+        return wert != null ? Integer.parseInt(wert.trim()) : 0;
+    }
+    
+    public long getChunkSchwelleZeilen(String tabellenName) {
+        String wert = chunkSchwelleZeilenTabellen.get(tabellenName.toUpperCase());
+        return wert != null ? Long.parseLong(wert) : chunkSchwelleZeilen;
+    }
+    
+    public long getChunkSchwelleBytes(String tabellenName) {
+        String wert = chunkSchwelleMbTabellen.get(tabellenName.toUpperCase());
+        return (wert != null ? Long.parseLong(wert) : chunkSchwelleMb) * 1024 * 1024;
+    }
+    
+    public int getChunkAnzahl() {
+        return chunkAnzahl;
+    }
+    
+    public int getChunkWorker() {
+        return chunkWorker;
+    }
+    
+    public String getChunkMethode() {
+        return chunkMethode;
+    }
+    
+    public int getOraclePoolGroesse() {
+        return oraclePoolGroesse;
+    }
+    
+    public int getOraclePoolMin() {
+        return oraclePoolMin;
+    }
+    
+    public int getPoolWartezeitSekunden() {
+        return poolWartezeitSekunden;
+    }
+    
+    public int getFetchSize(String tabellenName) {
+        String wert = fetchSizeTabellen.get(tabellenName.toUpperCase());
+        return wert != null ? parseFetchSize(wert) : fetchSize;
+    }
+    
+    public long getFetchSizeZielBytes() {
+        return fetchSizeZielBytes;
+    }
+    
+    public int getLobPrefetch(String tabellenName) {
+        String wert = lobPrefetchTabellen.get(tabellenName.toUpperCase());
+        return wert != null ? Integer.parseInt(wert) : lobPrefetch;
+    }
+    
+    /**
+     * Gibt den Optimizer-Hint für die Datenabfrage einer Tabelle ohne die Kommentarzeichen zurück,
+     * z.B. PARALLEL(8) FULL(KUNDEN). Ein leerer Wert je Tabelle hebt den globalen Hint auf.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @return Der Hint oder null, wenn keiner konfiguriert ist
+     */
+    public String getHint(String tabellenName) {
+        String wert = hintTabellen.get(tabellenName.toUpperCase());
+        wert = (wert != null ? wert : hint).trim();
+        if (wert.startsWith("/*+")) {
+            wert = wert.substring(3);
+        }
+        if (wert.endsWith("*/")) {
+            wert = wert.substring(0, wert.length() - 2);
+        }
+        wert = wert.trim();
+        return wert.isEmpty() ? null : wert;
+    }
+    
+    public long getHintParallelAbBytes() {
+        return hintParallelAbBytes;
+    }
+    
+    public long getHintParallelBytesJeServer() {
+        return hintParallelBytesJeServer;
+    }
+    
+    public int getHintParallelMax() {
+        return hintParallelMax;
+    }
+    
+    public long getDrosselZeilenJeSekunde() {
+        return drosselZeilenJeSekunde;
+    }
+    
+    public long getDrosselKbJeSekunde() {
+        return drosselKbJeSekunde;
+    }
+    
+    public long getDrosselWorkerZeilenJeSekunde() {
+        return drosselWorkerZeilenJeSekunde;
+    }
+    
+    public long getDrosselWorkerKbJeSekunde() {
+        return drosselWorkerKbJeSekunde;
+    }
+    
+    public long getDrosselLatenzBasisMs() {
+        return drosselLatenzBasisMs;
+    }
+    
+    public double getDrosselLatenzFaktor() {
+        return drosselLatenzFaktor;
+    }
+    
+    public boolean isKodiererGenerieren() {
+        return kodiererGenerieren;
+    }
+    
+    public int getKodiererAbSpalten() {
+        return kodiererAbSpalten;
+    }
+    
+    public boolean isOracleTypisiertLesen() {
+        return oracleTypisiertLesen;
+    }
+    
+    public long getLobAuslagernAbBytes() {
+        return lobAuslagernAbBytes;
+    }
+    
+    public String getLobAuslagernServerpfad() {
+        return lobAuslagernServerpfad;
+    }
+    
+    public String getSchemaCacheVerzeichnis() {
+        return schemaCacheVerzeichnis;
+    }
+    
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+    
+    public int getSnapshotLaufzeitMinuten() {
+        return snapshotLaufzeitMinuten;
+    }
+    
+    public boolean hatInkrementelleTabellen() {
+        return !inkrementSpalteTabellen.isEmpty();
+    }
+    
+    public String getHochwassermarkenDatei() {
+        return hochwassermarkenDatei;
+    }
+    
+    /**
+     * Gibt die Änderungsspalte für den inkrementellen Export einer Tabelle zurück.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @return Der Spaltenname (auch ORA_ROWSCN) oder null, wenn die Tabelle vollständig exportiert wird
+     */
+    public String getInkrementSpalte(String tabellenName) {
+        String spalte = inkrementSpalteTabellen.get(tabellenName.toUpperCase());
+        return spalte == null || spalte.isEmpty() ? null : spalte.toUpperCase();
+    }
+    
+    /**
+     * Gibt den Anteil der Stichprobe für eine Tabelle zurück. Oracle erlaubt Werte
+     * größer 0 und kleiner 100, alles andere bedeutet einen vollständigen Export.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @return Der Anteil in Prozent oder 0 für einen vollständigen Export
+     */
+    public double getStichprobeProzent(String tabellenName) {
+        String wert = stichprobeProzentTabellen.get(tabellenName.toUpperCase());
+        double prozent = wert != null ? Double.parseDouble(wert) : stichprobeProzent;
+        return prozent > 0 && prozent < 100 ? prozent : 0;
+    }
+    
+    /**
+     * Gibt das Stichprobenverfahren einer Tabelle zurück (STICHPROBE_METHODE_BLOCK oder _ZEILEN).
+     */
+    public String getStichprobeMethode(String tabellenName) {
+        String methode = stichprobeMethodeTabellen.get(tabellenName.toUpperCase());
+        methode = methode != null ? methode.toLowerCase() : stichprobeMethode;
+        return STICHPROBE_METHODE_ZEILEN.equals(methode) ? STICHPROBE_METHODE_ZEILEN : STICHPROBE_METHODE_BLOCK;
+    }
+    
+    public Long getStichprobeSeed() {
+        return stichprobeSeed;
+    }
+    
+    public List<String> getTeilmengeWurzeln() {
+        return teilmengeWurzeln;
+    }
+    
+    public boolean isTeilmengeKinderFolgen() {
+        return teilmengeKinderFolgen;
+    }
+    
+    public int getTeilmengeChunkZeilen() {
+        return teilmengeChunkZeilen;
+    }
+    
+    /**
+     * Gibt den Zeilenfilter einer Tabelle zurück (tabelle.X.filter).
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @return Die WHERE-Bedingung ohne "WHERE" oder null, wenn alle Zeilen exportiert werden
+     */
+    public String getFilter(String tabellenName) {
+        String filter = filterTabellen.get(tabellenName.toUpperCase());
+        return filter == null || filter.isEmpty() ? null : filter;
+    }
+    
+    /**
+     * Gibt die eigene Quellabfrage einer Tabelle zurück (tabelle.X.query), die anstelle
+     * der Tabelle gelesen wird.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @return Das SELECT-Statement ohne abschließendes Semikolon oder null
+     */
+    public String getAbfrage(String tabellenName) {
+        String abfrage = abfrageTabellen.get(tabellenName.toUpperCase());
+        if (abfrage == null || abfrage.isEmpty()) {
+            return null;
+        }
+        return abfrage.endsWith(";") ? abfrage.substring(0, abfrage.length() - 1).trim() : abfrage;
+    }
+    
     public List<String> getWhitelist() {
         return whitelist;
     }
@@ -424,6 +1040,10 @@ public class Konfiguration {
         return viewsMigrieren;
     }
     
+    public boolean isPartitionenMigrieren() {
+        return partitionenMigrieren;
+    }
+    
     public boolean isAlleTabellenMigrieren() {
         return alleTabellenMigrieren;
     }
@@ -492,6 +1112,14 @@ public class Konfiguration {
         this.zeitstempel = zeitstempel;
     }
     
+    public boolean isFortsetzen() {
+        return fortsetzen;
+    }
+    
+    public void setFortsetzen(boolean fortsetzen) {
+        this.fortsetzen = fortsetzen;
+    }
+    
     // Getter-Methoden für Blacklists
     public List<String> getSequenzenBlacklist() {
         return sequenzenBlacklist != null ? sequenzenBlacklist : new ArrayList<>();
@@ -0,0 +1,390 @@
+package de.dbmigration.core;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import de.dbmigration.util.Logger;
+
+/**
+ * Liest LOB- und LONG-Spalten einer Datenabfrage und schreibt sie stückweise in die Ausgabe.
+ * 
+ * CLOB und BLOB werden beim Lesen der Zeile nur als Locator geholt; ihr Inhalt wird erst beim
+ * Schreiben der Zeile in Stücken fester Größe über getCharacterStream/getBinaryStream übertragen,
+ * so dass auch sehr große Werte nie vollständig im Speicher liegen. Binärdaten werden dabei direkt
+ * in die Hex-Darstellung von bytea umgewandelt. Im INSERT-Format können Werte ab einer
+ * konfigurierten Größe in Nebendateien ausgelagert werden, auf die das Statement verweist.
+ * 
+ * Die Zeile wird wie bisher in einem Puffer aufgebaut; für jede LOB-Spalte merkt sich der Leser
+ * die Position im Puffer und fügt den Inhalt beim Schreiben an dieser Stelle ein.
+ */
+public class LobLeser {
+    public static final int ART_KEIN = 0;
+    public static final int ART_CLOB = 1;
+    public static final int ART_BLOB = 2;
+    public static final int ART_LONG = 3;
+    public static final int ART_BINAER = 4;
+    
+    // Größe der Stücke in Zeichen bzw. Bytes beim Streamen
+    private static final int STUECK_GROESSE = 32768;
+    
+    // Geschätzte Länge eines Verweises auf eine Nebendatei für die Batch-Größe
+    private static final int VERWEIS_LAENGE = 200;
+    
+    private static final char[] HEX_ZIFFERN = "0123456789abcdef".toCharArray();
+    
+    private final boolean copyFormat;
+    private final int[] arten;
+    private final boolean hatLobs;
+    private final String[] spaltenNamen;
+    private final File auslagerungsVerzeichnis;
+    private final String dateiPraefix;
+    private final String referenzPfad;
+    private final long auslagernAb;
+    
+    // Zustand der aktuellen Zeile
+    private final Object[] werte;
+    private final long[] laengen;
+    private final int[] positionen;
+    private long zusatzLaenge;
+    
+    private final char[] zeichenPuffer = new char[STUECK_GROESSE];
+    private final byte[] bytePuffer = new byte[STUECK_GROESSE];
+    private final char[] hexPuffer = new char[STUECK_GROESSE * 2];
+    
+    /**
+     * Erstellt den Leser für die Spalten einer Datenabfrage.
+     * 
+     * @param metaData Die Metadaten der Abfrage
+     * @param copyFormat true für das COPY-Textformat, false für INSERT-Statements
+     * @param auslagerungsVerzeichnis Verzeichnis für ausgelagerte Werte (nur INSERT-Format)
+     * @param dateiPraefix Präfix der Dateinamen ausgelagerter Werte (Tabelle und ggf. Chunk)
+     * @param referenzPfad Pfad des Verzeichnisses aus Sicht des PostgreSQL-Servers, null für den lokalen Pfad
+     * @param auslagernAb Größe in Zeichen bzw. Bytes, ab der ein Wert ausgelagert wird (0 = nie)
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public LobLeser(ResultSetMetaData metaData, boolean copyFormat, File auslagerungsVerzeichnis,
+                    String dateiPraefix, String referenzPfad, long auslagernAb) throws SQLException {
+        int spaltenAnzahl = metaData.getColumnCount();
+        this.copyFormat = copyFormat;
+        this.arten = new int[spaltenAnzahl + 1];
+        this.spaltenNamen = new String[spaltenAnzahl + 1];
+        this.werte = new Object[spaltenAnzahl + 1];
+        this.laengen = new long[spaltenAnzahl + 1];
+        this.positionen = new int[spaltenAnzahl + 1];
+        this.auslagerungsVerzeichnis = auslagerungsVerzeichnis;
+        this.dateiPraefix = dateiPraefix;
+        this.referenzPfad = referenzPfad != null ? referenzPfad : auslagerungsVerzeichnis.getAbsolutePath();
+        this.auslagernAb = copyFormat ? 0 : auslagernAb;
+        
+        boolean lobs = false;
+        for (int i = 1; i <= spaltenAnzahl; i++) {
+            arten[i] = ermittleArt(metaData.getColumnTypeName(i));
+            spaltenNamen[i] = metaData.getColumnName(i);
+            lobs |= arten[i] != ART_KEIN;
+        }
+        this.hatLobs = lobs;
+    }
+    
+    /**
+     * Ermittelt, wie eine Spalte eines Oracle-Datentyps gelesen wird.
+     * 
+     * @param oracleTyp Der Typname aus den Metadaten der Abfrage
+     * @return Die Art der Spalte (ART_*), ART_KEIN für gewöhnliche Spalten
+     */
+    public static int ermittleArt(String oracleTyp) {
+        switch (oracleTyp) {
+            case "CLOB":
+            case "NCLOB":
+                return ART_CLOB;
+            case "BLOB":
+                return ART_BLOB;
+            case "LONG":
+                return ART_LONG;
+            case "RAW":
+            case "LONG RAW":
+                return ART_BINAER;
+            default:
+                return ART_KEIN;
+        }
+    }
+    
+    /**
+     * Gibt zurück, ob die Abfrage überhaupt LOB-, LONG- oder RAW-Spalten enthält.
+     */
+    public boolean hatLobs() {
+        return hatLobs;
+    }
+    
+    public boolean istLob(int index) {
+        return arten[index] != ART_KEIN;
+    }
+    
+    /**
+     * Liest eine LOB-Spalte der aktuellen Zeile. Bei CLOB und BLOB wird nur der Locator geholt,
+     * der Inhalt wird erst in schreibeZeile an der aktuellen Position des Puffers eingefügt.
+     * NULL-Werte werden sofort als NULL bzw. \N in den Puffer geschrieben.
+     * 
+     * @param rs Das ResultSet, positioniert auf der aktuellen Zeile
+     * @param index Der Spaltenindex (1-basiert)
+     * @param zeile Der Puffer der aktuellen Zeile
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public void lese(ResultSet rs, int index, StringBuilder zeile) throws SQLException {
+        Object wert;
+        switch (arten[index]) {
+            case ART_CLOB:
+                wert = rs.getClob(index);
+                break;
+            case ART_BLOB:
+                wert = rs.getBlob(index);
+                break;
+            case ART_LONG:
+                // LONG wird als Ganzes gelesen: ein Stream auf LONG setzt den Zeilen-Prefetch des Treibers auf 1
+                wert = rs.getString(index);
+                break;
+            default:
+                wert = rs.getBytes(index);
+        }
+        
+        if (wert == null) {
+            zeile.append(copyFormat ? "\\N" : "NULL");
+            return;
+        }
+        
+        long laenge = ermittleLaenge(wert);
+        werte[index] = wert;
+        laengen[index] = laenge;
+        positionen[index] = zeile.length();
+        zusatzLaenge += sollAuslagern(laenge) ? VERWEIS_LAENGE : (istBinaer(wert) ? 2 * laenge : laenge) + 4;
+    }
+    
+    /**
+     * Gibt die geschätzte Länge der LOB-Werte der aktuellen Zeile zurück, die zur Länge
+     * des Puffers hinzukommt (für die Begrenzung der Batch-Größe).
+     */
+    public long getZusatzLaenge() {
+        return zusatzLaenge;
+    }
+    
+    /**
+     * Schreibt die Zeile aus dem Puffer und fügt die LOB-Werte an ihren Positionen ein.
+     * Danach werden die Locatoren freigegeben und der Leser ist bereit für die nächste Zeile.
+     * 
+     * @param zeile Der Puffer der aktuellen Zeile
+     * @param writer Der Writer der Ausgabedatei
+     * @param zeilenNummer Die Nummer der Zeile für die Namen ausgelagerter Werte
+     * @throws SQLException Bei Datenbankfehlern
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    public void schreibeZeile(StringBuilder zeile, Writer writer, long zeilenNummer) throws SQLException, IOException {
+        int start = 0;
+        try {
+            for (int i = 1; i < werte.length; i++) {
+                if (werte[i] == null) {
+                    continue;
+                }
+                writer.append(zeile, start, positionen[i]);
+                start = positionen[i];
+                schreibeWert(werte[i], laengen[i], writer, zeilenNummer, spaltenNamen[i]);
+            }
+            writer.append(zeile, start, zeile.length());
+        } finally {
+            for (int i = 1; i < werte.length; i++) {
+                if (werte[i] != null) {
+                    freigeben(werte[i]);
+                    werte[i] = null;
+                }
+            }
+            zusatzLaenge = 0;
+        }
+    }
+    
+    /**
+     * Schreibt einen einzelnen LOB-Wert im Format der Ausgabe oder lagert ihn aus.
+     */
+    private void schreibeWert(Object wert, long laenge, Writer writer, long zeilenNummer, String spaltenName) throws SQLException, IOException {
+        boolean binaer = istBinaer(wert);
+        if (sollAuslagern(laenge)) {
+            String dateiName = dateiPraefix + "_" + zeilenNummer + "_" + spaltenName + (binaer ? ".bin" : ".txt");
+            schreibeVerweis(wert, writer, dateiName, binaer);
+            return;
+        }
+        
+        if (binaer) {
+            // bytea im Hex-Format: im COPY-Text muss der Backslash selbst maskiert werden
+            writer.write(copyFormat ? "\\\\x" : "'\\x");
+            if (wert instanceof Blob) {
+                try (InputStream ein = ((Blob) wert).getBinaryStream()) {
+                    int gelesen;
+                    while ((gelesen = ein.read(bytePuffer)) > 0) {
+                        schreibeHex(bytePuffer, gelesen, writer);
+                    }
+                }
+            } else {
+                byte[] bytes = (byte[]) wert;
+                for (int offset = 0; offset < bytes.length; offset += STUECK_GROESSE) {
+                    int anzahl = Math.min(STUECK_GROESSE, bytes.length - offset);
+                    System.arraycopy(bytes, offset, bytePuffer, 0, anzahl);
+                    schreibeHex(bytePuffer, anzahl, writer);
+                }
+            }
+            if (!copyFormat) {
+                writer.write('\'');
+            }
+            return;
+        }
+        
+        if (!copyFormat) {
+            writer.write('\'');
+        }
+        if (wert instanceof Clob) {
+            try (Reader ein = ((Clob) wert).getCharacterStream()) {
+                int gelesen;
+                while ((gelesen = ein.read(zeichenPuffer)) > 0) {
+                    schreibeMaskiert(zeichenPuffer, gelesen, writer);
+                }
+            }
+        } else {
+            String text = (String) wert;
+            for (int offset = 0; offset < text.length(); offset += STUECK_GROESSE) {
+                int anzahl = Math.min(STUECK_GROESSE, text.length() - offset);
+                text.getChars(offset, offset + anzahl, zeichenPuffer, 0);
+                schreibeMaskiert(zeichenPuffer, anzahl, writer);
+            }
+        }
+        if (!copyFormat) {
+            writer.write('\'');
+        }
+    }
+    
+    private boolean sollAuslagern(long laenge) {
+        return auslagernAb > 0 && laenge >= auslagernAb;
+    }
+    
+    /**
+     * Gibt die Länge eines Werts in Zeichen bzw. Bytes zurück, bei Locatoren ohne den Inhalt zu lesen.
+     */
+    private static long ermittleLaenge(Object wert) throws SQLException {
+        if (wert instanceof Clob) {
+            return ((Clob) wert).length();
+        } else if (wert instanceof Blob) {
+            return ((Blob) wert).length();
+        } else if (wert instanceof String) {
+            return ((String) wert).length();
+        }
+        return ((byte[]) wert).length;
+    }
+    
+    private static boolean istBinaer(Object wert) {
+        return wert instanceof Blob || wert instanceof byte[];
+    }
+    
+    /**
+     * Schreibt einen Wert unverändert in eine Nebendatei und im Statement einen Ausdruck,
+     * der die Datei beim Laden auf dem PostgreSQL-Server liest.
+     */
+    private void schreibeVerweis(Object wert, Writer writer, String dateiName, boolean binaer) throws SQLException, IOException {
+        auslagerungsVerzeichnis.mkdirs();
+        File datei = new File(auslagerungsVerzeichnis, dateiName);
+        try (OutputStream aus = new BufferedOutputStream(new FileOutputStream(datei), STUECK_GROESSE)) {
+            if (wert instanceof Blob) {
+                try (InputStream ein = ((Blob) wert).getBinaryStream()) {
+                    int gelesen;
+                    while ((gelesen = ein.read(bytePuffer)) > 0) {
+                        aus.write(bytePuffer, 0, gelesen);
+                    }
+                }
+            } else if (wert instanceof byte[]) {
+                aus.write((byte[]) wert);
+            } else {
+                Writer textAus = new OutputStreamWriter(aus, StandardCharsets.UTF_8);
+                if (wert instanceof Clob) {
+                    try (Reader ein = ((Clob) wert).getCharacterStream()) {
+                        int gelesen;
+                        while ((gelesen = ein.read(zeichenPuffer)) > 0) {
+                            textAus.write(zeichenPuffer, 0, gelesen);
+                        }
+                    }
+                } else {
+                    textAus.write((String) wert);
+                }
+                textAus.flush();
+            }
+        }
+        
+        String pfad = (referenzPfad + "/" + dateiName).replace("'", "''");
+        writer.write(binaer
+                ? "pg_read_binary_file('" + pfad + "')"
+                : "convert_from(pg_read_binary_file('" + pfad + "'), 'UTF8')");
+    }
+    
+    /**
+     * Schreibt Text maskiert für ein SQL-Literal bzw. das COPY-Textformat.
+     */
+    private void schreibeMaskiert(char[] puffer, int anzahl, Writer writer) throws IOException {
+        int start = 0;
+        for (int i = 0; i < anzahl; i++) {
+            String ersatz = ersatzFuer(puffer[i]);
+            if (ersatz != null) {
+                writer.write(puffer, start, i - start);
+                writer.write(ersatz);
+                start = i + 1;
+            }
+        }
+        writer.write(puffer, start, anzahl - start);
+    }
+    
+    private String ersatzFuer(char c) {
+        if (!copyFormat) {
+            return c == '\'' ? "''" : null;
+        }
+        switch (c) {
+            case '\\':
+                return "\\\\";
+            case '\t':
+                return "\\t";
+            case '\n':
+                return "\\n";
+            case '\r':
+                return "\\r";
+            default:
+                return null;
+        }
+    }
+    
+    private void schreibeHex(byte[] puffer, int anzahl, Writer writer) throws IOException {
+        for (int i = 0; i < anzahl; i++) {
+            hexPuffer[2 * i] = HEX_ZIFFERN[(puffer[i] >> 4) & 0x0F];
+            hexPuffer[2 * i + 1] = HEX_ZIFFERN[puffer[i] & 0x0F];
+        }
+        writer.write(hexPuffer, 0, anzahl * 2);
+    }
+    
+    /**
+     * Gibt die Ressourcen eines LOB-Locators auf dem Server frei.
+     */
+    private static void freigeben(Object wert) {
+        try {
+            if (wert instanceof Clob) {
+                ((Clob) wert).free();
+            } else if (wert instanceof Blob) {
+                ((Blob) wert).free();
+            }
+        } catch (SQLException e) {
+            Logger.warnung("LOB-Locator konnte nicht freigegeben werden: " + e.getMessage());
+        }
+    }
+}
@@ -1,23 +1,43 @@
 package de.dbmigration.core;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
 import java.sql.Connection;
-import java.sql.DatabaseMetaData;
 import java.sql.Date;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import de.dbmigration.util.Logger;
 
@@ -26,13 +46,48 @@ import de.dbmigration.util.Logger;
  * Implementiert die Migration von Tabellen, Sequenzen, Indizes, Constraints und Views.
  */
 public class OracleToPgMigrator implements Migrator {
+    // Grenzen für die automatisch ermittelte Fetch-Size
+    private static final int FETCHSIZE_MIN = 10;
+    private static final int FETCHSIZE_MAX = 100000;
+    private static final int FETCHSIZE_OHNE_STATISTIK = 1000;
+    
+    // Platzhalter in Quellabfragen (tabelle.X.query), der im Snapshot-Modus durch die SCN ersetzt wird
+    private static final String SCN_PLATZHALTER = "{SCN}";
+    
+    // Die Warnung zu fehlendem LOB-Prefetch nur einmal ausgeben
+    private static volatile boolean lobPrefetchWarnungAusgegeben;
+    private static volatile boolean spaltentypenWarnungAusgegeben;
+    
     private final Konfiguration konfiguration;
     private final Connection oracleConnection;
+    private final VerbindungsPool oraclePool;
     private final String ausgabePfad;
     private final String basisVerzeichnis;
     
-    // Neue Map für die Verfolgung der PostgreSQL-Spaltentypen während der Tabellenmigration
-    private Map<String, String> aktuelleTabelleSpaltenTypen; // Spaltenname -> PostgreSQL-Typ
+    // Vorab geladene Tabellendefinitionen, gemeinsam für alle Worker
+    private final SchemaModell schemaModell;
+    
+    // Spalten der eigenen Quellabfragen (tabelle.X.query), einmalig beim Oracle-Server erfragt
+    private final Map<String, List<SchemaModell.Spalte>> abfrageProjektionen;
+    
+    // Über defineColumnType festgelegte JDBC-Typen je Spalte (0 = keiner), einmal je Tabelle ermittelt
+    private final Map<String, int[]> festgelegteSpaltentypen;
+    
+    // SCN, auf der alle Datenabfragen gelesen werden (0 = ohne Snapshot)
+    private long snapshotScn;
+    
+    // Hochwassermarken und Exportbereiche der inkrementell exportierten Tabellen
+    private Hochwassermarken hochwassermarken;
+    private final Map<String, Hochwassermarken.Bereich> inkrementBereiche;
+    
+    // Fortschritt des Laufs für das Fortsetzen nach einem Abbruch
+    private MigrationsJournal journal;
+    
+    // Ausgewählte Schlüssel der Teilmengen-Extraktion (null = alle Zeilen)
+    private Teilmenge teilmenge;
+    
+    // Gemeinsame Begrenzung der Leserate aller Worker
+    private final Drossel drossel;
 
     /**
      * Konstruktor für den OracleToPgMigrator.
@@ -44,15 +99,50 @@ public class OracleToPgMigrator implements Migrator {
         this.konfiguration = konfiguration;
         this.oracleConnection = oracleConnection;
         
+        // Pool für die Sitzungen der Tabellen- und Chunk-Worker, Verbindungen werden erst bei Bedarf geöffnet
+        this.oraclePool = new VerbindungsPool("Oracle", konfiguration.getOracleQuellUrls(), konfiguration.getOracleBenutzer(),
+                konfiguration.getOraclePasswort(), konfiguration.getOraclePoolGroesse(), konfiguration.getPoolWartezeitSekunden());
+        
         // Erstelle strukturiertes Basisverzeichnis mit Zeitstempel, DB-Namen und Umgebung
         this.basisVerzeichnis = this.erstelleStrukturiertesBasisVerzeichnis();
         this.ausgabePfad = this.basisVerzeichnis;
+        this.inkrementBereiche = new ConcurrentHashMap<>();
+        this.abfrageProjektionen = new ConcurrentHashMap<>();
+        this.festgelegteSpaltentypen = new ConcurrentHashMap<>();
+        this.drossel = new Drossel(konfiguration);
+        this.schemaModell = konfiguration.getSchemaCacheVerzeichnis() != null
+                ? new SchemaModell(new File(konfiguration.getSchemaCacheVerzeichnis()))
+                : new SchemaModell();
         
         if (konfiguration.isOrdnerErstellen()) {
             this.erstelleUnterordner();
         }
     }
     
+    /**
+     * Konstruktor für einen Worker der parallelen Tabellenmigration.
+     * Übernimmt Konfiguration und Verzeichnisse vom Haupt-Migrator, arbeitet aber auf einer eigenen Oracle-Sitzung.
+     * 
+     * @param hauptMigrator Der Migrator, der die Worker startet
+     * @param workerConnection Die eigene Oracle-Verbindung des Workers
+     */
+    private OracleToPgMigrator(OracleToPgMigrator hauptMigrator, Connection workerConnection) {
+        this.konfiguration = hauptMigrator.konfiguration;
+        this.oracleConnection = workerConnection;
+        this.oraclePool = hauptMigrator.oraclePool;
+        this.basisVerzeichnis = hauptMigrator.basisVerzeichnis;
+        this.ausgabePfad = hauptMigrator.ausgabePfad;
+        this.schemaModell = hauptMigrator.schemaModell;
+        this.abfrageProjektionen = hauptMigrator.abfrageProjektionen;
+        this.festgelegteSpaltentypen = hauptMigrator.festgelegteSpaltentypen;
+        this.snapshotScn = hauptMigrator.snapshotScn;
+        this.hochwassermarken = hauptMigrator.hochwassermarken;
+        this.inkrementBereiche = hauptMigrator.inkrementBereiche;
+        this.journal = hauptMigrator.journal;
+        this.teilmenge = hauptMigrator.teilmenge;
+        this.drossel = hauptMigrator.drossel;
+    }
+    
     /**
      * Erstellt das strukturierte Basisverzeichnis basierend auf Zeitstempel, Datenbankname und Umgebung
      * 
@@ -79,6 +169,17 @@ public class OracleToPgMigrator implements Migrator {
             Logger.warnung("Umgebung war null. Verwende Standardwert: " + umgebung);
         }
         
+        // Beim Fortsetzen das Verzeichnis des abgebrochenen Laufs samt seinem Zeitstempel weiterverwenden,
+        // damit die Dateinamen der bereits geschriebenen Tabellen und Chunks übereinstimmen
+        if (this.konfiguration.isFortsetzen()) {
+            String vorherigerZeitstempel = this.ermittleFortzusetzendenZeitstempel(basisPfad, datenbankName, umgebung);
+            if (vorherigerZeitstempel != null) {
+                zeitstempel = vorherigerZeitstempel;
+                this.konfiguration.setZeitstempel(zeitstempel);
+                Logger.info("Setze abgebrochenen Lauf mit Zeitstempel " + zeitstempel + " fort");
+            }
+        }
+        
         Logger.info("Erstelle Verzeichnis mit Werten - Zeitstempel: " + zeitstempel + 
                    ", Datenbank: " + datenbankName + ", Umgebung: " + umgebung);
         
@@ -95,6 +196,38 @@ public class OracleToPgMigrator implements Migrator {
         
         return vollstaendigerPfad;
     }
+    
+    /**
+     * Sucht das jüngste Verzeichnis eines früheren Laufs für dieselbe Datenbank und Umgebung,
+     * das ein Migrationsjournal enthält.
+     * 
+     * @param basisPfad Das konfigurierte Ausgabeverzeichnis
+     * @param datenbankName Der Name der Datenbank
+     * @param umgebung Die Umgebung
+     * @return Der Zeitstempel des gefundenen Laufs oder null, wenn es keinen gibt
+     */
+    private String ermittleFortzusetzendenZeitstempel(String basisPfad, String datenbankName, String umgebung) {
+        String endung = "_" + datenbankName + "_" + umgebung;
+        File[] verzeichnisse = new File(basisPfad).listFiles(verzeichnis -> verzeichnis.isDirectory()
+                && verzeichnis.getName().endsWith(endung)
+                && new File(verzeichnis, MigrationsJournal.DATEINAME).exists());
+        
+        String juengsterLauf = null;
+        if (verzeichnisse != null) {
+            for (File verzeichnis : verzeichnisse) {
+                // Der Zeitstempel yyyyMMdd_HHmmss steht vorne, die Namen sind damit chronologisch sortierbar
+                if (juengsterLauf == null || verzeichnis.getName().compareTo(juengsterLauf) > 0) {
+                    juengsterLauf = verzeichnis.getName();
+                }
+            }
+        }
+        
+        if (juengsterLauf == null) {
+            Logger.warnung("Kein früherer Lauf mit Migrationsjournal in " + basisPfad + " gefunden");
+            return null;
+        }
+        return juengsterLauf.substring(0, juengsterLauf.length() - endung.length());
+    }
 
     /**
      * Erstellt die benötigten Unterordner für die Migration.
@@ -151,6 +284,24 @@ public class OracleToPgMigrator implements Migrator {
     public void migriere() throws SQLException, IOException {
         List<String> tabellen;
         
+        // Fortschritt im Basisverzeichnis festhalten, beim Fortsetzen den Stand des abgebrochenen Laufs übernehmen
+        this.journal = new MigrationsJournal(new File(this.basisVerzeichnis), this.konfiguration.isFortsetzen());
+        
+        // Einen gemeinsamen Lesezeitpunkt für alle Oracle-Sitzungen festlegen, beim Fortsetzen den bisherigen
+        if (this.konfiguration.isSnapshot()) {
+            this.snapshotScn = this.journal.getScn();
+            this.pruefeUndoRetention(this.snapshotScn);
+            if (this.snapshotScn == 0) {
+                this.snapshotScn = this.ermittleAktuelleScn();
+                this.journal.scnFestgelegt(this.snapshotScn);
+            }
+            Logger.info("Snapshot-Modus: alle Tabellen werden auf SCN " + this.snapshotScn + " gelesen");
+        }
+        
+        if (this.konfiguration.hatInkrementelleTabellen()) {
+            this.hochwassermarken = new Hochwassermarken(new File(this.konfiguration.getHochwassermarkenDatei()));
+        }
+        
         // Entweder alle Tabellen oder nur die in der Whitelist migrieren
         if (this.konfiguration.isAlleTabellenMigrieren()) {
             tabellen = this.ermittleAlleTabellenAusDatenbank();
@@ -160,31 +311,228 @@ public class OracleToPgMigrator implements Migrator {
             Logger.info("Whitelist-Tabellen migrieren: " + tabellen.size() + " Tabellen konfiguriert");
         }
 
-        // Tabellen migrieren
+        // Zu migrierende Tabellen bestimmen
+        List<String> zuMigrierendeTabellen = new ArrayList<>();
+        List<String> migrierteTabellen = new ArrayList<>();
         for (String tabelle : tabellen) {
             if (this.konfiguration.sollTabelleMigriert(tabelle)) {
-                Logger.info("Beginne Migration der Tabelle: " + tabelle);
-                this.migrierenTabelle(tabelle);
+                migrierteTabellen.add(tabelle);
+            }
+            
+            if (this.journal.isTabelleAbgeschlossen(tabelle)) {
+                Logger.info("Überspringe bereits abgeschlossene Tabelle: " + tabelle);
+            } else if (this.konfiguration.sollTabelleMigriert(tabelle)) {
+                zuMigrierendeTabellen.add(tabelle);
             } else {
                 Logger.info("Überspringe Tabelle (in Blacklist oder Präfix-Blacklist): " + tabelle);
             }
         }
 
-        // Zusätzliche Objekte migrieren, falls konfiguriert
-        if (this.konfiguration.isSequenzenMigrieren()) {
+        // Quellabfragen vor dem ersten Export prüfen, damit ein Snapshot-Lauf nicht erst mittendrin abbricht
+        for (String tabelle : migrierteTabellen) {
+            this.pruefeQuellabfrage(tabelle);
+        }
+        
+        // Spalten, Primärschlüssel und Kommentare aller Tabellen mit wenigen Dictionary-Abfragen vorab laden
+        this.schemaModell.laden(this.oracleConnection, zuMigrierendeTabellen);
+        
+        // Teilmenge über alle Tabellen der Migration ermitteln. Beim Fortsetzen lesen begonnene Tabellen die
+        // Schlüssel ihrer Chunks aus dem Journal; ohne Snapshot kann die Auswahl der übrigen abweichen
+        if (!this.konfiguration.getTeilmengeWurzeln().isEmpty()) {
+            this.teilmenge = new Teilmenge(this.konfiguration, this.schemaModell, this::ermittleQuelle);
+            this.teilmenge.ermitteln(this.oracleConnection, migrierteTabellen);
+        }
+        
+        // Höhere Prioritätsklassen und große Tabellen zuerst, damit keine große Tabelle den Lauf am Ende verlängert
+        TabellenPlanung planung = new TabellenPlanung(this.konfiguration);
+        if (this.konfiguration.isPlanungNachGroesse()) {
+            planung.schaetzeAufwand(this.oracleConnection);
+        }
+        zuMigrierendeTabellen = planung.ordne(zuMigrierendeTabellen, this.konfiguration.getParallelWorker());
+
+        // Tabellen migrieren, bei mehreren Workern parallel mit je einer eigenen Oracle-Sitzung
+        int anzahlWorker = Math.min(this.konfiguration.getParallelWorker(), zuMigrierendeTabellen.size());
+        try {
+            if (anzahlWorker > 1) {
+                this.oraclePool.oeffneVerbindungen(this.konfiguration.getOraclePoolMin());
+                this.migriereTabellenParallel(zuMigrierendeTabellen, anzahlWorker);
+            } else {
+                for (String tabelle : zuMigrierendeTabellen) {
+                    Logger.info("Beginne Migration der Tabelle: " + tabelle);
+                    if (this.oraclePool.getQuellenAnzahl() > 1) {
+                        // Auch sequentiell nach Last auf die Quellen verteilen und bei Ausfall wechseln
+                        this.fuehreAufQuelleAus("Tabelle " + tabelle, worker -> worker.migrierenTabelle(tabelle));
+                    } else {
+                        this.migrierenTabelle(tabelle);
+                    }
+                }
+            }
+        } finally {
+            // Die Worker-Sitzungen werden in der Abschlussphase nicht mehr benötigt
+            this.oraclePool.close();
+        }
+
+        // Abschlussphase: zusätzliche Objekte erst migrieren, wenn alle Tabellen fertig sind
+        Logger.info("Alle Tabellen migriert, beginne mit Sequenzen, Indizes, Constraints und Views");
+        if (this.konfiguration.isSequenzenMigrieren() && !this.journal.isPhaseAbgeschlossen(MigrationsJournal.PHASE_SEQUENZEN)) {
             this.migrierenSequenzen();
+            this.journal.phaseAbgeschlossen(MigrationsJournal.PHASE_SEQUENZEN);
         }
 
-        if (this.konfiguration.isIndizesMigrieren()) {
+        if (this.konfiguration.isIndizesMigrieren() && !this.journal.isPhaseAbgeschlossen(MigrationsJournal.PHASE_INDIZES)) {
             this.migrierenIndizes();
+            this.journal.phaseAbgeschlossen(MigrationsJournal.PHASE_INDIZES);
         }
 
-        if (this.konfiguration.isConstraintsMigrieren()) {
+        if (this.konfiguration.isConstraintsMigrieren() && !this.journal.isPhaseAbgeschlossen(MigrationsJournal.PHASE_CONSTRAINTS)) {
             this.migrierenConstraints();
+            this.journal.phaseAbgeschlossen(MigrationsJournal.PHASE_CONSTRAINTS);
         }
 
-        if (this.konfiguration.isViewsMigrieren()) {
+        if (this.konfiguration.isViewsMigrieren() && !this.journal.isPhaseAbgeschlossen(MigrationsJournal.PHASE_VIEWS)) {
             this.migrierenViews();
+            this.journal.phaseAbgeschlossen(MigrationsJournal.PHASE_VIEWS);
+        }
+    }
+
+    /**
+     * Migriert die Tabellen parallel. Jeder Worker öffnet eine eigene Oracle-Sitzung und holt sich
+     * so lange ganze Tabellen aus einer gemeinsamen Warteschlange, bis diese leer ist.
+     * Nach dem ersten Fehler werden keine neuen Tabellen mehr begonnen und der Fehler wird weitergereicht.
+     * 
+     * @param tabellen Die zu migrierenden Tabellen
+     * @param anzahlWorker Die Anzahl paralleler Worker
+     * @throws SQLException Bei Datenbankfehlern
+     * @throws IOException Bei Dateisystemfehlern
+     */
+    private void migriereTabellenParallel(List<String> tabellen, int anzahlWorker) throws SQLException, IOException {
+        Logger.info("Migriere " + tabellen.size() + " Tabellen parallel mit " + anzahlWorker + " Workern");
+        
+        Queue<String> warteschlange = new ConcurrentLinkedQueue<>(tabellen);
+        AtomicReference<Exception> ersterFehler = new AtomicReference<>();
+        ExecutorService workerPool = Executors.newFixedThreadPool(anzahlWorker);
+        
+        for (int i = 1; i <= anzahlWorker; i++) {
+            final int workerNummer = i;
+            workerPool.execute(() -> this.arbeiteTabellenAb(workerNummer, warteschlange, ersterFehler));
+        }
+        
+        workerPool.shutdown();
+        try {
+            while (!workerPool.awaitTermination(1, TimeUnit.MINUTES)) {
+                Logger.info("Warte auf Worker, noch " + warteschlange.size() + " Tabellen in der Warteschlange; "
+                        + this.oraclePool.getStatistik());
+            }
+        } catch (InterruptedException e) {
+            workerPool.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new SQLException("Parallele Tabellenmigration wurde unterbrochen", e);
+        }
+        
+        if (ersterFehler.get() != null) {
+            wirfFehlerWeiter(ersterFehler.get());
+        }
+    }
+    
+    /**
+     * Reicht einen Fehler aus einem Worker-Thread mit seinem ursprünglichen Typ weiter.
+     * 
+     * @param fehler Der im Worker aufgetretene Fehler
+     * @throws SQLException Bei Datenbankfehlern oder unerwarteten Fehlern
+     * @throws IOException Bei Dateisystemfehlern
+     */
+    private static void wirfFehlerWeiter(Throwable fehler) throws SQLException, IOException {
+        if (fehler instanceof SQLException) {
+            throw (SQLException) fehler;
+        } else if (fehler instanceof IOException) {
+            throw (IOException) fehler;
+        }
+        throw new SQLException("Fehler bei der parallelen Migration", fehler);
+    }
+    
+    /**
+     * Leiht eine Oracle-Sitzung für einen Worker aus dem Verbindungspool aus.
+     * 
+     * @return Die Verbindung, deren close() sie an den Pool zurückgibt
+     * @throws SQLException Bei Verbindungsfehlern oder wenn keine Verbindung frei wird
+     */
+    private Connection oeffneOracleSitzung() throws SQLException {
+        return this.oraclePool.holeVerbindung();
+    }
+    
+    /**
+     * Führt eine Arbeit auf einer Oracle-Sitzung aus dem Pool aus. Bricht dabei die Verbindung zu einer
+     * von mehreren Quellen ab oder kann die Quelle die Snapshot-SCN noch nicht lesen, wird die Quelle
+     * gesperrt und die Arbeit auf einer anderen Quelle wiederholt. Gibt eine innere Arbeit (Chunk) nach
+     * einem Quellenausfall auf, wird ihr Fehler als WiederholungErschoepft gemeldet und von der äußeren
+     * Arbeit (Tabelle) nicht noch einmal wiederholt.
+     * 
+     * @param bezeichnung Die Arbeit für die Log-Ausgabe (Tabelle oder Chunk)
+     * @param arbeit Die Arbeit, die einen Worker auf der ausgeliehenen Sitzung erhält
+     * @throws SQLException Bei Datenbankfehlern oder wenn keine Quelle mehr verfügbar ist
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    private void fuehreAufQuelleAus(String bezeichnung, SitzungsArbeit arbeit) throws SQLException, IOException {
+        for (int versuch = 1; ; versuch++) {
+            String quelle = null;
+            try (Connection sitzung = this.oeffneOracleSitzung()) {
+                quelle = this.oraclePool.getQuelle(sitzung);
+                arbeit.ausfuehren(new OracleToPgMigrator(this, sitzung));
+                return;
+            } catch (WiederholungErschoepft e) {
+                throw e;
+            } catch (SQLException | IOException e) {
+                if (versuch >= this.oraclePool.getQuellenAnzahl() || !this.oraclePool.meldeAusfall(quelle, e)) {
+                    if (this.oraclePool.getQuellenAnzahl() > 1
+                            && (VerbindungsPool.istVerbindungsabbruch(e) || VerbindungsPool.istSnapshotNichtLesbar(e))) {
+                        throw new WiederholungErschoepft(bezeichnung, e);
+                    }
+                    throw e;
+                }
+                Logger.warnung(bezeichnung + " wird nach dem Ausfall der Quelle auf einer anderen Quelle wiederholt: "
+                        + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Arbeit, die ein Worker auf einer eigenen Oracle-Sitzung ausführt.
+     */
+    private interface SitzungsArbeit {
+        void ausfuehren(OracleToPgMigrator worker) throws SQLException, IOException;
+    }
+    
+    /**
+     * Fehler einer Arbeit, die nach einem Quellenausfall auf keiner weiteren Quelle wiederholt werden
+     * konnte. Die ursprüngliche Ausnahme ist als Ursache enthalten.
+     */
+    private static class WiederholungErschoepft extends SQLException {
+        private static final long serialVersionUID = 1L;
+        
+        WiederholungErschoepft(String bezeichnung, Throwable ursache) {
+            super(bezeichnung + " konnte auf keiner Quelle gelesen werden: " + ursache.getMessage(), ursache);
+        }
+    }
+    
+    /**
+     * Arbeitsschleife eines Workers: migriert Tabellen aus der Warteschlange. Jede Tabelle erhält eine
+     * eigene Sitzung aus dem Pool, damit sich die Tabellen nach Last auf die Quellen verteilen.
+     * 
+     * @param workerNummer Die Nummer des Workers für die Log-Ausgabe
+     * @param warteschlange Die gemeinsame Warteschlange der noch offenen Tabellen
+     * @param ersterFehler Nimmt den ersten aufgetretenen Fehler aller Worker auf
+     */
+    private void arbeiteTabellenAb(int workerNummer, Queue<String> warteschlange, AtomicReference<Exception> ersterFehler) {
+        try {
+            String tabelle;
+            while (ersterFehler.get() == null && (tabelle = warteschlange.poll()) != null) {
+                Logger.info("Worker " + workerNummer + ": Beginne Migration der Tabelle: " + tabelle);
+                String naechsteTabelle = tabelle;
+                this.fuehreAufQuelleAus("Tabelle " + tabelle, worker -> worker.migrierenTabelle(naechsteTabelle));
+            }
+        } catch (Exception e) {
+            Logger.fehler("Worker " + workerNummer + " abgebrochen: " + e.getMessage());
+            ersterFehler.compareAndSet(null, e);
         }
     }
 
@@ -216,11 +564,16 @@ public class OracleToPgMigrator implements Migrator {
      * @throws IOException Bei Dateisystemfehlern
      */
     private void migrierenTabelle(String tabellenName) throws SQLException, IOException {
-        // Map für die Spaltentypen initialisieren
-        this.aktuelleTabelleSpaltenTypen = new HashMap<>();
+        String stichprobe = this.ermittleStichprobe(tabellenName);
+        if (!stichprobe.isEmpty()) {
+            Logger.info("Tabelle " + tabellenName + " wird als Stichprobe exportiert:" + stichprobe);
+        }
+        
+        // Map für die Spaltentypen dieser Tabelle (Spaltenname -> PostgreSQL-Typ)
+        Map<String, String> spaltenTypen = new HashMap<>();
         
         // CREATE TABLE Statement generieren (füllt die Map)
-        String createTableSql = this.erzeugeCreateTable(tabellenName);
+        String createTableSql = this.erzeugeCreateTable(tabellenName, spaltenTypen);
         
         // Strukturierter Dateiname für CREATE TABLE
         String createTableDateiname = this.erzeugeStrukturiertenDateinamen(tabellenName, "create");
@@ -233,22 +586,244 @@ public class OracleToPgMigrator implements Migrator {
         }
         Logger.info("CREATE TABLE-SQL für " + tabellenName + " erzeugt: " + createTableDateiname);
         
-        // INSERT Statements generieren (verwendet die Map)
-        String insertSql = this.erzeugeInserts(tabellenName);
+        // Im inkrementellen Modus nur die Zeilen seit der letzten Hochwassermarke exportieren,
+        // beim Fortsetzen mit dem Bereich des abgebrochenen Laufs
+        Hochwassermarken.Bereich bereich = this.journal.getBereich(tabellenName);
+        if (bereich == null) {
+            bereich = this.ermittleInkrementBereich(tabellenName);
+            if (bereich != null) {
+                this.journal.bereichFestgelegt(tabellenName, bereich);
+            }
+        }
+        if (bereich != null) {
+            this.inkrementBereiche.put(tabellenName.toUpperCase(), bereich);
+        }
         
-        // Strukturierter Dateiname für INSERTs
-        String insertDateiname = this.erzeugeStrukturiertenDateinamen(tabellenName, "inserts");
+        // Daten schreiben, große Tabellen in Chunks auf mehreren Sitzungen;
+        // beim Fortsetzen gelten die Chunk-Grenzen des abgebrochenen Laufs
+        List<DatenChunk> chunks = this.journal.getGeplanteChunks(tabellenName);
+        if (chunks == null) {
+            chunks = this.ermittleChunks(tabellenName);
+            if (!MigrationsJournal.kannFesthalten(chunks)) {
+                Logger.warnung("Die Schlüssel der Teilmenge von " + tabellenName + " können nicht im Journal festgehalten werden, "
+                        + "beim Fortsetzen wird die Tabelle vollständig neu gelesen");
+            } else if (!chunks.isEmpty()) {
+                this.journal.chunksGeplant(tabellenName, chunks);
+            }
+        }
+        if (chunks.isEmpty()) {
+            this.schreibeDaten(tabellenName, spaltenTypen, null);
+        } else {
+            this.migriereDatenInChunks(tabellenName, spaltenTypen, chunks);
+        }
         
-        // Speichern der INSERT SQL in den entsprechenden Unterordner
-        if (this.konfiguration.isOrdnerErstellen()) {
-            this.speichereSQL(this.konfiguration.getOrdnerTablesInserts() + File.separator + insertDateiname, insertSql, true);
+        // Neue Hochwassermarke erst nach dem vollständigen Export speichern
+        if (bereich != null && bereich.getBis() != null) {
+            this.hochwassermarken.setzeMarke(tabellenName, bereich.getBis());
+        }
+        this.journal.tabelleAbgeschlossen(tabellenName);
+    }
+    
+    /**
+     * Schreibt die Daten einer Tabelle oder eines Chunks im konfigurierten Format in eine Datei.
+     * Bei Chunks wird die Chunk-Nummer an den Typ im Dateinamen angehängt (z.B. ..._KUNDEN_inserts_part0001.sql,
+     * bei Partitionen zusätzlich deren Name), so dass die Teildateien in der richtigen Reihenfolge sortiert werden.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @param spaltenTypen Die PostgreSQL-Typen der Spalten aus erzeugeCreateTable
+     * @param chunk Der zu schreibende Chunk oder null für die ganze Tabelle
+     * @throws SQLException Bei Datenbankfehlern
+     * @throws IOException Bei Dateisystemfehlern
+     */
+    private void schreibeDaten(String tabellenName, Map<String, String> spaltenTypen, DatenChunk chunk) throws SQLException, IOException {
+        String teil = chunk == null ? "" : chunk.getDateiZusatz();
+        
+        // Inkrementelle Exporte werden immer als Upsert-Statements geschrieben
+        boolean inkrementell = this.inkrementBereiche.containsKey(tabellenName.toUpperCase());
+        
+        if (!inkrementell && Konfiguration.DATEN_FORMAT_BINAER.equals(this.konfiguration.getDatenFormat())) {
+            // Strukturierter Dateiname für binäre COPY-Daten
+            String binaerDateiname = this.erzeugeStrukturiertenDateinamen(tabellenName, "data" + teil, ".pgcopy");
+            String binaerPfad = this.konfiguration.isOrdnerErstellen()
+                    ? this.konfiguration.getOrdnerTablesInserts() + File.separator + binaerDateiname
+                    : binaerDateiname;
+            
+            // Binäre COPY-Daten generieren (verwendet die Map für die Feldtypen)
+            try (PgCopyBinaerWriter writer = new PgCopyBinaerWriter(this.oeffneAusgabeStrom(binaerPfad))) {
+                this.erzeugeCopyBinaerDaten(tabellenName, spaltenTypen, chunk, writer);
+                writer.beende();
+            }
+            Logger.info("Binäre COPY-Daten für " + tabellenName + " erzeugt: " + binaerDateiname);
+        } else if (!inkrementell && Konfiguration.DATEN_FORMAT_COPY.equals(this.konfiguration.getDatenFormat())) {
+            // Strukturierter Dateiname für COPY-Daten
+            String copyDateiname = this.erzeugeStrukturiertenDateinamen(tabellenName, "data" + teil, ".copy");
+            String copyPfad = this.konfiguration.isOrdnerErstellen()
+                    ? this.konfiguration.getOrdnerTablesInserts() + File.separator + copyDateiname
+                    : copyDateiname;
+            
+            // COPY-Daten generieren (verwendet die Map), ohne Kommentarkopf, da COPY keine Kommentare kennt
+            try (Writer writer = this.oeffneAusgabeDatei(copyPfad, false)) {
+                this.erzeugeCopyDaten(tabellenName, spaltenTypen, chunk, writer);
+            }
+            Logger.info("COPY-Daten für " + tabellenName + " erzeugt: " + copyDateiname);
+        } else {
+            // Strukturierter Dateiname für INSERTs
+            String insertDateiname = this.erzeugeStrukturiertenDateinamen(tabellenName, "inserts" + teil);
+            String insertPfad = this.konfiguration.isOrdnerErstellen()
+                    ? this.konfiguration.getOrdnerTablesInserts() + File.separator + insertDateiname
+                    : insertDateiname;
+            
+            // INSERT Statements generieren (verwendet die Map) und direkt in die Datei schreiben
+            try (Writer writer = this.oeffneAusgabeDatei(insertPfad, true)) {
+                this.erzeugeInserts(tabellenName, spaltenTypen, chunk, writer);
+            }
+            Logger.info("INSERT-Statements für " + tabellenName + " erzeugt: " + insertDateiname);
+        }
+    }
+    
+    /**
+     * Prüft, ob eine Tabelle die Schwellwerte für die Chunk-weise Extraktion überschreitet,
+     * und teilt sie in diesem Fall in ROWID- oder Primärschlüsselbereiche auf.
+     * Grundlage sind NUM_ROWS aus USER_TABLES (Statistik) und die Segmentgröße aus USER_SEGMENTS.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @return Die Chunks der Tabelle oder eine leere Liste, wenn die Tabelle am Stück gelesen wird
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private List<DatenChunk> ermittleChunks(String tabellenName) throws SQLException {
+        // Tabellen der Teilmenge werden in Blöcken ihrer ausgewählten Schlüssel gelesen
+        if (this.teilmenge != null && this.teilmenge.enthaeltTabelle(tabellenName)) {
+            return DatenChunk.ermittleSchluesselChunks(this.teilmenge.getAuswahlSpalte(tabellenName),
+                    this.teilmenge.getSchluessel(tabellenName), this.konfiguration.getTeilmengeChunkZeilen());
+        }
+        
+        // Partitionierte Tabellen werden je Partition gelesen, jede Partition in eine eigene Datei
+        if (this.konfiguration.isPartitionenMigrieren() && this.konfiguration.getAbfrage(tabellenName) == null) {
+            SchemaModell.Partitionierung partitionierung = this.schemaModell.getTabelle(this.oracleConnection, tabellenName).getPartitionierung();
+            if (partitionierung != null && partitionierung.getPartitionen().size() > 1) {
+                List<String> partitionen = new ArrayList<>();
+                for (SchemaModell.Partition partition : partitionierung.getPartitionen()) {
+                    partitionen.add(partition.getName());
+                }
+                Logger.info("Tabelle " + tabellenName + " wird je Partition in " + partitionen.size() + " Chunks gelesen");
+                return DatenChunk.ermittlePartitionsChunks(partitionen);
+            }
+        }
+        
+        List<DatenChunk> chunks = new ArrayList<>();
+        long schwelleZeilen = this.konfiguration.getChunkSchwelleZeilen(tabellenName);
+        long schwelleBytes = this.konfiguration.getChunkSchwelleBytes(tabellenName);
+        
+        if ((schwelleZeilen <= 0 && schwelleBytes <= 0) || this.konfiguration.getChunkAnzahl() < 2) {
+            return chunks;
+        }
+        
+        // Eine eigene Quellabfrage hat weder ROWIDs noch Statistiken und wird am Stück gelesen
+        if (this.konfiguration.getAbfrage(tabellenName) != null) {
+            return chunks;
+        }
+        
+        long zeilen = 0;
+        long bytes = 0;
+        try (PreparedStatement stmt = this.oracleConnection.prepareStatement(
+                "SELECT NVL(t.NUM_ROWS, 0), NVL((SELECT SUM(s.BYTES) FROM USER_SEGMENTS s WHERE s.SEGMENT_NAME = t.TABLE_NAME), 0) " +
+                "FROM USER_TABLES t WHERE t.TABLE_NAME = ?")) {
+            stmt.setString(1, tabellenName.toUpperCase());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    zeilen = rs.getLong(1);
+                    bytes = rs.getLong(2);
+                }
+            }
+        }
+        
+        // Bei einer Stichprobe zählt nur der Anteil, der tatsächlich gelesen wird
+        double prozent = this.konfiguration.getStichprobeProzent(tabellenName);
+        if (prozent > 0) {
+            zeilen = (long) (zeilen * prozent / 100);
+            bytes = (long) (bytes * prozent / 100);
+        }
+        
+        boolean gross = (schwelleZeilen > 0 && zeilen >= schwelleZeilen) || (schwelleBytes > 0 && bytes >= schwelleBytes);
+        if (!gross) {
+            return chunks;
+        }
+        
+        int anzahl = this.konfiguration.getChunkAnzahl();
+        if (Konfiguration.CHUNK_METHODE_PK.equals(this.konfiguration.getChunkMethode())) {
+            List<String> pkSpalten = this.schemaModell.getTabelle(this.oracleConnection, tabellenName).getPkSpalten();
+            String pkSpalte = pkSpalten.size() == 1 ? pkSpalten.get(0) : null;
+            if (pkSpalte != null) {
+                chunks = DatenChunk.ermittlePkChunks(this.oracleConnection, this.ermittleQuelle(tabellenName), pkSpalte, anzahl);
+            } else {
+                Logger.warnung("Tabelle " + tabellenName + " hat keinen einspaltigen Primärschlüssel, verwende ROWID-Chunks");
+                chunks = DatenChunk.ermittleRowidChunks(this.oracleConnection, tabellenName, anzahl);
+            }
         } else {
-            this.speichereSQL(insertDateiname, insertSql, true);
+            chunks = DatenChunk.ermittleRowidChunks(this.oracleConnection, tabellenName, anzahl);
+        }
+        
+        // Ein einzelner Chunk bringt keinen Vorteil gegenüber dem Lesen am Stück
+        if (chunks.size() < 2) {
+            chunks.clear();
+            return chunks;
+        }
+        
+        Logger.info("Tabelle " + tabellenName + " (" + zeilen + " Zeilen, " + (bytes / (1024 * 1024)) + " MB) wird in "
+                + chunks.size() + " Chunks gelesen");
+        return chunks;
+    }
+    
+    /**
+     * Liest die Chunks einer Tabelle parallel auf eigenen Oracle-Sitzungen und schreibt jeden Chunk
+     * in eine eigene, fortlaufend nummerierte Teildatei. Im Journal bereits abgeschlossene Chunks
+     * werden übersprungen, jeder fertige Chunk wird dort vermerkt.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @param spaltenTypen Die PostgreSQL-Typen der Spalten aus erzeugeCreateTable
+     * @param chunks Die Chunks der Tabelle
+     * @throws SQLException Bei Datenbankfehlern
+     * @throws IOException Bei Dateisystemfehlern
+     */
+    private void migriereDatenInChunks(String tabellenName, Map<String, String> spaltenTypen, List<DatenChunk> chunks) throws SQLException, IOException {
+        List<DatenChunk> offeneChunks = new ArrayList<>();
+        for (DatenChunk chunk : chunks) {
+            if (!this.journal.isChunkAbgeschlossen(tabellenName, chunk)) {
+                offeneChunks.add(chunk);
+            }
         }
-        Logger.info("INSERT-Statements für " + tabellenName + " erzeugt: " + insertDateiname);
+        if (offeneChunks.size() < chunks.size()) {
+            Logger.info("Tabelle " + tabellenName + ": " + (chunks.size() - offeneChunks.size()) + " von " + chunks.size()
+                    + " Chunks bereits abgeschlossen, setze mit den übrigen fort");
+        }
+        
+        int anzahlWorker = Math.max(1, Math.min(this.konfiguration.getChunkWorker(), offeneChunks.size()));
+        ExecutorService chunkPool = Executors.newFixedThreadPool(anzahlWorker);
+        List<Future<Void>> ergebnisse = new ArrayList<>();
+        
+        for (DatenChunk chunk : offeneChunks) {
+            ergebnisse.add(chunkPool.submit(() -> {
+                this.fuehreAufQuelleAus(tabellenName + " (" + chunk + ")", worker -> worker.schreibeDaten(tabellenName, spaltenTypen, chunk));
+                this.journal.chunkAbgeschlossen(tabellenName, chunk);
+                return null;
+            }));
+        }
+        chunkPool.shutdown();
         
-        // Map zurücksetzen
-        this.aktuelleTabelleSpaltenTypen = null;
+        try {
+            for (Future<Void> ergebnis : ergebnisse) {
+                ergebnis.get();
+            }
+        } catch (ExecutionException e) {
+            chunkPool.shutdownNow();
+            wirfFehlerWeiter(e.getCause());
+        } catch (InterruptedException e) {
+            chunkPool.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new SQLException("Chunk-weise Extraktion von " + tabellenName + " wurde unterbrochen", e);
+        }
+        
+        Logger.info("Alle " + chunks.size() + " Chunks der Tabelle " + tabellenName + " geschrieben");
     }
     
     /**
@@ -273,15 +848,29 @@ public class OracleToPgMigrator implements Migrator {
             return dateiname + "_" + typ + ".sql";
         }
     }
+    
+    /**
+     * Erzeugt einen strukturierten Dateinamen mit abweichender Dateierweiterung (z.B. für COPY-Dateien).
+     * 
+     * @param objektName Der Name des Objekts
+     * @param typ Der Typ der Datei (z.B. "data")
+     * @param endung Die Dateierweiterung inklusive Punkt (z.B. ".copy")
+     * @return Dateiname im Format: zeitstempel_datenbankname_umgebung_objekt_typ.endung
+     */
+    private String erzeugeStrukturiertenDateinamen(String objektName, String typ, String endung) {
+        String dateiname = this.erzeugeStrukturiertenDateinamen(objektName, typ);
+        return dateiname.substring(0, dateiname.length() - ".sql".length()) + endung;
+    }
 
     /**
      * Erzeugt das CREATE TABLE Statement für eine Tabelle.
      * 
      * @param tabellenName Der Name der Tabelle
+     * @param spaltenTypen Map, in die die PostgreSQL-Typen der Spalten eingetragen werden
      * @return Das CREATE TABLE SQL Statement
      * @throws SQLException Bei Datenbankfehlern
      */
-    private String erzeugeCreateTable(String tabellenName) throws SQLException {
+    private String erzeugeCreateTable(String tabellenName, Map<String, String> spaltenTypen) throws SQLException {
         Logger.info("Erzeuge CREATE TABLE-Statement für " + tabellenName);
         
         StringBuilder sql = new StringBuilder();
@@ -290,162 +879,246 @@ public class OracleToPgMigrator implements Migrator {
         List<String> spaltenDefinitionen = new ArrayList<>();
         List<String> ignorierteSpalten = this.konfiguration.getIgnorierteSpalten(tabellenName);
         
-        try (Statement stmt = this.oracleConnection.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT * FROM " + tabellenName + " WHERE 1=0")) {
+        SchemaModell.Tabelle tabelle = this.schemaModell.getTabelle(this.oracleConnection, tabellenName);
+        
+        // Spalten-Definitionen aus der Tabelle bzw. der Quellabfrage erstellen
+        for (SchemaModell.Spalte spalte : this.ermittleQuellSpalten(tabellenName)) {
+            String spaltenName = spalte.getName();
             
-            ResultSetMetaData rsmd = rs.getMetaData();
-            int columnCount = rsmd.getColumnCount();
+            if (ignorierteSpalten.contains(spaltenName)) {
+                Logger.info("Spalte wird ignoriert: " + spaltenName);
+                continue;
+            }
             
-            DatabaseMetaData dbmd = this.oracleConnection.getMetaData();
-            Map<String, String> spaltenInfos = new HashMap<>();
-            Map<String, String> defaultWerte = new HashMap<>();
+            // Typ zu PostgreSQL konvertieren
+            String pgTyp = this.mappeOracleZuPostgresDatentyp(spalte.getOracleDatentyp(), spaltenName);
             
-            try (ResultSet columns = dbmd.getColumns(null, null, tabellenName.toUpperCase(), null)) {
-                while (columns.next()) {
-                    String spaltenName = columns.getString("COLUMN_NAME");
-                    String typeName = columns.getString("TYPE_NAME");
-                    int size = columns.getInt("COLUMN_SIZE");
-                    int digits = columns.getInt("DECIMAL_DIGITS");
-                    String nullable = columns.getString("IS_NULLABLE");
-                    String defaultVal = columns.getString("COLUMN_DEF");
-                    
-                    String detailTyp = typeName;
-                    if (typeName.equals("NUMBER") && size > 0) {
-                        if (size == 1 && digits == 0) {
-                            detailTyp = "NUMBER(1,0)";
-                        } else if (digits >= 0) {
-                            detailTyp = "NUMBER(" + size + "," + digits + ")";
-                        } else {
-                            detailTyp = "NUMBER(" + size + ")";
-                        }
-                    } else if (typeName.equals("VARCHAR2") || typeName.equals("CHAR")) {
-                        detailTyp = typeName + "(" + size + ")";
-                    }
-                    
-                    spaltenInfos.put(spaltenName, detailTyp + ":" + nullable);
-                    
-                    if (this.konfiguration.isSpaltenDefaultWerteUebertragen() && defaultVal != null && !defaultVal.trim().isEmpty()) {
-                        defaultWerte.put(spaltenName, defaultVal.trim());
-                    }
-                }
+            // Spaltentyp in Map speichern für spätere Verwendung bei INSERTs
+            spaltenTypen.put(spaltenName, pgTyp);
+            
+            // Spaltendefinition erstellen
+            StringBuilder spaltenDef = new StringBuilder();
+            spaltenDef.append("    ").append(spaltenName).append(" ").append(pgTyp);
+            
+            // NOT NULL-Constraint hinzufügen
+            if (this.konfiguration.isSpaltenNullConstraintsUebertragen() && !spalte.isNullbar()) {
+                spaltenDef.append(" NOT NULL");
             }
             
-            // Spalten-Definitionen erstellen
-            for (int i = 1; i <= columnCount; i++) {
-                String spaltenName = rsmd.getColumnName(i);
-                
-                if (ignorierteSpalten.contains(spaltenName)) {
-                    Logger.info("Spalte wird ignoriert: " + spaltenName);
-                    continue;
-                }
-                
-                String typDef = "";
-                String nullableFlag = "YES";
-                
-                if (spaltenInfos.containsKey(spaltenName)) {
-                    String[] teile = spaltenInfos.get(spaltenName).split(":");
-                    typDef = teile[0];
-                    if (teile.length > 1) {
-                        nullableFlag = teile[1];
-                    }
-                } else {
-                    typDef = rsmd.getColumnTypeName(i);
-                    int precision = rsmd.getPrecision(i);
-                    int scale = rsmd.getScale(i);
-                    
-                    if (typDef.equals("NUMBER") && precision > 0) {
-                        if (precision == 1 && scale == 0) {
-                            typDef = "NUMBER(1,0)";
-                        } else if (scale >= 0) {
-                            typDef = "NUMBER(" + precision + "," + scale + ")";
-                        } else {
-                            typDef = "NUMBER(" + precision + ")";
-                        }
-                    } else if (typDef.equals("VARCHAR2") || typDef.equals("CHAR")) {
-                        typDef = typDef + "(" + precision + ")";
-                    }
-                }
-                
-                // Typ zu PostgreSQL konvertieren
-                String pgTyp = this.mappeOracleZuPostgresDatentyp(typDef, spaltenName);
-                
-                // Spaltentyp in Map speichern für spätere Verwendung bei INSERTs
-                this.aktuelleTabelleSpaltenTypen.put(spaltenName, pgTyp);
-                
-                // Spaltendefinition erstellen
-                StringBuilder spaltenDef = new StringBuilder();
-                spaltenDef.append("    ").append(spaltenName).append(" ").append(pgTyp);
-                
-                // NOT NULL-Constraint hinzufügen
-                if (this.konfiguration.isSpaltenNullConstraintsUebertragen() && nullableFlag.equals("NO")) {
-                    spaltenDef.append(" NOT NULL");
-                }
-                
-                // Default-Wert hinzufügen
-                if (this.konfiguration.isSpaltenDefaultWerteUebertragen() && defaultWerte.containsKey(spaltenName)) {
-                    String defaultVal = defaultWerte.get(spaltenName);
-                    defaultVal = this.konvertiereOracleDefaultZuPostgres(defaultVal, pgTyp);
-                    spaltenDef.append(" DEFAULT ").append(defaultVal);
-                }
-                
-                spaltenDefinitionen.add(spaltenDef.toString());
+            // Default-Wert hinzufügen
+            if (this.konfiguration.isSpaltenDefaultWerteUebertragen() && spalte.getDefaultWert() != null) {
+                String defaultVal = this.konvertiereOracleDefaultZuPostgres(spalte.getDefaultWert(), pgTyp);
+                spaltenDef.append(" DEFAULT ").append(defaultVal);
             }
+            
+            spaltenDefinitionen.add(spaltenDef.toString());
         }
         
-        // Primary Keys hinzufügen
-        try (ResultSet primaryKeys = this.oracleConnection.getMetaData().getPrimaryKeys(null, null, tabellenName.toUpperCase())) {
-            Map<String, List<String>> pkConstraints = new HashMap<>();
-            
-            while (primaryKeys.next()) {
-                String pkName = primaryKeys.getString("PK_NAME");
-                String columnName = primaryKeys.getString("COLUMN_NAME");
-                
-                if (!ignorierteSpalten.contains(columnName)) {
-                    if (!pkConstraints.containsKey(pkName)) {
-                        pkConstraints.put(pkName, new ArrayList<>());
-                    }
-                    pkConstraints.get(pkName).add(columnName);
-                }
+        // Primary Key hinzufügen, soweit seine Spalten exportiert werden
+        List<String> pkColumns = new ArrayList<>();
+        for (String columnName : tabelle.getPkSpalten()) {
+            if (spaltenTypen.containsKey(columnName)) {
+                pkColumns.add(columnName);
             }
-            
-            for (String pkName : pkConstraints.keySet()) {
-                List<String> pkColumns = pkConstraints.get(pkName);
-                if (!pkColumns.isEmpty()) {
-                    String pkConstraint = "    CONSTRAINT " + pkName + " PRIMARY KEY (" + String.join(", ", pkColumns) + ")";
-                    spaltenDefinitionen.add(pkConstraint);
+        }
+        if (!pkColumns.isEmpty()) {
+            String pkConstraint = "    CONSTRAINT " + tabelle.getPkName() + " PRIMARY KEY (" + String.join(", ", pkColumns) + ")";
+            spaltenDefinitionen.add(pkConstraint);
+        }
+        
+        // Partitionierung übernehmen, soweit PostgreSQL sie abbilden kann
+        SchemaModell.Partitionierung partitionierung = null;
+        if (this.konfiguration.isPartitionenMigrieren() && tabelle.getPartitionierung() != null
+                && this.konfiguration.getAbfrage(tabellenName) == null) {
+            String grund = this.pruefePartitionierung(tabelle);
+            if (grund == null) {
+                partitionierung = tabelle.getPartitionierung();
+                Logger.info("Tabelle " + tabellenName + " wird mit " + partitionierung.getPartitionen().size()
+                        + " Partitionen (" + partitionierung.getTyp() + ") angelegt");
+                if (partitionierung.isUnterpartitioniert()) {
+                    Logger.warnung("Unterpartitionen von " + tabellenName + " werden nicht übernommen");
                 }
+            } else {
+                Logger.warnung("Tabelle " + tabellenName + " wird ohne Partitionierung angelegt, " + grund);
             }
         }
         
         sql.append(String.join(",\n", spaltenDefinitionen));
-        sql.append("\n);\n");
+        sql.append("\n)");
+        if (partitionierung != null) {
+            sql.append(" PARTITION BY ").append(partitionierung.getTyp())
+               .append(" (").append(String.join(", ", partitionierung.getSchluesselSpalten())).append(")");
+        }
+        sql.append(";\n");
+        if (partitionierung != null) {
+            sql.append(this.erzeugePartitionen(tabellenName, partitionierung));
+        }
         sql.append(this.migriereSpaltenKommentare(tabellenName));
         
         return sql.toString();
     }
-
- /**
- * Konvertiert einen Oracle-Datentyp in einen PostgreSQL-Datentyp.
- * Korrigierte Version: DATE bleibt DATE, TIMESTAMP bleibt TIMESTAMP
- * 
- * @param oracleTyp Der Oracle-Datentyp
- * @param spaltenName Der Name der Spalte (für Logging)
- * @return Der entsprechende PostgreSQL-Datentyp
- */
-private String mappeOracleZuPostgresDatentyp(String oracleTyp, String spaltenName) {
-    Map<String, String> mapping = this.konfiguration.getDatentypMapping();
-    
-    // Oracle DATE -> PostgreSQL DATE (KORRIGIERT)
-    if (oracleTyp.equals("DATE")) {
-        Logger.info("Oracle DATE-Spalte '" + spaltenName + "' wird zu DATE konvertiert");
-        return "DATE";
-    }
-    
-    // Oracle TIMESTAMP -> PostgreSQL TIMESTAMP (KORRIGIERT)
-    if (oracleTyp.equals("TIMESTAMP")) {
-        Logger.info("Oracle TIMESTAMP-Spalte '" + spaltenName + "' wird zu TIMESTAMP konvertiert");
-        return "TIMESTAMP";
-    }
+    
+    /**
+     * Prüft, ob die Partitionierung einer Tabelle in PostgreSQL nachgebildet werden kann. PostgreSQL
+     * verlangt, dass der Primärschlüssel alle Partitionsschlüssel enthält, und partitioniert nach LIST
+     * nur über eine Spalte.
+     * 
+     * @param tabelle Die partitionierte Tabelle
+     * @return Der Grund, warum die Tabelle ohne Partitionierung angelegt wird, oder null
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private String pruefePartitionierung(SchemaModell.Tabelle tabelle) throws SQLException {
+        SchemaModell.Partitionierung partitionierung = tabelle.getPartitionierung();
+        List<String> schluessel = partitionierung.getSchluesselSpalten();
+        String typ = partitionierung.getTyp();
+        
+        if (!SchemaModell.Partitionierung.TYP_RANGE.equals(typ) && !SchemaModell.Partitionierung.TYP_LIST.equals(typ)
+                && !SchemaModell.Partitionierung.TYP_HASH.equals(typ)) {
+            return "die Partitionierungsart " + typ + " wird nicht unterstützt";
+        }
+        if (partitionierung.getPartitionen().isEmpty() || schluessel.isEmpty()) {
+            return "Partitionen oder Partitionsschlüssel nicht gefunden";
+        }
+        if (!this.sindSpaltenExportiert(tabelle.getName(), schluessel)) {
+            return "nicht alle Partitionsschlüssel werden exportiert";
+        }
+        if (!tabelle.getPkSpalten().isEmpty() && !tabelle.getPkSpalten().containsAll(schluessel)) {
+            return "der Primärschlüssel enthält nicht alle Partitionsschlüssel";
+        }
+        if (SchemaModell.Partitionierung.TYP_LIST.equals(typ) && schluessel.size() > 1) {
+            return "LIST-Partitionierung über mehrere Spalten";
+        }
+        return null;
+    }
+    
+    /**
+     * Gibt die Partitionierung einer Tabelle zurück, wenn sie in PostgreSQL nachgebildet wird.
+     * 
+     * @param tabelle Die Tabellendefinition
+     * @return Die Partitionierung oder null für eine ungeteilte Tabelle
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private SchemaModell.Partitionierung ermittlePartitionierung(SchemaModell.Tabelle tabelle) throws SQLException {
+        if (!this.konfiguration.isPartitionenMigrieren() || tabelle.getPartitionierung() == null
+                || this.konfiguration.getAbfrage(tabelle.getName()) != null) {
+            return null;
+        }
+        return this.pruefePartitionierung(tabelle) == null ? tabelle.getPartitionierung() : null;
+    }
+    
+    /**
+     * Erzeugt die Partitionen einer deklarativ partitionierten Tabelle. Eine RANGE-Partition reicht
+     * von der Grenze der vorherigen Partition (bzw. MINVALUE) bis zu ihrer eigenen, HASH-Partitionen
+     * werden über MODULUS und REMAINDER gebildet. Da Oracle und PostgreSQL unterschiedliche
+     * Hashfunktionen verwenden, verteilt PostgreSQL die Zeilen beim Laden über die Haupttabelle selbst.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @param partitionierung Die Partitionierung der Tabelle
+     * @return Die CREATE TABLE ... PARTITION OF-Statements
+     */
+    private String erzeugePartitionen(String tabellenName, SchemaModell.Partitionierung partitionierung) {
+        StringBuilder sql = new StringBuilder();
+        List<SchemaModell.Partition> partitionen = partitionierung.getPartitionen();
+        List<String> vorherigeGrenze = Collections.nCopies(partitionierung.getSchluesselSpalten().size(), "MINVALUE");
+        
+        for (int i = 0; i < partitionen.size(); i++) {
+            SchemaModell.Partition partition = partitionen.get(i);
+            sql.append("CREATE TABLE ").append(tabellenName).append('_').append(partition.getName())
+               .append(" PARTITION OF ").append(tabellenName).append(' ');
+            
+            if (SchemaModell.Partitionierung.TYP_RANGE.equals(partitionierung.getTyp())) {
+                List<String> grenze = konvertiereGrenzwerte(partition.getGrenze());
+                sql.append("FOR VALUES FROM (").append(String.join(", ", vorherigeGrenze))
+                   .append(") TO (").append(String.join(", ", grenze)).append(")");
+                vorherigeGrenze = grenze;
+            } else if (SchemaModell.Partitionierung.TYP_LIST.equals(partitionierung.getTyp())) {
+                if ("DEFAULT".equalsIgnoreCase(partition.getGrenze())) {
+                    sql.append("DEFAULT");
+                } else {
+                    sql.append("FOR VALUES IN (").append(String.join(", ", konvertiereGrenzwerte(partition.getGrenze()))).append(")");
+                }
+            } else {
+                sql.append("FOR VALUES WITH (MODULUS ").append(partitionen.size()).append(", REMAINDER ").append(i).append(")");
+            }
+            sql.append(";\n");
+        }
+        
+        // Oracle legt Intervall-Partitionen bei Bedarf an, in PostgreSQL fängt eine Default-Partition spätere Zeilen auf
+        if (partitionierung.isIntervall()) {
+            sql.append("CREATE TABLE ").append(tabellenName).append("_default PARTITION OF ").append(tabellenName).append(" DEFAULT;\n");
+        }
+        return sql.toString();
+    }
+    
+    /**
+     * Zerlegt eine Partitionsgrenze aus HIGH_VALUE an den Kommas zwischen den Werten und wandelt
+     * jeden Wert in ein PostgreSQL-Literal um. Kommas in Texten und Funktionsaufrufen trennen nicht.
+     * 
+     * @param grenze Die Grenze, z.B. "TO_DATE(' 2024-01-01 00:00:00', 'SYYYY-MM-DD HH24:MI:SS', ...), MAXVALUE"
+     * @return Die Werte in PostgreSQL-Schreibweise
+     */
+    private static List<String> konvertiereGrenzwerte(String grenze) {
+        List<String> werte = new ArrayList<>();
+        int tiefe = 0;
+        boolean imText = false;
+        int start = 0;
+        for (int i = 0; i < grenze.length(); i++) {
+            char c = grenze.charAt(i);
+            if (c == '\'') {
+                imText = !imText;
+            } else if (!imText && c == '(') {
+                tiefe++;
+            } else if (!imText && c == ')') {
+                tiefe--;
+            } else if (!imText && tiefe == 0 && c == ',') {
+                werte.add(konvertiereGrenzwert(grenze.substring(start, i)));
+                start = i + 1;
+            }
+        }
+        werte.add(konvertiereGrenzwert(grenze.substring(start)));
+        return werte;
+    }
+    
+    /**
+     * Wandelt einen einzelnen Grenzwert um. Datums- und Zeitwerte stehen in HIGH_VALUE als
+     * TO_DATE(' 2024-01-01 00:00:00', ...) bzw. TIMESTAMP' 2024-01-01 00:00:00' und werden zum
+     * Text-Literal; Zahlen, Texte, MAXVALUE und NULL bleiben unverändert.
+     */
+    private static String konvertiereGrenzwert(String wert) {
+        wert = wert.trim();
+        String gross = wert.toUpperCase();
+        if (gross.startsWith("TO_DATE(") || gross.startsWith("TIMESTAMP")) {
+            int anfang = wert.indexOf('\'');
+            int ende = wert.indexOf('\'', anfang + 1);
+            if (anfang >= 0 && ende > anfang) {
+                return "'" + wert.substring(anfang + 1, ende).trim() + "'";
+            }
+        }
+        return wert;
+    }
+
+ /**
+ * Konvertiert einen Oracle-Datentyp in einen PostgreSQL-Datentyp.
+ * Korrigierte Version: DATE bleibt DATE, TIMESTAMP bleibt TIMESTAMP
+ * 
+ * @param oracleTyp Der Oracle-Datentyp
+ * @param spaltenName Der Name der Spalte (für Logging)
+ * @return Der entsprechende PostgreSQL-Datentyp
+ */
+private String mappeOracleZuPostgresDatentyp(String oracleTyp, String spaltenName) {
+    Map<String, String> mapping = this.konfiguration.getDatentypMapping();
+    
+    // Oracle DATE -> PostgreSQL DATE (KORRIGIERT)
+    if (oracleTyp.equals("DATE")) {
+        Logger.info("Oracle DATE-Spalte '" + spaltenName + "' wird zu DATE konvertiert");
+        return "DATE";
+    }
+    
+    // Oracle TIMESTAMP -> PostgreSQL TIMESTAMP (KORRIGIERT)
+    if (oracleTyp.equals("TIMESTAMP")) {
+        Logger.info("Oracle TIMESTAMP-Spalte '" + spaltenName + "' wird zu TIMESTAMP konvertiert");
+        return "TIMESTAMP";
+    }
     
     if (oracleTyp.startsWith("TIMESTAMP(")) {
         Logger.info("Oracle TIMESTAMP-Spalte '" + spaltenName + "' wird zu TIMESTAMP konvertiert");
@@ -467,140 +1140,834 @@ private String mappeOracleZuPostgresDatentyp(String oracleTyp, String spaltenNam
                 int size = Integer.parseInt(teile[0].trim());
                 int scale = Integer.parseInt(teile[1].trim());
                 
-                if (size == 1 && scale == 0) {
-                    return "BOOLEAN";
+                if (size == 1 && scale == 0) {
+                    return "BOOLEAN";
+                }
+                
+                if (scale == 0) {
+                    return "BIGINT";
+                }
+                
+                return "NUMERIC";
+            } catch (NumberFormatException e) {
+                Logger.info("Fehler beim Parsen von NUMBER-Typ: " + oracleTyp);
+            }
+        }
+        
+        if (teile.length == 1) {
+            return "BIGINT";
+        }
+    }
+    
+    // Standard NUMBER ohne Größenangabe
+    if (oracleTyp.equals("NUMBER")) {
+        return "BIGINT";
+    }
+    
+    // Explizites Mapping aus der Konfiguration verwenden
+    if (mapping.containsKey(oracleTyp)) {
+        return mapping.get(oracleTyp);
+    }
+    
+    // VARCHAR2 zu VARCHAR konvertieren
+    if (oracleTyp.startsWith("VARCHAR2")) {
+        return "VARCHAR";
+    }
+    
+    // CHAR-Typen unverändert übernehmen
+    if (oracleTyp.startsWith("CHAR")) {
+        return oracleTyp;
+    }
+    
+    if (oracleTyp.equals("CLOB")) {
+        return "TEXT";
+    }
+    
+    if (oracleTyp.equals("BLOB")) {
+        return "BYTEA";
+    }
+    
+    if (oracleTyp.equals("RAW")) {
+        return "BYTEA";
+    }
+    
+    // Fallback für unbekannte Typen
+    Logger.info("Unbekannter Datentyp: " + oracleTyp + " für Spalte '" + spaltenName + "', verwende TEXT als Standard");
+    return "TEXT";
+}
+
+
+    /**
+     * Prüft vor dem Festlegen des Snapshots, ob die Undo-Daten die geplante Laufzeit überdauern.
+     * Maßgeblich ist die von Oracle aktuell erreichte Aufbewahrungszeit (TUNED_UNDORETENTION),
+     * ersatzweise der Parameter UNDO_RETENTION. Beim Fortsetzen mit der SCN aus dem Journal zählt
+     * deren bisheriges Alter zur geplanten Laufzeit hinzu.
+     * 
+     * @param scn Die SCN aus dem Journal oder 0 für einen neuen Snapshot
+     * @throws SQLException Wenn die Aufbewahrungszeit kürzer als die geplante Laufzeit ist oder die
+     *                      SCN aus dem Journal nicht mehr gelesen werden kann
+     */
+    private void pruefeUndoRetention(long scn) throws SQLException {
+        long geplantSekunden = this.konfiguration.getSnapshotLaufzeitMinuten() * 60L;
+        long alterSekunden = scn > 0 ? this.ermittleScnAlter(scn) : 0;
+        long retentionSekunden;
+        
+        String sql = "SELECT (SELECT MAX(TUNED_UNDORETENTION) KEEP (DENSE_RANK LAST ORDER BY END_TIME) FROM V$UNDOSTAT), " +
+                     "(SELECT TO_NUMBER(VALUE) FROM V$PARAMETER WHERE NAME = 'undo_retention') FROM DUAL";
+        try (Statement stmt = this.oracleConnection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            retentionSekunden = rs.getLong(1);
+            if (rs.wasNull()) {
+                retentionSekunden = rs.getLong(2);
+            }
+        } catch (SQLException e) {
+            Logger.warnung("Undo-Aufbewahrungszeit konnte nicht geprüft werden (" + e.getMessage()
+                    + "), Snapshot wird ohne Prüfung verwendet");
+            return;
+        }
+        
+        if (retentionSekunden < alterSekunden + geplantSekunden) {
+            throw new SQLException("Snapshot nicht möglich: Die Undo-Aufbewahrungszeit beträgt nur " + retentionSekunden
+                    + " Sekunden, geplant sind " + geplantSekunden + " Sekunden (snapshot.laufzeit.minuten)"
+                    + (alterSekunden > 0 ? " ab der " + alterSekunden + " Sekunden alten SCN aus dem Journal" : "") + ". "
+                    + "Spätere Abfragen würden mit ORA-01555 (snapshot too old) abbrechen. "
+                    + "UNDO_RETENTION erhöhen oder die Migration in kürzere Läufe aufteilen.");
+        }
+        Logger.info("Undo-Aufbewahrungszeit " + retentionSekunden + " Sekunden reicht für die geplante Laufzeit");
+    }
+    
+    /**
+     * Ermittelt, vor wie vielen Sekunden eine SCN erreicht wurde. Kann Oracle die SCN keinem
+     * Zeitpunkt mehr zuordnen (ORA-08181), liegt sie außerhalb der Undo-Daten.
+     * 
+     * @param scn Die SCN
+     * @return Das Alter in Sekunden
+     * @throws SQLException Wenn die SCN nicht mehr gelesen werden kann
+     */
+    private long ermittleScnAlter(long scn) throws SQLException {
+        String sql = "SELECT ROUND((CAST(SYSTIMESTAMP AS DATE) - CAST(SCN_TO_TIMESTAMP(?) AS DATE)) * 86400) FROM DUAL";
+        try (PreparedStatement stmt = this.oracleConnection.prepareStatement(sql)) {
+            stmt.setLong(1, scn);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return Math.max(0, rs.getLong(1));
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Die Snapshot-SCN " + scn + " aus dem Journal kann nicht mehr gelesen werden ("
+                    + e.getMessage() + "). Migration ohne --resume neu beginnen.", e);
+        }
+    }
+    
+    /**
+     * Prüft die Quellabfrage einer Tabelle (tabelle.X.query) auf den SCN-Platzhalter. Im
+     * Snapshot-Modus muss die Abfrage ihn enthalten (z.B. FROM KUNDEN AS OF SCN {SCN}), damit sie
+     * auf demselben Stand wie alle übrigen Tabellen liest; ohne Snapshot ist er nicht erlaubt.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @throws SQLException Wenn die Abfrage nicht zum Snapshot-Modus passt
+     */
+    private void pruefeQuellabfrage(String tabellenName) throws SQLException {
+        String abfrage = this.konfiguration.getAbfrage(tabellenName);
+        if (abfrage == null) {
+            return;
+        }
+        if (this.snapshotScn > 0 && !abfrage.contains(SCN_PLATZHALTER)) {
+            throw new SQLException("Die Quellabfrage für " + tabellenName + " würde nicht auf der Snapshot-SCN lesen: "
+                    + "AS OF SCN " + SCN_PLATZHALTER + " nach jeder Tabelle der Abfrage angeben");
+        }
+        if (this.snapshotScn == 0 && abfrage.contains(SCN_PLATZHALTER)) {
+            throw new SQLException("Die Quellabfrage für " + tabellenName + " enthält " + SCN_PLATZHALTER
+                    + ", der Platzhalter wird nur im Snapshot-Modus (snapshot=true) ersetzt");
+        }
+    }
+    
+    /**
+     * Gibt die Quellabfrage einer Tabelle zurück, im Snapshot-Modus mit eingesetzter SCN.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @return Das SELECT-Statement oder null
+     */
+    private String ermittleAbfrage(String tabellenName) {
+        String abfrage = this.konfiguration.getAbfrage(tabellenName);
+        if (abfrage == null || this.snapshotScn == 0) {
+            return abfrage;
+        }
+        return abfrage.replace(SCN_PLATZHALTER, String.valueOf(this.snapshotScn));
+    }
+    
+    /**
+     * Ermittelt die aktuelle SCN der Datenbank, z.B. als Lesezeitpunkt des Snapshots.
+     * 
+     * @return Die SCN
+     * @throws SQLException Bei Datenbankfehlern oder fehlendem Ausführungsrecht auf DBMS_FLASHBACK
+     */
+    private long ermittleAktuelleScn() throws SQLException {
+        try (Statement stmt = this.oracleConnection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT DBMS_FLASHBACK.GET_SYSTEM_CHANGE_NUMBER FROM DUAL")) {
+            rs.next();
+            return rs.getLong(1);
+        } catch (SQLException e) {
+            throw new SQLException("Aktuelle SCN konnte nicht ermittelt werden "
+                    + "(EXECUTE-Recht auf DBMS_FLASHBACK erforderlich): " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Bestimmt für eine inkrementell exportierte Tabelle den Bereich seit der letzten Hochwassermarke.
+     * Die obere Grenze wird vor dem Export festgelegt, damit währenddessen geänderte Zeilen
+     * vollständig im nächsten Lauf landen.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @return Der Exportbereich oder null, wenn die Tabelle vollständig exportiert wird
+     * @throws SQLException Bei Datenbankfehlern oder einer unbekannten Änderungsspalte
+     */
+    private Hochwassermarken.Bereich ermittleInkrementBereich(String tabellenName) throws SQLException {
+        String spalte = this.konfiguration.getInkrementSpalte(tabellenName);
+        if (spalte == null) {
+            return null;
+        }
+        
+        SchemaModell.Tabelle tabelle = this.schemaModell.getTabelle(this.oracleConnection, tabellenName);
+        if (tabelle.getPkSpalten().isEmpty()) {
+            Logger.warnung("Tabelle " + tabellenName + " hat keinen Primärschlüssel für das Upsert, sie wird vollständig exportiert");
+            return null;
+        }
+        
+        Object bis;
+        if (spalte.equalsIgnoreCase("ORA_ROWSCN")) {
+            bis = BigDecimal.valueOf(this.snapshotScn > 0 ? this.snapshotScn : this.ermittleAktuelleScn());
+        } else {
+            SchemaModell.Spalte aenderungsSpalte = tabelle.getSpalte(spalte);
+            if (aenderungsSpalte == null) {
+                throw new SQLException("Änderungsspalte " + spalte + " existiert nicht in Tabelle " + tabellenName);
+            }
+            
+            try (Statement stmt = this.oracleConnection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT MAX(" + spalte + ") FROM " + this.ermittleQuelle(tabellenName))) {
+                rs.next();
+                String datenTyp = aenderungsSpalte.getDatenTyp();
+                if (datenTyp.equals("DATE") || datenTyp.startsWith("TIMESTAMP")) {
+                    bis = rs.getTimestamp(1);
+                } else if (datenTyp.equals("NUMBER") || datenTyp.equals("FLOAT")) {
+                    bis = rs.getBigDecimal(1);
+                } else {
+                    bis = rs.getString(1);
+                }
+            }
+        }
+        
+        Hochwassermarken.Bereich bereich = new Hochwassermarken.Bereich(spalte, this.hochwassermarken.getMarke(tabellenName), bis);
+        Logger.info("Inkrementeller Export von " + tabellenName + ": " + bereich);
+        return bereich;
+    }
+    
+    /**
+     * Erzeugt die ON CONFLICT-Klausel für das Upsert über den Primärschlüssel.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @param spaltenNamen Die exportierten Spalten
+     * @return Die Klausel mit führendem Zeilenumbruch
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private String erzeugeUpsertKlausel(String tabellenName, List<String> spaltenNamen) throws SQLException {
+        List<String> pkSpalten = this.schemaModell.getTabelle(this.oracleConnection, tabellenName).getPkSpalten();
+        List<String> zuweisungen = new ArrayList<>();
+        for (String spaltenName : spaltenNamen) {
+            if (!pkSpalten.contains(spaltenName)) {
+                zuweisungen.add(spaltenName + " = EXCLUDED." + spaltenName);
+            }
+        }
+        
+        String klausel = "\nON CONFLICT (" + String.join(", ", pkSpalten) + ") DO ";
+        return zuweisungen.isEmpty() ? klausel + "NOTHING" : klausel + "UPDATE SET " + String.join(", ", zuweisungen);
+    }
+    
+    /**
+     * Gibt den FROM-Ausdruck für die Daten einer Tabelle zurück, im Snapshot-Modus mit AS OF SCN.
+     * Ist eine eigene Quellabfrage konfiguriert, wird sie als Inline-View gelesen.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @return Der Tabellenname, ggf. mit Flashback-Klausel, oder die Quellabfrage in Klammern
+     */
+    private String ermittleQuelle(String tabellenName) {
+        return this.ermittleQuelle(tabellenName, "");
+    }
+    
+    /**
+     * Gibt den FROM-Ausdruck für die Daten einer Tabelle mit Partitions- und Stichproben-Klausel zurück.
+     * Oracle erwartet PARTITION und SAMPLE in dieser Reihenfolge direkt nach dem Tabellennamen und vor AS OF SCN.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @param zusatz Die PARTITION- und SAMPLE-Klausel mit führendem Leerzeichen oder ""
+     * @return Der FROM-Ausdruck
+     */
+    private String ermittleQuelle(String tabellenName, String zusatz) {
+        String abfrage = this.ermittleAbfrage(tabellenName);
+        if (abfrage != null) {
+            return "(" + abfrage + ")";
+        }
+        return this.snapshotScn > 0 ? tabellenName + zusatz + " AS OF SCN " + this.snapshotScn : tabellenName + zusatz;
+    }
+    
+    /**
+     * Gibt die Stichproben-Klausel für die Datenabfrage einer Tabelle zurück. SAMPLE BLOCK liest
+     * nur den Anteil der Blöcke und ist damit deutlich schneller, SAMPLE verteilt die Zeilen
+     * gleichmäßiger. Mit festem SEED liefert jeder Lauf dieselbe Stichprobe. Chunk-Planung und
+     * Hochwassermarken lesen weiterhin die ganze Tabelle.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @return Die Klausel mit führendem Leerzeichen oder "" für einen vollständigen Export
+     */
+    private String ermittleStichprobe(String tabellenName) {
+        double prozent = this.konfiguration.getStichprobeProzent(tabellenName);
+        if (prozent <= 0 || this.konfiguration.getAbfrage(tabellenName) != null
+                || (this.teilmenge != null && this.teilmenge.enthaeltTabelle(tabellenName))) {
+            return "";
+        }
+        
+        String klausel = Konfiguration.STICHPROBE_METHODE_BLOCK.equals(this.konfiguration.getStichprobeMethode(tabellenName))
+                ? " SAMPLE BLOCK (" : " SAMPLE (";
+        klausel += BigDecimal.valueOf(prozent).stripTrailingZeros().toPlainString() + ")";
+        Long seed = this.konfiguration.getStichprobeSeed();
+        return seed != null ? klausel + " SEED (" + seed + ")" : klausel;
+    }
+    
+    /**
+     * Ermittelt die Spalten, die die Quelle einer Tabelle liefert: die Spalten der Tabelle oder
+     * die Projektion der eigenen Quellabfrage. Spalten der Abfrage, die mit gleichem Namen und Typ
+     * in der Tabelle vorkommen, übernehmen deren Definition samt Default-Wert und Kommentar.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @return Die Spalten in der Reihenfolge der Quelle
+     * @throws SQLException Bei Datenbankfehlern, z.B. einer ungültigen Quellabfrage
+     */
+    private List<SchemaModell.Spalte> ermittleQuellSpalten(String tabellenName) throws SQLException {
+        SchemaModell.Tabelle tabelle = this.schemaModell.getTabelle(this.oracleConnection, tabellenName);
+        String abfrage = this.ermittleAbfrage(tabellenName);
+        if (abfrage == null) {
+            return tabelle.getSpalten();
+        }
+        
+        List<SchemaModell.Spalte> projektion = this.abfrageProjektionen.get(tabellenName.toUpperCase());
+        if (projektion != null) {
+            return projektion;
+        }
+        
+        // Die Abfrage nur beschreiben lassen, ohne Zeilen zu lesen
+        projektion = new ArrayList<>();
+        try (Statement stmt = this.oracleConnection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM (" + abfrage + ") WHERE 1 = 0")) {
+            ResultSetMetaData rsmd = rs.getMetaData();
+            for (int i = 1; i <= rsmd.getColumnCount(); i++) {
+                SchemaModell.Spalte spalte = tabelle.getSpalte(rsmd.getColumnName(i).toUpperCase());
+                if (spalte == null || !spalte.getDatenTyp().startsWith(rsmd.getColumnTypeName(i))) {
+                    spalte = SchemaModell.Spalte.ausAbfrage(rsmd, i);
+                }
+                projektion.add(spalte);
+            }
+        }
+        
+        Logger.info("Quellabfrage für " + tabellenName + " liefert " + projektion.size() + " Spalten");
+        this.abfrageProjektionen.put(tabellenName.toUpperCase(), projektion);
+        return projektion;
+    }
+    
+    /**
+     * Ermittelt die exportierten Spalten einer Tabelle: die Spalten der Quelle ohne die ignorierten Spalten.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @return Die exportierten Spalten in der Reihenfolge der Quelle
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private List<SchemaModell.Spalte> ermittleSpalten(String tabellenName) throws SQLException {
+        List<String> ignorierteSpalten = this.konfiguration.getIgnorierteSpalten(tabellenName);
+        List<SchemaModell.Spalte> spalten = new ArrayList<>();
+        for (SchemaModell.Spalte spalte : this.ermittleQuellSpalten(tabellenName)) {
+            if (!ignorierteSpalten.contains(spalte.getName())) {
+                spalten.add(spalte);
+            }
+        }
+        return spalten;
+    }
+    
+    /**
+     * Prüft, ob alle angegebenen Spalten einer Tabelle exportiert werden. Indizes und Constraints
+     * auf ignorierten oder von der Quellabfrage nicht gelieferten Spalten werden nicht übernommen.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @param spaltenNamen Die Spalten des Index oder Constraints
+     * @return true, wenn alle Spalten in der Zieltabelle vorhanden sind
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private boolean sindSpaltenExportiert(String tabellenName, List<String> spaltenNamen) throws SQLException {
+        if (this.konfiguration.getAbfrage(tabellenName) == null && this.konfiguration.getIgnorierteSpalten(tabellenName).isEmpty()) {
+            return true;
+        }
+        
+        Set<String> exportierteSpalten = new HashSet<>();
+        for (SchemaModell.Spalte spalte : this.ermittleSpalten(tabellenName)) {
+            exportierteSpalten.add(spalte.getName());
+        }
+        return exportierteSpalten.containsAll(spaltenNamen);
+    }
+    
+    /**
+     * Ermittelt die Spaltenliste für die Datenabfrage einer Tabelle unter Berücksichtigung
+     * der ignorierten Spalten.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @return Die Spaltenliste für das SELECT ("*" wenn keine Spalten ignoriert werden)
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private String ermittleAbfrageSpalten(String tabellenName) throws SQLException {
+        if (this.konfiguration.getIgnorierteSpalten(tabellenName).isEmpty()) {
+            return "*";
+        }
+        
+        // Falls Spalten ignoriert werden sollen, explizite Spaltenliste aus der Quelle erstellen
+        List<String> zuMigrierendeSpalten = new ArrayList<>();
+        for (SchemaModell.Spalte spalte : this.ermittleSpalten(tabellenName)) {
+            zuMigrierendeSpalten.add(spalte.getName());
+        }
+        return String.join(", ", zuMigrierendeSpalten);
+    }
+    
+    /**
+     * Ermittelt den Optimizer-Hint für die Datenabfrage einer Tabelle oder eines Chunks. Ein
+     * konfigurierter Hint gilt unverändert. Sonst erhalten große Tabellen, die am Stück gelesen
+     * werden, einen PARALLEL-Hint mit einem Grad nach ihrer Segmentgröße. Chunks werden bereits
+     * auf mehreren Sitzungen gelesen und bekommen keinen automatischen Hint.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @param chunk Der zu lesende Chunk oder null für die ganze Tabelle
+     * @return Der Hint ohne Kommentarzeichen oder null
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private String ermittleHint(String tabellenName, DatenChunk chunk) throws SQLException {
+        String hint = this.konfiguration.getHint(tabellenName);
+        if (hint != null || chunk != null || this.konfiguration.getHintParallelAbBytes() <= 0) {
+            return hint;
+        }
+        
+        long bytes = 0;
+        try (PreparedStatement stmt = this.oracleConnection.prepareStatement(
+                "SELECT NVL(SUM(BYTES), 0) FROM USER_SEGMENTS WHERE SEGMENT_NAME = ?")) {
+            stmt.setString(1, tabellenName.toUpperCase());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    bytes = rs.getLong(1);
+                }
+            }
+        }
+        if (bytes < this.konfiguration.getHintParallelAbBytes()) {
+            return null;
+        }
+        
+        // Ein Parallel-Server je angefangenem Block von hint.parallel.mb.je.server, mindestens 2
+        long bytesJeServer = this.konfiguration.getHintParallelBytesJeServer();
+        long grad = Math.max(2, Math.min(this.konfiguration.getHintParallelMax(), (bytes + bytesJeServer - 1) / bytesJeServer));
+        Logger.info("Parallelitätsgrad für " + tabellenName + " automatisch ermittelt: " + grad
+                + " (Segment " + bytes / (1024 * 1024) + " MB)");
+        return "PARALLEL(" + grad + ")";
+    }
+    
+    /**
+     * Beschreibt Dauer und Durchsatz einer Datenabfrage für das Protokoll, zusammen mit dem
+     * verwendeten Hint, damit dessen Wirkung zwischen zwei Läufen verglichen werden kann.
+     * 
+     * @param zeilen Die Anzahl gelesener Zeilen
+     * @param startNanos Der Zeitpunkt vor dem Ausführen der Abfrage (System.nanoTime)
+     * @param hint Der verwendete Hint oder null
+     * @return Die Beschreibung mit führendem Leerzeichen
+     */
+    private static String beschreibeDurchsatz(long zeilen, long startNanos, String hint) {
+        double sekunden = Math.max(1, System.nanoTime() - startNanos) / 1e9;
+        return String.format(" in %.1f s (%d Zeilen/s, Hint: %s)", sekunden, (long) (zeilen / sekunden),
+                hint != null ? hint : "keiner");
+    }
+    
+    /**
+     * Erstellt die Abfrage für die Daten einer Tabelle oder eines Chunks, bei inkrementellem
+     * Export beschränkt auf den Bereich seit der letzten Hochwassermarke. Ein konfigurierter
+     * Zeilenfilter wird mit AND angehängt und damit bereits in Oracle ausgewertet.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @param chunk Der zu lesende Chunk oder null für die ganze Tabelle
+     * @param hint Der Optimizer-Hint ohne Kommentarzeichen oder null
+     * @return Das vorbereitete Statement mit gebundenen Chunk- und Bereichsgrenzen
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private PreparedStatement erstelleDatenAbfrage(String tabellenName, DatenChunk chunk, String hint) throws SQLException {
+        Hochwassermarken.Bereich bereich = this.inkrementBereiche.get(tabellenName.toUpperCase());
+        
+        // Bedingungen mit Bind-Parametern zuerst, damit deren Reihenfolge fest bleibt
+        List<String> bedingungen = new ArrayList<>();
+        if (chunk != null && chunk.getBedingung() != null) {
+            bedingungen.add(chunk.getBedingung());
+        }
+        if (bereich != null) {
+            bedingungen.add(bereich.getBedingung());
+        }
+        String filter = this.konfiguration.getFilter(tabellenName);
+        // In der Teilmenge gilt der Filter nur für die Auswahl der Wurzelzeilen
+        if (filter != null && (this.teilmenge == null || !this.teilmenge.enthaeltTabelle(tabellenName))) {
+            bedingungen.add(filter);
+        }
+        
+        String sql = "SELECT " + (hint != null ? "/*+ " + hint + " */ " : "") + this.ermittleAbfrageSpalten(tabellenName) + " FROM "
+                + this.ermittleQuelle(tabellenName, (chunk != null && chunk.getPartition() != null
+                        ? " PARTITION (\"" + chunk.getPartition() + "\")" : "") + this.ermittleStichprobe(tabellenName));
+        if (bedingungen.size() == 1) {
+            sql += " WHERE " + bedingungen.get(0);
+        } else if (!bedingungen.isEmpty()) {
+            sql += " WHERE (" + String.join(") AND (", bedingungen) + ")";
+        }
+        
+        // Fetch-Size und LOB-Prefetch bestimmen die Anzahl der Roundtrips beim Lesen
+        int fetchSize = this.ermittleFetchSize(tabellenName);
+        int lobPrefetch = this.konfiguration.getLobPrefetch(tabellenName);
+        
+        PreparedStatement stmt = this.oracleConnection.prepareStatement(sql);
+        try {
+            if (chunk != null) {
+                chunk.bindeParameter(stmt);
+            }
+            if (bereich != null) {
+                bereich.bindeParameter(stmt, chunk != null ? chunk.getParameterAnzahl() + 1 : 1);
+            }
+            if (fetchSize > 0) {
+                stmt.setFetchSize(fetchSize);
+            }
+            if (lobPrefetch > 0) {
+                setzeLobPrefetch(stmt, lobPrefetch);
+            }
+            if (this.konfiguration.isOracleTypisiertLesen()) {
+                this.definiereSpaltentypen(stmt, tabellenName);
+            }
+            return stmt;
+        } catch (SQLException | RuntimeException e) {
+            // Das Statement gehört noch niemandem und würde sonst den Cursor offen halten
+            try {
+                stmt.close();
+            } catch (SQLException schliessFehler) {
+                e.addSuppressed(schliessFehler);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Ermittelt die Fetch-Size für die Datenabfrage einer Tabelle. Im Modus "auto" wird sie aus
+     * AVG_ROW_LEN in USER_TABLES so gewählt, dass ein Roundtrip etwa die konfigurierte Zielgröße überträgt.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @return Die Fetch-Size oder 0 für den Standardwert des Treibers
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private int ermittleFetchSize(String tabellenName) throws SQLException {
+        int fetchSize = this.konfiguration.getFetchSize(tabellenName);
+        if (fetchSize != Konfiguration.FETCHSIZE_AUTO) {
+            return fetchSize;
+        }
+        
+        long zeilenLaenge = 0;
+        try (PreparedStatement stmt = this.oracleConnection.prepareStatement(
+                "SELECT NVL(AVG_ROW_LEN, 0) FROM USER_TABLES WHERE TABLE_NAME = ?")) {
+            stmt.setString(1, tabellenName.toUpperCase());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    zeilenLaenge = rs.getLong(1);
+                }
+            }
+        }
+        
+        if (zeilenLaenge <= 0) {
+            Logger.info("Keine Statistik (AVG_ROW_LEN) für " + tabellenName + ", verwende Fetch-Size " + FETCHSIZE_OHNE_STATISTIK);
+            return FETCHSIZE_OHNE_STATISTIK;
+        }
+        
+        long berechnet = this.konfiguration.getFetchSizeZielBytes() / zeilenLaenge;
+        int ergebnis = (int) Math.max(FETCHSIZE_MIN, Math.min(FETCHSIZE_MAX, berechnet));
+        Logger.info("Fetch-Size für " + tabellenName + " automatisch ermittelt: " + ergebnis + " (AVG_ROW_LEN " + zeilenLaenge + " Bytes)");
+        return ergebnis;
+    }
+    
+    /**
+     * Setzt die LOB-Prefetch-Größe über die Oracle-Erweiterung des Statements. Der Treiber wird per
+     * Reflection angesprochen, damit zur Übersetzung kein Oracle-JDBC-Treiber benötigt wird.
+     * 
+     * @param stmt Das Statement der Datenabfrage
+     * @param groesse Die Anzahl der LOB-Bytes, die mit der Zeile übertragen werden
+     */
+    private static void setzeLobPrefetch(Statement stmt, int groesse) {
+        try {
+            Class<?> oracleStatement = Class.forName("oracle.jdbc.OracleStatement");
+            Object ziel = stmt.unwrap(oracleStatement);
+            oracleStatement.getMethod("setLobPrefetchSize", int.class).invoke(ziel, groesse);
+        } catch (Exception e) {
+            if (!lobPrefetchWarnungAusgegeben) {
+                lobPrefetchWarnungAusgegeben = true;
+                Logger.warnung("LOB-Prefetch wird vom JDBC-Treiber nicht unterstützt: " + e);
+            }
+        }
+    }
+    
+    /**
+     * Legt für ganzzahlige NUMBER-Spalten (Genauigkeit bis 18) über die Oracle-Erweiterung
+     * defineColumnType fest, dass der Treiber sie als INTEGER bzw. BIGINT liefert. Die Spalten werden
+     * dafür nur bei der ersten Abfrage einer Tabelle vor der Ausführung beschrieben, alle weiteren
+     * Chunks verwenden das Ergebnis ohne zusätzlichen Roundtrip. Der Treiber wird wie beim
+     * LOB-Prefetch per Reflection angesprochen.
+     * 
+     * @param stmt Das Statement der Datenabfrage, noch nicht ausgeführt
+     * @param tabellenName Der Name der Tabelle
+     */
+    private void definiereSpaltentypen(PreparedStatement stmt, String tabellenName) {
+        try {
+            Class<?> oracleStatement = Class.forName("oracle.jdbc.OracleStatement");
+            Object ziel = stmt.unwrap(oracleStatement);
+            Method definiere = oracleStatement.getMethod("defineColumnType", int.class, int.class);
+            
+            int[] typen = this.festgelegteSpaltentypen.get(tabellenName.toUpperCase());
+            if (typen == null) {
+                ResultSetMetaData metaData = stmt.getMetaData();
+                typen = new int[metaData.getColumnCount() + 1];
+                for (int i = 1; i < typen.length; i++) {
+                    if (ZeilenKodierer.istGanzzahl(metaData, i)) {
+                        typen[i] = metaData.getPrecision(i) <= 9 ? Types.INTEGER : Types.BIGINT;
+                    }
+                }
+                this.festgelegteSpaltentypen.put(tabellenName.toUpperCase(), typen);
+            }
+            for (int i = 1; i < typen.length; i++) {
+                if (typen[i] != 0) {
+                    definiere.invoke(ziel, i, typen[i]);
+                }
+            }
+        } catch (Exception e) {
+            if (!spaltentypenWarnungAusgegeben) {
+                spaltentypenWarnungAusgegeben = true;
+                Logger.warnung("Spaltentypen können beim JDBC-Treiber nicht festgelegt werden: " + e);
+            }
+        }
+    }
+    
+    /**
+     * Erzeugt INSERT-Statements für eine Tabelle und schreibt sie zeilenweise in den Writer.
+     * Die Tabelle wird dabei nie vollständig im Speicher gehalten.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @param spaltenTypen Die PostgreSQL-Typen der Spalten aus erzeugeCreateTable
+     * @param chunk Der zu lesende Chunk oder null für die ganze Tabelle
+     * @param writer Der Writer, in den die INSERT-Statements geschrieben werden
+     * @throws SQLException Bei Datenbankfehlern
+     * @throws IOException Bei Dateisystemfehlern
+     */
+    private void erzeugeInserts(String tabellenName, Map<String, String> spaltenTypen, DatenChunk chunk, Writer writer) throws SQLException, IOException {
+        String hint = this.ermittleHint(tabellenName, chunk);
+        long start = System.nanoTime();
+        try (PreparedStatement stmt = this.erstelleDatenAbfrage(tabellenName, chunk, hint);
+             ResultSet rs = stmt.executeQuery();
+             Drossel.Leser drosselLeser = this.drossel.oeffneLeser(stmt.getFetchSize())) {
+            
+            ResultSetMetaData rsmd = rs.getMetaData();
+            int columnCount = rsmd.getColumnCount();
+            
+            // Spaltenliste und Typen für INSERTs einmalig vorbereiten
+            List<String> spaltenNamen = new ArrayList<>();
+            String[] oracleTypen = new String[columnCount + 1];
+            String[] postgresTypen = new String[columnCount + 1];
+            
+            for (int i = 1; i <= columnCount; i++) {
+                String spaltenName = rsmd.getColumnName(i);
+                spaltenNamen.add(spaltenName);
+                oracleTypen[i] = rsmd.getColumnTypeName(i);
+                postgresTypen[i] = spaltenTypen.get(spaltenName);
+            }
+            
+            String statementKopf = "INSERT INTO " + tabellenName + " (" + String.join(", ", spaltenNamen) + ") VALUES";
+            int zeilenZaehler = 0;
+            
+            // LOB- und LONG-Spalten werden beim Schreiben der Zeile gestreamt, große Werte ggf. ausgelagert
+            LobLeser lobLeser = this.erstelleLobLeser(rsmd, false, tabellenName, chunk);
+            
+            // Inkrementelle Exporte als Upsert über den Primärschlüssel
+            String statementEnde = this.inkrementBereiche.containsKey(tabellenName.toUpperCase())
+                    ? this.erzeugeUpsertKlausel(tabellenName, spaltenNamen) + ";\n"
+                    : ";\n";
+            
+            // Mehrere Zeilen je Statement zusammenfassen, begrenzt durch Zeilenzahl und Größe
+            int batchZeilen = this.konfiguration.getInsertBatchZeilen(tabellenName);
+            long batchMaxGroesse = this.konfiguration.getInsertBatchMaxGroesse();
+            int zeilenImBatch = 0;
+            long batchGroesse = 0;
+            
+            // Puffer für genau eine Zeile, wird für jede Zeile wiederverwendet
+            StringBuilder zeile = new StringBuilder(256);
+            ZeilenKodierer kodierer = this.erstelleKodierer(rsmd, oracleTypen, postgresTypen, lobLeser, false);
+            
+            // Daten durchgehen und INSERT-Statements direkt in den Writer schreiben
+            while (drosselLeser.naechsteZeile(rs)) {
+                zeile.setLength(0);
+                zeile.append('(');
+                
+                kodierer.kodiere(rs, zeile);
+                
+                zeile.append(')');
+                long zeilenLaenge = zeile.length() + lobLeser.getZusatzLaenge();
+                
+                // Laufendes Statement abschließen, wenn eine der Grenzen erreicht ist
+                if (zeilenImBatch > 0 && (zeilenImBatch >= batchZeilen || batchGroesse + zeilenLaenge > batchMaxGroesse)) {
+                    writer.write(statementEnde);
+                    zeilenImBatch = 0;
                 }
                 
-                if (scale == 0) {
-                    return "BIGINT";
+                if (zeilenImBatch == 0) {
+                    writer.write(statementKopf);
+                    writer.write(batchZeilen > 1 ? "\n" : " ");
+                    batchGroesse = statementKopf.length() + statementEnde.length();
+                } else {
+                    writer.write(",\n");
                 }
                 
-                return "NUMERIC";
-            } catch (NumberFormatException e) {
-                Logger.info("Fehler beim Parsen von NUMBER-Typ: " + oracleTyp);
+                if (lobLeser.hatLobs()) {
+                    lobLeser.schreibeZeile(zeile, writer, zeilenZaehler + 1);
+                } else {
+                    writer.append(zeile);
+                }
+                batchGroesse += zeilenLaenge + 2;
+                zeilenImBatch++;
+                
+                drosselLeser.zeileGelesen(zeilenLaenge);
+                
+                zeilenZaehler++;
+                if (zeilenZaehler % 1000 == 0) {
+                    Logger.info("Verarbeite Zeile " + zeilenZaehler + " für Tabelle " + tabellenName);
+                }
             }
+            
+            if (zeilenImBatch > 0) {
+                writer.write(statementEnde);
+            }
+            
+            Logger.info("Insgesamt " + zeilenZaehler + " Zeilen für Tabelle " + tabellenName + " verarbeitet"
+                    + beschreibeDurchsatz(zeilenZaehler, start, hint));
         }
-        
-        if (teile.length == 1) {
-            return "BIGINT";
-        }
-    }
-    
-    // Standard NUMBER ohne Größenangabe
-    if (oracleTyp.equals("NUMBER")) {
-        return "BIGINT";
-    }
-    
-    // Explizites Mapping aus der Konfiguration verwenden
-    if (mapping.containsKey(oracleTyp)) {
-        return mapping.get(oracleTyp);
-    }
-    
-    // VARCHAR2 zu VARCHAR konvertieren
-    if (oracleTyp.startsWith("VARCHAR2")) {
-        return "VARCHAR";
-    }
-    
-    // CHAR-Typen unverändert übernehmen
-    if (oracleTyp.startsWith("CHAR")) {
-        return oracleTyp;
-    }
-    
-    if (oracleTyp.equals("CLOB")) {
-        return "TEXT";
-    }
-    
-    if (oracleTyp.equals("BLOB")) {
-        return "BYTEA";
-    }
-    
-    if (oracleTyp.equals("RAW")) {
-        return "BYTEA";
     }
-    
-    // Fallback für unbekannte Typen
-    Logger.info("Unbekannter Datentyp: " + oracleTyp + " für Spalte '" + spaltenName + "', verwende TEXT als Standard");
-    return "TEXT";
-}
-
 
     /**
-     * Erzeugt INSERT-Statements für eine Tabelle.
+     * Erzeugt die Daten einer Tabelle im Textformat von PostgreSQL COPY und schreibt sie
+     * zeilenweise in den Writer. Spalten werden durch Tabulatoren getrennt, NULL-Werte als \N
+     * geschrieben. Die Datei kann z.B. mit "\copy TABELLE FROM 'datei.copy'" geladen werden.
      * 
      * @param tabellenName Der Name der Tabelle
-     * @return Die INSERT SQL Statements
+     * @param spaltenTypen Die PostgreSQL-Typen der Spalten aus erzeugeCreateTable
+     * @param chunk Der zu lesende Chunk oder null für die ganze Tabelle
+     * @param writer Der Writer, in den die COPY-Daten geschrieben werden
      * @throws SQLException Bei Datenbankfehlern
+     * @throws IOException Bei Dateisystemfehlern
      */
-    private String erzeugeInserts(String tabellenName) throws SQLException {
-        List<String> ignorierteSpalten = this.konfiguration.getIgnorierteSpalten(tabellenName);
-        String spaltenListe = "*";
-        
-        // Falls Spalten ignoriert werden sollen, explizite Spaltenliste erstellen
-        if (!ignorierteSpalten.isEmpty()) {
-            List<String> alleSpalten = new ArrayList<>();
-            List<String> zuMigrierendeSpalten = new ArrayList<>();
+    private void erzeugeCopyDaten(String tabellenName, Map<String, String> spaltenTypen, DatenChunk chunk, Writer writer) throws SQLException, IOException {
+        String hint = this.ermittleHint(tabellenName, chunk);
+        long start = System.nanoTime();
+        try (PreparedStatement stmt = this.erstelleDatenAbfrage(tabellenName, chunk, hint);
+             ResultSet rs = stmt.executeQuery();
+             Drossel.Leser drosselLeser = this.drossel.oeffneLeser(stmt.getFetchSize())) {
             
-            try (Statement stmt = this.oracleConnection.createStatement();
-                 ResultSet rs = stmt.executeQuery("SELECT * FROM " + tabellenName + " WHERE 1=0")) {
+            ResultSetMetaData rsmd = rs.getMetaData();
+            int columnCount = rsmd.getColumnCount();
+            
+            // Typen einmalig vorbereiten
+            String[] oracleTypen = new String[columnCount + 1];
+            String[] postgresTypen = new String[columnCount + 1];
+            
+            for (int i = 1; i <= columnCount; i++) {
+                oracleTypen[i] = rsmd.getColumnTypeName(i);
+                postgresTypen[i] = spaltenTypen.get(rsmd.getColumnName(i));
+            }
+            
+            int zeilenZaehler = 0;
+            
+            // LOB- und LONG-Spalten werden beim Schreiben der Zeile gestreamt
+            LobLeser lobLeser = this.erstelleLobLeser(rsmd, true, tabellenName, chunk);
+            
+            // Puffer für genau eine Zeile, wird für jede Zeile wiederverwendet
+            StringBuilder zeile = new StringBuilder(256);
+            ZeilenKodierer kodierer = this.erstelleKodierer(rsmd, oracleTypen, postgresTypen, lobLeser, true);
+            
+            while (drosselLeser.naechsteZeile(rs)) {
+                zeile.setLength(0);
                 
-                ResultSetMetaData rsmd = rs.getMetaData();
-                int columnCount = rsmd.getColumnCount();
+                kodierer.kodiere(rs, zeile);
                 
-                for (int i = 1; i <= columnCount; i++) {
-                    String spaltenName = rsmd.getColumnName(i);
-                    alleSpalten.add(spaltenName);
-                    
-                    if (!ignorierteSpalten.contains(spaltenName)) {
-                        zuMigrierendeSpalten.add(spaltenName);
-                    }
+                zeile.append('\n');
+                long zeilenLaenge = zeile.length() + lobLeser.getZusatzLaenge();
+                if (lobLeser.hatLobs()) {
+                    lobLeser.schreibeZeile(zeile, writer, zeilenZaehler + 1);
+                } else {
+                    writer.append(zeile);
+                }
+                
+                drosselLeser.zeileGelesen(zeilenLaenge);
+                
+                zeilenZaehler++;
+                if (zeilenZaehler % 1000 == 0) {
+                    Logger.info("Verarbeite Zeile " + zeilenZaehler + " für Tabelle " + tabellenName);
                 }
             }
             
-            spaltenListe = String.join(", ", zuMigrierendeSpalten);
+            Logger.info("Insgesamt " + zeilenZaehler + " Zeilen für Tabelle " + tabellenName + " verarbeitet"
+                    + beschreibeDurchsatz(zeilenZaehler, start, hint));
         }
-        
-        StringBuilder inserts = new StringBuilder();
-        
-        try (Statement stmt = this.oracleConnection.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT " + spaltenListe + " FROM " + tabellenName)) {
+    }
+    
+    /**
+     * Erzeugt die Daten einer Tabelle im binären COPY-Format von PostgreSQL (PGCOPY).
+     * Die Feldtypen werden einmalig aus den PostgreSQL-Typen der Spalten abgeleitet,
+     * die Werte werden über typisierte Getter ohne Textumwandlung geschrieben.
+     * 
+     * @param tabellenName Der Name der Tabelle
+     * @param spaltenTypen Die PostgreSQL-Typen der Spalten aus erzeugeCreateTable
+     * @param chunk Der zu lesende Chunk oder null für die ganze Tabelle
+     * @param writer Der Writer für das binäre COPY-Format
+     * @throws SQLException Bei Datenbankfehlern
+     * @throws IOException Bei Dateisystemfehlern
+     */
+    private void erzeugeCopyBinaerDaten(String tabellenName, Map<String, String> spaltenTypen, DatenChunk chunk, PgCopyBinaerWriter writer) throws SQLException, IOException {
+        String hint = this.ermittleHint(tabellenName, chunk);
+        long start = System.nanoTime();
+        try (PreparedStatement stmt = this.erstelleDatenAbfrage(tabellenName, chunk, hint);
+             ResultSet rs = stmt.executeQuery();
+             Drossel.Leser drosselLeser = this.drossel.oeffneLeser(stmt.getFetchSize())) {
             
             ResultSetMetaData rsmd = rs.getMetaData();
             int columnCount = rsmd.getColumnCount();
             
-            // Spaltenliste für INSERTs vorbereiten
-            List<String> spaltenNamen = new ArrayList<>();
-            Map<Integer, String> oracleTypen = new HashMap<>();
-            
+            // Feldtypen einmalig aus den PostgreSQL-Typen ableiten
+            int[] feldTypen = new int[columnCount + 1];
             for (int i = 1; i <= columnCount; i++) {
-                String spaltenName = rsmd.getColumnName(i);
-                spaltenNamen.add(spaltenName);
-                oracleTypen.put(i, rsmd.getColumnTypeName(i));
+                // Spalten einer Quellabfrage sind unter ihrem Namen in Großbuchstaben eingetragen
+                String postgresTyp = spaltenTypen.get(rsmd.getColumnName(i));
+                if (postgresTyp == null) {
+                    postgresTyp = spaltenTypen.get(rsmd.getColumnName(i).toUpperCase());
+                }
+                feldTypen[i] = ermittleBinaerFeldTyp(postgresTyp, rsmd.getColumnTypeName(i), rsmd.getScale(i));
             }
             
-            String spaltenString = "(" + String.join(", ", spaltenNamen) + ")";
             int zeilenZaehler = 0;
             
-            // Daten durchgehen und INSERT-Statements generieren
-            while (rs.next()) {
-                List<String> werte = new ArrayList<>();
+            long bytesBisher = writer.getGeschriebeneBytes();
+            while (drosselLeser.naechsteZeile(rs)) {
+                writer.beginneZeile(columnCount);
                 
                 for (int i = 1; i <= columnCount; i++) {
-                    String spaltenName = rsmd.getColumnName(i);
-                    String oracleTyp = oracleTypen.get(i);
-                    Object wert = rs.getObject(i);
-                    String postgresTyp = this.aktuelleTabelleSpaltenTypen.get(spaltenName);
-                    
-                    if (!rs.wasNull() && wert != null) {
-                        String formatierterWert = this.formatierteWert(wert, oracleTyp, postgresTyp);
-                        werte.add(formatierterWert);
-                    } else {
-                        werte.add("NULL");
-                    }
+                    writer.schreibeFeld(rs, i, feldTypen[i]);
                 }
                 
-                String werteString = "(" + String.join(", ", werte) + ")";
-                inserts.append("INSERT INTO ").append(tabellenName).append(" ")
-                       .append(spaltenString).append(" VALUES ").append(werteString).append(";\n");
+                long geschrieben = writer.getGeschriebeneBytes();
+                drosselLeser.zeileGelesen(geschrieben - bytesBisher);
+                bytesBisher = geschrieben;
                 
                 zeilenZaehler++;
                 if (zeilenZaehler % 1000 == 0) {
@@ -608,12 +1975,173 @@ private String mappeOracleZuPostgresDatentyp(String oracleTyp, String spaltenNam
                 }
             }
             
-            Logger.info("Insgesamt " + zeilenZaehler + " Zeilen für Tabelle " + tabellenName + " verarbeitet");
+            Logger.info("Insgesamt " + zeilenZaehler + " Zeilen für Tabelle " + tabellenName + " verarbeitet"
+                    + beschreibeDurchsatz(zeilenZaehler, start, hint));
+        }
+    }
+    
+    /**
+     * Erstellt den Leser für die LOB-, LONG- und RAW-Spalten einer Datenabfrage.
+     * Ausgelagerte Werte landen im Unterverzeichnis "lobs" des Ausgabeverzeichnisses.
+     * 
+     * @param rsmd Die Metadaten der Abfrage
+     * @param copyFormat true für das COPY-Textformat, false für INSERT-Statements
+     * @param tabellenName Der Name der Tabelle
+     * @param chunk Der gelesene Chunk oder null für die ganze Tabelle
+     * @return Der LOB-Leser
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private LobLeser erstelleLobLeser(ResultSetMetaData rsmd, boolean copyFormat, String tabellenName, DatenChunk chunk) throws SQLException {
+        String dateiPraefix = tabellenName + (chunk == null ? "" : chunk.getDateiZusatz());
+        String serverpfad = this.konfiguration.getLobAuslagernServerpfad();
+        return new LobLeser(rsmd, copyFormat, new File(this.ausgabePfad, "lobs"), dateiPraefix,
+                serverpfad != null ? serverpfad + "/lobs" : null, this.konfiguration.getLobAuslagernAbBytes());
+    }
+    
+    /**
+     * Ermittelt den Feldtyp einer Spalte für das binäre COPY-Format. CLOB und BLOB werden
+     * über ihren Locator stückweise übertragen, statt sie als Ganzes zu lesen. BIGINT-Spalten aus
+     * NUMBER ohne deklarierte Skala werden geprüft gelesen, damit Nachkommastellen nicht still
+     * abgeschnitten werden.
+     * 
+     * @param postgresTyp Der PostgreSQL-Typ der Spalte
+     * @param oracleTyp Der Oracle-Typname aus den Metadaten der Abfrage
+     * @param skala Die Skala aus den Metadaten der Abfrage (-127 bei NUMBER ohne Skala)
+     * @return Der Feldtyp (PgCopyBinaerWriter.TYP_*)
+     * @throws SQLException Wenn der Typ im binären Format nicht unterstützt wird
+     */
+    private static int ermittleBinaerFeldTyp(String postgresTyp, String oracleTyp, int skala) throws SQLException {
+        int feldTyp = PgCopyBinaerWriter.ermittleFeldTyp(postgresTyp);
+        int lobArt = LobLeser.ermittleArt(oracleTyp);
+        if (lobArt == LobLeser.ART_CLOB && feldTyp == PgCopyBinaerWriter.TYP_TEXT) {
+            return PgCopyBinaerWriter.TYP_CLOB;
+        } else if (lobArt == LobLeser.ART_BLOB && feldTyp == PgCopyBinaerWriter.TYP_BYTEA) {
+            return PgCopyBinaerWriter.TYP_BLOB;
+        } else if (feldTyp == PgCopyBinaerWriter.TYP_BIGINT && skala != 0) {
+            return PgCopyBinaerWriter.TYP_BIGINT_GEPRUEFT;
+        }
+        return feldTyp;
+    }
+    
+    /**
+     * Erstellt den Zeilenkodierer einer Datenabfrage. Bei breiten Tabellen wird auf Wunsch
+     * (kodierer.generieren) eine auf die Spaltenfolge spezialisierte Klasse verwendet.
+     * 
+     * @param rsmd Die Metadaten der Abfrage
+     * @param oracleTypen Die Oracle-Datentypen der Spalten (Index ab 1)
+     * @param postgresTypen Die PostgreSQL-Datentypen der Spalten (Index ab 1)
+     * @param lobLeser Der Leser für LOB-, LONG- und RAW-Spalten
+     * @param copy true für das COPY-Textformat, false für INSERT-Statements
+     * @return Der Zeilenkodierer
+     * @throws SQLException Bei Fehlern beim Lesen der Metadaten
+     */
+    private ZeilenKodierer erstelleKodierer(ResultSetMetaData rsmd, String[] oracleTypen, String[] postgresTypen,
+            LobLeser lobLeser, boolean copy) throws SQLException {
+        boolean generieren = this.konfiguration.isKodiererGenerieren()
+                && oracleTypen.length - 1 >= this.konfiguration.getKodiererAbSpalten();
+        ZeilenKodierer.WertKonverter[] konverter = this.erstelleKonverter(oracleTypen, postgresTypen, copy);
+        return ZeilenKodierer.erstelle(rsmd, konverter, lobLeser, copy, this.konfiguration.isOracleTypisiertLesen(), generieren);
+    }
+    
+    /**
+     * Wählt für jede Spalte einmalig den Konverter aus ihrem Oracle- und PostgreSQL-Datentyp, damit
+     * die Zeilenschleife ohne Typvergleiche auskommt. Spalten, deren Java-Typ erst zur Laufzeit
+     * feststeht (DATE, TIMESTAMP u.a.), werden wie bisher über formatierteWert bzw.
+     * formatiereCopyWert formatiert.
+     * 
+     * @param oracleTypen Die Oracle-Datentypen der Spalten (Index ab 1)
+     * @param postgresTypen Die PostgreSQL-Datentypen der Spalten (Index ab 1)
+     * @param copy true für das COPY-Textformat, false für INSERT-Statements
+     * @return Die Konverter je Spalte (Index ab 1)
+     */
+    private ZeilenKodierer.WertKonverter[] erstelleKonverter(String[] oracleTypen, String[] postgresTypen, boolean copy) {
+        ZeilenKodierer.WertKonverter[] konverter = new ZeilenKodierer.WertKonverter[oracleTypen.length];
+        for (int i = 1; i < oracleTypen.length; i++) {
+            String oracleTyp = oracleTypen[i];
+            String postgresTyp = postgresTypen[i];
+            
+            if ("BOOLEAN".equalsIgnoreCase(postgresTyp)) {
+                String wahr = copy ? "t" : "true";
+                String falsch = copy ? "f" : "false";
+                konverter[i] = (wert, ziel) -> ziel.append(formatiereBoolWert(wert, wahr, falsch));
+            } else if ("DATE".equalsIgnoreCase(postgresTyp) || (!istTextTyp(oracleTyp) && !istZahlTyp(oracleTyp))) {
+                konverter[i] = copy
+                        ? (wert, ziel) -> ZeilenKodierer.schreibeCopyText(this.formatiereCopyWert(wert, oracleTyp, postgresTyp), ziel)
+                        : (wert, ziel) -> ziel.append(this.formatierteWert(wert, oracleTyp, postgresTyp));
+            } else if (istTextTyp(oracleTyp)) {
+                konverter[i] = copy ? ZeilenKodierer.COPY_TEXT : ZeilenKodierer.SQL_TEXT;
+            } else {
+                // Zahlen enthalten keine Zeichen, die im COPY-Format maskiert werden müssten
+                konverter[i] = copy ? ZeilenKodierer.COPY_ZAHL : ZeilenKodierer.SQL_ZAHL;
+            }
+        }
+        return konverter;
+    }
+    
+    private static boolean istTextTyp(String oracleTyp) {
+        return oracleTyp.equals("VARCHAR2") || oracleTyp.equals("NVARCHAR2") || oracleTyp.equals("CHAR")
+                || oracleTyp.equals("NCHAR") || oracleTyp.equals("VARCHAR");
+    }
+    
+    private static boolean istZahlTyp(String oracleTyp) {
+        return oracleTyp.equals("NUMBER") || oracleTyp.equals("FLOAT") || oracleTyp.equals("BINARY_FLOAT")
+                || oracleTyp.equals("BINARY_DOUBLE");
+    }
+    
+    /**
+     * Formatiert einen Wert für eine PostgreSQL-BOOLEAN-Spalte.
+     * 
+     * @param wert Der Wert aus Oracle (Zahl, Boolean oder Text)
+     * @param wahr Die Darstellung von true im Zielformat
+     * @param falsch Die Darstellung von false im Zielformat
+     * @return Der Wert als Text, nicht erkannte Werte unverändert
+     */
+    private static String formatiereBoolWert(Object wert, String wahr, String falsch) {
+        if (wert instanceof Number) {
+            return ((Number) wert).intValue() == 1 ? wahr : falsch;
+        } else if (wert instanceof Boolean) {
+            return (Boolean) wert ? wahr : falsch;
+        } else if (wert instanceof String) {
+            String s = (String) wert;
+            if ("1".equals(s) || "true".equalsIgnoreCase(s)) {
+                return wahr;
+            } else if ("0".equals(s) || "false".equalsIgnoreCase(s)) {
+                return falsch;
+            }
+        }
+        return wert.toString();
+    }
+    
+    /**
+     * Formatiert einen Wert als unmaskierten Text für das COPY-Textformat.
+     * Entspricht formatierteWert, jedoch ohne SQL-Anführungszeichen.
+     * 
+     * @param wert Der zu formatierende Wert (nicht null)
+     * @param oracleTyp Der Oracle-Datentyp des Werts
+     * @param postgresTyp Der PostgreSQL-Datentyp der Spalte
+     * @return Der Wert als Text
+     */
+    private String formatiereCopyWert(Object wert, String oracleTyp, String postgresTyp) {
+        wert = wandleOracleZeitwert(wert);
+        
+        // Behandlung für PostgreSQL BOOLEAN
+        if (postgresTyp != null && postgresTyp.equalsIgnoreCase("BOOLEAN")) {
+            return formatiereBoolWert(wert, "t", "f");
+        }
+        
+        // Oracle DATE, das als Timestamp geliefert wird, in DATE-Spalten nur mit Datum schreiben
+        if (postgresTyp != null && postgresTyp.equalsIgnoreCase("DATE") && wert instanceof Timestamp) {
+            return ((Timestamp) wert).toLocalDateTime().toLocalDate().toString();
         }
         
-        return inserts.toString();
+        // Keine wissenschaftliche Notation, da BIGINT diese nicht einlesen kann
+        if (wert instanceof BigDecimal) {
+            return ((BigDecimal) wert).toPlainString();
+        }
+        
+        return wert.toString();
     }
-
+    
  /**
  * Formatiert einen Wert für die Verwendung in INSERT-Statements.
  * Korrigierte Version mit verbesserter Datum/Zeit-Behandlung.
@@ -624,22 +2152,11 @@ private String mappeOracleZuPostgresDatentyp(String oracleTyp, String spaltenNam
  * @return Der formatierte Wert als String
  */
 private String formatierteWert(Object wert, String oracleTyp, String postgresTyp) {
+    wert = wandleOracleZeitwert(wert);
+    
     // Behandlung für PostgreSQL BOOLEAN
     if (postgresTyp != null && postgresTyp.equalsIgnoreCase("BOOLEAN")) {
-        if (wert instanceof Number) {
-            int num = ((Number) wert).intValue();
-            return (num == 1) ? "true" : "false";
-        } else if (wert instanceof Boolean) {
-            return (Boolean) wert ? "true" : "false";
-        } else if (wert instanceof String) {
-            String s = (String) wert;
-            if ("1".equals(s) || "true".equalsIgnoreCase(s)) {
-                return "true";
-            } else if ("0".equals(s) || "false".equalsIgnoreCase(s)) {
-                return "false";
-            }
-        }
-        return wert.toString();
+        return formatiereBoolWert(wert, "true", "false");
     }
     
     // Strings escapen
@@ -678,6 +2195,27 @@ private String formatierteWert(Object wert, String oracleTyp, String postgresTyp
     return wert.toString();
 }
 
+    /**
+     * Wandelt die Oracle-eigenen Zeitwerte (oracle.sql.TIMESTAMP, oracle.sql.DATE), die getObject
+     * für TIMESTAMP-Spalten liefert, in java.sql.Timestamp um. Ohne diese Umwandlung würden sie
+     * über toString ohne Anführungszeichen ausgegeben. Der Treiber wird per Reflection
+     * angesprochen, alle anderen Werte bleiben unverändert.
+     * 
+     * @param wert Der gelesene Wert
+     * @return Der Wert als Timestamp bzw. unverändert
+     */
+    private static Object wandleOracleZeitwert(Object wert) {
+        String klasse = wert.getClass().getName();
+        if (!klasse.equals("oracle.sql.TIMESTAMP") && !klasse.equals("oracle.sql.DATE")) {
+            return wert;
+        }
+        try {
+            return wert.getClass().getMethod("timestampValue").invoke(wert);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Oracle-Zeitwert kann nicht umgewandelt werden: " + klasse, e);
+        }
+    }
+    
     /**
      * Escaped einen String-Wert für SQL.
      * 
@@ -838,35 +2376,30 @@ private String formatierteWert(Object wert, String oracleTyp, String postgresTyp
     private void migrierenIndizes() throws SQLException, IOException {
         Logger.info("Beginne Migration der Indizes");
         
-        String query = "SELECT i.INDEX_NAME, i.TABLE_NAME, i.UNIQUENESS, " +
-                      "LISTAGG(ic.COLUMN_NAME, ', ') WITHIN GROUP (ORDER BY ic.COLUMN_POSITION) AS COLUMNS " +
-                      "FROM USER_INDEXES i " +
-                      "JOIN USER_IND_COLUMNS ic ON i.INDEX_NAME = ic.INDEX_NAME " +
-                      "WHERE i.INDEX_TYPE = 'NORMAL' AND i.GENERATED = 'N' " +
-                      "GROUP BY i.INDEX_NAME, i.TABLE_NAME, i.UNIQUENESS " +
-                      "ORDER BY i.TABLE_NAME, i.INDEX_NAME";
-        
         StringBuilder sql = new StringBuilder();
         sql.append("-- Indizes Migration\n");
         sql.append("-- Erstellt von Oracle-zu-PostgreSQL Migration\n\n");
         
-        try (Statement stmt = this.oracleConnection.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
-            
-            while (rs.next()) {
-                String indexName = rs.getString("INDEX_NAME");
-                String tableName = rs.getString("TABLE_NAME");
-                String uniqueness = rs.getString("UNIQUENESS");
-                String columns = rs.getString("COLUMNS");
+        for (SchemaModell.Tabelle tabelle : this.schemaModell.getAlleTabellen(this.oracleConnection)) {
+            for (SchemaModell.Index index : tabelle.getIndizes()) {
+                if (!this.sindSpaltenExportiert(tabelle.getName(), index.getSpalten())) {
+                    Logger.info("Index " + index.getName() + " wird übersprungen, nicht alle Spalten werden exportiert");
+                    continue;
+                }
                 
                 sql.append("CREATE ");
-                if ("UNIQUE".equals(uniqueness)) {
+                // Eindeutige Indizes partitionierter Tabellen müssen in PostgreSQL alle Partitionsschlüssel enthalten
+                SchemaModell.Partitionierung partitionierung = this.ermittlePartitionierung(tabelle);
+                if (index.isEindeutig() && partitionierung != null && !index.getSpalten().containsAll(partitionierung.getSchluesselSpalten())) {
+                    Logger.warnung("Eindeutiger Index " + index.getName() + " enthält nicht alle Partitionsschlüssel von "
+                            + tabelle.getName() + " und wird ohne UNIQUE angelegt");
+                } else if (index.isEindeutig()) {
                     sql.append("UNIQUE ");
                 }
                 
-                sql.append("INDEX ").append(indexName);
-                sql.append(" ON ").append(tableName);
-                sql.append(" (").append(columns).append(");\n\n");
+                sql.append("INDEX ").append(index.getName());
+                sql.append(" ON ").append(tabelle.getName());
+                sql.append(" (").append(String.join(", ", index.getSpalten())).append(");\n\n");
             }
         }
         
@@ -925,25 +2458,11 @@ private String formatierteWert(Object wert, String oracleTyp, String postgresTyp
      * @throws SQLException Bei Datenbankfehlern
      */
     private void migrierePrimaryKeyConstraints(StringBuilder sql) throws SQLException {
-        String query = "SELECT c.CONSTRAINT_NAME, c.TABLE_NAME, " +
-                      "LISTAGG(cc.COLUMN_NAME, ', ') WITHIN GROUP (ORDER BY cc.POSITION) AS COLUMNS " +
-                      "FROM USER_CONSTRAINTS c " +
-                      "JOIN USER_CONS_COLUMNS cc ON c.CONSTRAINT_NAME = cc.CONSTRAINT_NAME " +
-                      "WHERE c.CONSTRAINT_TYPE = 'P' " +
-                      "GROUP BY c.CONSTRAINT_NAME, c.TABLE_NAME " +
-                      "ORDER BY c.TABLE_NAME";
-        
-        try (Statement stmt = this.oracleConnection.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
-            
-            while (rs.next()) {
-                String constraintName = rs.getString("CONSTRAINT_NAME");
-                String tableName = rs.getString("TABLE_NAME");
-                String columns = rs.getString("COLUMNS");
-                
-                sql.append("ALTER TABLE ").append(tableName);
-                sql.append(" ADD CONSTRAINT ").append(constraintName);
-                sql.append(" PRIMARY KEY (").append(columns).append(");\n");
+        for (SchemaModell.Tabelle tabelle : this.schemaModell.getAlleTabellen(this.oracleConnection)) {
+            if (tabelle.getPkName() != null && this.sindSpaltenExportiert(tabelle.getName(), tabelle.getPkSpalten())) {
+                sql.append("ALTER TABLE ").append(tabelle.getName());
+                sql.append(" ADD CONSTRAINT ").append(tabelle.getPkName());
+                sql.append(" PRIMARY KEY (").append(String.join(", ", tabelle.getPkSpalten())).append(");\n");
             }
         }
     }
@@ -955,33 +2474,25 @@ private String formatierteWert(Object wert, String oracleTyp, String postgresTyp
      * @throws SQLException Bei Datenbankfehlern
      */
     private void migriereForeignKeyConstraints(StringBuilder sql) throws SQLException {
-        String query = "SELECT c.CONSTRAINT_NAME, c.TABLE_NAME, c.R_CONSTRAINT_NAME, " +
-                      "LISTAGG(cc.COLUMN_NAME, ', ') WITHIN GROUP (ORDER BY cc.POSITION) AS COLUMNS, " +
-                      "rc.TABLE_NAME as R_TABLE_NAME, " +
-                      "LISTAGG(rcc.COLUMN_NAME, ', ') WITHIN GROUP (ORDER BY rcc.POSITION) AS R_COLUMNS " +
-                      "FROM USER_CONSTRAINTS c " +
-                      "JOIN USER_CONS_COLUMNS cc ON c.CONSTRAINT_NAME = cc.CONSTRAINT_NAME " +
-                      "JOIN USER_CONSTRAINTS rc ON c.R_CONSTRAINT_NAME = rc.CONSTRAINT_NAME " +
-                      "JOIN USER_CONS_COLUMNS rcc ON rc.CONSTRAINT_NAME = rcc.CONSTRAINT_NAME " +
-                      "WHERE c.CONSTRAINT_TYPE = 'R' " +
-                      "GROUP BY c.CONSTRAINT_NAME, c.TABLE_NAME, c.R_CONSTRAINT_NAME, rc.TABLE_NAME " +
-                      "ORDER BY c.TABLE_NAME";
-        
-        try (Statement stmt = this.oracleConnection.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
-            
-            while (rs.next()) {
-                String constraintName = rs.getString("CONSTRAINT_NAME");
-                String tableName = rs.getString("TABLE_NAME");
-                String columns = rs.getString("COLUMNS");
-                String refTableName = rs.getString("R_TABLE_NAME");
-                String refColumns = rs.getString("R_COLUMNS");
+        for (SchemaModell.Tabelle tabelle : this.schemaModell.getAlleTabellen(this.oracleConnection)) {
+            for (SchemaModell.Constraint constraint : tabelle.getConstraints()) {
+                // Fremdschlüssel auf Tabellen anderer Schemas werden nicht übernommen
+                if (!SchemaModell.Constraint.TYP_FREMDSCHLUESSEL.equals(constraint.getTyp())
+                        || constraint.getReferenzTabelle() == null) {
+                    continue;
+                }
+                
+                if (!this.sindSpaltenExportiert(tabelle.getName(), constraint.getSpalten())
+                        || !this.sindSpaltenExportiert(constraint.getReferenzTabelle(), constraint.getReferenzSpalten())) {
+                    Logger.info("Fremdschlüssel " + constraint.getName() + " wird übersprungen, nicht alle Spalten werden exportiert");
+                    continue;
+                }
                 
-                sql.append("ALTER TABLE ").append(tableName);
-                sql.append(" ADD CONSTRAINT ").append(constraintName);
-                sql.append(" FOREIGN KEY (").append(columns).append(")");
-                sql.append(" REFERENCES ").append(refTableName);
-                sql.append(" (").append(refColumns).append(");\n");
+                sql.append("ALTER TABLE ").append(tabelle.getName());
+                sql.append(" ADD CONSTRAINT ").append(constraint.getName());
+                sql.append(" FOREIGN KEY (").append(String.join(", ", constraint.getSpalten())).append(")");
+                sql.append(" REFERENCES ").append(constraint.getReferenzTabelle());
+                sql.append(" (").append(String.join(", ", constraint.getReferenzSpalten())).append(");\n");
             }
         }
     }
@@ -993,22 +2504,13 @@ private String formatierteWert(Object wert, String oracleTyp, String postgresTyp
      * @throws SQLException Bei Datenbankfehlern
      */
     private void migriereCheckConstraints(StringBuilder sql) throws SQLException {
-        String query = "SELECT CONSTRAINT_NAME, TABLE_NAME, SEARCH_CONDITION " +
-                      "FROM USER_CONSTRAINTS " +
-                      "WHERE CONSTRAINT_TYPE = 'C' AND GENERATED = 'USER NAME' " +
-                      "ORDER BY TABLE_NAME";
-        
-        try (Statement stmt = this.oracleConnection.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
-            
-            while (rs.next()) {
-                String constraintName = rs.getString("CONSTRAINT_NAME");
-                String tableName = rs.getString("TABLE_NAME");
-                String condition = rs.getString("SEARCH_CONDITION");
-                
-                sql.append("ALTER TABLE ").append(tableName);
-                sql.append(" ADD CONSTRAINT ").append(constraintName);
-                sql.append(" CHECK (").append(condition).append(");\n");
+        for (SchemaModell.Tabelle tabelle : this.schemaModell.getAlleTabellen(this.oracleConnection)) {
+            for (SchemaModell.Constraint constraint : tabelle.getConstraints()) {
+                if (SchemaModell.Constraint.TYP_CHECK.equals(constraint.getTyp())) {
+                    sql.append("ALTER TABLE ").append(tabelle.getName());
+                    sql.append(" ADD CONSTRAINT ").append(constraint.getName());
+                    sql.append(" CHECK (").append(constraint.getBedingung()).append(");\n");
+                }
             }
         }
     }
@@ -1184,23 +2686,13 @@ private String konvertiereOracleStringKonkatenation(String oracleWert) {
         StringBuilder sql = new StringBuilder();
         sql.append("\n-- Spalten-Kommentare für Tabelle ").append(tabellenName).append("\n");
         
-        String query = "SELECT COLUMN_NAME, COMMENTS FROM USER_COL_COMMENTS " +
-                      "WHERE TABLE_NAME = '" + tabellenName.toUpperCase() + "' " +
-                      "AND COMMENTS IS NOT NULL ORDER BY COLUMN_NAME";
-        
-        try (Statement stmt = this.oracleConnection.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
+        // Kommentare nur für die exportierten Spalten
+        for (SchemaModell.Spalte spalte : this.ermittleSpalten(tabellenName)) {
+            String comment = spalte.getKommentar();
             
-            while (rs.next()) {
-                String columnName = rs.getString("COLUMN_NAME");
-                String comment = rs.getString("COMMENTS");
-                
-                List<String> ignorierteSpalten = this.konfiguration.getIgnorierteSpalten(tabellenName);
-                
-                if (!ignorierteSpalten.contains(columnName) && comment != null && !comment.trim().isEmpty()) {
-                    sql.append("COMMENT ON COLUMN ").append(tabellenName).append(".")
-                       .append(columnName).append(" IS '").append(comment.replace("'", "''")).append("';\n");
-                }
+            if (comment != null && !comment.trim().isEmpty()) {
+                sql.append("COMMENT ON COLUMN ").append(tabellenName).append(".")
+                   .append(spalte.getName()).append(" IS '").append(comment.replace("'", "''")).append("';\n");
             }
         }
         
@@ -1220,14 +2712,7 @@ private String konvertiereOracleStringKonkatenation(String oracleWert) {
         
         try (PrintWriter writer = new PrintWriter(new FileWriter(dateipfad))) {
             if (mitZeitstempel) {
-                // Zeitstempel als Kommentar einfügen
-                LocalDateTime jetzt = LocalDateTime.now();
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-                String zeitstempel = jetzt.format(formatter);
-                writer.println("-- Erstellt am: " + zeitstempel);
-                writer.println("-- Datenbank: " + this.konfiguration.getDatenbankName());
-                writer.println("-- Umgebung: " + this.konfiguration.getUmgebung());
-                writer.println("\n");
+                this.schreibeDateiKopf(writer);
             }
             
             writer.print(sqlCode);
@@ -1236,6 +2721,57 @@ private String konvertiereOracleStringKonkatenation(String oracleWert) {
         Logger.info("SQL-Datei gespeichert: " + dateipfad);
     }
     
+    /**
+     * Öffnet eine Ausgabedatei mit gepuffertem Writer für das zeilenweise Schreiben großer Datenmengen.
+     * Die Puffergröße wird über die Konfiguration festgelegt (ausgabe.puffer.kb).
+     * 
+     * @param dateiName Relativer Pfad und Dateiname für die Datei
+     * @param mitZeitstempel Ob ein Zeitstempelkommentar am Anfang eingefügt werden soll
+     * @return Der geöffnete Writer, muss vom Aufrufer geschlossen werden
+     * @throws IOException bei Problemen beim Öffnen der Datei
+     */
+    private Writer oeffneAusgabeDatei(String dateiName, boolean mitZeitstempel) throws IOException {
+        String dateipfad = this.ausgabePfad + File.separator + dateiName;
+        Writer writer = new BufferedWriter(new FileWriter(dateipfad), this.konfiguration.getAusgabePufferGroesse());
+        
+        if (mitZeitstempel) {
+            PrintWriter kopfWriter = new PrintWriter(writer);
+            this.schreibeDateiKopf(kopfWriter);
+            kopfWriter.flush();
+        }
+        
+        Logger.info("Schreibe Daten in Datei: " + dateipfad);
+        return writer;
+    }
+    
+    /**
+     * Öffnet eine binäre Ausgabedatei mit der konfigurierten Puffergröße.
+     * 
+     * @param dateiName Relativer Pfad und Dateiname für die Datei
+     * @return Der geöffnete Ausgabestrom, muss vom Aufrufer geschlossen werden
+     * @throws IOException bei Problemen beim Öffnen der Datei
+     */
+    private OutputStream oeffneAusgabeStrom(String dateiName) throws IOException {
+        String dateipfad = this.ausgabePfad + File.separator + dateiName;
+        Logger.info("Schreibe Daten in Datei: " + dateipfad);
+        return new BufferedOutputStream(new FileOutputStream(dateipfad), this.konfiguration.getAusgabePufferGroesse());
+    }
+    
+    /**
+     * Schreibt den Kommentarkopf mit Zeitstempel, Datenbank und Umgebung.
+     * 
+     * @param writer Der Writer, in den der Kopf geschrieben wird
+     */
+    private void schreibeDateiKopf(PrintWriter writer) {
+        LocalDateTime jetzt = LocalDateTime.now();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        String zeitstempel = jetzt.format(formatter);
+        writer.println("-- Erstellt am: " + zeitstempel);
+        writer.println("-- Datenbank: " + this.konfiguration.getDatenbankName());
+        writer.println("-- Umgebung: " + this.konfiguration.getUmgebung());
+        writer.println("\n");
+    }
+    
     /**
      * Überladene Version von speichereSQL ohne Zeitstempel-Parameter für Kompatibilität.
      * 
@@ -0,0 +1,675 @@
+package de.dbmigration.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.dbmigration.util.Logger;
+
+/**
+ * Im Speicher gehaltenes Modell der Tabellendefinitionen aus dem Oracle Data Dictionary.
+ * 
+ * Spalten, Default-Werte, Primärschlüssel, Fremdschlüssel, Check-Constraints, Indizes,
+ * Spaltenkommentare und Partitionen werden mit je einer Abfrage pro Dictionary-View für alle benötigten
+ * Tabellen geladen, statt für jede Tabelle einzeln DatabaseMetaData und Hilfsabfragen aufzurufen.
+ * 
+ * Ist ein Cache-Verzeichnis angegeben, wird das Modell je Datenbank und Schema auf der Platte
+ * abgelegt. Beim nächsten Lauf werden nur die Tabellen neu gelesen, deren LAST_DDL_TIME in
+ * USER_OBJECTS sich seit dem Speichern geändert hat.
+ */
+public class SchemaModell {
+    private static final int FETCH_SIZE = 1000;
+    
+    // Bis zu dieser Anzahl werden Tabellen gezielt per IN-Liste geladen, darüber das ganze Schema
+    private static final int MAX_IN_LISTE = 1000;
+    
+    // Wird erhöht, wenn sich der Aufbau der gespeicherten Klassen ändert
+    private static final int CACHE_FORMAT = 2;
+    
+    private final Map<String, Tabelle> tabellen = new ConcurrentHashMap<>();
+    private final File cacheVerzeichnis;
+    private File cacheDatei;
+    
+    /**
+     * Beschreibung einer Spalte, wie sie für DDL und Datenabfrage benötigt wird.
+     */
+    public static class Spalte implements Serializable {
+        private static final long serialVersionUID = 1L;
+        
+        private final String name;
+        private final String datenTyp;
+        private final int spaltenGroesse;
+        private final int dezimalStellen;
+        private final boolean nullbar;
+        private String defaultWert;
+        private String kommentar;
+        
+        Spalte(String name, String datenTyp, int spaltenGroesse, int dezimalStellen, boolean nullbar) {
+            this.name = name;
+            this.datenTyp = datenTyp;
+            this.spaltenGroesse = spaltenGroesse;
+            this.dezimalStellen = dezimalStellen;
+            this.nullbar = nullbar;
+        }
+        
+        public String getName() { return name; }
+        public String getDatenTyp() { return datenTyp; }
+        public int getSpaltenGroesse() { return spaltenGroesse; }
+        public int getDezimalStellen() { return dezimalStellen; }
+        public boolean isNullbar() { return nullbar; }
+        public String getDefaultWert() { return defaultWert; }
+        public String getKommentar() { return kommentar; }
+        
+        /**
+         * Gibt den Oracle-Datentyp mit Länge bzw. Genauigkeit zurück (z.B. NUMBER(10,0) oder VARCHAR2(50)),
+         * in derselben Form wie bisher aus DatabaseMetaData.getColumns gebildet.
+         */
+        public String getOracleDatentyp() {
+            if (datenTyp.equals("NUMBER") && spaltenGroesse > 0) {
+                // Spezielle Formatierung für NUMBER(1,0) zur besseren Erkennung
+                if (spaltenGroesse == 1 && dezimalStellen == 0) {
+                    return "NUMBER(1,0)";
+                }
+                return "NUMBER(" + spaltenGroesse + "," + dezimalStellen + ")";
+            } else if (datenTyp.equals("VARCHAR2") || datenTyp.equals("CHAR")) {
+                return datenTyp + "(" + spaltenGroesse + ")";
+            }
+            return datenTyp;
+        }
+        
+        /**
+         * Bildet eine Spalte aus den Metadaten einer Abfrage, z.B. für berechnete Spalten einer
+         * eigenen Quellabfrage. Ohne Angabe der Genauigkeit liefert der Treiber 0 bzw. eine
+         * negative Skala, die wie im Data Dictionary als NUMBER ohne Genauigkeit übernommen wird.
+         * 
+         * @param metaData Die Metadaten der Abfrage
+         * @param index Der Index der Spalte (ab 1)
+         * @return Die Spalte ohne Default-Wert und Kommentar
+         * @throws SQLException Bei Datenbankfehlern
+         */
+        static Spalte ausAbfrage(ResultSetMetaData metaData, int index) throws SQLException {
+            int genauigkeit = Math.max(0, metaData.getPrecision(index));
+            int skala = Math.max(0, metaData.getScale(index));
+            return new Spalte(metaData.getColumnName(index).toUpperCase(), metaData.getColumnTypeName(index),
+                    genauigkeit, skala, metaData.isNullable(index) != ResultSetMetaData.columnNoNulls);
+        }
+    }
+    
+    /**
+     * Ein Index (nur normale, nicht systemgenerierte Indizes).
+     */
+    public static class Index implements Serializable {
+        private static final long serialVersionUID = 1L;
+        
+        private final String name;
+        private final boolean eindeutig;
+        private final List<String> spalten = new ArrayList<>();
+        
+        Index(String name, boolean eindeutig) {
+            this.name = name;
+            this.eindeutig = eindeutig;
+        }
+        
+        public String getName() { return name; }
+        public boolean isEindeutig() { return eindeutig; }
+        public List<String> getSpalten() { return Collections.unmodifiableList(spalten); }
+    }
+    
+    /**
+     * Ein Fremdschlüssel- oder Check-Constraint. Der Primärschlüssel wird direkt an der Tabelle geführt.
+     */
+    public static class Constraint implements Serializable {
+        private static final long serialVersionUID = 1L;
+        
+        public static final String TYP_FREMDSCHLUESSEL = "R";
+        public static final String TYP_CHECK = "C";
+        
+        private final String name;
+        private final String typ;
+        private final List<String> spalten = new ArrayList<>();
+        private String referenzTabelle;
+        private final List<String> referenzSpalten = new ArrayList<>();
+        private String bedingung;
+        
+        Constraint(String name, String typ) {
+            this.name = name;
+            this.typ = typ;
+        }
+        
+        public String getName() { return name; }
+        public String getTyp() { return typ; }
+        public List<String> getSpalten() { return Collections.unmodifiableList(spalten); }
+        public String getReferenzTabelle() { return referenzTabelle; }
+        public List<String> getReferenzSpalten() { return Collections.unmodifiableList(referenzSpalten); }
+        public String getBedingung() { return bedingung; }
+    }
+    
+    /**
+     * Eine Partition mit ihrer Grenze, wie sie in HIGH_VALUE aus USER_TAB_PARTITIONS steht.
+     */
+    public static class Partition implements Serializable {
+        private static final long serialVersionUID = 1L;
+        
+        private final String name;
+        private final String grenze;
+        
+        Partition(String name, String grenze) {
+            this.name = name;
+            this.grenze = grenze;
+        }
+        
+        public String getName() { return name; }
+        
+        /**
+         * Gibt die Grenze als Oracle-Ausdruck zurück, z.B. "100, MAXVALUE" bei RANGE, "'A', 'B'" oder
+         * "DEFAULT" bei LIST und null bei HASH.
+         */
+        public String getGrenze() { return grenze; }
+    }
+    
+    /**
+     * Partitionierung einer Tabelle aus USER_PART_TABLES. Abgebildet wird nur die oberste Ebene,
+     * Unterpartitionen werden nicht übernommen.
+     */
+    public static class Partitionierung implements Serializable {
+        private static final long serialVersionUID = 1L;
+        
+        public static final String TYP_RANGE = "RANGE";
+        public static final String TYP_LIST = "LIST";
+        public static final String TYP_HASH = "HASH";
+        
+        private final String typ;
+        private final boolean intervall;
+        private final boolean unterpartitioniert;
+        private final List<String> schluesselSpalten = new ArrayList<>();
+        private final List<Partition> partitionen = new ArrayList<>();
+        
+        Partitionierung(String typ, boolean intervall, boolean unterpartitioniert) {
+            this.typ = typ;
+            this.intervall = intervall;
+            this.unterpartitioniert = unterpartitioniert;
+        }
+        
+        public String getTyp() { return typ; }
+        public boolean isIntervall() { return intervall; }
+        public boolean isUnterpartitioniert() { return unterpartitioniert; }
+        public List<String> getSchluesselSpalten() { return Collections.unmodifiableList(schluesselSpalten); }
+        public List<Partition> getPartitionen() { return Collections.unmodifiableList(partitionen); }
+    }
+    
+    /**
+     * Beschreibung einer Tabelle mit ihren Spalten in Definitionsreihenfolge, Schlüsseln und Indizes.
+     */
+    public static class Tabelle implements Serializable {
+        private static final long serialVersionUID = 1L;
+        
+        private final String name;
+        private final List<Spalte> spalten = new ArrayList<>();
+        private final Map<String, Spalte> spaltenNachName = new HashMap<>();
+        private String pkName;
+        private final List<String> pkSpalten = new ArrayList<>();
+        private final List<Constraint> constraints = new ArrayList<>();
+        private final List<Index> indizes = new ArrayList<>();
+        private Partitionierung partitionierung;
+        
+        // LAST_DDL_TIME aus USER_OBJECTS zum Zeitpunkt des Ladens
+        private String ddlZeit;
+        
+        Tabelle(String name) {
+            this.name = name;
+        }
+        
+        public String getName() { return name; }
+        public List<Spalte> getSpalten() { return Collections.unmodifiableList(spalten); }
+        public Spalte getSpalte(String spaltenName) { return spaltenNachName.get(spaltenName); }
+        public String getPkName() { return pkName; }
+        public List<String> getPkSpalten() { return Collections.unmodifiableList(pkSpalten); }
+        public List<Constraint> getConstraints() { return Collections.unmodifiableList(constraints); }
+        public List<Index> getIndizes() { return Collections.unmodifiableList(indizes); }
+        
+        /**
+         * Gibt die Partitionierung der Tabelle zurück oder null, wenn sie nicht partitioniert ist.
+         */
+        public Partitionierung getPartitionierung() { return partitionierung; }
+        
+        void fuegeSpalteHinzu(Spalte spalte) {
+            spalten.add(spalte);
+            spaltenNachName.put(spalte.getName(), spalte);
+        }
+        
+        Constraint holeConstraint(String constraintName, String typ) {
+            for (Constraint constraint : constraints) {
+                if (constraint.getName().equals(constraintName)) {
+                    return constraint;
+                }
+            }
+            Constraint constraint = new Constraint(constraintName, typ);
+            constraints.add(constraint);
+            return constraint;
+        }
+    }
+    
+    /**
+     * Erstellt ein Modell ohne Cache auf der Platte.
+     */
+    public SchemaModell() {
+        this(null);
+    }
+    
+    /**
+     * Erstellt ein Modell, das seinen Stand im angegebenen Verzeichnis zwischenspeichert.
+     * 
+     * @param cacheVerzeichnis Das Verzeichnis für den Schema-Cache oder null ohne Cache
+     */
+    public SchemaModell(File cacheVerzeichnis) {
+        this.cacheVerzeichnis = cacheVerzeichnis;
+    }
+    
+    /**
+     * Stellt die Definitionen der angegebenen Tabellen bereit. Tabellen, deren Stand im Modell
+     * noch zur LAST_DDL_TIME passt, werden übernommen, alle übrigen mit je einer Abfrage
+     * pro Dictionary-View geladen.
+     * 
+     * @param connection Die Oracle-Verbindung
+     * @param tabellennamen Die Namen der benötigten Tabellen
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public synchronized void laden(Connection connection, Collection<String> tabellennamen) throws SQLException {
+        ladeTabellen(connection, tabellennamen, ermittleDdlZeiten(connection));
+    }
+    
+    /**
+     * Gibt die Definitionen aller Tabellen des Schemas nach Namen sortiert zurück und lädt
+     * dabei fehlende oder geänderte Tabellen nach.
+     * 
+     * @param connection Die Oracle-Verbindung
+     * @return Alle Tabellen des Schemas
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public synchronized List<Tabelle> getAlleTabellen(Connection connection) throws SQLException {
+        Map<String, String> ddlZeiten = ermittleDdlZeiten(connection);
+        ladeTabellen(connection, ddlZeiten.keySet(), ddlZeiten);
+        
+        List<Tabelle> ergebnis = new ArrayList<>();
+        for (String tabellenname : new TreeSet<>(ddlZeiten.keySet())) {
+            Tabelle tabelle = tabellen.get(tabellenname);
+            if (tabelle != null) {
+                ergebnis.add(tabelle);
+            }
+        }
+        return ergebnis;
+    }
+    
+    /**
+     * Gibt die Definition einer Tabelle zurück und lädt sie bei Bedarf einzeln nach.
+     * 
+     * @param connection Die Oracle-Verbindung für das Nachladen
+     * @param tabellenname Der Name der Tabelle
+     * @return Die Tabellendefinition
+     * @throws SQLException Wenn die Tabelle nicht im Data Dictionary gefunden wird
+     */
+    public Tabelle getTabelle(Connection connection, String tabellenname) throws SQLException {
+        String schluessel = tabellenname.toUpperCase();
+        Tabelle tabelle = tabellen.get(schluessel);
+        if (tabelle == null) {
+            laden(connection, Collections.singleton(schluessel));
+            tabelle = tabellen.get(schluessel);
+            if (tabelle == null) {
+                throw new SQLException("Tabelle " + tabellenname + " nicht im Data Dictionary gefunden");
+            }
+        }
+        return tabelle;
+    }
+    
+    /**
+     * Gleicht die benötigten Tabellen mit den DDL-Zeitpunkten ab, lädt die veralteten und
+     * speichert den Cache, wenn sich etwas geändert hat.
+     */
+    private void ladeTabellen(Connection connection, Collection<String> tabellennamen, Map<String, String> ddlZeiten) throws SQLException {
+        long start = System.currentTimeMillis();
+        if (cacheVerzeichnis != null && cacheDatei == null) {
+            leseCache(connection);
+        }
+        
+        Set<String> zuLaden = new TreeSet<>();
+        int unveraendert = 0;
+        for (String tabellenname : tabellennamen) {
+            String schluessel = tabellenname.toUpperCase();
+            String ddlZeit = ddlZeiten.get(schluessel);
+            Tabelle vorhanden = tabellen.get(schluessel);
+            
+            if (ddlZeit == null) {
+                continue;
+            } else if (vorhanden != null && ddlZeit.equals(vorhanden.ddlZeit)) {
+                unveraendert++;
+            } else {
+                zuLaden.add(schluessel);
+            }
+        }
+        
+        // Gelöschte Tabellen nicht weiter vorhalten
+        boolean geaendert = tabellen.keySet().retainAll(ddlZeiten.keySet());
+        
+        if (!zuLaden.isEmpty()) {
+            // Die DDL-Zeitpunkte wurden vor den Definitionen gelesen. Ändert sich eine Tabelle
+            // dazwischen, ist ihr gespeicherter Zeitpunkt zu alt und sie wird beim nächsten Mal neu geladen.
+            Map<String, Tabelle> geladen = ladeAusDictionary(connection, zuLaden);
+            for (Tabelle tabelle : geladen.values()) {
+                tabelle.ddlZeit = ddlZeiten.get(tabelle.getName());
+            }
+            tabellen.putAll(geladen);
+            geaendert = true;
+        }
+        
+        if (geaendert && cacheDatei != null) {
+            schreibeCache();
+        }
+        
+        if (tabellennamen.size() > 1) {
+            Logger.info("Data Dictionary für " + (unveraendert + zuLaden.size()) + " Tabellen bereitgestellt ("
+                    + unveraendert + " unverändert, " + zuLaden.size() + " geladen) in "
+                    + (System.currentTimeMillis() - start) + " ms");
+        }
+    }
+    
+    /**
+     * Ermittelt die LAST_DDL_TIME aller Tabellen des Schemas.
+     */
+    private static Map<String, String> ermittleDdlZeiten(Connection connection) throws SQLException {
+        Map<String, String> ddlZeiten = new HashMap<>();
+        String sql = "SELECT OBJECT_NAME, TO_CHAR(LAST_DDL_TIME, 'YYYYMMDDHH24MISS') FROM USER_OBJECTS " +
+                     "WHERE OBJECT_TYPE = 'TABLE'";
+        try (ResultSet rs = abfragen(connection, sql, Collections.emptyList())) {
+            while (rs.next()) {
+                ddlZeiten.put(rs.getString(1), rs.getString(2));
+            }
+        }
+        return ddlZeiten;
+    }
+    
+    /**
+     * Lädt Spalten, Default-Werte, Schlüssel, Constraints, Indizes und Kommentare der
+     * angegebenen Tabellen aus dem Data Dictionary.
+     */
+    private static Map<String, Tabelle> ladeAusDictionary(Connection connection, Set<String> auswahl) throws SQLException {
+        Map<String, Tabelle> ergebnis = new HashMap<>();
+        
+        // Wenige Tabellen gezielt per IN-Liste, viele durch einen Durchlauf über das ganze Schema
+        List<String> parameter = auswahl.size() <= MAX_IN_LISTE ? new ArrayList<>(auswahl) : Collections.emptyList();
+        String inListe = parameter.isEmpty() ? "" : " IN (" + String.join(", ", Collections.nCopies(parameter.size(), "?")) + ")";
+        String filter = inListe.isEmpty() ? "" : " AND TABLE_NAME" + inListe;
+        
+        // Spalten in Definitionsreihenfolge. Die Größe entspricht COLUMN_SIZE aus getColumns:
+        // Genauigkeit bei Zahlen, Zeichenlänge bei Zeichentypen, sonst die Länge in Bytes.
+        String spaltenSql = "SELECT TABLE_NAME, COLUMN_NAME, DATA_TYPE, DATA_PRECISION, DATA_SCALE, " +
+                            "DATA_LENGTH, CHAR_LENGTH, CHAR_USED, NULLABLE FROM USER_TAB_COLUMNS " +
+                            "WHERE 1=1" + filter + " ORDER BY TABLE_NAME, COLUMN_ID";
+        try (ResultSet rs = abfragen(connection, spaltenSql, parameter)) {
+            while (rs.next()) {
+                String tabellenname = rs.getString("TABLE_NAME");
+                if (!auswahl.contains(tabellenname)) {
+                    continue;
+                }
+                
+                String datenTyp = rs.getString("DATA_TYPE");
+                int genauigkeit = rs.getInt("DATA_PRECISION");
+                boolean mitGenauigkeit = !rs.wasNull();
+                int skala = rs.getInt("DATA_SCALE");
+                int spaltenGroesse;
+                if (mitGenauigkeit) {
+                    spaltenGroesse = genauigkeit;
+                } else if (datenTyp.equals("NUMBER")) {
+                    spaltenGroesse = 0;
+                } else if (rs.getString("CHAR_USED") != null) {
+                    spaltenGroesse = rs.getInt("CHAR_LENGTH");
+                } else {
+                    spaltenGroesse = rs.getInt("DATA_LENGTH");
+                }
+                
+                Spalte spalte = new Spalte(rs.getString("COLUMN_NAME"), datenTyp, spaltenGroesse, skala,
+                        !"N".equals(rs.getString("NULLABLE")));
+                ergebnis.computeIfAbsent(tabellenname, Tabelle::new).fuegeSpalteHinzu(spalte);
+            }
+        }
+        
+        // DATA_DEFAULT ist eine LONG-Spalte, die der Treiber nur zeilenweise abholt.
+        // Deshalb getrennt und nur für Spalten abfragen, die tatsächlich einen Default haben.
+        String defaultSql = "SELECT TABLE_NAME, COLUMN_NAME, DATA_DEFAULT FROM USER_TAB_COLUMNS " +
+                            "WHERE DEFAULT_LENGTH > 0" + filter;
+        try (ResultSet rs = abfragen(connection, defaultSql, parameter)) {
+            while (rs.next()) {
+                Spalte spalte = findeSpalte(ergebnis, rs.getString(1), rs.getString(2));
+                String defaultWert = rs.getString(3);
+                if (spalte != null && defaultWert != null && !defaultWert.trim().isEmpty()) {
+                    spalte.defaultWert = defaultWert.trim();
+                }
+            }
+        }
+        
+        // Spalten von Primär- und Fremdschlüsseln in Schlüsselreihenfolge
+        String filterConstraints = inListe.isEmpty() ? "" : " AND c.TABLE_NAME" + inListe;
+        String schluesselSql = "SELECT c.TABLE_NAME, c.CONSTRAINT_NAME, c.CONSTRAINT_TYPE, cc.COLUMN_NAME " +
+                               "FROM USER_CONSTRAINTS c JOIN USER_CONS_COLUMNS cc " +
+                               "ON cc.CONSTRAINT_NAME = c.CONSTRAINT_NAME AND cc.TABLE_NAME = c.TABLE_NAME " +
+                               "WHERE c.CONSTRAINT_TYPE IN ('P', 'R')" + filterConstraints +
+                               " ORDER BY c.TABLE_NAME, c.CONSTRAINT_NAME, cc.POSITION";
+        try (ResultSet rs = abfragen(connection, schluesselSql, parameter)) {
+            while (rs.next()) {
+                Tabelle tabelle = ergebnis.get(rs.getString(1));
+                if (tabelle == null) {
+                    continue;
+                }
+                if ("P".equals(rs.getString(3))) {
+                    tabelle.pkName = rs.getString(2);
+                    tabelle.pkSpalten.add(rs.getString(4));
+                } else {
+                    tabelle.holeConstraint(rs.getString(2), Constraint.TYP_FREMDSCHLUESSEL).spalten.add(rs.getString(4));
+                }
+            }
+        }
+        
+        // Referenzierte Tabelle und Spalten der Fremdschlüssel
+        String referenzSql = "SELECT c.TABLE_NAME, c.CONSTRAINT_NAME, rc.TABLE_NAME, rcc.COLUMN_NAME " +
+                             "FROM USER_CONSTRAINTS c " +
+                             "JOIN USER_CONSTRAINTS rc ON rc.CONSTRAINT_NAME = c.R_CONSTRAINT_NAME " +
+                             "JOIN USER_CONS_COLUMNS rcc ON rcc.CONSTRAINT_NAME = rc.CONSTRAINT_NAME " +
+                             "WHERE c.CONSTRAINT_TYPE = 'R'" + filterConstraints +
+                             " ORDER BY c.TABLE_NAME, c.CONSTRAINT_NAME, rcc.POSITION";
+        try (ResultSet rs = abfragen(connection, referenzSql, parameter)) {
+            while (rs.next()) {
+                Tabelle tabelle = ergebnis.get(rs.getString(1));
+                if (tabelle != null) {
+                    Constraint constraint = tabelle.holeConstraint(rs.getString(2), Constraint.TYP_FREMDSCHLUESSEL);
+                    constraint.referenzTabelle = rs.getString(3);
+                    constraint.referenzSpalten.add(rs.getString(4));
+                }
+            }
+        }
+        
+        // SEARCH_CONDITION ist ebenfalls eine LONG-Spalte
+        String checkSql = "SELECT TABLE_NAME, CONSTRAINT_NAME, SEARCH_CONDITION FROM USER_CONSTRAINTS " +
+                          "WHERE CONSTRAINT_TYPE = 'C' AND GENERATED = 'USER NAME'" + filter;
+        try (ResultSet rs = abfragen(connection, checkSql, parameter)) {
+            while (rs.next()) {
+                Tabelle tabelle = ergebnis.get(rs.getString(1));
+                if (tabelle != null) {
+                    tabelle.holeConstraint(rs.getString(2), Constraint.TYP_CHECK).bedingung = rs.getString(3);
+                }
+            }
+        }
+        
+        String indexSql = "SELECT i.TABLE_NAME, i.INDEX_NAME, i.UNIQUENESS, ic.COLUMN_NAME " +
+                          "FROM USER_INDEXES i JOIN USER_IND_COLUMNS ic ON ic.INDEX_NAME = i.INDEX_NAME " +
+                          "WHERE i.INDEX_TYPE = 'NORMAL' AND i.GENERATED = 'N'" +
+                          (inListe.isEmpty() ? "" : " AND i.TABLE_NAME" + inListe) +
+                          " ORDER BY i.TABLE_NAME, i.INDEX_NAME, ic.COLUMN_POSITION";
+        try (ResultSet rs = abfragen(connection, indexSql, parameter)) {
+            Index index = null;
+            while (rs.next()) {
+                Tabelle tabelle = ergebnis.get(rs.getString(1));
+                if (tabelle == null) {
+                    continue;
+                }
+                if (index == null || !index.getName().equals(rs.getString(2))) {
+                    index = new Index(rs.getString(2), "UNIQUE".equals(rs.getString(3)));
+                    tabelle.indizes.add(index);
+                }
+                index.spalten.add(rs.getString(4));
+            }
+        }
+        
+        // Partitionierungsart, Schlüsselspalten und Partitionen in ihrer Reihenfolge
+        String partitionierungSql = "SELECT TABLE_NAME, PARTITIONING_TYPE, SUBPARTITIONING_TYPE, INTERVAL " +
+                                    "FROM USER_PART_TABLES WHERE 1=1" + filter;
+        try (ResultSet rs = abfragen(connection, partitionierungSql, parameter)) {
+            while (rs.next()) {
+                Tabelle tabelle = ergebnis.get(rs.getString(1));
+                if (tabelle != null) {
+                    tabelle.partitionierung = new Partitionierung(rs.getString(2), rs.getString(4) != null,
+                            !"NONE".equals(rs.getString(3)));
+                }
+            }
+        }
+        
+        String partitionsSchluesselSql = "SELECT NAME, COLUMN_NAME FROM USER_PART_KEY_COLUMNS WHERE OBJECT_TYPE = 'TABLE'" +
+                                         (inListe.isEmpty() ? "" : " AND NAME" + inListe) +
+                                         " ORDER BY NAME, COLUMN_POSITION";
+        try (ResultSet rs = abfragen(connection, partitionsSchluesselSql, parameter)) {
+            while (rs.next()) {
+                Tabelle tabelle = ergebnis.get(rs.getString(1));
+                if (tabelle != null && tabelle.partitionierung != null) {
+                    tabelle.partitionierung.schluesselSpalten.add(rs.getString(2));
+                }
+            }
+        }
+        
+        // HIGH_VALUE ist eine LONG-Spalte
+        String partitionenSql = "SELECT TABLE_NAME, PARTITION_NAME, HIGH_VALUE FROM USER_TAB_PARTITIONS " +
+                                "WHERE 1=1" + filter + " ORDER BY TABLE_NAME, PARTITION_POSITION";
+        try (ResultSet rs = abfragen(connection, partitionenSql, parameter)) {
+            while (rs.next()) {
+                Tabelle tabelle = ergebnis.get(rs.getString(1));
+                if (tabelle != null && tabelle.partitionierung != null) {
+                    String grenze = rs.getString(3);
+                    tabelle.partitionierung.partitionen.add(new Partition(rs.getString(2),
+                            grenze == null || grenze.trim().isEmpty() ? null : grenze.trim()));
+                }
+            }
+        }
+        
+        String kommentarSql = "SELECT TABLE_NAME, COLUMN_NAME, COMMENTS FROM USER_COL_COMMENTS " +
+                              "WHERE COMMENTS IS NOT NULL" + filter;
+        try (ResultSet rs = abfragen(connection, kommentarSql, parameter)) {
+            while (rs.next()) {
+                Spalte spalte = findeSpalte(ergebnis, rs.getString(1), rs.getString(2));
+                if (spalte != null) {
+                    spalte.kommentar = rs.getString(3);
+                }
+            }
+        }
+        
+        return ergebnis;
+    }
+    
+    private static Spalte findeSpalte(Map<String, Tabelle> tabellen, String tabellenname, String spaltenName) {
+        Tabelle tabelle = tabellen.get(tabellenname);
+        return tabelle != null ? tabelle.getSpalte(spaltenName) : null;
+    }
+    
+    /**
+     * Führt eine Dictionary-Abfrage mit großer Fetch-Size aus. Das ResultSet schließt beim
+     * Schließen auch sein Statement.
+     */
+    private static ResultSet abfragen(Connection connection, String sql, List<String> parameter) throws SQLException {
+        PreparedStatement stmt = connection.prepareStatement(sql);
+        try {
+            stmt.setFetchSize(FETCH_SIZE);
+            stmt.closeOnCompletion();
+            for (int i = 0; i < parameter.size(); i++) {
+                stmt.setString(i + 1, parameter.get(i));
+            }
+            return stmt.executeQuery();
+        } catch (SQLException e) {
+            stmt.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Liest den gespeicherten Stand für die aktuelle Datenbank und das aktuelle Schema.
+     * Ein fehlender oder unlesbarer Cache führt nur zum vollständigen Neuladen.
+     */
+    @SuppressWarnings("unchecked")
+    private void leseCache(Connection connection) throws SQLException {
+        String schluessel;
+        try (ResultSet rs = abfragen(connection, "SELECT SYS_CONTEXT('USERENV', 'DB_NAME'), " +
+                "SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA') FROM DUAL", Collections.emptyList())) {
+            rs.next();
+            schluessel = rs.getString(1) + "_" + rs.getString(2);
+        }
+        cacheDatei = new File(cacheVerzeichnis, schluessel.replaceAll("[^A-Za-z0-9_.-]", "_") + ".schema");
+        
+        if (!cacheDatei.exists()) {
+            Logger.info("Kein Schema-Cache vorhanden, er wird angelegt: " + cacheDatei.getPath());
+            return;
+        }
+        
+        try (ObjectInputStream ein = new ObjectInputStream(new BufferedInputStream(new FileInputStream(cacheDatei)))) {
+            if (ein.readInt() != CACHE_FORMAT) {
+                Logger.warnung("Schema-Cache hat ein veraltetes Format und wird neu aufgebaut: " + cacheDatei.getPath());
+                return;
+            }
+            tabellen.putAll((Map<String, Tabelle>) ein.readObject());
+            Logger.info("Schema-Cache gelesen: " + tabellen.size() + " Tabellen aus " + cacheDatei.getPath());
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            tabellen.clear();
+            Logger.warnung("Schema-Cache konnte nicht gelesen werden und wird neu aufgebaut: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Schreibt den aktuellen Stand über eine temporäre Datei, damit ein abgebrochener Lauf
+     * keinen halb geschriebenen Cache hinterlässt.
+     */
+    private void schreibeCache() {
+        cacheVerzeichnis.mkdirs();
+        File tempDatei = new File(cacheDatei.getPath() + ".tmp");
+        try (ObjectOutputStream aus = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tempDatei)))) {
+            aus.writeInt(CACHE_FORMAT);
+            aus.writeObject(new HashMap<>(tabellen));
+        } catch (IOException e) {
+            Logger.warnung("Schema-Cache konnte nicht geschrieben werden: " + e.getMessage());
+            tempDatei.delete();
+            return;
+        }
+        
+        try {
+            Files.move(tempDatei.toPath(), cacheDatei.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Logger.warnung("Schema-Cache konnte nicht gespeichert werden: " + e.getMessage());
+            tempDatei.delete();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package de.dbmigration.core;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.dbmigration.util.Logger;
+
+/**
+ * Legt die Reihenfolge fest, in der die Worker die Tabellen aus ihrer gemeinsamen Warteschlange holen.
+ * 
+ * Beginnt eine sehr große Tabelle erst gegen Ende, verlängert sie den ganzen Lauf, während die übrigen
+ * Worker bereits untätig sind. Die Tabellen werden daher nach geschätztem Aufwand absteigend sortiert
+ * (Longest Processing Time first), so dass die kleinen Tabellen am Ende die Lücken füllen. Das Ergebnis
+ * liegt höchstens um ein Drittel über der kürzestmöglichen Gesamtlaufzeit.
+ * 
+ * Konfigurierte Prioritätsklassen (tabelle.X.prioritaet) gehen der Größe vor: Tabellen einer höheren
+ * Klasse werden immer vor denen einer niedrigeren begonnen.
+ */
+public class TabellenPlanung {
+    // Zusätzlicher Aufwand je Zeile für Konvertierung und Ausgabe, umgerechnet in Bytes
+    private static final long AUFWAND_JE_ZEILE = 64;
+    
+    private final Konfiguration konfiguration;
+    
+    // Geschätzter Aufwand je Tabelle in Bytes
+    private final Map<String, Long> aufwand = new HashMap<>();
+    
+    public TabellenPlanung(Konfiguration konfiguration) {
+        this.konfiguration = konfiguration;
+    }
+    
+    /**
+     * Schätzt den Aufwand aller Tabellen des Schemas mit einer Dictionary-Abfrage.
+     * 
+     * Gelesen wird bei einem Full Table Scan das ganze Segment einschließlich der LOB-Segmente,
+     * geschrieben werden NUM_ROWS * AVG_ROW_LEN Bytes zuzüglich eines festen Anteils je Zeile. Da Lesen
+     * und Schreiben sich überlappen, bestimmt der größere der beiden Werte den Aufwand. Stichproben werden
+     * anteilig gerechnet; bei SAMPLE BLOCK sinkt auch der Leseaufwand.
+     * 
+     * @param connection Die Oracle-Verbindung
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public void schaetzeAufwand(Connection connection) throws SQLException {
+        String sql = "SELECT t.TABLE_NAME, NVL(t.NUM_ROWS, 0), NVL(t.AVG_ROW_LEN, 0), NVL(s.BYTES, 0) " +
+                     "FROM USER_TABLES t LEFT JOIN (" +
+                     "SELECT NVL(l.TABLE_NAME, g.SEGMENT_NAME) TABLE_NAME, SUM(g.BYTES) BYTES " +
+                     "FROM USER_SEGMENTS g LEFT JOIN USER_LOBS l ON l.SEGMENT_NAME = g.SEGMENT_NAME " +
+                     "GROUP BY NVL(l.TABLE_NAME, g.SEGMENT_NAME)) s ON s.TABLE_NAME = t.TABLE_NAME";
+        
+        try (Statement stmt = connection.createStatement()) {
+            stmt.setFetchSize(1000);
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    String tabellenname = rs.getString(1);
+                    long zeilen = rs.getLong(2);
+                    long zeilenLaenge = rs.getLong(3);
+                    long segmentBytes = rs.getLong(4);
+                    
+                    double lesen = segmentBytes;
+                    double schreiben = (double) zeilen * (zeilenLaenge + AUFWAND_JE_ZEILE);
+                    double prozent = konfiguration.getStichprobeProzent(tabellenname);
+                    if (prozent > 0) {
+                        schreiben = schreiben * prozent / 100;
+                        if (Konfiguration.STICHPROBE_METHODE_BLOCK.equals(konfiguration.getStichprobeMethode(tabellenname))) {
+                            lesen = lesen * prozent / 100;
+                        }
+                    }
+                    aufwand.put(tabellenname, (long) Math.max(lesen, schreiben));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Gibt den geschätzten Aufwand einer Tabelle zurück.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Der Aufwand in Bytes oder 0, wenn die Tabelle nicht im Dictionary gefunden wurde
+     */
+    public long getAufwand(String tabellenname) {
+        Long wert = aufwand.get(tabellenname.toUpperCase());
+        return wert != null ? wert : 0;
+    }
+    
+    /**
+     * Sortiert die Tabellen nach Prioritätsklasse und innerhalb einer Klasse nach Aufwand, jeweils
+     * absteigend. Tabellen mit gleichem Aufwand behalten ihre bisherige Reihenfolge.
+     * 
+     * @param tabellen Die zu migrierenden Tabellen
+     * @param anzahlWorker Die Anzahl paralleler Worker für die Abschätzung der Laufzeit
+     * @return Die Tabellen in der Reihenfolge, in der sie begonnen werden sollen
+     */
+    public List<String> ordne(List<String> tabellen, int anzahlWorker) {
+        List<String> reihenfolge = new ArrayList<>(tabellen);
+        Comparator<String> nachPrioritaet = Comparator.comparingInt(konfiguration::getPrioritaet);
+        Comparator<String> nachAufwand = Comparator.comparingLong(this::getAufwand);
+        reihenfolge.sort(nachPrioritaet.reversed().thenComparing(nachAufwand.reversed()));
+        
+        if (!aufwand.isEmpty() && !reihenfolge.isEmpty()) {
+            // Kein Plan kann kürzer sein als die größte Tabelle oder der gleichmäßig verteilte Gesamtaufwand
+            long summe = 0;
+            long groesster = 0;
+            for (String tabelle : reihenfolge) {
+                summe += getAufwand(tabelle);
+                groesster = Math.max(groesster, getAufwand(tabelle));
+            }
+            long untergrenze = Math.max(groesster, summe / Math.max(1, anzahlWorker));
+            Logger.info("Tabellenreihenfolge nach geschätztem Aufwand: " + reihenfolge.get(0) + " zuerst ("
+                    + zuMb(getAufwand(reihenfolge.get(0))) + " MB), gesamt " + zuMb(summe) + " MB, je Worker mindestens "
+                    + zuMb(untergrenze) + " MB");
+        }
+        return reihenfolge;
+    }
+    
+    private static long zuMb(long bytes) {
+        return bytes / (1024 * 1024);
+    }
+}
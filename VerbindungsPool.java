@@ -0,0 +1,573 @@
+package de.dbmigration.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.dbmigration.util.Logger;
+
+/**
+ * Begrenzter Pool von JDBC-Verbindungen zu einer Datenbank.
+ * 
+ * Die ausgeliehenen Verbindungen sind Stellvertreter-Objekte: close() gibt die Verbindung an den Pool
+ * zurück, statt sie zu schließen. Damit bleiben die vorhandenen try-with-resources-Blöcke unverändert.
+ * Verbindungen, die länger als VALIDIERUNG_NACH_MS ungenutzt waren, werden vor der Ausgabe mit
+ * isValid() geprüft; frisch zurückgegebene Verbindungen werden ohne Roundtrip wiederverwendet.
+ * 
+ * Der Pool kann mehrere gleichwertige Quellen bedienen, etwa Active-Data-Guard-Standbys. Jede Ausleihe
+ * geht an die Quelle mit den wenigsten ausgeliehenen Verbindungen. Lässt sich zu einer Quelle keine
+ * Verbindung öffnen oder meldet ein Worker den Abbruch seiner Verbindung, wird die Quelle für
+ * SPERRE_MS gesperrt und die Arbeit von den übrigen Quellen übernommen. Dasselbe gilt, wenn eine
+ * Standby-Quelle die Snapshot-SCN noch nicht angewendet hat und die AS-OF-Abfrage ablehnt.
+ */
+public class VerbindungsPool implements AutoCloseable {
+    // Ungenutzte Zeit, ab der eine Verbindung vor der Ausgabe validiert wird
+    private static final long VALIDIERUNG_NACH_MS = 30000;
+    private static final int VALIDIERUNG_TIMEOUT_SEKUNDEN = 5;
+    
+    // Dauer, für die eine ausgefallene Quelle keine neuen Ausleihen erhält
+    private static final long SPERRE_MS = 60000;
+    
+    // Oracle-Fehler, die auf eine verlorene Verbindung oder eine nicht verfügbare Instanz hinweisen
+    private static final Set<Integer> ABBRUCH_FEHLERCODES = new HashSet<>(Arrays.asList(
+            1033, 1034, 1089, 1090, 1092, 3113, 3114, 3135, 12514, 12528, 12537, 12541, 17002, 17008, 17410));
+    
+    // Oracle-Fehler einer AS-OF-Abfrage auf einer Quelle, die die SCN noch nicht erreicht hat
+    // (ORA-08181 ungültige SCN, ORA-01466 Tabellendefinition jünger als die SCN)
+    private static final Set<Integer> SNAPSHOT_FEHLERCODES = new HashSet<>(Arrays.asList(8181, 1466));
+    
+    private final String name;
+    private final List<Quelle> quellen;
+    private final String benutzer;
+    private final String passwort;
+    private final int maxGroesse;
+    private final long wartezeitMs;
+    
+    // Freie Verbindungen, die zuletzt zurückgegebene liegt vorne (LIFO)
+    private final LinkedBlockingDeque<PoolEintrag> freieVerbindungen = new LinkedBlockingDeque<>();
+    private final Semaphore plaetze;
+    
+    // Nach close() werden keine Verbindungen mehr ausgegeben, späte Rückgaben werden geschlossen
+    private volatile boolean geschlossen;
+    
+    // Statistik
+    private final AtomicInteger aktiv = new AtomicInteger();
+    private final AtomicInteger offen = new AtomicInteger();
+    private final AtomicLong ausleihen = new AtomicLong();
+    private final AtomicLong wartezeitGesamtNanos = new AtomicLong();
+    private final AtomicLong wartezeitMaxNanos = new AtomicLong();
+    private final AtomicLong verworfen = new AtomicLong();
+    
+    // Quelle jeder geöffneten physischen Verbindung
+    private final Map<Connection, Quelle> quelleJeVerbindung = new ConcurrentHashMap<>();
+    
+    /**
+     * Eine Quelldatenbank mit der Anzahl der dort ausgeliehenen Verbindungen.
+     */
+    private static class Quelle {
+        final int nummer;
+        final String url;
+        int aktiv;
+        volatile long gesperrtBis;
+        
+        Quelle(int nummer, String url) {
+            this.nummer = nummer;
+            this.url = url;
+        }
+        
+        boolean isVerfuegbar() {
+            return System.currentTimeMillis() >= gesperrtBis;
+        }
+    }
+    
+    /**
+     * Eine physische Verbindung mit ihrer Quelle und dem Zeitpunkt ihrer letzten Rückgabe.
+     */
+    private static class PoolEintrag {
+        final Connection verbindung;
+        final Quelle quelle;
+        long letzteNutzung;
+        
+        PoolEintrag(Connection verbindung, Quelle quelle) {
+            this.verbindung = verbindung;
+            this.quelle = quelle;
+            this.letzteNutzung = System.currentTimeMillis();
+        }
+    }
+    
+    /**
+     * Erstellt einen leeren Pool. Verbindungen werden mit oeffneVerbindungen vorab
+     * oder bei Bedarf bis zur maximalen Größe geöffnet.
+     * 
+     * @param name Name des Pools für die Log-Ausgabe (z.B. "Oracle")
+     * @param url JDBC-URL der Datenbank
+     * @param benutzer Benutzername für die Datenbank
+     * @param passwort Passwort für die Datenbank
+     * @param maxGroesse Maximale Anzahl gleichzeitig geöffneter Verbindungen
+     * @param wartezeitSekunden Maximale Wartezeit auf eine freie Verbindung
+     */
+    public VerbindungsPool(String name, String url, String benutzer, String passwort, int maxGroesse, int wartezeitSekunden) {
+        this(name, Collections.singletonList(url), benutzer, passwort, maxGroesse, wartezeitSekunden);
+    }
+    
+    /**
+     * Erstellt einen leeren Pool, der die Verbindungen auf mehrere gleichwertige Quellen verteilt.
+     * 
+     * @param name Name des Pools für die Log-Ausgabe (z.B. "Oracle")
+     * @param urls JDBC-URLs der Quellen
+     * @param benutzer Benutzername für alle Quellen
+     * @param passwort Passwort für alle Quellen
+     * @param maxGroesse Maximale Anzahl gleichzeitig geöffneter Verbindungen über alle Quellen
+     * @param wartezeitSekunden Maximale Wartezeit auf eine freie Verbindung
+     */
+    public VerbindungsPool(String name, List<String> urls, String benutzer, String passwort, int maxGroesse, int wartezeitSekunden) {
+        this.name = name;
+        this.quellen = new ArrayList<>();
+        for (String url : urls) {
+            quellen.add(new Quelle(quellen.size() + 1, url));
+        }
+        this.benutzer = benutzer;
+        this.passwort = passwort;
+        this.maxGroesse = Math.max(1, maxGroesse);
+        this.wartezeitMs = wartezeitSekunden * 1000L;
+        this.plaetze = new Semaphore(this.maxGroesse, true);
+    }
+    
+    /**
+     * Öffnet die angegebene Anzahl Verbindungen parallel, damit der Verbindungsaufbau
+     * über den Listener nicht nacheinander abgewartet werden muss. Bei mehreren Quellen werden
+     * die Verbindungen reihum verteilt; eine nicht erreichbare Quelle wird gesperrt.
+     * 
+     * @param anzahl Anzahl der vorab zu öffnenden Verbindungen (höchstens die maximale Größe)
+     * @throws SQLException Wenn eine Verbindung nicht geöffnet werden kann bzw. keine Quelle erreichbar ist
+     */
+    public void oeffneVerbindungen(int anzahl) throws SQLException {
+        int zuOeffnen = Math.min(anzahl, maxGroesse) - offen.get();
+        if (zuOeffnen <= 0) {
+            return;
+        }
+        
+        long start = System.currentTimeMillis();
+        ExecutorService starter = Executors.newFixedThreadPool(zuOeffnen);
+        List<Future<Connection>> ergebnisse = new ArrayList<>();
+        for (int i = 0; i < zuOeffnen; i++) {
+            String url = quellen.get(i % quellen.size()).url;
+            ergebnisse.add(starter.submit(() -> DriverManager.getConnection(url, benutzer, passwort)));
+        }
+        starter.shutdown();
+        
+        SQLException fehler = null;
+        for (int i = 0; i < ergebnisse.size(); i++) {
+            Quelle quelle = quellen.get(i % quellen.size());
+            try {
+                Connection verbindung = ergebnisse.get(i).get();
+                quelleJeVerbindung.put(verbindung, quelle);
+                freieVerbindungen.offerLast(new PoolEintrag(verbindung, quelle));
+                offen.incrementAndGet();
+            } catch (ExecutionException e) {
+                if (fehler == null) {
+                    fehler = e.getCause() instanceof SQLException
+                            ? (SQLException) e.getCause()
+                            : new SQLException("Verbindung für " + name + "-Pool konnte nicht geöffnet werden", e.getCause());
+                }
+                if (quelle.isVerfuegbar()) {
+                    sperre(quelle, e.getCause().getMessage());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Öffnen der Verbindungen für " + name + "-Pool wurde unterbrochen", e);
+            }
+        }
+        
+        if (fehler != null && (quellen.size() == 1 || !hatVerfuegbareQuelle())) {
+            throw fehler;
+        }
+        Logger.info(name + "-Pool: " + zuOeffnen + " Verbindungen in " + (System.currentTimeMillis() - start) + " ms geöffnet");
+    }
+    
+    /**
+     * Leiht eine Verbindung aus. Ist der Pool ausgeschöpft, wird bis zur konfigurierten
+     * Wartezeit auf eine Rückgabe gewartet. Die Verbindung wird mit close() zurückgegeben.
+     * 
+     * @return Die ausgeliehene Verbindung
+     * @throws SQLException Wenn innerhalb der Wartezeit keine Verbindung frei wird oder der Pool geschlossen ist
+     */
+    public Connection holeVerbindung() throws SQLException {
+        pruefeOffen();
+        long start = System.nanoTime();
+        try {
+            if (!plaetze.tryAcquire(wartezeitMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Keine freie Verbindung im " + name + "-Pool nach " + (wartezeitMs / 1000)
+                        + " Sekunden (" + getStatistik() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Warten auf eine Verbindung im " + name + "-Pool wurde unterbrochen", e);
+        }
+        
+        long gewartet = System.nanoTime() - start;
+        wartezeitGesamtNanos.addAndGet(gewartet);
+        wartezeitMaxNanos.accumulateAndGet(gewartet, Math::max);
+        ausleihen.incrementAndGet();
+        
+        try {
+            pruefeOffen();
+            PoolEintrag eintrag = naechsteGueltigeVerbindung();
+            aktiv.incrementAndGet();
+            return erzeugeStellvertreter(eintrag);
+        } catch (SQLException | RuntimeException e) {
+            plaetze.release();
+            throw e;
+        }
+    }
+    
+    private void pruefeOffen() throws SQLException {
+        if (geschlossen) {
+            throw new SQLException(name + "-Pool ist bereits geschlossen");
+        }
+    }
+    
+    /**
+     * Liefert eine freie Verbindung der am wenigsten belasteten Quelle, verwirft dabei ungültige,
+     * oder öffnet eine neue. Schlägt das Öffnen fehl, wird die Quelle gesperrt und die nächste versucht.
+     */
+    private PoolEintrag naechsteGueltigeVerbindung() throws SQLException {
+        Set<Quelle> versucht = new HashSet<>();
+        while (true) {
+            Quelle quelle = reserviereQuelle(versucht);
+            try {
+                PoolEintrag eintrag;
+                while ((eintrag = entnehmeFreieVerbindung(quelle)) != null) {
+                    boolean pruefen = System.currentTimeMillis() - eintrag.letzteNutzung > VALIDIERUNG_NACH_MS;
+                    if (!pruefen || eintrag.verbindung.isValid(VALIDIERUNG_TIMEOUT_SEKUNDEN)) {
+                        return eintrag;
+                    }
+                    Logger.warnung(name + "-Pool: ungültige Verbindung verworfen");
+                    verwerfe(eintrag);
+                }
+                
+                // Freie Verbindungen anderer Quellen belegen sonst Plätze, die hier gebraucht werden
+                if (offen.get() >= maxGroesse && (eintrag = freieVerbindungen.pollLast()) != null) {
+                    verwerfe(eintrag);
+                }
+                
+                Connection verbindung = DriverManager.getConnection(quelle.url, benutzer, passwort);
+                quelleJeVerbindung.put(verbindung, quelle);
+                offen.incrementAndGet();
+                return new PoolEintrag(verbindung, quelle);
+            } catch (SQLException e) {
+                gibQuelleFrei(quelle);
+                versucht.add(quelle);
+                if (versucht.size() == quellen.size()) {
+                    throw e;
+                }
+                sperre(quelle, e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Wählt unter den verfügbaren, noch nicht versuchten Quellen die mit den wenigsten ausgeliehenen
+     * Verbindungen und rechnet ihr die Ausleihe sofort zu. Sind alle gesperrt, wird die Quelle gewählt,
+     * deren Sperre zuerst endet.
+     */
+    private synchronized Quelle reserviereQuelle(Set<Quelle> versucht) {
+        Quelle beste = null;
+        for (Quelle quelle : quellen) {
+            if (versucht.contains(quelle)) {
+                continue;
+            }
+            if (beste == null
+                    || (quelle.isVerfuegbar() && (!beste.isVerfuegbar() || quelle.aktiv < beste.aktiv))
+                    || (!quelle.isVerfuegbar() && !beste.isVerfuegbar() && quelle.gesperrtBis < beste.gesperrtBis)) {
+                beste = quelle;
+            }
+        }
+        beste.aktiv++;
+        return beste;
+    }
+    
+    private synchronized void gibQuelleFrei(Quelle quelle) {
+        quelle.aktiv--;
+    }
+    
+    /**
+     * Entnimmt die zuletzt zurückgegebene freie Verbindung der Quelle.
+     */
+    private PoolEintrag entnehmeFreieVerbindung(Quelle quelle) {
+        if (quellen.size() == 1) {
+            return freieVerbindungen.pollFirst();
+        }
+        Iterator<PoolEintrag> iterator = freieVerbindungen.iterator();
+        while (iterator.hasNext()) {
+            PoolEintrag eintrag = iterator.next();
+            if (eintrag.quelle == quelle && freieVerbindungen.removeFirstOccurrence(eintrag)) {
+                return eintrag;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Sperrt eine Quelle für neue Ausleihen und schließt ihre freien Verbindungen.
+     */
+    private void sperre(Quelle quelle, String grund) {
+        quelle.gesperrtBis = System.currentTimeMillis() + SPERRE_MS;
+        Logger.warnung(name + "-Pool: Quelle " + quelle.nummer + " (" + quelle.url + ") für " + (SPERRE_MS / 1000)
+                + " Sekunden gesperrt: " + grund);
+        
+        for (PoolEintrag eintrag : freieVerbindungen) {
+            if (eintrag.quelle == quelle && freieVerbindungen.removeFirstOccurrence(eintrag)) {
+                verwerfe(eintrag);
+            }
+        }
+    }
+    
+    private boolean hatVerfuegbareQuelle() {
+        for (Quelle quelle : quellen) {
+            if (quelle.isVerfuegbar()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Gibt die Anzahl der Quellen des Pools zurück.
+     */
+    public int getQuellenAnzahl() { return quellen.size(); }
+    
+    /**
+     * Gibt die URL der Quelle zurück, zu der eine ausgeliehene Verbindung gehört.
+     * 
+     * @param verbindung Die vom Pool ausgeliehene Verbindung
+     * @return Die JDBC-URL der Quelle oder null, wenn die Verbindung nicht aus diesem Pool stammt
+     */
+    public String getQuelle(Connection verbindung) {
+        try {
+            Quelle quelle = quelleJeVerbindung.get(verbindung.unwrap(Connection.class));
+            return quelle != null ? quelle.url : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Meldet den Fehler einer Arbeit, die auf einer Verbindung der angegebenen Quelle lief. Ist es ein
+     * Verbindungsabbruch oder kann die Quelle die Snapshot-SCN noch nicht lesen, wird die Quelle
+     * gesperrt.
+     * 
+     * @param url Die Quelle, wie sie getQuelle vor Beginn der Arbeit geliefert hat
+     * @param fehler Der aufgetretene Fehler
+     * @return true, wenn die Arbeit auf einer anderen Quelle wiederholt werden kann
+     */
+    public boolean meldeAusfall(String url, Throwable fehler) {
+        if (quellen.size() < 2 || url == null || !istVerbindungsabbruch(fehler) && !istSnapshotNichtLesbar(fehler)) {
+            return false;
+        }
+        for (Quelle quelle : quellen) {
+            if (quelle.url.equals(url) && quelle.isVerfuegbar()) {
+                sperre(quelle, fehler.getMessage());
+            }
+        }
+        return hatVerfuegbareQuelle();
+    }
+    
+    /**
+     * Prüft, ob ein Fehler oder eine seiner Ursachen auf eine verlorene Verbindung hinweist.
+     * 
+     * @param fehler Der Fehler
+     * @return true bei SQLRecoverableException, SQLState 08xxx oder einem bekannten Oracle-Fehlercode
+     */
+    public static boolean istVerbindungsabbruch(Throwable fehler) {
+        for (Throwable ursache = fehler; ursache != null; ursache = ursache.getCause()) {
+            if (ursache instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (ursache instanceof SQLException) {
+                SQLException sqlFehler = (SQLException) ursache;
+                if (sqlFehler.getSQLState() != null && sqlFehler.getSQLState().startsWith("08")
+                        || ABBRUCH_FEHLERCODES.contains(sqlFehler.getErrorCode())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Prüft, ob ein Fehler oder eine seiner Ursachen zeigt, dass die Quelle eine AS-OF-Abfrage auf
+     * der Snapshot-SCN noch nicht beantworten kann, etwa weil ein Standby im Apply zurückliegt.
+     * 
+     * @param fehler Der Fehler
+     * @return true bei ORA-08181 oder ORA-01466
+     */
+    public static boolean istSnapshotNichtLesbar(Throwable fehler) {
+        for (Throwable ursache = fehler; ursache != null; ursache = ursache.getCause()) {
+            if (ursache instanceof SQLException && SNAPSHOT_FEHLERCODES.contains(((SQLException) ursache).getErrorCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Erzeugt ein Stellvertreter-Objekt, dessen close() die Verbindung an den Pool zurückgibt.
+     */
+    private Connection erzeugeStellvertreter(PoolEintrag eintrag) {
+        AtomicBoolean zurueckgegeben = new AtomicBoolean(false);
+        
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (stellvertreter, methode, argumente) -> {
+                    switch (methode.getName()) {
+                        case "close":
+                            if (zurueckgegeben.compareAndSet(false, true)) {
+                                gibZurueck(eintrag);
+                            }
+                            return null;
+                        case "isClosed":
+                            return zurueckgegeben.get() || eintrag.verbindung.isClosed();
+                        case "unwrap":
+                            if (argumente[0] == Connection.class) {
+                                return eintrag.verbindung;
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                    
+                    if (zurueckgegeben.get()) {
+                        throw new SQLException("Verbindung wurde bereits an den " + name + "-Pool zurückgegeben");
+                    }
+                    try {
+                        return methode.invoke(eintrag.verbindung, argumente);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+    
+    /**
+     * Nimmt eine Verbindung zurück. Offene Transaktionen werden zurückgerollt, geschlossene
+     * Verbindungen und Rückgaben nach dem Schließen des Pools verworfen.
+     */
+    private void gibZurueck(PoolEintrag eintrag) {
+        aktiv.decrementAndGet();
+        gibQuelleFrei(eintrag.quelle);
+        try {
+            if (geschlossen || eintrag.verbindung.isClosed() || !eintrag.quelle.isVerfuegbar()) {
+                verwerfe(eintrag);
+            } else {
+                if (!eintrag.verbindung.getAutoCommit()) {
+                    eintrag.verbindung.rollback();
+                    eintrag.verbindung.setAutoCommit(true);
+                }
+                eintrag.letzteNutzung = System.currentTimeMillis();
+                freieVerbindungen.offerFirst(eintrag);
+                
+                // close() kann die freien Verbindungen inzwischen bereits geschlossen haben
+                if (geschlossen && freieVerbindungen.removeFirstOccurrence(eintrag)) {
+                    verwerfe(eintrag);
+                }
+            }
+        } catch (SQLException e) {
+            Logger.warnung(name + "-Pool: Verbindung bei der Rückgabe verworfen: " + e.getMessage());
+            verwerfe(eintrag);
+        } finally {
+            plaetze.release();
+        }
+    }
+    
+    private void verwerfe(PoolEintrag eintrag) {
+        quelleJeVerbindung.remove(eintrag.verbindung);
+        offen.decrementAndGet();
+        verworfen.incrementAndGet();
+        try {
+            eintrag.verbindung.close();
+        } catch (SQLException e) {
+            // Verbindung ist ohnehin unbrauchbar
+        }
+    }
+    
+    /**
+     * Gibt die Anzahl der aktuell ausgeliehenen Verbindungen zurück.
+     */
+    public int getAktiv() { return aktiv.get(); }
+    
+    /**
+     * Gibt die Anzahl der freien, geöffneten Verbindungen zurück.
+     */
+    public int getFrei() { return freieVerbindungen.size(); }
+    
+    /**
+     * Gibt eine Zusammenfassung der Pool-Statistik für die Log-Ausgabe zurück.
+     */
+    public String getStatistik() {
+        long anzahl = ausleihen.get();
+        long durchschnittMs = anzahl == 0 ? 0 : wartezeitGesamtNanos.get() / anzahl / 1000000;
+        String statistik = name + "-Pool: " + aktiv.get() + " aktiv, " + freieVerbindungen.size() + " frei, "
+                + offen.get() + "/" + maxGroesse + " geöffnet, " + anzahl + " Ausleihen, Wartezeit Ø "
+                + durchschnittMs + " ms / max " + (wartezeitMaxNanos.get() / 1000000) + " ms, "
+                + verworfen.get() + " verworfen";
+        if (quellen.size() > 1) {
+            StringBuilder last = new StringBuilder(statistik).append("; aktiv je Quelle:");
+            synchronized (this) {
+                for (Quelle quelle : quellen) {
+                    last.append(' ').append(quelle.nummer).append('=').append(quelle.aktiv);
+                    if (!quelle.isVerfuegbar()) {
+                        last.append(" (gesperrt)");
+                    }
+                }
+            }
+            statistik = last.toString();
+        }
+        return statistik;
+    }
+    
+    /**
+     * Schließt alle freien Verbindungen und protokolliert die Statistik. Danach gibt der Pool keine
+     * Verbindungen mehr aus; noch ausgeliehene werden bei ihrer Rückgabe geschlossen.
+     */
+    @Override
+    public void close() {
+        geschlossen = true;
+        Logger.info(getStatistik());
+        if (aktiv.get() > 0) {
+            Logger.warnung(name + "-Pool wird mit " + aktiv.get() + " ausgeliehenen Verbindungen geschlossen");
+        }
+        
+        PoolEintrag eintrag;
+        while ((eintrag = freieVerbindungen.pollFirst()) != null) {
+            quelleJeVerbindung.remove(eintrag.verbindung);
+            try {
+                eintrag.verbindung.close();
+            } catch (SQLException e) {
+                Logger.warnung("Fehler beim Schließen einer Verbindung im " + name + "-Pool: " + e.getMessage());
+            }
+            offen.decrementAndGet();
+        }
+        Logger.info(name + "-Pool geschlossen");
+    }
+}
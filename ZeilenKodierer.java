@@ -0,0 +1,441 @@
+package de.dbmigration.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import de.dbmigration.util.Logger;
+
+/**
+ * Schreibt die Spalten einer Zeile im INSERT- oder COPY-Textformat in den Zeilenpuffer.
+ * 
+ * Die Grundform durchläuft die Spalten in einer Schleife und ruft für jeden Wert den Konverter
+ * der Spalte auf. Bei sehr breiten Tabellen ist dieser Aufruf megamorph und kostet je Zelle einen
+ * virtuellen Sprung. Auf Wunsch wird deshalb je Tabellenform eine Unterklasse erzeugt, deren
+ * kodiere-Methode die Spalten ohne Schleife mit typisierten Gettern (getString, getBigDecimal)
+ * und statischen Kodierfunktionen abarbeitet; nur Spalten mit besonderer Behandlung (Datum,
+ * Wertetransformation, BOOLEAN) gehen weiterhin über ihren Konverter. Beim typisierten Lesen
+ * werden in beiden Formen ganzzahlige NUMBER-Spalten (Genauigkeit bis 18, ohne Nachkommastellen)
+ * mit getLong gelesen und ohne BigDecimal angehängt, DATE- und TIMESTAMP-Spalten mit getTimestamp
+ * statt über die Oracle-eigenen Typen von getObject.
+ * 
+ * Die Unterklasse wird als Quelltext erzeugt, mit dem Compiler des JDK übersetzt und ab Java 15
+ * als versteckte Klasse (Lookup.defineHiddenClass) geladen. Erzeugte Klassen werden nach der
+ * Spaltensignatur zwischengespeichert, so dass gleich aufgebaute Tabellen und alle Chunks einer
+ * Tabelle dieselbe Klasse verwenden. Der Zwischenspeicher hält sie nur über SoftReference: wird
+ * eine Klasse von keinem Kodierer mehr benutzt, kann sie unter Speicherdruck entladen und bei
+ * Bedarf neu erzeugt werden. Steht kein Compiler zur Verfügung (reine Laufzeitumgebung), bleibt
+ * es für den ganzen Lauf bei der Grundform; schlägt die Erzeugung für eine Signatur fehl, nur für
+ * diese.
+ */
+public class ZeilenKodierer {
+    /**
+     * Hängt einen Wert (nicht null) einer Spalte als Text an die Zeile an.
+     */
+    public interface WertKonverter {
+        void schreibe(Object wert, StringBuilder ziel);
+    }
+    
+    // Konverter ohne Sonderbehandlung, erkennbar für den Generator
+    public static final WertKonverter SQL_TEXT = ZeilenKodierer::schreibeSqlText;
+    public static final WertKonverter SQL_ZAHL = (wert, ziel) -> ziel.append(wert);
+    public static final WertKonverter COPY_TEXT = (wert, ziel) -> schreibeCopyText(wert.toString(), ziel);
+    public static final WertKonverter COPY_ZAHL = ZeilenKodierer::schreibeCopyZahl;
+    
+    // Spalten je erzeugter Methode; größere Methoden (über 8000 Bytes Bytecode) übersetzt der JIT-Compiler nicht
+    private static final int SPALTEN_JE_METHODE = 100;
+    
+    // Erzeugte Kodierer je Spaltensignatur, weich gehalten, damit ungenutzte Klassen entladen werden können
+    private static final Map<String, SoftReference<Constructor<?>>> ERZEUGTE_KODIERER = new ConcurrentHashMap<>();
+    private static final Set<String> FEHLGESCHLAGENE_SIGNATUREN = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger KLASSEN_NUMMER = new AtomicInteger();
+    
+    // Wird nur abgeschaltet, wenn kein Compiler verfügbar ist
+    private static volatile boolean generierenMoeglich = true;
+    
+    protected final LobLeser lobLeser;
+    protected final WertKonverter[] konverter;
+    private final char[] arten;
+    private final String trenner;
+    private final String nullWert;
+    
+    /**
+     * @param lobLeser Der Leser für LOB-, LONG- und RAW-Spalten
+     * @param konverter Die Konverter der Spalten (Index ab 1)
+     * @param signatur Format und Art der Kodierung je Spalte (siehe ermittleSignatur)
+     */
+    protected ZeilenKodierer(LobLeser lobLeser, WertKonverter[] konverter, String signatur) {
+        this.lobLeser = lobLeser;
+        this.konverter = konverter;
+        this.arten = signatur.toCharArray();
+        this.trenner = arten[0] == 'C' ? "\t" : ", ";
+        this.nullWert = arten[0] == 'C' ? "\\N" : "NULL";
+    }
+    
+    /**
+     * Erstellt den Kodierer für eine Datenabfrage.
+     * 
+     * @param metaData Die Metadaten der Abfrage
+     * @param konverter Die Konverter der Spalten (Index ab 1)
+     * @param lobLeser Der Leser für LOB-, LONG- und RAW-Spalten
+     * @param copy true für das COPY-Textformat, false für INSERT-Statements
+     * @param typisiert true, wenn Ganzzahlen und Zeitstempel mit typisierten Gettern gelesen werden
+     * @param generieren true, wenn eine spezialisierte Klasse erzeugt werden soll
+     * @return Der Kodierer, bei Fehlern der Erzeugung die Grundform
+     * @throws SQLException Bei Fehlern beim Lesen der Metadaten
+     */
+    public static ZeilenKodierer erstelle(ResultSetMetaData metaData, WertKonverter[] konverter, LobLeser lobLeser,
+            boolean copy, boolean typisiert, boolean generieren) throws SQLException {
+        String signatur = ermittleSignatur(metaData, konverter, lobLeser, copy, typisiert);
+        if (generieren && generierenMoeglich && !FEHLGESCHLAGENE_SIGNATUREN.contains(signatur)) {
+            try {
+                return (ZeilenKodierer) holeKonstruktor(signatur).newInstance(lobLeser, konverter);
+            } catch (ReflectiveOperationException | IOException | RuntimeException e) {
+                if (!generierenMoeglich) {
+                    Logger.warnung("Zeilenkodierer werden für den Rest des Laufs nicht erzeugt: " + e.getMessage());
+                } else if (FEHLGESCHLAGENE_SIGNATUREN.add(signatur)) {
+                    Logger.warnung("Zeilenkodierer für " + (signatur.length() - 1) + " Spalten (Signatur " + signatur
+                            + ") konnte nicht erzeugt werden, verwende für diese Form die allgemeine Form: " + e);
+                }
+            }
+        }
+        return new ZeilenKodierer(lobLeser, konverter, signatur);
+    }
+    
+    /**
+     * Liefert den Konstruktor der Kodiererklasse einer Signatur aus dem Zwischenspeicher oder
+     * erzeugt die Klasse, wenn sie noch nicht existiert oder inzwischen entladen wurde.
+     */
+    private static Constructor<?> holeKonstruktor(String signatur) throws IOException, ReflectiveOperationException {
+        SoftReference<Constructor<?>> referenz = ERZEUGTE_KODIERER.get(signatur);
+        Constructor<?> konstruktor = referenz != null ? referenz.get() : null;
+        if (konstruktor == null) {
+            synchronized (ERZEUGTE_KODIERER) {
+                referenz = ERZEUGTE_KODIERER.get(signatur);
+                konstruktor = referenz != null ? referenz.get() : null;
+                if (konstruktor == null) {
+                    konstruktor = erzeugeKlasse(signatur).getConstructor(LobLeser.class, WertKonverter[].class);
+                    ERZEUGTE_KODIERER.put(signatur, new SoftReference<>(konstruktor));
+                }
+            }
+        }
+        return konstruktor;
+    }
+    
+    /**
+     * Schreibt die Spalten der aktuellen Zeile, getrennt durch Komma bzw. Tabulator, in den Puffer.
+     * 
+     * @param rs Das ResultSet, positioniert auf der Zeile
+     * @param ziel Der Zeilenpuffer
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public void kodiere(ResultSet rs, StringBuilder ziel) throws SQLException {
+        for (int i = 1; i < konverter.length; i++) {
+            if (i > 1) {
+                ziel.append(trenner);
+            }
+            
+            switch (arten[i]) {
+                case 'L':
+                    lobLeser.lese(rs, i, ziel);
+                    break;
+                case 'G': {
+                    long zahl = rs.getLong(i);
+                    if (rs.wasNull()) {
+                        ziel.append(nullWert);
+                    } else {
+                        ziel.append(zahl);
+                    }
+                    break;
+                }
+                case 'S': {
+                    Timestamp zeitpunkt = rs.getTimestamp(i);
+                    if (zeitpunkt == null) {
+                        ziel.append(nullWert);
+                    } else {
+                        konverter[i].schreibe(zeitpunkt, ziel);
+                    }
+                    break;
+                }
+                default: {
+                    Object wert = rs.getObject(i);
+                    if (rs.wasNull() || wert == null) {
+                        ziel.append(nullWert);
+                    } else {
+                        konverter[i].schreibe(wert, ziel);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Hängt einen Text als SQL-Literal an, einfache Anführungszeichen werden verdoppelt.
+     */
+    public static void schreibeSqlText(Object wert, StringBuilder ziel) {
+        String text = wert.toString();
+        ziel.append('\'');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\'') {
+                ziel.append('\'');
+            }
+            ziel.append(c);
+        }
+        ziel.append('\'');
+    }
+    
+    /**
+     * Maskiert einen Text für das COPY-Textformat (Backslash, Tabulator, Zeilenumbruch,
+     * Wagenrücklauf) und hängt ihn an den Puffer an.
+     */
+    public static void schreibeCopyText(String wert, StringBuilder ziel) {
+        for (int i = 0; i < wert.length(); i++) {
+            char c = wert.charAt(i);
+            switch (c) {
+                case '\\':
+                    ziel.append("\\\\");
+                    break;
+                case '\t':
+                    ziel.append("\\t");
+                    break;
+                case '\n':
+                    ziel.append("\\n");
+                    break;
+                case '\r':
+                    ziel.append("\\r");
+                    break;
+                default:
+                    ziel.append(c);
+            }
+        }
+    }
+    
+    /**
+     * Hängt eine Zahl für das COPY-Format an, ohne wissenschaftliche Notation. Zahlen enthalten
+     * keine Zeichen, die maskiert werden müssten.
+     */
+    public static void schreibeCopyZahl(Object wert, StringBuilder ziel) {
+        ziel.append(wert instanceof BigDecimal ? ((BigDecimal) wert).toPlainString() : wert.toString());
+    }
+    
+    /**
+     * Prüft, ob eine Spalte eine ganzzahlige NUMBER-Spalte ist, deren Werte in ein long passen.
+     * NUMBER ohne Genauigkeit meldet die Genauigkeit 0 und wird nicht als ganzzahlig erkannt.
+     * 
+     * @param metaData Die Metadaten der Abfrage
+     * @param index Der Index der Spalte (ab 1)
+     * @return true für NUMBER(p) bzw. NUMBER(p,0) mit p bis 18
+     * @throws SQLException Bei Fehlern beim Lesen der Metadaten
+     */
+    public static boolean istGanzzahl(ResultSetMetaData metaData, int index) throws SQLException {
+        int genauigkeit = metaData.getPrecision(index);
+        return "NUMBER".equals(metaData.getColumnTypeName(index)) && metaData.getScale(index) == 0
+                && genauigkeit > 0 && genauigkeit <= 18;
+    }
+    
+    /**
+     * Bildet die Signatur der Tabellenform: Format und je Spalte ein Zeichen für die Art der Kodierung
+     * (T = Text, N = NUMBER über getBigDecimal, G = Ganzzahl über getLong, Z = sonstige Zahl,
+     * S = Zeitstempel über getTimestamp, L = LOB-Leser, K = Konverter).
+     */
+    private static String ermittleSignatur(ResultSetMetaData metaData, WertKonverter[] konverter, LobLeser lobLeser,
+            boolean copy, boolean typisiert) throws SQLException {
+        StringBuilder signatur = new StringBuilder(konverter.length + 1);
+        signatur.append(copy ? 'C' : 'I');
+        for (int i = 1; i < konverter.length; i++) {
+            String spaltentyp = metaData.getColumnTypeName(i);
+            boolean zahl = konverter[i] == SQL_ZAHL || konverter[i] == COPY_ZAHL;
+            if (lobLeser.istLob(i)) {
+                signatur.append('L');
+            } else if (konverter[i] == SQL_TEXT || konverter[i] == COPY_TEXT) {
+                signatur.append('T');
+            } else if (zahl && typisiert && istGanzzahl(metaData, i)) {
+                signatur.append('G');
+            } else if (zahl) {
+                signatur.append(spaltentyp.equals("NUMBER") || spaltentyp.equals("FLOAT") ? 'N' : 'Z');
+            } else if (typisiert && (spaltentyp.equals("DATE") || spaltentyp.equals("TIMESTAMP"))) {
+                signatur.append('S');
+            } else {
+                signatur.append('K');
+            }
+        }
+        return signatur.toString();
+    }
+    
+    /**
+     * Erzeugt, übersetzt und lädt die Kodiererklasse für eine Signatur.
+     */
+    private static Class<?> erzeugeKlasse(String signatur) throws IOException, ReflectiveOperationException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            generierenMoeglich = false;
+            throw new IOException("kein Java-Compiler verfügbar (Laufzeitumgebung ohne JDK)");
+        }
+        
+        String paket = ZeilenKodierer.class.getName().contains(".")
+                ? ZeilenKodierer.class.getName().substring(0, ZeilenKodierer.class.getName().lastIndexOf('.'))
+                : "";
+        String klassenname = "ErzeugterZeilenKodierer" + KLASSEN_NUMMER.incrementAndGet();
+        String quelltext = erzeugeQuelltext(paket, klassenname, signatur);
+        
+        Path verzeichnis = Files.createTempDirectory("zeilenkodierer");
+        try {
+            Path quelle = verzeichnis.resolve(klassenname + ".java");
+            Files.write(quelle, quelltext.getBytes(StandardCharsets.UTF_8));
+            
+            ByteArrayOutputStream meldungen = new ByteArrayOutputStream();
+            int ergebnis = compiler.run(null, meldungen, meldungen, "-nowarn", "-g:none", "-encoding", "UTF-8",
+                    "-cp", System.getProperty("java.class.path"), "-d", verzeichnis.toString(), quelle.toString());
+            if (ergebnis != 0) {
+                throw new IOException("Übersetzung fehlgeschlagen (Signatur " + signatur + "): "
+                        + new String(meldungen.toByteArray(), StandardCharsets.UTF_8).trim());
+            }
+            
+            Path klassenDatei = verzeichnis;
+            for (String teil : paket.isEmpty() ? new String[0] : paket.split("\\.")) {
+                klassenDatei = klassenDatei.resolve(teil);
+            }
+            byte[] bytes = Files.readAllBytes(klassenDatei.resolve(klassenname + ".class"));
+            Class<?> klasse = ladeKlasse(paket.isEmpty() ? klassenname : paket + "." + klassenname, bytes);
+            Logger.info("Zeilenkodierer für " + (signatur.length() - 1) + " Spalten erzeugt (" + klassenname + ")");
+            return klasse;
+        } finally {
+            try (Stream<Path> dateien = Files.walk(verzeichnis)) {
+                dateien.sorted(Comparator.reverseOrder()).forEach(pfad -> pfad.toFile().delete());
+            }
+        }
+    }
+    
+    /**
+     * Lädt die übersetzte Klasse ab Java 15 als versteckte Klasse im Paket dieses Kodierers,
+     * in älteren Versionen über einen eigenen Klassenlader.
+     */
+    private static Class<?> ladeKlasse(String name, byte[] bytes) throws ReflectiveOperationException {
+        Class<?> optionTyp;
+        try {
+            optionTyp = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+        } catch (ClassNotFoundException e) {
+            return new KlassenLader(ZeilenKodierer.class.getClassLoader()).definiere(name, bytes);
+        }
+        
+        Object optionen = Array.newInstance(optionTyp, 0);
+        Method definiere = MethodHandles.Lookup.class.getMethod("defineHiddenClass", byte[].class, boolean.class, optionen.getClass());
+        MethodHandles.Lookup lookup = (MethodHandles.Lookup) definiere.invoke(MethodHandles.lookup(), bytes, true, optionen);
+        return lookup.lookupClass();
+    }
+    
+    /**
+     * Erzeugt den Quelltext der Kodiererklasse. Die Spalten werden in Methoden zu je
+     * SPALTEN_JE_METHODE Spalten aufgeteilt, die kodiere nacheinander aufruft.
+     */
+    private static String erzeugeQuelltext(String paket, String klassenname, String signatur) {
+        boolean copy = signatur.charAt(0) == 'C';
+        String trenner = copy ? "\"\\t\"" : "\", \"";
+        String nullWert = copy ? "\"\\\\N\"" : "\"NULL\"";
+        int spaltenAnzahl = signatur.length() - 1;
+        int methoden = (spaltenAnzahl + SPALTEN_JE_METHODE - 1) / SPALTEN_JE_METHODE;
+        
+        StringBuilder q = new StringBuilder();
+        if (!paket.isEmpty()) {
+            q.append("package ").append(paket).append(";\n\n");
+        }
+        q.append("import java.math.BigDecimal;\n");
+        q.append("import java.sql.ResultSet;\n");
+        q.append("import java.sql.SQLException;\n");
+        q.append("import java.sql.Timestamp;\n\n");
+        q.append("public final class ").append(klassenname).append(" extends ZeilenKodierer {\n");
+        q.append("    public ").append(klassenname).append("(LobLeser lobLeser, WertKonverter[] konverter) {\n");
+        q.append("        super(lobLeser, konverter, \"").append(signatur).append("\");\n");
+        q.append("    }\n\n");
+        
+        q.append("    @Override\n");
+        q.append("    public void kodiere(ResultSet rs, StringBuilder ziel) throws SQLException {\n");
+        for (int m = 0; m < methoden; m++) {
+            q.append("        teil").append(m).append("(rs, ziel);\n");
+        }
+        q.append("    }\n");
+        
+        for (int m = 0; m < methoden; m++) {
+            q.append("\n    private void teil").append(m).append("(ResultSet rs, StringBuilder ziel) throws SQLException {\n");
+            q.append("        String t;\n        BigDecimal n;\n        long g;\n        Timestamp s;\n        Object o;\n");
+            int bis = Math.min(spaltenAnzahl, (m + 1) * SPALTEN_JE_METHODE);
+            for (int i = m * SPALTEN_JE_METHODE + 1; i <= bis; i++) {
+                if (i > 1) {
+                    q.append("        ziel.append(").append(trenner).append(");\n");
+                }
+                switch (signatur.charAt(i)) {
+                    case 'L':
+                        q.append("        lobLeser.lese(rs, ").append(i).append(", ziel);\n");
+                        break;
+                    case 'T':
+                        q.append("        t = rs.getString(").append(i).append(");\n");
+                        q.append("        if (t == null) ziel.append(").append(nullWert).append("); else ")
+                                .append(copy ? "schreibeCopyText(t, ziel);\n" : "schreibeSqlText(t, ziel);\n");
+                        break;
+                    case 'N':
+                        q.append("        n = rs.getBigDecimal(").append(i).append(");\n");
+                        q.append("        if (n == null) ziel.append(").append(nullWert).append("); else ")
+                                .append(copy ? "ziel.append(n.toPlainString());\n" : "ziel.append(n.toString());\n");
+                        break;
+                    case 'G':
+                        q.append("        g = rs.getLong(").append(i).append(");\n");
+                        q.append("        if (rs.wasNull()) ziel.append(").append(nullWert).append("); else ziel.append(g);\n");
+                        break;
+                    case 'S':
+                        q.append("        s = rs.getTimestamp(").append(i).append(");\n");
+                        q.append("        if (s == null) ziel.append(").append(nullWert).append("); else konverter[")
+                                .append(i).append("].schreibe(s, ziel);\n");
+                        break;
+                    case 'Z':
+                        q.append("        o = rs.getObject(").append(i).append(");\n");
+                        q.append("        if (o == null) ziel.append(").append(nullWert).append("); else ")
+                                .append(copy ? "schreibeCopyZahl(o, ziel);\n" : "ziel.append(o);\n");
+                        break;
+                    default:
+                        q.append("        o = rs.getObject(").append(i).append(");\n");
+                        q.append("        if (o == null || rs.wasNull()) ziel.append(").append(nullWert)
+                                .append("); else konverter[").append(i).append("].schreibe(o, ziel);\n");
+                        break;
+                }
+            }
+            q.append("    }\n");
+        }
+        q.append("}\n");
+        return q.toString();
+    }
+    
+    /**
+     * Klassenlader für die erzeugten Kodierer vor Java 15.
+     */
+    private static class KlassenLader extends ClassLoader {
+        KlassenLader(ClassLoader eltern) {
+            super(eltern);
+        }
+        
+        Class<?> definiere(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
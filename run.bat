@@ -17,7 +17,7 @@ echo Kompilieren erfolgreich.
 echo.
 
 if "%~1"=="" (
-    echo Verwendung: %0 [Pfad zur Konfigurationsdatei]
+    echo Verwendung: %0 [Pfad zur Konfigurationsdatei] [--resume]
     echo Bitte geben Sie den Pfad zur Konfigurationsdatei an.
     exit /b 1
 )
@@ -25,7 +25,7 @@ if "%~1"=="" (
 echo Starte Migration mit Konfiguration: %1
 echo.
 
-java -cp bin Main %1
+java -cp bin Main %*
 
 echo.
 echo Migration abgeschlossen.
@@ -0,0 +1,388 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Beschreibt einen Teilbereich (Chunk) einer Tabelle für die parallele Extraktion.
+ * 
+ * Ein Chunk ist entweder ein ROWID-Bereich, der aus den Extents der Tabelle in USER_EXTENTS
+ * gebildet wird, oder ein Bereich des Primärschlüssels, der per NTILE ermittelt wird.
+ * Die Bedingung wird als WHERE-Klausel mit je einem Bind-Parameter für die vorhandenen Grenzen an
+ * die Datenabfrage angehängt; die äußeren Bereiche des Primärschlüssels sind nach unten bzw. oben offen.
+ * Bei der Teilmengen-Extraktion enthält ein Chunk stattdessen eine Liste von Schlüsselwerten,
+ * die als IN-Listen gebunden werden. Bei partitionierten Tabellen entspricht ein Chunk einer
+ * Partition, die über die PARTITION-Klausel in der FROM-Klausel gelesen wird.
+ */
+public class DatenChunk {
+    private final int nummer;
+    private final String bedingung;
+    private final Object von;
+    private final Object bis;
+    
+    // Schlüsselwerte eines Teilmengen-Chunks (null bei Bereichs-Chunks)
+    private final List<Object> werte;
+    
+    // Name der Partition eines Partitions-Chunks (null bei allen anderen Chunks)
+    private final String partition;
+    
+    private DatenChunk(int nummer, String bedingung, Object von, Object bis) {
+        this(nummer, bedingung, von, bis, null, null);
+    }
+    
+    private DatenChunk(int nummer, String bedingung, Object von, Object bis, List<Object> werte) {
+        this(nummer, bedingung, von, bis, werte, null);
+    }
+    
+    private DatenChunk(int nummer, String bedingung, Object von, Object bis, List<Object> werte, String partition) {
+        this.nummer = nummer;
+        this.bedingung = bedingung;
+        this.von = von;
+        this.bis = bis;
+        this.werte = werte;
+        this.partition = partition;
+    }
+    
+    /**
+     * Gibt die laufende Nummer des Chunks zurück (1-basiert, bestimmt die Reihenfolge der Teildateien).
+     */
+    public int getNummer() { return nummer; }
+    
+    /**
+     * Gibt die WHERE-Bedingung des Chunks mit Bind-Parametern für die Grenzen zurück (null bei Partitions-Chunks).
+     */
+    public String getBedingung() { return bedingung; }
+    
+    /**
+     * Gibt die untere Grenze des Chunks zurück (ROWID als Text oder Schlüsselwert, null wenn nach unten offen).
+     */
+    public Object getVon() { return von; }
+    
+    /**
+     * Gibt die obere Grenze des Chunks zurück (ROWID als Text oder Schlüsselwert, null wenn nach oben offen).
+     */
+    public Object getBis() { return bis; }
+    
+    /**
+     * Gibt an, ob der Chunk aus einer Liste von Schlüsselwerten einer Teilmenge besteht.
+     */
+    public boolean isSchluesselListe() { return werte != null; }
+    
+    /**
+     * Gibt die Schlüsselwerte eines Teilmengen-Chunks zurück (null bei Bereichs-Chunks).
+     */
+    List<Object> getWerte() { return werte; }
+    
+    /**
+     * Gibt den Namen der Partition zurück, die der Chunk liest, oder null.
+     */
+    public String getPartition() { return partition; }
+    
+    /**
+     * Gibt die Anzahl der Bind-Parameter der Bedingung zurück.
+     */
+    public int getParameterAnzahl() {
+        if (werte != null) {
+            return werte.size();
+        }
+        return bedingung == null ? 0 : (von != null ? 1 : 0) + (bis != null ? 1 : 0);
+    }
+    
+    /**
+     * Gibt den Zusatz für die Dateinamen des Chunks zurück, z.B. "_part0001" bzw. "_part0001_P2024"
+     * bei Partitionen, damit die Teildateien in der richtigen Reihenfolge sortiert werden.
+     */
+    public String getDateiZusatz() {
+        String zusatz = String.format("_part%04d", nummer);
+        return partition != null ? zusatz + "_" + partition : zusatz;
+    }
+    
+    /**
+     * Setzt die vorhandenen Bereichsgrenzen des Chunks ab Parameter 1 des Statements,
+     * bei Teilmengen-Chunks die Schlüsselwerte.
+     * 
+     * @param stmt Das vorbereitete Statement der Datenabfrage
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public void bindeParameter(PreparedStatement stmt) throws SQLException {
+        if (werte != null) {
+            bindeWerte(stmt, 1, werte);
+            return;
+        }
+        if (bedingung == null) {
+            return;
+        }
+        int index = 1;
+        if (von != null) {
+            stmt.setObject(index++, von);
+        }
+        if (bis != null) {
+            stmt.setObject(index, bis);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        if (werte != null) {
+            return "Chunk " + nummer + " [" + werte.size() + " Schlüssel]";
+        }
+        if (partition != null) {
+            return "Chunk " + nummer + " [Partition " + partition + "]";
+        }
+        return "Chunk " + nummer + " [" + von + " - " + bis + "]";
+    }
+    
+    /**
+     * Stellt einen Chunk aus einem früheren Lauf wieder her, z.B. aus dem Migrationsjournal,
+     * damit beim Fortsetzen dieselben Grenzen wie im abgebrochenen Lauf gelten.
+     * 
+     * @param nummer Die laufende Nummer des Chunks
+     * @param bedingung Die WHERE-Bedingung mit Bind-Parametern für die vorhandenen Grenzen
+     * @param von Die untere Grenze
+     * @param bis Die obere Grenze
+     * @param partition Die Partition oder null
+     * @return Der Chunk
+     */
+    public static DatenChunk wiederherstellen(int nummer, String bedingung, Object von, Object bis, String partition) {
+        return new DatenChunk(nummer, bedingung, von, bis, null, partition);
+    }
+    
+    /**
+     * Stellt einen Teilmengen-Chunk mit seinen Schlüsselwerten aus dem Migrationsjournal wieder her.
+     * 
+     * @param nummer Die laufende Nummer des Chunks
+     * @param bedingung Die IN-Bedingung mit einem Bind-Parameter je Wert
+     * @param werte Die Schlüsselwerte
+     * @return Der Chunk
+     */
+    public static DatenChunk wiederherstellen(int nummer, String bedingung, List<Object> werte) {
+        return new DatenChunk(nummer, bedingung, werte.isEmpty() ? null : werte.get(0),
+                werte.isEmpty() ? null : werte.get(werte.size() - 1), werte);
+    }
+    
+    /**
+     * Bildet je Partition einer partitionierten Tabelle einen Chunk ohne WHERE-Bedingung.
+     * 
+     * @param partitionen Die Namen der Partitionen in ihrer Reihenfolge
+     * @return Die Chunks in der Reihenfolge der Partitionen
+     */
+    public static List<DatenChunk> ermittlePartitionsChunks(List<String> partitionen) {
+        List<DatenChunk> chunks = new ArrayList<>();
+        for (String partition : partitionen) {
+            chunks.add(new DatenChunk(chunks.size() + 1, null, null, null, null, partition));
+        }
+        return chunks;
+    }
+    
+    /**
+     * Teilt eine Tabelle anhand ihrer Extents in ROWID-Bereiche mit annähernd gleich vielen Blöcken.
+     * Die Extents werden in ROWID-Reihenfolge (Objekt, Datei, Block) sortiert und zusammenhängend
+     * auf die Chunks verteilt, so dass jeder Bereich genau die Zeilen seiner Extents umfasst.
+     * 
+     * @param connection Die Oracle-Verbindung
+     * @param tabellenname Der Name der Tabelle
+     * @param anzahl Die gewünschte Anzahl Chunks
+     * @return Die Chunks in ROWID-Reihenfolge (leer, wenn die Tabelle keine Extents hat)
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public static List<DatenChunk> ermittleRowidChunks(Connection connection, String tabellenname, int anzahl) throws SQLException {
+        String sql = "SELECT o.DATA_OBJECT_ID, e.RELATIVE_FNO, e.BLOCK_ID, e.BLOCKS " +
+                     "FROM USER_EXTENTS e JOIN USER_OBJECTS o " +
+                     "ON o.OBJECT_NAME = e.SEGMENT_NAME AND NVL(o.SUBOBJECT_NAME, '-') = NVL(e.PARTITION_NAME, '-') " +
+                     "WHERE e.SEGMENT_NAME = ? AND e.SEGMENT_TYPE LIKE 'TABLE%' AND o.OBJECT_TYPE LIKE 'TABLE%' " +
+                     "ORDER BY o.DATA_OBJECT_ID, e.RELATIVE_FNO, e.BLOCK_ID";
+        
+        List<long[]> extents = new ArrayList<>();
+        long bloeckeGesamt = 0;
+        
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, tabellenname.toUpperCase());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    long[] extent = {rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)};
+                    extents.add(extent);
+                    bloeckeGesamt += extent[3];
+                }
+            }
+        }
+        
+        List<DatenChunk> chunks = new ArrayList<>();
+        if (extents.isEmpty()) {
+            return chunks;
+        }
+        
+        // Extents zusammenhängend verteilen, bis jeder Chunk seinen Anteil an Blöcken erreicht hat
+        long bloeckeJeChunk = Math.max(1, (bloeckeGesamt + anzahl - 1) / anzahl);
+        int start = 0;
+        long bloeckeImChunk = 0;
+        
+        for (int i = 0; i < extents.size(); i++) {
+            bloeckeImChunk += extents.get(i)[3];
+            
+            if (bloeckeImChunk >= bloeckeJeChunk || i == extents.size() - 1) {
+                long[] erster = extents.get(start);
+                long[] letzter = extents.get(i);
+                chunks.add(new DatenChunk(chunks.size() + 1,
+                        "ROWID BETWEEN CHARTOROWID(?) AND CHARTOROWID(?)",
+                        erzeugeRowid(connection, erster[0], erster[1], erster[2], 0),
+                        erzeugeRowid(connection, letzter[0], letzter[1], letzter[2] + letzter[3] - 1, 32767)));
+                start = i + 1;
+                bloeckeImChunk = 0;
+            }
+        }
+        
+        return chunks;
+    }
+    
+    /**
+     * Teilt eine Tabelle per NTILE über eine einspaltige Primärschlüsselspalte in Bereiche
+     * mit annähernd gleich vielen Zeilen. Jeder Bereich reicht vom kleinsten Schlüssel seines
+     * NTILE bis vor den kleinsten des nächsten, der erste ist nach unten, der letzte nach oben
+     * offen. So liegt auch eine Zeile, die ohne Snapshot erst nach der Planung eingefügt wurde,
+     * in genau einem Bereich.
+     * 
+     * @param connection Die Oracle-Verbindung
+     * @param quelle Die Tabelle als FROM-Ausdruck, im Snapshot-Modus mit AS OF SCN
+     * @param pkSpalte Die Primärschlüsselspalte
+     * @param anzahl Die gewünschte Anzahl Chunks
+     * @return Die Chunks in Schlüsselreihenfolge
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public static List<DatenChunk> ermittlePkChunks(Connection connection, String quelle, String pkSpalte, int anzahl) throws SQLException {
+        String sql = "SELECT MIN(" + pkSpalte + ") FROM (" +
+                     "SELECT " + pkSpalte + ", NTILE(" + anzahl + ") OVER (ORDER BY " + pkSpalte + ") AS CHUNK FROM " + quelle +
+                     ") GROUP BY CHUNK ORDER BY CHUNK";
+        
+        List<Object> anfaenge = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            int typ = rs.getMetaData().getColumnType(1);
+            while (rs.next()) {
+                anfaenge.add(leseGrenze(rs, 1, typ));
+            }
+        }
+        
+        List<DatenChunk> chunks = new ArrayList<>();
+        for (int i = 0; i < anfaenge.size(); i++) {
+            Object von = i > 0 ? anfaenge.get(i) : null;
+            Object bis = i + 1 < anfaenge.size() ? anfaenge.get(i + 1) : null;
+            String bedingung;
+            if (von != null && bis != null) {
+                bedingung = pkSpalte + " >= ? AND " + pkSpalte + " < ?";
+            } else if (von != null) {
+                bedingung = pkSpalte + " >= ?";
+            } else if (bis != null) {
+                bedingung = pkSpalte + " < ?";
+            } else {
+                bedingung = pkSpalte + " IS NOT NULL";
+            }
+            chunks.add(new DatenChunk(chunks.size() + 1, bedingung, von, bis));
+        }
+        return chunks;
+    }
+    
+    /**
+     * Liest eine Chunk-Grenze mit einem typisierten Getter, damit sie im Migrationsjournal als
+     * Zeitstempel (T:) bzw. Zahl (N:) festgehalten wird. Über getObject lieferte der Oracle-Treiber
+     * für DATE und TIMESTAMP eigene Typen, die nur als Text gespeichert und beim Fortsetzen
+     * abhängig von den NLS-Einstellungen verglichen würden.
+     */
+    private static Object leseGrenze(ResultSet rs, int index, int typ) throws SQLException {
+        switch (typ) {
+            case Types.DATE:
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return rs.getTimestamp(index);
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+                return rs.getBigDecimal(index);
+            default:
+                return rs.getString(index);
+        }
+    }
+    
+    /**
+     * Teilt die ausgewählten Schlüssel einer Teilmenge in Chunks mit höchstens zeilenJeChunk Werten.
+     * Eine leere Auswahl ergibt genau einen Chunk ohne Zeilen, damit die Tabelle nicht
+     * versehentlich vollständig gelesen wird.
+     * 
+     * @param spalte Die Auswahlspalte der Tabelle oder null, wenn keine Zeile ausgewählt wurde
+     * @param schluessel Die ausgewählten Werte
+     * @param zeilenJeChunk Die maximale Anzahl Werte je Chunk
+     * @return Die Chunks in Schlüsselreihenfolge
+     */
+    public static List<DatenChunk> ermittleSchluesselChunks(String spalte, SchluesselMenge schluessel, int zeilenJeChunk) {
+        List<DatenChunk> chunks = new ArrayList<>();
+        List<Object> werte = schluessel.alsListe();
+        if (spalte == null || werte.isEmpty()) {
+            chunks.add(new DatenChunk(1, "1 = 0", null, null, Collections.emptyList()));
+            return chunks;
+        }
+        
+        for (int start = 0; start < werte.size(); start += zeilenJeChunk) {
+            List<Object> teil = werte.subList(start, Math.min(werte.size(), start + zeilenJeChunk));
+            chunks.add(new DatenChunk(chunks.size() + 1, erzeugeInBedingung(spalte, teil.size()),
+                    teil.get(0), teil.get(teil.size() - 1), teil));
+        }
+        return chunks;
+    }
+    
+    /**
+     * Erzeugt eine IN-Bedingung mit Bind-Parametern. Mehr als Teilmenge.IN_LISTE_MAX Werte
+     * werden auf mehrere mit OR verknüpfte IN-Listen verteilt.
+     * 
+     * @param spalte Die Spalte
+     * @param anzahl Die Anzahl der Werte (mindestens 1)
+     * @return Die Bedingung, z.B. "ID IN (?, ?)"
+     */
+    static String erzeugeInBedingung(String spalte, int anzahl) {
+        StringBuilder bedingung = new StringBuilder(anzahl * 3 + 32);
+        for (int start = 0; start < anzahl; start += Teilmenge.IN_LISTE_MAX) {
+            bedingung.append(start == 0 ? "" : " OR ").append(spalte).append(" IN (");
+            int ende = Math.min(anzahl, start + Teilmenge.IN_LISTE_MAX);
+            for (int i = start; i < ende; i++) {
+                bedingung.append(i == start ? "?" : ", ?");
+            }
+            bedingung.append(')');
+        }
+        return anzahl > Teilmenge.IN_LISTE_MAX ? "(" + bedingung + ")" : bedingung.toString();
+    }
+    
+    /**
+     * Bindet Schlüsselwerte ab dem angegebenen Parameterindex, ganzzahlige Werte als long.
+     */
+    static void bindeWerte(PreparedStatement stmt, int index, List<Object> werte) throws SQLException {
+        for (Object wert : werte) {
+            if (wert instanceof Long) {
+                stmt.setLong(index++, (Long) wert);
+            } else {
+                stmt.setObject(index++, wert);
+            }
+        }
+    }
+    
+    /**
+     * Erzeugt eine erweiterte ROWID über DBMS_ROWID.ROWID_CREATE.
+     */
+    private static String erzeugeRowid(Connection connection, long objektId, long dateiNr, long block, long zeile) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT ROWIDTOCHAR(DBMS_ROWID.ROWID_CREATE(1, ?, ?, ?, ?)) FROM DUAL")) {
+            stmt.setLong(1, objektId);
+            stmt.setLong(2, dateiNr);
+            stmt.setLong(3, block);
+            stmt.setLong(4, zeile);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+}
@@ -4,10 +4,13 @@ import java.sql.SQLException;
 
 /**
  * Klasse zur Verwaltung von Datenbankverbindungen.
+ * Neben einzelnen Verbindungen stellt sie für Oracle einen begrenzten Verbindungspool bereit,
+ * aus dem parallele Tabellen- und Chunk-Worker ihre Sitzungen beziehen.
  */
 public class DbVerbindung {
     private Connection oracleConnection;
     private Connection postgresConnection;
+    private VerbindungsPool oraclePool;
     
     /**
      * Stellt eine Verbindung zur Oracle-Datenbank her.
@@ -19,14 +22,7 @@ public class DbVerbindung {
      * @throws SQLException Bei Verbindungsfehlern
      */
     public Connection verbindeZuOracle(String url, String benutzer, String passwort) throws SQLException {
-        try {
-            // Laden des Oracle-JDBC-Treibers
-            Class.forName("oracle.jdbc.OracleDriver");
-            Logger.info("Oracle JDBC-Treiber geladen");
-        } catch (ClassNotFoundException e) {
-            Logger.fehler("Oracle JDBC-Treiber konnte nicht geladen werden", e);
-            throw new SQLException("Oracle JDBC-Treiber nicht gefunden", e);
-        }
+        ladeTreiber("oracle.jdbc.OracleDriver", "Oracle");
         
         Logger.info("Verbinde zu Oracle-Datenbank: " + url);
         oracleConnection = DriverManager.getConnection(url, benutzer, passwort);
@@ -45,14 +41,7 @@ public class DbVerbindung {
      * @throws SQLException Bei Verbindungsfehlern
      */
     public Connection verbindeZuPostgres(String url, String benutzer, String passwort) throws SQLException {
-        try {
-            // Laden des PostgreSQL-JDBC-Treibers
-            Class.forName("org.postgresql.Driver");
-            Logger.info("PostgreSQL JDBC-Treiber geladen");
-        } catch (ClassNotFoundException e) {
-            Logger.fehler("PostgreSQL JDBC-Treiber konnte nicht geladen werden", e);
-            throw new SQLException("PostgreSQL JDBC-Treiber nicht gefunden", e);
-        }
+        ladeTreiber("org.postgresql.Driver", "PostgreSQL");
         
         Logger.info("Verbinde zu PostgreSQL-Datenbank: " + url);
         postgresConnection = DriverManager.getConnection(url, benutzer, passwort);
@@ -62,7 +51,46 @@ public class DbVerbindung {
     }
     
     /**
-     * Schließt alle Datenbankverbindungen.
+     * Erstellt den Verbindungspool für die Oracle-Datenbank und öffnet die
+     * Mindestanzahl an Verbindungen parallel.
+     * 
+     * @param konfiguration Die Konfiguration mit Zugangsdaten und Poolgrößen
+     * @return Der Verbindungspool
+     * @throws SQLException Bei Verbindungsfehlern
+     */
+    public VerbindungsPool erstelleOraclePool(Konfiguration konfiguration) throws SQLException {
+        ladeTreiber("oracle.jdbc.OracleDriver", "Oracle");
+        
+        Logger.info("Erstelle Oracle-Verbindungspool für " + String.join(", ", konfiguration.getOracleQuellUrls())
+                + " (max. " + konfiguration.getOraclePoolGroesse() + " Verbindungen)");
+        oraclePool = new VerbindungsPool("Oracle", konfiguration.getOracleQuellUrls(), konfiguration.getOracleBenutzer(),
+                konfiguration.getOraclePasswort(), konfiguration.getOraclePoolGroesse(), konfiguration.getPoolWartezeitSekunden());
+        oraclePool.oeffneVerbindungen(konfiguration.getOraclePoolMin());
+        
+        return oraclePool;
+    }
+    
+    public VerbindungsPool getOraclePool() { return oraclePool; }
+    
+    /**
+     * Lädt einen JDBC-Treiber.
+     * 
+     * @param treiberKlasse Der Klassenname des Treibers
+     * @param datenbank Der Name der Datenbank für die Log-Ausgabe
+     * @throws SQLException Wenn der Treiber nicht gefunden wird
+     */
+    private void ladeTreiber(String treiberKlasse, String datenbank) throws SQLException {
+        try {
+            Class.forName(treiberKlasse);
+            Logger.info(datenbank + " JDBC-Treiber geladen");
+        } catch (ClassNotFoundException e) {
+            Logger.fehler(datenbank + " JDBC-Treiber konnte nicht geladen werden", e);
+            throw new SQLException(datenbank + " JDBC-Treiber nicht gefunden", e);
+        }
+    }
+    
+    /**
+     * Schließt alle Datenbankverbindungen und Verbindungspools.
      */
     public void schliesseVerbindungen() {
         try {
@@ -82,5 +110,9 @@ public class DbVerbindung {
         } catch (SQLException e) {
             Logger.warnung("Fehler beim Schließen der PostgreSQL-Datenbankverbindung: " + e.getMessage());
         }
+        
+        if (oraclePool != null) {
+            oraclePool.close();
+        }
     }
 }
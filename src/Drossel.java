@@ -0,0 +1,294 @@
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Begrenzt die Leserate der Datenextraktion, damit die Migration eine produktive Quelldatenbank
+ * nicht auslastet.
+ * 
+ * Zeilen und Bytes je Sekunde lassen sich für jeden Worker und für den ganzen Lauf begrenzen.
+ * Jede Grenze ist ein Token-Bucket, der höchstens eine Sekunde Vorrat ansammelt; ein Leser, der
+ * mehr entnommen hat, als nachgeflossen ist, wartet die Differenz ab.
+ * 
+ * Zusätzlich wird die Dauer jedes Fetch-Roundtrips gemessen. Steigt deren gleitender Mittelwert
+ * über das Vielfache der konfigurierten Basislatenz, ist die Datenbank ausgelastet: Der Anteil der
+ * Zeit, in der gelesen werden darf, wird halbiert (bis auf 5 %) und erst wieder schrittweise um
+ * 10 Prozentpunkte angehoben, wenn die Latenz auf die Basis zurückgegangen ist. Angepasst wird
+ * höchstens einmal je Sekunde, damit sich die Wirkung einer Änderung zeigen kann.
+ */
+public class Drossel {
+    // Grenzen und Anpassung werden nur alle so viele Zeilen geprüft, nicht für jede Zeile
+    private static final int PRUEF_ZEILEN = 100;
+    
+    private static final long SEKUNDE_NANOS = 1_000_000_000L;
+    private static final long PROTOKOLL_ABSTAND_NANOS = 30 * SEKUNDE_NANOS;
+    
+    private static final double LESEANTEIL_MIN = 0.05;
+    private static final double LESEANTEIL_SCHRITT = 0.1;
+    
+    // Gewicht einer neuen Messung im gleitenden Mittelwert der Latenz
+    private static final double LATENZ_GEWICHT = 0.2;
+    
+    // Fetch-Größe des Oracle-Treibers, wenn keine gesetzt ist
+    private static final int STANDARD_FETCH_GROESSE = 10;
+    
+    private final boolean aktiv;
+    private final Eimer zeilenGesamt;
+    private final Eimer bytesGesamt;
+    private final long zeilenJeWorker;
+    private final long bytesJeWorker;
+    private final long latenzBasisNanos;
+    private final double latenzFaktor;
+    
+    // Zustand der Latenzregelung, geschützt durch den Monitor dieses Objekts
+    private double latenzMittelNanos;
+    private double leseanteil = 1.0;
+    private long letzteAnpassung = System.nanoTime();
+    private long letztesProtokoll = System.nanoTime();
+    
+    // Zähler seit dem letzten Protokolleintrag
+    private final AtomicLong gelieferteZeilen = new AtomicLong();
+    private final AtomicLong gelieferteBytes = new AtomicLong();
+    private final AtomicInteger aktiveLeser = new AtomicInteger();
+    
+    public Drossel(Konfiguration konfiguration) {
+        this.zeilenGesamt = erstelleEimer(konfiguration.getDrosselZeilenJeSekunde());
+        this.bytesGesamt = erstelleEimer(konfiguration.getDrosselKbJeSekunde() * 1024);
+        this.zeilenJeWorker = konfiguration.getDrosselWorkerZeilenJeSekunde();
+        this.bytesJeWorker = konfiguration.getDrosselWorkerKbJeSekunde() * 1024;
+        this.latenzBasisNanos = konfiguration.getDrosselLatenzBasisMs() * 1_000_000L;
+        this.latenzFaktor = konfiguration.getDrosselLatenzFaktor();
+        this.aktiv = zeilenGesamt != null || bytesGesamt != null || zeilenJeWorker > 0 || bytesJeWorker > 0
+                || latenzBasisNanos > 0;
+        
+        if (aktiv) {
+            Logger.info("Drossel aktiv: " + beschreibeGrenze(konfiguration.getDrosselZeilenJeSekunde(), " Zeilen/s")
+                    + ", " + beschreibeGrenze(konfiguration.getDrosselKbJeSekunde(), " KB/s") + " gesamt, "
+                    + beschreibeGrenze(zeilenJeWorker, " Zeilen/s") + ", "
+                    + beschreibeGrenze(konfiguration.getDrosselWorkerKbJeSekunde(), " KB/s") + " je Worker"
+                    + (latenzBasisNanos > 0 ? ", Rückzug ab " + Math.round(konfiguration.getDrosselLatenzBasisMs() * latenzFaktor)
+                            + " ms Fetch-Latenz" : ""));
+        }
+    }
+    
+    /**
+     * Meldet einen Leser für eine Datenabfrage an. Der Leser ist von genau einem Thread zu verwenden
+     * und nach dem Lesen zu schließen.
+     * 
+     * @param fetchGroesse Die Fetch-Größe der Abfrage, um die Roundtrips zu erkennen
+     * @return Der Leser
+     */
+    public Leser oeffneLeser(int fetchGroesse) {
+        return new Leser(fetchGroesse > 0 ? fetchGroesse : STANDARD_FETCH_GROESSE);
+    }
+    
+    /**
+     * Nimmt eine gemessene Roundtrip-Dauer in den gleitenden Mittelwert auf und passt den Leseanteil an.
+     */
+    private synchronized void meldeLatenz(long nanos) {
+        latenzMittelNanos = latenzMittelNanos == 0 ? nanos
+                : latenzMittelNanos + LATENZ_GEWICHT * (nanos - latenzMittelNanos);
+        
+        long jetzt = System.nanoTime();
+        if (jetzt - letzteAnpassung < SEKUNDE_NANOS) {
+            return;
+        }
+        
+        if (latenzMittelNanos > latenzBasisNanos * latenzFaktor && leseanteil > LESEANTEIL_MIN) {
+            leseanteil = Math.max(LESEANTEIL_MIN, leseanteil / 2);
+            letzteAnpassung = jetzt;
+            Logger.warnung("Drossel: Fetch-Latenz " + zuMs(latenzMittelNanos) + " ms über "
+                    + zuMs(latenzBasisNanos * latenzFaktor) + " ms, Leseanteil auf " + zuProzent(leseanteil) + " % gesenkt");
+        } else if (latenzMittelNanos <= latenzBasisNanos && leseanteil < 1.0) {
+            leseanteil = Math.min(1.0, leseanteil + LESEANTEIL_SCHRITT);
+            letzteAnpassung = jetzt;
+            Logger.info("Drossel: Fetch-Latenz " + zuMs(latenzMittelNanos) + " ms, Leseanteil auf "
+                    + zuProzent(leseanteil) + " % erhöht");
+        }
+    }
+    
+    private synchronized double getLeseanteil() {
+        return leseanteil;
+    }
+    
+    /**
+     * Schreibt den aktuellen Zustand ins Log, höchstens alle 30 Sekunden.
+     */
+    private void protokolliere() {
+        long zeilen;
+        long bytes;
+        long dauer;
+        synchronized (this) {
+            long jetzt = System.nanoTime();
+            dauer = jetzt - letztesProtokoll;
+            if (dauer < PROTOKOLL_ABSTAND_NANOS) {
+                return;
+            }
+            letztesProtokoll = jetzt;
+            zeilen = gelieferteZeilen.getAndSet(0);
+            bytes = gelieferteBytes.getAndSet(0);
+        }
+        
+        double sekunden = (double) dauer / SEKUNDE_NANOS;
+        StringBuilder zustand = new StringBuilder("Drossel: ");
+        zustand.append(aktiveLeser.get()).append(" Leser, ");
+        zustand.append(Math.round(zeilen / sekunden)).append(" Zeilen/s, ");
+        zustand.append(Math.round(bytes / sekunden / 1024)).append(" KB/s");
+        if (latenzBasisNanos > 0) {
+            synchronized (this) {
+                zustand.append(", Fetch-Latenz ").append(zuMs(latenzMittelNanos)).append(" ms (Basis ")
+                        .append(zuMs(latenzBasisNanos)).append(" ms), Leseanteil ").append(zuProzent(leseanteil)).append(" %");
+            }
+        }
+        Logger.info(zustand.toString());
+    }
+    
+    private static Eimer erstelleEimer(long rate) {
+        return rate > 0 ? new Eimer(rate) : null;
+    }
+    
+    private static String beschreibeGrenze(long grenze, String einheit) {
+        return grenze > 0 ? grenze + einheit : "unbegrenzt";
+    }
+    
+    private static long zuMs(double nanos) {
+        return Math.round(nanos / 1_000_000);
+    }
+    
+    private static long zuProzent(double anteil) {
+        return Math.round(anteil * 100);
+    }
+    
+    /**
+     * Liest die Zeilen einer Abfrage unter Einhaltung der Grenzen.
+     */
+    public class Leser implements AutoCloseable {
+        private final int fetchGroesse;
+        private final Eimer zeilen;
+        private final Eimer bytes;
+        
+        private long gelesen;
+        private int offeneZeilen;
+        private long offeneBytes;
+        
+        // Seit der letzten Pause mit Lesen verbrachte Zeit, Grundlage für den Rückzug bei hoher Latenz
+        private long arbeitsBeginn = System.nanoTime();
+        
+        private Leser(int fetchGroesse) {
+            this.fetchGroesse = fetchGroesse;
+            this.zeilen = erstelleEimer(zeilenJeWorker);
+            this.bytes = erstelleEimer(bytesJeWorker);
+            if (aktiv) {
+                aktiveLeser.incrementAndGet();
+            }
+        }
+        
+        /**
+         * Ersetzt rs.next(). Holt der Aufruf den nächsten Block vom Server, wird seine Dauer gemessen.
+         * 
+         * @param rs Das ResultSet der Abfrage
+         * @return true, wenn eine weitere Zeile vorhanden ist
+         * @throws SQLException Bei Datenbankfehlern
+         */
+        public boolean naechsteZeile(ResultSet rs) throws SQLException {
+            if (latenzBasisNanos <= 0 || gelesen == 0 || gelesen % fetchGroesse != 0) {
+                return rs.next();
+            }
+            
+            long beginn = System.nanoTime();
+            boolean weitere = rs.next();
+            meldeLatenz(System.nanoTime() - beginn);
+            return weitere;
+        }
+        
+        /**
+         * Meldet eine verarbeitete Zeile und wartet, wenn eine der Grenzen überschritten ist.
+         * 
+         * @param zeilenBytes Die Größe der Zeile in der Ausgabe
+         */
+        public void zeileGelesen(long zeilenBytes) {
+            if (!aktiv) {
+                return;
+            }
+            
+            gelesen++;
+            offeneZeilen++;
+            offeneBytes += zeilenBytes;
+            if (offeneZeilen >= PRUEF_ZEILEN) {
+                pruefe();
+            }
+        }
+        
+        private void pruefe() {
+            gelieferteZeilen.addAndGet(offeneZeilen);
+            gelieferteBytes.addAndGet(offeneBytes);
+            
+            long warten = 0;
+            warten = Math.max(warten, entnehme(zeilenGesamt, offeneZeilen));
+            warten = Math.max(warten, entnehme(bytesGesamt, offeneBytes));
+            warten = Math.max(warten, entnehme(zeilen, offeneZeilen));
+            warten = Math.max(warten, entnehme(bytes, offeneBytes));
+            offeneZeilen = 0;
+            offeneBytes = 0;
+            
+            // Bei gesenktem Leseanteil auf jede Sekunde Lesen die entsprechende Pause folgen lassen
+            double anteil = getLeseanteil();
+            if (anteil < 1.0) {
+                long arbeit = System.nanoTime() - arbeitsBeginn;
+                warten = Math.max(warten, (long) (arbeit * (1 / anteil - 1)));
+            }
+            
+            protokolliere();
+            
+            if (warten > 0) {
+                try {
+                    Thread.sleep(warten / 1_000_000, (int) (warten % 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            arbeitsBeginn = System.nanoTime();
+        }
+        
+        private long entnehme(Eimer eimer, long menge) {
+            return eimer != null ? eimer.entnehme(menge) : 0;
+        }
+        
+        @Override
+        public void close() {
+            if (aktiv) {
+                gelieferteZeilen.addAndGet(offeneZeilen);
+                gelieferteBytes.addAndGet(offeneBytes);
+                aktiveLeser.decrementAndGet();
+            }
+        }
+    }
+    
+    /**
+     * Token-Bucket mit einer festen Rate je Sekunde und einer Sekunde Vorrat.
+     */
+    private static class Eimer {
+        private final double rate;
+        private double vorrat;
+        private long stand = System.nanoTime();
+        
+        Eimer(long rate) {
+            this.rate = rate;
+            this.vorrat = rate;
+        }
+        
+        /**
+         * Entnimmt die Menge, auch wenn der Vorrat dafür nicht reicht.
+         * 
+         * @return Die Wartezeit in Nanosekunden, bis der Fehlbetrag nachgeflossen ist
+         */
+        synchronized long entnehme(long menge) {
+            long jetzt = System.nanoTime();
+            vorrat = Math.min(rate, vorrat + (jetzt - stand) * rate / SEKUNDE_NANOS);
+            stand = jetzt;
+            vorrat -= menge;
+            return vorrat >= 0 ? 0 : (long) (-vorrat / rate * SEKUNDE_NANOS);
+        }
+    }
+}
@@ -11,8 +11,25 @@ import java.util.Properties;
  * für die Datenbankmigration von Oracle zu PostgreSQL.
  */
 public class Konfiguration {
+    // Mögliche Werte für daten.format
+    public static final String DATEN_FORMAT_INSERT = "insert";
+    public static final String DATEN_FORMAT_COPY = "copy";
+    public static final String DATEN_FORMAT_BINAER = "binaer";
+    
+    // Verfahren für die Aufteilung großer Tabellen in Chunks
+    public static final String CHUNK_METHODE_ROWID = "rowid";
+    public static final String CHUNK_METHODE_PK = "pk";
+    
+    // Verfahren für Stichproben: ganze Blöcke (SAMPLE BLOCK) oder einzelne Zeilen (SAMPLE)
+    public static final String STICHPROBE_METHODE_BLOCK = "block";
+    public static final String STICHPROBE_METHODE_ZEILEN = "zeilen";
+    
+    // Wert von getFetchSize für die automatische Ermittlung aus AVG_ROW_LEN
+    public static final int FETCHSIZE_AUTO = -1;
+    
     // Datenbank-Verbindungsinformationen
     private String oracleUrl;
+    private List<String> oracleQuellUrls;
     private String oracleBenutzer;
     private String oraclePasswort;
     private String postgresUrl;
@@ -36,12 +53,110 @@ public class Konfiguration {
     // Ausgabepfad für SQL-Dateien
     private String ausgabePfad;
     
+    // Puffergröße in Bytes für das Schreiben der Datendateien
+    private int ausgabePufferGroesse;
+    
+    // Ausgabeformat für die Tabellendaten (insert, copy oder binaer)
+    private String datenFormat;
+    
+    // Anzahl Zeilen je INSERT-Statement (global und je Tabelle) sowie maximale Statementgröße in Bytes
+    private int insertBatchZeilen;
+    private Map<String, String> insertBatchZeilenTabellen;
+    private long insertBatchMaxGroesse;
+    
+    // Anzahl paralleler Worker für die Tabellenmigration (je Worker eine Oracle-Sitzung)
+    private int parallelWorker;
+    
+    // Große Tabellen zuerst beginnen, Prioritätsklassen je Tabelle (höher = früher)
+    private boolean planungNachGroesse;
+    private Map<String, String> prioritaetTabellen;
+    
+    // Aufteilung großer Tabellen in Chunks, die parallel auf eigenen Sitzungen gelesen werden
+    private long chunkSchwelleZeilen;
+    private long chunkSchwelleMb;
+    private Map<String, String> chunkSchwelleZeilenTabellen;
+    private Map<String, String> chunkSchwelleMbTabellen;
+    private int chunkAnzahl;
+    private int chunkWorker;
+    private String chunkMethode;
+    
+    // Größen der Verbindungspools und maximale Wartezeit auf eine freie Verbindung
+    private int oraclePoolGroesse;
+    private int oraclePoolMin;
+    private int poolWartezeitSekunden;
+    
+    // Fetch-Size (0 = Treiberstandard, FETCHSIZE_AUTO = aus AVG_ROW_LEN) und LOB-Prefetch in Bytes, global und je Tabelle
+    private int fetchSize;
+    private Map<String, String> fetchSizeTabellen;
+    private long fetchSizeZielBytes;
+    private int lobPrefetch;
+    private Map<String, String> lobPrefetchTabellen;
+    
+    // Optimizer-Hints für die Datenabfragen (global und je Tabelle) und automatischer Parallelitätsgrad
+    private String hint;
+    private Map<String, String> hintTabellen;
+    private long hintParallelAbBytes;
+    private long hintParallelBytesJeServer;
+    private int hintParallelMax;
+    
+    // Drossel der Extraktion: Grenzen gesamt und je Worker (0 = unbegrenzt), Rückzug bei steigender Fetch-Latenz
+    private long drosselZeilenJeSekunde;
+    private long drosselKbJeSekunde;
+    private long drosselWorkerZeilenJeSekunde;
+    private long drosselWorkerKbJeSekunde;
+    private long drosselLatenzBasisMs;
+    private double drosselLatenzFaktor;
+    
+    // Für die Tabellenform erzeugte Zeilenkodierer, nur für Tabellen ab einer Spaltenzahl
+    private boolean kodiererGenerieren;
+    private int kodiererAbSpalten;
+    
+    // Ganzzahlige NUMBER-Spalten und Zeitstempel mit typisierten Gettern lesen
+    private boolean oracleTypisiertLesen;
+    
+    // Große LOBs im INSERT-Format in Nebendateien auslagern (0 = nie) und deren Pfad auf dem PostgreSQL-Server
+    private long lobAuslagernAbBytes;
+    private String lobAuslagernServerpfad;
+    
+    // Verzeichnis für den Schema-Cache zwischen den Läufen (null = kein Cache)
+    private String schemaCacheVerzeichnis;
+    
+    // Alle Datenabfragen auf einer gemeinsamen SCN lesen und die dafür geplante Laufzeit
+    private boolean snapshot;
+    private int snapshotLaufzeitMinuten;
+    
+    // Änderungsspalte je Tabelle für den inkrementellen Export und Datei der Hochwassermarken
+    private Map<String, String> inkrementSpalteTabellen;
+    private String hochwassermarkenDatei;
+    
+    // Zeilenfilter (WHERE-Bedingung) und eigene Quellabfrage je Tabelle, werden in Oracle ausgeführt
+    private Map<String, String> filterTabellen;
+    private Map<String, String> abfrageTabellen;
+    
+    // Stichprobe in Prozent (0 = vollständiger Export), Verfahren und fester SEED (null = zufällig)
+    private double stichprobeProzent;
+    private Map<String, String> stichprobeProzentTabellen;
+    private String stichprobeMethode;
+    private Map<String, String> stichprobeMethodeTabellen;
+    private Long stichprobeSeed;
+    
+    // Referenziell vollständige Teilmenge: Wurzeltabellen, Kindzeilen verfolgen, Schlüssel je Chunk
+    private List<String> teilmengeWurzeln;
+    private boolean teilmengeKinderFolgen;
+    private int teilmengeChunkZeilen;
+    
+    // Abgebrochenen Lauf anhand des Migrationsjournals fortsetzen (Kommandozeilenoption --resume)
+    private boolean fortsetzen;
+    
     // Migration von zusätzlichen Datenbankobjekten
     private boolean sequenzenMigrieren;
     private boolean indizesMigrieren;
     private boolean constraintsMigrieren;
     private boolean viewsMigrieren;
     
+    // Partitionierte Tabellen als deklarativ partitionierte Tabellen anlegen und je Partition lesen
+    private boolean partitionenMigrieren;
+    
     // Ordner für zusätzliche Datenbankobjekte
     private boolean ordnerErstellen;
     private String ordnerSequenzen;
@@ -69,6 +184,15 @@ public class Konfiguration {
         
         // Datenbankverbindungen einlesen
         oracleUrl = props.getProperty("oracle.url");
+        
+        // Gleichwertige Quellen für die Worker (oracle.url.1 bis oracle.url.n), ohne Angabe oracle.url
+        oracleQuellUrls = new ArrayList<>();
+        for (int i = 1; props.getProperty("oracle.url." + i) != null; i++) {
+            oracleQuellUrls.add(props.getProperty("oracle.url." + i).trim());
+        }
+        if (oracleQuellUrls.isEmpty()) {
+            oracleQuellUrls.add(oracleUrl);
+        }
         oracleBenutzer = props.getProperty("oracle.benutzer");
         oraclePasswort = props.getProperty("oracle.passwort");
         postgresUrl = props.getProperty("postgres.url");
@@ -77,12 +201,118 @@ public class Konfiguration {
         
         // Ausgabepfad einlesen
         ausgabePfad = props.getProperty("ausgabe.pfad", "./output/");
+        int ausgabePufferKb = Integer.parseInt(props.getProperty("ausgabe.puffer.kb", "1024").trim());
+        if (ausgabePufferKb <= 0 || ausgabePufferKb > Integer.MAX_VALUE / 1024) {
+            Logger.warnung("Ungültige Puffergröße ausgabe.puffer.kb=" + ausgabePufferKb + ", verwende 1024");
+            ausgabePufferKb = 1024;
+        }
+        ausgabePufferGroesse = ausgabePufferKb * 1024;
+        
+        // Ausgabeformat für Tabellendaten
+        datenFormat = props.getProperty("daten.format", DATEN_FORMAT_INSERT).trim().toLowerCase();
+        if (!DATEN_FORMAT_INSERT.equals(datenFormat) && !DATEN_FORMAT_COPY.equals(datenFormat)
+                && !DATEN_FORMAT_BINAER.equals(datenFormat)) {
+            Logger.warnung("Unbekanntes Datenformat '" + datenFormat + "', verwende " + DATEN_FORMAT_INSERT);
+            datenFormat = DATEN_FORMAT_INSERT;
+        }
+        
+        // Parallele Tabellenmigration
+        parallelWorker = Math.max(1, Integer.parseInt(props.getProperty("parallel.worker", "1").trim()));
+        planungNachGroesse = Boolean.parseBoolean(props.getProperty("planung.nach.groesse", "true").trim());
+        prioritaetTabellen = leseTabellenEinstellungen(props, ".prioritaet");
+        
+        // Mehrzeilige INSERT-Statements
+        insertBatchZeilen = Math.max(1, Integer.parseInt(props.getProperty("insert.batch.zeilen", "1").trim()));
+        insertBatchMaxGroesse = Long.parseLong(props.getProperty("insert.batch.max.kb", "1024").trim()) * 1024;
+        insertBatchZeilenTabellen = leseTabellenEinstellungen(props, ".insert.batch.zeilen");
+        
+        // Chunk-weise Extraktion großer Tabellen (Schwellwert 0 = deaktiviert)
+        chunkSchwelleZeilen = Long.parseLong(props.getProperty("chunk.schwelle.zeilen", "0").trim());
+        chunkSchwelleMb = Long.parseLong(props.getProperty("chunk.schwelle.mb", "0").trim());
+        chunkSchwelleZeilenTabellen = leseTabellenEinstellungen(props, ".chunk.schwelle.zeilen");
+        chunkSchwelleMbTabellen = leseTabellenEinstellungen(props, ".chunk.schwelle.mb");
+        chunkAnzahl = Math.max(1, Integer.parseInt(props.getProperty("chunk.anzahl", "8").trim()));
+        chunkWorker = Math.max(1, Integer.parseInt(props.getProperty("chunk.worker", "4").trim()));
+        chunkMethode = props.getProperty("chunk.methode", CHUNK_METHODE_ROWID).trim().toLowerCase();
+        if (!CHUNK_METHODE_ROWID.equals(chunkMethode) && !CHUNK_METHODE_PK.equals(chunkMethode)) {
+            Logger.warnung("Unbekannte Chunk-Methode '" + chunkMethode + "', verwende " + CHUNK_METHODE_ROWID);
+            chunkMethode = CHUNK_METHODE_ROWID;
+        }
+        
+        // Verbindungspools: Standardgröße reicht für alle Tabellen-Worker samt ihrer Chunk-Worker
+        oraclePoolGroesse = Integer.parseInt(props.getProperty("oracle.pool.groesse",
+                String.valueOf(1 + parallelWorker * (1 + chunkWorker))).trim());
+        oraclePoolMin = Integer.parseInt(props.getProperty("oracle.pool.min",
+                String.valueOf(parallelWorker > 1 ? parallelWorker + 1 : 1)).trim());
+        poolWartezeitSekunden = Integer.parseInt(props.getProperty("pool.wartezeit.sekunden", "300").trim());
+        
+        // Fetch-Size und LOB-Prefetch für die Datenabfragen
+        fetchSize = parseFetchSize(props.getProperty("fetchsize", "0"));
+        fetchSizeTabellen = leseTabellenEinstellungen(props, ".fetchsize");
+        fetchSizeZielBytes = Long.parseLong(props.getProperty("fetchsize.auto.ziel.kb", "2048").trim()) * 1024;
+        lobPrefetch = Integer.parseInt(props.getProperty("lob.prefetch", "0").trim());
+        lobPrefetchTabellen = leseTabellenEinstellungen(props, ".lob.prefetch");
+        
+        // Optimizer-Hints, PARALLEL automatisch ab einer Segmentgröße (0 = nie)
+        hint = props.getProperty("hint", "");
+        hintTabellen = leseTabellenEinstellungen(props, ".hint");
+        hintParallelAbBytes = Long.parseLong(props.getProperty("hint.parallel.ab.mb", "0").trim()) * 1024 * 1024;
+        hintParallelBytesJeServer = Math.max(1, Long.parseLong(props.getProperty("hint.parallel.mb.je.server", "2048").trim())) * 1024 * 1024;
+        hintParallelMax = Math.max(2, Integer.parseInt(props.getProperty("hint.parallel.max", "8").trim()));
+        
+        // Drossel der Extraktion, Latenzregelung nur mit Basislatenz (0 = aus)
+        drosselZeilenJeSekunde = Long.parseLong(props.getProperty("drossel.zeilen.je.sekunde", "0").trim());
+        drosselKbJeSekunde = Long.parseLong(props.getProperty("drossel.kb.je.sekunde", "0").trim());
+        drosselWorkerZeilenJeSekunde = Long.parseLong(props.getProperty("drossel.worker.zeilen.je.sekunde", "0").trim());
+        drosselWorkerKbJeSekunde = Long.parseLong(props.getProperty("drossel.worker.kb.je.sekunde", "0").trim());
+        drosselLatenzBasisMs = Long.parseLong(props.getProperty("drossel.latenz.basis.ms", "0").trim());
+        drosselLatenzFaktor = Math.max(1.0, Double.parseDouble(props.getProperty("drossel.latenz.faktor", "2").trim()));
+        
+        // Erzeugte Zeilenkodierer (benötigt ein JDK zur Laufzeit)
+        kodiererGenerieren = Boolean.parseBoolean(props.getProperty("kodierer.generieren", "false").trim());
+        kodiererAbSpalten = Math.max(1, Integer.parseInt(props.getProperty("kodierer.ab.spalten", "50").trim()));
+        oracleTypisiertLesen = Boolean.parseBoolean(props.getProperty("oracle.typisiert.lesen", "true").trim());
+        
+        lobAuslagernAbBytes = Long.parseLong(props.getProperty("lob.auslagern.ab.kb", "0").trim()) * 1024;
+        String serverpfad = props.getProperty("lob.auslagern.serverpfad", "").trim();
+        lobAuslagernServerpfad = serverpfad.isEmpty() ? null : serverpfad;
+        
+        // Schema-Cache für die Metadaten aus dem Data Dictionary (leer = deaktiviert)
+        String cacheVerzeichnis = props.getProperty("schema.cache.verzeichnis", "schema_cache").trim();
+        schemaCacheVerzeichnis = cacheVerzeichnis.isEmpty() ? null : cacheVerzeichnis;
+        
+        // Konsistenter Snapshot über alle Oracle-Sitzungen
+        snapshot = Boolean.parseBoolean(props.getProperty("snapshot", "false").trim());
+        snapshotLaufzeitMinuten = Integer.parseInt(props.getProperty("snapshot.laufzeit.minuten", "60").trim());
+        
+        // Inkrementeller Export über eine Änderungsspalte je Tabelle
+        inkrementSpalteTabellen = leseTabellenEinstellungen(props, ".inkrementell.spalte");
+        hochwassermarkenDatei = props.getProperty("inkrementell.hwm.datei", "hochwassermarken.properties").trim();
+        
+        // Zeilenfilter und Quellabfragen je Tabelle
+        filterTabellen = leseTabellenEinstellungen(props, ".filter");
+        abfrageTabellen = leseTabellenEinstellungen(props, ".query");
+        
+        // Stichproben für Test- und Entwicklungsumgebungen
+        stichprobeProzent = Double.parseDouble(props.getProperty("sample.prozent", "0").trim());
+        stichprobeProzentTabellen = leseTabellenEinstellungen(props, ".sample.prozent");
+        stichprobeMethode = props.getProperty("sample.methode", STICHPROBE_METHODE_BLOCK).trim().toLowerCase();
+        stichprobeMethodeTabellen = leseTabellenEinstellungen(props, ".sample.methode");
+        String seed = props.getProperty("sample.seed", "").trim();
+        stichprobeSeed = seed.isEmpty() ? null : Long.valueOf(seed);
+        
+        // Teilmenge entlang der Fremdschlüssel, ausgehend von den gefilterten Wurzeltabellen
+        teilmengeWurzeln = leseListeEin(props, "teilmenge.wurzeln");
+        teilmengeKinderFolgen = Boolean.parseBoolean(props.getProperty("teilmenge.kinder", "true").trim());
+        // Oracle erlaubt höchstens 65535 Bind-Parameter je Statement
+        teilmengeChunkZeilen = Math.max(1, Math.min(60000, Integer.parseInt(props.getProperty("teilmenge.chunk.zeilen", "50000").trim())));
         
         // Migration von zusätzlichen Datenbankobjekten
         sequenzenMigrieren = Boolean.parseBoolean(props.getProperty("sequenzen.migrieren", "false"));
         indizesMigrieren = Boolean.parseBoolean(props.getProperty("indizes.migrieren", "false"));
         constraintsMigrieren = Boolean.parseBoolean(props.getProperty("constraints.migrieren", "false"));
         viewsMigrieren = Boolean.parseBoolean(props.getProperty("views.migrieren", "false"));
+        partitionenMigrieren = Boolean.parseBoolean(props.getProperty("partitionen.migrieren", "false"));
         
         // Ordner für zusätzliche Datenbankobjekte
         ordnerErstellen = Boolean.parseBoolean(props.getProperty("ordner.erstellen", "false"));
@@ -205,8 +435,33 @@ public class Konfiguration {
         return liste;
     }
     
+    /**
+     * Liest tabellenspezifische Einstellungen der Form tabelle.TABELLENNAME<suffix>=wert ein.
+     * 
+     * @return Map von Tabellenname (Großschreibung) auf den Wert
+     */
+    private Map<String, String> leseTabellenEinstellungen(Properties props, String suffix) {
+        Map<String, String> einstellungen = new HashMap<>();
+        for (String key : props.stringPropertyNames()) {
+            if (key.startsWith("tabelle.") && key.endsWith(suffix) && key.length() > 8 + suffix.length()) {
+                String tabelle = key.substring(8, key.length() - suffix.length());
+                einstellungen.put(tabelle.toUpperCase(), props.getProperty(key).trim());
+            }
+        }
+        return einstellungen;
+    }
+    
+    /**
+     * Wandelt eine Fetch-Size aus der Konfiguration um ("auto" oder eine Zeilenzahl).
+     */
+    private static int parseFetchSize(String wert) {
+        wert = wert.trim();
+        return "auto".equalsIgnoreCase(wert) ? FETCHSIZE_AUTO : Math.max(0, Integer.parseInt(wert));
+    }
+    
     // Getter-Methoden
     public String getOracleUrl() { return oracleUrl; }
+    public List<String> getOracleQuellUrls() { return oracleQuellUrls; }
     public String getOracleBenutzer() { return oracleBenutzer; }
     public String getOraclePasswort() { return oraclePasswort; }
     public String getPostgresUrl() { return postgresUrl; }
@@ -252,12 +507,188 @@ public class Konfiguration {
     }
     
     public String getAusgabePfad() { return ausgabePfad; }
+    public int getAusgabePufferGroesse() { return ausgabePufferGroesse; }
+    public String getDatenFormat() { return datenFormat; }
+    public long getInsertBatchMaxGroesse() { return insertBatchMaxGroesse; }
+    public int getParallelWorker() { return parallelWorker; }
+    public boolean isPlanungNachGroesse() { return planungNachGroesse; }
+    
+    /**
+     * Gibt die Prioritätsklasse einer Tabelle zurück (tabelle.X.prioritaet, Standard 0).
+     * Tabellen einer höheren Klasse werden vor denen einer niedrigeren begonnen.
+     */
+    public int getPrioritaet(String tabellenname) {
+        String wert = prioritaetTabellen.get(tabellenname.toUpperCase());
+        return wert != null ? Integer.parseInt(wert.trim()) : 0;
+    }
+    
+    /**
+     * Gibt die Anzahl Zeilen je INSERT-Statement für eine Tabelle zurück
+     */
+    public int getInsertBatchZeilen(String tabellenname) {
+        String wert = insertBatchZeilenTabellen.get(tabellenname.toUpperCase());
+        return wert != null ? Math.max(1, Integer.parseInt(wert)) : insertBatchZeilen;
+    }
+    
+    // Getter für die Chunk-weise Extraktion
+    public int getChunkAnzahl() { return chunkAnzahl; }
+    public int getChunkWorker() { return chunkWorker; }
+    public String getChunkMethode() { return chunkMethode; }
+    
+    // Getter für die Verbindungspools
+    public int getOraclePoolGroesse() { return oraclePoolGroesse; }
+    public int getOraclePoolMin() { return oraclePoolMin; }
+    public int getPoolWartezeitSekunden() { return poolWartezeitSekunden; }
+    public long getFetchSizeZielBytes() { return fetchSizeZielBytes; }
+    public long getLobAuslagernAbBytes() { return lobAuslagernAbBytes; }
+    public String getLobAuslagernServerpfad() { return lobAuslagernServerpfad; }
+    public String getSchemaCacheVerzeichnis() { return schemaCacheVerzeichnis; }
+    public boolean isSnapshot() { return snapshot; }
+    public int getSnapshotLaufzeitMinuten() { return snapshotLaufzeitMinuten; }
+    public boolean hatInkrementelleTabellen() { return !inkrementSpalteTabellen.isEmpty(); }
+    public String getHochwassermarkenDatei() { return hochwassermarkenDatei; }
+    public boolean isFortsetzen() { return fortsetzen; }
+    public void setFortsetzen(boolean fortsetzen) { this.fortsetzen = fortsetzen; }
+    
+    /**
+     * Gibt die Änderungsspalte für den inkrementellen Export einer Tabelle zurück.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Der Spaltenname (auch ORA_ROWSCN) oder null, wenn die Tabelle vollständig exportiert wird
+     */
+    public String getInkrementSpalte(String tabellenname) {
+        String spalte = inkrementSpalteTabellen.get(tabellenname.toUpperCase());
+        return spalte == null || spalte.isEmpty() ? null : spalte.toUpperCase();
+    }
+    
+    /**
+     * Gibt den Anteil der Stichprobe für eine Tabelle zurück. Oracle erlaubt Werte
+     * größer 0 und kleiner 100, alles andere bedeutet einen vollständigen Export.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Der Anteil in Prozent oder 0 für einen vollständigen Export
+     */
+    public double getStichprobeProzent(String tabellenname) {
+        String wert = stichprobeProzentTabellen.get(tabellenname.toUpperCase());
+        double prozent = wert != null ? Double.parseDouble(wert) : stichprobeProzent;
+        return prozent > 0 && prozent < 100 ? prozent : 0;
+    }
+    
+    /**
+     * Gibt das Stichprobenverfahren einer Tabelle zurück (STICHPROBE_METHODE_BLOCK oder _ZEILEN).
+     */
+    public String getStichprobeMethode(String tabellenname) {
+        String methode = stichprobeMethodeTabellen.get(tabellenname.toUpperCase());
+        methode = methode != null ? methode.toLowerCase() : stichprobeMethode;
+        return STICHPROBE_METHODE_ZEILEN.equals(methode) ? STICHPROBE_METHODE_ZEILEN : STICHPROBE_METHODE_BLOCK;
+    }
+    
+    public Long getStichprobeSeed() { return stichprobeSeed; }
+    public List<String> getTeilmengeWurzeln() { return teilmengeWurzeln; }
+    public boolean isTeilmengeKinderFolgen() { return teilmengeKinderFolgen; }
+    public int getTeilmengeChunkZeilen() { return teilmengeChunkZeilen; }
+    
+    /**
+     * Gibt den Zeilenfilter einer Tabelle zurück (tabelle.X.filter).
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Die WHERE-Bedingung ohne "WHERE" oder null, wenn alle Zeilen exportiert werden
+     */
+    public String getFilter(String tabellenname) {
+        String filter = filterTabellen.get(tabellenname.toUpperCase());
+        return filter == null || filter.isEmpty() ? null : filter;
+    }
+    
+    /**
+     * Gibt die eigene Quellabfrage einer Tabelle zurück (tabelle.X.query), die anstelle
+     * der Tabelle gelesen wird.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Das SELECT-Statement ohne abschließendes Semikolon oder null
+     */
+    public String getAbfrage(String tabellenname) {
+        String abfrage = abfrageTabellen.get(tabellenname.toUpperCase());
+        if (abfrage == null || abfrage.isEmpty()) {
+            return null;
+        }
+        return abfrage.endsWith(";") ? abfrage.substring(0, abfrage.length() - 1).trim() : abfrage;
+    }
+    
+    /**
+     * Gibt die Fetch-Size für eine Tabelle zurück (0 = Treiberstandard, FETCHSIZE_AUTO = automatisch)
+     */
+    public int getFetchSize(String tabellenname) {
+        String wert = fetchSizeTabellen.get(tabellenname.toUpperCase());
+        return wert != null ? parseFetchSize(wert) : fetchSize;
+    }
+    
+    /**
+     * Gibt die LOB-Prefetch-Größe in Bytes für eine Tabelle zurück (0 = Treiberstandard)
+     */
+    public int getLobPrefetch(String tabellenname) {
+        String wert = lobPrefetchTabellen.get(tabellenname.toUpperCase());
+        return wert != null ? Integer.parseInt(wert) : lobPrefetch;
+    }
+    
+    /**
+     * Gibt den Optimizer-Hint für die Datenabfrage einer Tabelle ohne die Kommentarzeichen zurück,
+     * z.B. PARALLEL(8) FULL(KUNDEN). Ein leerer Wert je Tabelle hebt den globalen Hint auf.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Der Hint oder null, wenn keiner konfiguriert ist
+     */
+    public String getHint(String tabellenname) {
+        String wert = hintTabellen.get(tabellenname.toUpperCase());
+        wert = (wert != null ? wert : hint).trim();
+        if (wert.startsWith("/*+")) {
+            wert = wert.substring(3);
+        }
+        if (wert.endsWith("*/")) {
+            wert = wert.substring(0, wert.length() - 2);
+        }
+        wert = wert.trim();
+        return wert.isEmpty() ? null : wert;
+    }
+    
+    public long getHintParallelAbBytes() { return hintParallelAbBytes; }
+    public long getHintParallelBytesJeServer() { return hintParallelBytesJeServer; }
+    public int getHintParallelMax() { return hintParallelMax; }
+    
+    // Getter für die Drossel der Extraktion
+    public long getDrosselZeilenJeSekunde() { return drosselZeilenJeSekunde; }
+    public long getDrosselKbJeSekunde() { return drosselKbJeSekunde; }
+    public long getDrosselWorkerZeilenJeSekunde() { return drosselWorkerZeilenJeSekunde; }
+    public long getDrosselWorkerKbJeSekunde() { return drosselWorkerKbJeSekunde; }
+    public long getDrosselLatenzBasisMs() { return drosselLatenzBasisMs; }
+    public double getDrosselLatenzFaktor() { return drosselLatenzFaktor; }
+    
+    // Getter für die erzeugten Zeilenkodierer
+    public boolean isKodiererGenerieren() { return kodiererGenerieren; }
+    public int getKodiererAbSpalten() { return kodiererAbSpalten; }
+    public boolean isOracleTypisiertLesen() { return oracleTypisiertLesen; }
+    
+    /**
+     * Gibt die Zeilenzahl zurück, ab der eine Tabelle in Chunks gelesen wird (0 = deaktiviert)
+     */
+    public long getChunkSchwelleZeilen(String tabellenname) {
+        String wert = chunkSchwelleZeilenTabellen.get(tabellenname.toUpperCase());
+        return wert != null ? Long.parseLong(wert) : chunkSchwelleZeilen;
+    }
+    
+    /**
+     * Gibt die Segmentgröße in Bytes zurück, ab der eine Tabelle in Chunks gelesen wird (0 = deaktiviert)
+     */
+    public long getChunkSchwelleBytes(String tabellenname) {
+        String wert = chunkSchwelleMbTabellen.get(tabellenname.toUpperCase());
+        return (wert != null ? Long.parseLong(wert) : chunkSchwelleMb) * 1024 * 1024;
+    }
     
     // Getter für zusätzliche Datenbankobjekte
     public boolean isSequenzenMigrieren() { return sequenzenMigrieren; }
     public boolean isIndizesMigrieren() { return indizesMigrieren; }
     public boolean isConstraintsMigrieren() { return constraintsMigrieren; }
     public boolean isViewsMigrieren() { return viewsMigrieren; }
+    public boolean isPartitionenMigrieren() { return partitionenMigrieren; }
     
     // Getter für Ordner-Konfiguration
     public boolean isOrdnerErstellen() { return ordnerErstellen; }
@@ -65,7 +65,7 @@ public class Logger {
      * @param nachricht Die zu protokollierende Fehlermeldung
      * @param e Die aufgetretene Exception
      */
-    public static void fehler(String nachricht, Exception e) {
+    public static synchronized void fehler(String nachricht, Exception e) {
         fehler(nachricht + ": " + e.getMessage());
         e.printStackTrace(logWriter);
         logWriter.flush();
@@ -73,11 +73,12 @@ public class Logger {
     
     /**
      * Schreibt eine formatierte Nachricht in die Logdatei.
+     * Synchronisiert, da bei paralleler Migration mehrere Worker gleichzeitig protokollieren.
      * 
      * @param level Das Log-Level (INFO, WARNUNG, FEHLER)
      * @param nachricht Die zu protokollierende Nachricht
      */
-    private static void logSchreiben(String level, String nachricht) {
+    private static synchronized void logSchreiben(String level, String nachricht) {
         String timestamp = dateFormat.format(new Date());
         String logEintrag = String.format("[%s] [%s] %s", timestamp, level, nachricht);
         System.out.println(logEintrag);
@@ -10,15 +10,24 @@ public class Main {
     /**
      * Einstiegspunkt für das Migrationstool.
      * 
-     * @param args Kommandozeilenargumente (erster Parameter sollte der Pfad zur Konfigurationsdatei sein)
+     * @param args Kommandozeilenargumente (Pfad zur Konfigurationsdatei, optional --resume zum Fortsetzen
+     *             eines abgebrochenen Laufs)
      */
     public static void main(String[] args) {
-        if (args.length < 1) {
-            System.out.println("Verwendung: java Main <Pfad zur Konfigurationsdatei>");
-            System.exit(1);
+        String konfigDatei = null;
+        boolean fortsetzen = false;
+        for (String arg : args) {
+            if (arg.equals("--resume")) {
+                fortsetzen = true;
+            } else if (konfigDatei == null) {
+                konfigDatei = arg;
+            }
         }
         
-        String konfigDatei = args[0];
+        if (konfigDatei == null) {
+            System.out.println("Verwendung: java Main [--resume] <Pfad zur Konfigurationsdatei>");
+            System.exit(1);
+        }
         
         // Ausgabeordner für Logdateien sicherstellen
         File logDir = new File("logs");
@@ -35,22 +44,24 @@ public class Main {
             
             // Konfiguration laden
             Konfiguration konfiguration = new Konfiguration(konfigDatei);
+            konfiguration.setFortsetzen(fortsetzen);
             Logger.info("Konfiguration erfolgreich geladen");
+            if (fortsetzen) {
+                Logger.info("Setze abgebrochene Migration anhand des Migrationsjournals fort");
+            }
             
             // Datenbankverbindungen herstellen
             DbVerbindung dbVerbindung = new DbVerbindung();
-            Connection oracleConnection = null;
             
             try {
-                oracleConnection = dbVerbindung.verbindeZuOracle(
-                    konfiguration.getOracleUrl(), 
-                    konfiguration.getOracleBenutzer(), 
-                    konfiguration.getOraclePasswort()
-                );
+                // Oracle-Verbindungspool für Hauptverbindung, Tabellen- und Chunk-Worker
+                VerbindungsPool oraclePool = dbVerbindung.erstelleOraclePool(konfiguration);
                 
-                // Migrator erstellen und Migration durchführen
-                OracleToPgMigrator migrator = new OracleToPgMigrator(konfiguration, oracleConnection);
-                migrator.migriere();
+                try (Connection oracleConnection = oraclePool.holeVerbindung()) {
+                    // Migrator erstellen und Migration durchführen
+                    OracleToPgMigrator migrator = new OracleToPgMigrator(konfiguration, oracleConnection, oraclePool);
+                    migrator.migriere();
+                }
                 
                 Logger.info("Migration erfolgreich abgeschlossen");
                 
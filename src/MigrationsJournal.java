@@ -0,0 +1,303 @@
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Journal über den Fortschritt eines Migrationslaufs im Ausgabeverzeichnis.
+ * 
+ * Jeder abgeschlossene Arbeitsschritt (Chunk, Tabelle, Abschlussphase) wird als eigene Zeile angehängt
+ * und mit fsync auf die Platte geschrieben, bevor der nächste Schritt als erledigt gilt. Dazu kommen
+ * die Chunk-Grenzen, die Schlüssel der Teilmengen-Chunks und die Exportbereiche, die beim Fortsetzen
+ * unverändert übernommen werden müssen. Abgeschlossene Chunks zählen nur für Tabellen, deren Chunks
+ * im Journal geplant sind, da neu gebildete Chunks andere Zeilen umfassen können.
+ * 
+ * Die Felder einer Zeile sind durch Tabulatoren getrennt:
+ * <pre>
+ * SCN      scn
+ * BEREICH  tabelle  spalte  von  bis
+ * PLAN     tabelle  nummer  bedingung  von  bis  [partition]
+ * LISTE    tabelle  nummer  bedingung  wert...
+ * CHUNK    tabelle  nummer
+ * TABELLE  tabelle
+ * PHASE    phase
+ * </pre>
+ * Eine beim Abbruch nur teilweise geschriebene letzte Zeile wird beim Lesen verworfen.
+ */
+public class MigrationsJournal {
+    public static final String DATEINAME = "migration.journal";
+    
+    public static final String PHASE_SEQUENZEN = "SEQUENZEN";
+    public static final String PHASE_INDIZES = "INDIZES";
+    public static final String PHASE_CONSTRAINTS = "CONSTRAINTS";
+    public static final String PHASE_VIEWS = "VIEWS";
+    
+    private final File datei;
+    
+    // Stand aus dem abgebrochenen Lauf und den bisher in diesem Lauf geschriebenen Einträgen
+    private long scn;
+    private final Map<String, Hochwassermarken.Bereich> bereiche = new HashMap<>();
+    private final Map<String, List<DatenChunk>> geplanteChunks = new HashMap<>();
+    private final Set<String> abgeschlosseneChunks = new HashSet<>();
+    private final Set<String> abgeschlosseneTabellen = new HashSet<>();
+    private final Set<String> abgeschlossenePhasen = new HashSet<>();
+    
+    /**
+     * Öffnet das Journal im Ausgabeverzeichnis. Beim Fortsetzen wird der Stand des vorherigen Laufs
+     * gelesen, sonst wird ein vorhandenes Journal verworfen.
+     * 
+     * @param verzeichnis Das Ausgabeverzeichnis des Laufs
+     * @param fortsetzen true, um einen abgebrochenen Lauf fortzusetzen
+     * @throws IOException Wenn das Journal nicht gelesen oder gelöscht werden kann
+     */
+    public MigrationsJournal(File verzeichnis, boolean fortsetzen) throws IOException {
+        this.datei = new File(verzeichnis, DATEINAME);
+        
+        if (!fortsetzen) {
+            Files.deleteIfExists(datei.toPath());
+        } else if (!datei.exists()) {
+            Logger.warnung("Kein Migrationsjournal in " + verzeichnis.getPath() + " gefunden, die Migration beginnt von vorne");
+        } else {
+            lesen();
+            Logger.info("Migrationsjournal gelesen: " + abgeschlosseneTabellen.size() + " Tabellen, "
+                    + abgeschlosseneChunks.size() + " Chunks und " + abgeschlossenePhasen.size() + " Phasen bereits abgeschlossen");
+        }
+    }
+    
+    /**
+     * Liest die vollständig geschriebenen Zeilen des Journals.
+     */
+    private void lesen() throws IOException {
+        String inhalt = new String(Files.readAllBytes(datei.toPath()), StandardCharsets.UTF_8);
+        String[] zeilen = inhalt.split("\n", -1);
+        
+        // Das letzte Element ist leer oder eine beim Abbruch unvollständig geschriebene Zeile
+        for (int i = 0; i < zeilen.length - 1; i++) {
+            String[] felder = zeilen[i].split("\t", -1);
+            for (int j = 0; j < felder.length; j++) {
+                felder[j] = entschluessele(felder[j]);
+            }
+            uebernimm(felder);
+        }
+    }
+    
+    /**
+     * Übernimmt einen Eintrag in den Stand des Journals.
+     */
+    private void uebernimm(String[] felder) {
+        switch (felder[0]) {
+            case "SCN":
+                scn = Long.parseLong(felder[1]);
+                break;
+            case "BEREICH":
+                bereiche.put(felder[1], new Hochwassermarken.Bereich(felder[2],
+                        Hochwassermarken.dekodiereWert(felder[3]), Hochwassermarken.dekodiereWert(felder[4])));
+                break;
+            case "PLAN":
+                geplanteChunks.computeIfAbsent(felder[1], k -> new ArrayList<>()).add(DatenChunk.wiederherstellen(
+                        Integer.parseInt(felder[2]), felder[3],
+                        Hochwassermarken.dekodiereWert(felder[4]), Hochwassermarken.dekodiereWert(felder[5]),
+                        felder.length > 6 ? felder[6] : null));
+                break;
+            case "LISTE":
+                List<Object> werte = new ArrayList<>();
+                for (int i = 4; i < felder.length; i++) {
+                    werte.add(Hochwassermarken.dekodiereWert(felder[i]));
+                }
+                geplanteChunks.computeIfAbsent(felder[1], k -> new ArrayList<>()).add(DatenChunk.wiederherstellen(
+                        Integer.parseInt(felder[2]), felder[3], werte));
+                break;
+            case "CHUNK":
+                abgeschlosseneChunks.add(felder[1] + "\t" + felder[2]);
+                break;
+            case "TABELLE":
+                abgeschlosseneTabellen.add(felder[1]);
+                break;
+            case "PHASE":
+                abgeschlossenePhasen.add(felder[1]);
+                break;
+            default:
+                Logger.warnung("Unbekannter Eintrag im Migrationsjournal ignoriert: " + felder[0]);
+        }
+    }
+    
+    /**
+     * Hängt einen Eintrag an das Journal an und wartet, bis er auf der Platte steht.
+     */
+    private void schreibe(String... felder) throws IOException {
+        schreibeAlle(Collections.singletonList(felder));
+    }
+    
+    /**
+     * Hängt mehrere Einträge mit einem gemeinsamen fsync an das Journal an.
+     */
+    private synchronized void schreibeAlle(List<String[]> eintraege) throws IOException {
+        StringBuilder zeilen = new StringBuilder();
+        for (String[] felder : eintraege) {
+            for (int i = 0; i < felder.length; i++) {
+                if (i > 0) {
+                    zeilen.append('\t');
+                }
+                zeilen.append(verschluessele(felder[i]));
+            }
+            zeilen.append('\n');
+        }
+        
+        try (FileOutputStream aus = new FileOutputStream(datei, true)) {
+            aus.write(zeilen.toString().getBytes(StandardCharsets.UTF_8));
+            aus.getFD().sync();
+        }
+        for (String[] felder : eintraege) {
+            uebernimm(felder);
+        }
+    }
+    
+    /**
+     * Gibt die SCN des Snapshots aus dem abgebrochenen Lauf zurück.
+     * 
+     * @return Die SCN oder 0, wenn kein Snapshot verwendet wurde
+     */
+    public synchronized long getScn() { return scn; }
+    
+    /**
+     * Hält die SCN des Snapshots fest, damit ein fortgesetzter Lauf auf demselben Stand liest.
+     */
+    public void scnFestgelegt(long scn) throws IOException {
+        schreibe("SCN", String.valueOf(scn));
+    }
+    
+    /**
+     * Gibt den festgelegten Exportbereich einer inkrementell exportierten Tabelle zurück.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Der Bereich oder null, wenn für die Tabelle noch keiner festgelegt wurde
+     */
+    public synchronized Hochwassermarken.Bereich getBereich(String tabellenname) {
+        return bereiche.get(tabellenname.toUpperCase());
+    }
+    
+    /**
+     * Hält den Exportbereich einer inkrementell exportierten Tabelle fest.
+     */
+    public void bereichFestgelegt(String tabellenname, Hochwassermarken.Bereich bereich) throws IOException {
+        schreibe("BEREICH", tabellenname.toUpperCase(), bereich.getSpalte(),
+                Hochwassermarken.kodiereWert(bereich.getVon()), Hochwassermarken.kodiereWert(bereich.getBis()));
+    }
+    
+    /**
+     * Gibt die Chunks einer Tabelle aus dem abgebrochenen Lauf zurück.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Die Chunks in ihrer ursprünglichen Reihenfolge oder null, wenn keine geplant wurden
+     */
+    public synchronized List<DatenChunk> getGeplanteChunks(String tabellenname) {
+        List<DatenChunk> chunks = geplanteChunks.get(tabellenname.toUpperCase());
+        return chunks == null ? null : new ArrayList<>(chunks);
+    }
+    
+    /**
+     * Hält die Chunks einer Tabelle mit ihren Grenzen fest, bevor der erste davon geschrieben wird.
+     */
+    public void chunksGeplant(String tabellenname, List<DatenChunk> chunks) throws IOException {
+        List<String[]> eintraege = new ArrayList<>();
+        for (DatenChunk chunk : chunks) {
+            if (chunk.isSchluesselListe()) {
+                List<String> felder = new ArrayList<>();
+                Collections.addAll(felder, "LISTE", tabellenname.toUpperCase(), String.valueOf(chunk.getNummer()), chunk.getBedingung());
+                for (Object wert : chunk.getWerte()) {
+                    felder.add(Hochwassermarken.kodiereWert(wert));
+                }
+                eintraege.add(felder.toArray(new String[0]));
+            } else {
+                eintraege.add(new String[] {"PLAN", tabellenname.toUpperCase(), String.valueOf(chunk.getNummer()), chunk.getBedingung(),
+                        Hochwassermarken.kodiereWert(chunk.getVon()), Hochwassermarken.kodiereWert(chunk.getBis()), chunk.getPartition()});
+            }
+        }
+        schreibeAlle(eintraege);
+    }
+    
+    /**
+     * Prüft, ob sich die Chunks einer Tabelle unverändert im Journal festhalten lassen. Schlüsselwerte
+     * einer Teilmenge müssen dazu Zahlen, Texte oder Zeitstempel sein, andere Typen (etwa RAW)
+     * überstehen die Umwandlung in Text nicht.
+     * 
+     * @param chunks Die Chunks der Tabelle
+     * @return true, wenn chunksGeplant die Chunks verlustfrei speichert
+     */
+    public static boolean kannFesthalten(List<DatenChunk> chunks) {
+        for (DatenChunk chunk : chunks) {
+            if (!chunk.isSchluesselListe()) {
+                continue;
+            }
+            for (Object wert : chunk.getWerte()) {
+                if (!(wert instanceof Number) && !(wert instanceof String) && !(wert instanceof Timestamp)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    public synchronized boolean isChunkAbgeschlossen(String tabellenname, DatenChunk chunk) {
+        return geplanteChunks.containsKey(tabellenname.toUpperCase())
+                && abgeschlosseneChunks.contains(tabellenname.toUpperCase() + "\t" + chunk.getNummer());
+    }
+    
+    public void chunkAbgeschlossen(String tabellenname, DatenChunk chunk) throws IOException {
+        schreibe("CHUNK", tabellenname.toUpperCase(), String.valueOf(chunk.getNummer()));
+    }
+    
+    public synchronized boolean isTabelleAbgeschlossen(String tabellenname) {
+        return abgeschlosseneTabellen.contains(tabellenname.toUpperCase());
+    }
+    
+    public void tabelleAbgeschlossen(String tabellenname) throws IOException {
+        schreibe("TABELLE", tabellenname.toUpperCase());
+    }
+    
+    public synchronized boolean isPhaseAbgeschlossen(String phase) {
+        return abgeschlossenePhasen.contains(phase);
+    }
+    
+    public void phaseAbgeschlossen(String phase) throws IOException {
+        schreibe("PHASE", phase);
+    }
+    
+    /**
+     * Maskiert Backslash, Tabulator und Zeilenumbrüche, damit jeder Eintrag genau eine Zeile belegt.
+     * Fehlende Werte (null) werden als leeres Feld geschrieben.
+     */
+    private static String verschluessele(String feld) {
+        if (feld == null) {
+            return "";
+        }
+        return feld.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+    
+    private static String entschluessele(String feld) {
+        if (feld.isEmpty()) {
+            return null;
+        }
+        
+        StringBuilder ergebnis = new StringBuilder(feld.length());
+        for (int i = 0; i < feld.length(); i++) {
+            char c = feld.charAt(i);
+            if (c == '\\' && i + 1 < feld.length()) {
+                char naechstes = feld.charAt(++i);
+                ergebnis.append(naechstes == 't' ? '\t' : naechstes == 'n' ? '\n' : naechstes == 'r' ? '\r' : naechstes);
+            } else {
+                ergebnis.append(c);
+            }
+        }
+        return ergebnis.toString();
+    }
+}
@@ -1,36 +1,103 @@
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
 import java.sql.Connection;
-import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Hauptklasse für die Migration von Oracle zu PostgreSQL.
  */
 public class OracleToPgMigrator {
+    // Grenzen für die automatisch ermittelte Fetch-Size
+    private static final int FETCHSIZE_MIN = 10;
+    private static final int FETCHSIZE_MAX = 100000;
+    private static final int FETCHSIZE_OHNE_STATISTIK = 1000;
+    
+    // Platzhalter in Quellabfragen (tabelle.X.query), der im Snapshot-Modus durch die SCN ersetzt wird
+    private static final String SCN_PLATZHALTER = "{SCN}";
+    
+    // Die Warnung zu fehlendem LOB-Prefetch nur einmal ausgeben
+    private static volatile boolean lobPrefetchWarnungAusgegeben;
+    private static volatile boolean spaltentypenWarnungAusgegeben;
+    
     private final Konfiguration konfiguration;
     private final Connection oracleConnection;
+    private final VerbindungsPool oraclePool;
     private final String ausgabePfad;
     
+    // Vorab geladene Tabellendefinitionen, gemeinsam für alle Worker
+    private final SchemaModell schemaModell;
+    
+    // Spalten der eigenen Quellabfragen (tabelle.X.query), einmalig beim Oracle-Server erfragt
+    private final Map<String, List<SchemaModell.Spalte>> abfrageProjektionen;
+    
+    // Über defineColumnType festgelegte JDBC-Typen je Spalte (0 = keiner), einmal je Tabelle ermittelt
+    private final Map<String, int[]> festgelegteSpaltentypen;
+    
+    // SCN, auf der alle Datenabfragen gelesen werden (0 = ohne Snapshot)
+    private long snapshotScn;
+    
+    // Hochwassermarken und Exportbereiche der inkrementell exportierten Tabellen
+    private Hochwassermarken hochwassermarken;
+    private final Map<String, Hochwassermarken.Bereich> inkrementBereiche;
+    
+    // Fortschritt des Laufs für das Fortsetzen nach einem Abbruch
+    private MigrationsJournal journal;
+    
+    // Ausgewählte Schlüssel der Teilmengen-Extraktion (null = alle Zeilen)
+    private Teilmenge teilmenge;
+    
+    // Gemeinsame Begrenzung der Leserate aller Worker
+    private final Drossel drossel;
+    
     /**
      * Konstruktor für die Migrationsklasse.
      * 
      * @param konfiguration Die Konfigurationseinstellungen
      * @param oracleConnection Die Verbindung zur Oracle-Datenbank
+     * @param oraclePool Der Verbindungspool, aus dem Tabellen- und Chunk-Worker ihre Sitzungen beziehen
      */
-    public OracleToPgMigrator(Konfiguration konfiguration, Connection oracleConnection) {
+    public OracleToPgMigrator(Konfiguration konfiguration, Connection oracleConnection, VerbindungsPool oraclePool) {
         this.konfiguration = konfiguration;
         this.oracleConnection = oracleConnection;
+        this.oraclePool = oraclePool;
         this.ausgabePfad = konfiguration.getAusgabePfad();
+        this.inkrementBereiche = new ConcurrentHashMap<>();
+        this.abfrageProjektionen = new ConcurrentHashMap<>();
+        this.festgelegteSpaltentypen = new ConcurrentHashMap<>();
+        this.drossel = new Drossel(konfiguration);
+        this.schemaModell = konfiguration.getSchemaCacheVerzeichnis() != null
+                ? new SchemaModell(new File(konfiguration.getSchemaCacheVerzeichnis()))
+                : new SchemaModell();
         
         // Sicherstellen, dass der Ausgabeordner existiert
         File ausgabeDir = new File(ausgabePfad);
@@ -45,6 +112,29 @@ public class OracleToPgMigrator {
         }
     }
     
+    /**
+     * Konstruktor für einen Worker der parallelen Tabellenmigration.
+     * Übernimmt Konfiguration und Ausgabepfad vom Haupt-Migrator, arbeitet aber auf einer eigenen Oracle-Sitzung.
+     * 
+     * @param hauptMigrator Der Migrator, der die Worker startet
+     * @param workerConnection Die eigene Oracle-Verbindung des Workers
+     */
+    private OracleToPgMigrator(OracleToPgMigrator hauptMigrator, Connection workerConnection) {
+        this.konfiguration = hauptMigrator.konfiguration;
+        this.oracleConnection = workerConnection;
+        this.oraclePool = hauptMigrator.oraclePool;
+        this.ausgabePfad = hauptMigrator.ausgabePfad;
+        this.schemaModell = hauptMigrator.schemaModell;
+        this.abfrageProjektionen = hauptMigrator.abfrageProjektionen;
+        this.festgelegteSpaltentypen = hauptMigrator.festgelegteSpaltentypen;
+        this.snapshotScn = hauptMigrator.snapshotScn;
+        this.hochwassermarken = hauptMigrator.hochwassermarken;
+        this.inkrementBereiche = hauptMigrator.inkrementBereiche;
+        this.journal = hauptMigrator.journal;
+        this.teilmenge = hauptMigrator.teilmenge;
+        this.drossel = hauptMigrator.drossel;
+    }
+    
     /**
      * Erstellt die Unterordner für verschiedene Datenbankobjekte.
      */
@@ -91,6 +181,24 @@ public class OracleToPgMigrator {
     public void migriere() throws SQLException, IOException {
         List<String> tabellen;
         
+        // Fortschritt im Ausgabeverzeichnis festhalten, bei --resume den Stand des abgebrochenen Laufs übernehmen
+        journal = new MigrationsJournal(new File(ausgabePfad), konfiguration.isFortsetzen());
+        
+        // Einen gemeinsamen Lesezeitpunkt für alle Oracle-Sitzungen festlegen, beim Fortsetzen den bisherigen
+        if (konfiguration.isSnapshot()) {
+            snapshotScn = journal.getScn();
+            pruefeUndoRetention(snapshotScn);
+            if (snapshotScn == 0) {
+                snapshotScn = ermittleAktuelleScn();
+                journal.scnFestgelegt(snapshotScn);
+            }
+            Logger.info("Snapshot-Modus: alle Tabellen werden auf SCN " + snapshotScn + " gelesen");
+        }
+        
+        if (konfiguration.hatInkrementelleTabellen()) {
+            hochwassermarken = new Hochwassermarken(new File(konfiguration.getHochwassermarkenDatei()));
+        }
+        
         if (konfiguration.isAlleTabellenMigrieren()) {
             // Alle Tabellen aus der Datenbank ermitteln
             tabellen = ermittleAlleTabellenAusDatenbank();
@@ -101,30 +209,222 @@ public class OracleToPgMigrator {
             Logger.info("Whitelist-Tabellen migrieren: " + tabellen.size() + " Tabellen konfiguriert");
         }
         
+        // Zu migrierende Tabellen bestimmen
+        List<String> zuMigrierendeTabellen = new ArrayList<>();
+        List<String> migrierteTabellen = new ArrayList<>();
         for (String tabelle : tabellen) {
             if (konfiguration.sollTabelleMigriert(tabelle)) {
-                Logger.info("Beginne Migration der Tabelle: " + tabelle);
-                migrierenTabelle(tabelle);
+                migrierteTabellen.add(tabelle);
+            }
+            
+            if (journal.isTabelleAbgeschlossen(tabelle)) {
+                Logger.info("Überspringe bereits abgeschlossene Tabelle: " + tabelle);
+            } else if (konfiguration.sollTabelleMigriert(tabelle)) {
+                zuMigrierendeTabellen.add(tabelle);
             } else {
                 Logger.info("Überspringe Tabelle (in Blacklist oder Präfix-Blacklist): " + tabelle);
             }
         }
         
-        // Zusätzliche Datenbankobjekte migrieren
-        if (konfiguration.isSequenzenMigrieren()) {
+        // Quellabfragen vor dem ersten Export prüfen, damit ein Snapshot-Lauf nicht erst mittendrin abbricht
+        for (String tabelle : migrierteTabellen) {
+            pruefeQuellabfrage(tabelle);
+        }
+        
+        // Spalten, Primärschlüssel und Kommentare aller Tabellen mit wenigen Dictionary-Abfragen vorab laden
+        schemaModell.laden(oracleConnection, zuMigrierendeTabellen);
+        
+        // Teilmenge über alle Tabellen der Migration ermitteln. Beim Fortsetzen lesen begonnene Tabellen die
+        // Schlüssel ihrer Chunks aus dem Journal; ohne Snapshot kann die Auswahl der übrigen abweichen
+        if (!konfiguration.getTeilmengeWurzeln().isEmpty()) {
+            teilmenge = new Teilmenge(konfiguration, schemaModell, this::ermittleQuelle);
+            teilmenge.ermitteln(oracleConnection, migrierteTabellen);
+        }
+        
+        // Höhere Prioritätsklassen und große Tabellen zuerst, damit keine große Tabelle den Lauf am Ende verlängert
+        TabellenPlanung planung = new TabellenPlanung(konfiguration);
+        if (konfiguration.isPlanungNachGroesse()) {
+            planung.schaetzeAufwand(oracleConnection);
+        }
+        zuMigrierendeTabellen = planung.ordne(zuMigrierendeTabellen, konfiguration.getParallelWorker());
+        
+        // Tabellen migrieren, bei mehreren Workern parallel mit je einer eigenen Oracle-Sitzung
+        int anzahlWorker = Math.min(konfiguration.getParallelWorker(), zuMigrierendeTabellen.size());
+        if (anzahlWorker > 1) {
+            migriereTabellenParallel(zuMigrierendeTabellen, anzahlWorker);
+        } else {
+            for (String tabelle : zuMigrierendeTabellen) {
+                Logger.info("Beginne Migration der Tabelle: " + tabelle);
+                if (oraclePool.getQuellenAnzahl() > 1) {
+                    // Auch sequentiell nach Last auf die Quellen verteilen und bei Ausfall wechseln
+                    fuehreAufQuelleAus("Tabelle " + tabelle, worker -> worker.migrierenTabelle(tabelle));
+                } else {
+                    migrierenTabelle(tabelle);
+                }
+            }
+        }
+        
+        // Abschlussphase: zusätzliche Datenbankobjekte erst migrieren, wenn alle Tabellen fertig sind
+        Logger.info("Alle Tabellen migriert, beginne mit Sequenzen, Indizes, Constraints und Views");
+        if (konfiguration.isSequenzenMigrieren() && !journal.isPhaseAbgeschlossen(MigrationsJournal.PHASE_SEQUENZEN)) {
             migrierenSequenzen();
+            journal.phaseAbgeschlossen(MigrationsJournal.PHASE_SEQUENZEN);
         }
         
-        if (konfiguration.isIndizesMigrieren()) {
+        if (konfiguration.isIndizesMigrieren() && !journal.isPhaseAbgeschlossen(MigrationsJournal.PHASE_INDIZES)) {
             migrierenIndizes();
+            journal.phaseAbgeschlossen(MigrationsJournal.PHASE_INDIZES);
         }
         
-        if (konfiguration.isConstraintsMigrieren()) {
+        if (konfiguration.isConstraintsMigrieren() && !journal.isPhaseAbgeschlossen(MigrationsJournal.PHASE_CONSTRAINTS)) {
             migrierenConstraints();
+            journal.phaseAbgeschlossen(MigrationsJournal.PHASE_CONSTRAINTS);
         }
         
-        if (konfiguration.isViewsMigrieren()) {
+        if (konfiguration.isViewsMigrieren() && !journal.isPhaseAbgeschlossen(MigrationsJournal.PHASE_VIEWS)) {
             migrierenViews();
+            journal.phaseAbgeschlossen(MigrationsJournal.PHASE_VIEWS);
+        }
+    }
+    
+    /**
+     * Migriert die Tabellen parallel. Jeder Worker öffnet eine eigene Oracle-Sitzung und holt sich
+     * so lange ganze Tabellen aus einer gemeinsamen Warteschlange, bis diese leer ist.
+     * Nach dem ersten Fehler werden keine neuen Tabellen mehr begonnen und der Fehler wird weitergereicht.
+     * 
+     * @param tabellen Die zu migrierenden Tabellen
+     * @param anzahlWorker Die Anzahl paralleler Worker
+     * @throws SQLException Bei Datenbankfehlern
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    private void migriereTabellenParallel(List<String> tabellen, int anzahlWorker) throws SQLException, IOException {
+        Logger.info("Migriere " + tabellen.size() + " Tabellen parallel mit " + anzahlWorker + " Workern");
+        
+        Queue<String> warteschlange = new ConcurrentLinkedQueue<>(tabellen);
+        AtomicReference<Exception> ersterFehler = new AtomicReference<>();
+        ExecutorService workerPool = Executors.newFixedThreadPool(anzahlWorker);
+        
+        for (int i = 1; i <= anzahlWorker; i++) {
+            final int workerNummer = i;
+            workerPool.execute(() -> arbeiteTabellenAb(workerNummer, warteschlange, ersterFehler));
+        }
+        
+        workerPool.shutdown();
+        try {
+            while (!workerPool.awaitTermination(1, TimeUnit.MINUTES)) {
+                Logger.info("Warte auf Worker, noch " + warteschlange.size() + " Tabellen in der Warteschlange; "
+                        + oraclePool.getStatistik());
+            }
+        } catch (InterruptedException e) {
+            workerPool.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new SQLException("Parallele Tabellenmigration wurde unterbrochen", e);
+        }
+        
+        if (ersterFehler.get() != null) {
+            wirfFehlerWeiter(ersterFehler.get());
+        }
+    }
+    
+    /**
+     * Reicht einen Fehler aus einem Worker-Thread mit seinem ursprünglichen Typ weiter.
+     * 
+     * @param fehler Der im Worker aufgetretene Fehler
+     * @throws SQLException Bei Datenbankfehlern oder unerwarteten Fehlern
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    private static void wirfFehlerWeiter(Throwable fehler) throws SQLException, IOException {
+        if (fehler instanceof SQLException) {
+            throw (SQLException) fehler;
+        } else if (fehler instanceof IOException) {
+            throw (IOException) fehler;
+        }
+        throw new SQLException("Fehler bei der parallelen Migration", fehler);
+    }
+    
+    /**
+     * Leiht eine Oracle-Sitzung für einen Worker aus dem Verbindungspool aus.
+     * 
+     * @return Die Verbindung, deren close() sie an den Pool zurückgibt
+     * @throws SQLException Bei Verbindungsfehlern oder wenn keine Verbindung frei wird
+     */
+    private Connection oeffneOracleSitzung() throws SQLException {
+        return oraclePool.holeVerbindung();
+    }
+    
+    /**
+     * Führt eine Arbeit auf einer Oracle-Sitzung aus dem Pool aus. Bricht dabei die Verbindung zu einer
+     * von mehreren Quellen ab oder kann die Quelle die Snapshot-SCN noch nicht lesen, wird die Quelle
+     * gesperrt und die Arbeit auf einer anderen Quelle wiederholt. Gibt eine innere Arbeit (Chunk) nach
+     * einem Quellenausfall auf, wird ihr Fehler als WiederholungErschoepft gemeldet und von der äußeren
+     * Arbeit (Tabelle) nicht noch einmal wiederholt.
+     * 
+     * @param bezeichnung Die Arbeit für die Log-Ausgabe (Tabelle oder Chunk)
+     * @param arbeit Die Arbeit, die einen Worker auf der ausgeliehenen Sitzung erhält
+     * @throws SQLException Bei Datenbankfehlern oder wenn keine Quelle mehr verfügbar ist
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    private void fuehreAufQuelleAus(String bezeichnung, SitzungsArbeit arbeit) throws SQLException, IOException {
+        for (int versuch = 1; ; versuch++) {
+            String quelle = null;
+            try (Connection sitzung = oeffneOracleSitzung()) {
+                quelle = oraclePool.getQuelle(sitzung);
+                arbeit.ausfuehren(new OracleToPgMigrator(this, sitzung));
+                return;
+            } catch (WiederholungErschoepft e) {
+                throw e;
+            } catch (SQLException | IOException e) {
+                if (versuch >= oraclePool.getQuellenAnzahl() || !oraclePool.meldeAusfall(quelle, e)) {
+                    if (oraclePool.getQuellenAnzahl() > 1
+                            && (VerbindungsPool.istVerbindungsabbruch(e) || VerbindungsPool.istSnapshotNichtLesbar(e))) {
+                        throw new WiederholungErschoepft(bezeichnung, e);
+                    }
+                    throw e;
+                }
+                Logger.warnung(bezeichnung + " wird nach dem Ausfall der Quelle auf einer anderen Quelle wiederholt: "
+                        + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Arbeit, die ein Worker auf einer eigenen Oracle-Sitzung ausführt.
+     */
+    private interface SitzungsArbeit {
+        void ausfuehren(OracleToPgMigrator worker) throws SQLException, IOException;
+    }
+    
+    /**
+     * Fehler einer Arbeit, die nach einem Quellenausfall auf keiner weiteren Quelle wiederholt werden
+     * konnte. Die ursprüngliche Ausnahme ist als Ursache enthalten.
+     */
+    private static class WiederholungErschoepft extends SQLException {
+        private static final long serialVersionUID = 1L;
+        
+        WiederholungErschoepft(String bezeichnung, Throwable ursache) {
+            super(bezeichnung + " konnte auf keiner Quelle gelesen werden: " + ursache.getMessage(), ursache);
+        }
+    }
+    
+    /**
+     * Arbeitsschleife eines Workers: migriert Tabellen aus der Warteschlange. Jede Tabelle erhält eine
+     * eigene Sitzung aus dem Pool, damit sich die Tabellen nach Last auf die Quellen verteilen.
+     * 
+     * @param workerNummer Die Nummer des Workers für die Log-Ausgabe
+     * @param warteschlange Die gemeinsame Warteschlange der noch offenen Tabellen
+     * @param ersterFehler Nimmt den ersten aufgetretenen Fehler aller Worker auf
+     */
+    private void arbeiteTabellenAb(int workerNummer, Queue<String> warteschlange, AtomicReference<Exception> ersterFehler) {
+        try {
+            String tabelle;
+            while (ersterFehler.get() == null && (tabelle = warteschlange.poll()) != null) {
+                Logger.info("Worker " + workerNummer + ": Beginne Migration der Tabelle: " + tabelle);
+                String naechsteTabelle = tabelle;
+                fuehreAufQuelleAus("Tabelle " + tabelle, worker -> worker.migrierenTabelle(naechsteTabelle));
+            }
+        } catch (Exception e) {
+            Logger.fehler("Worker " + workerNummer + " abgebrochen", e);
+            ersterFehler.compareAndSet(null, e);
         }
     }
     
@@ -156,15 +456,232 @@ public class OracleToPgMigrator {
      * @throws IOException Bei Ein-/Ausgabefehlern
      */
     private void migrierenTabelle(String tabellenname) throws SQLException, IOException {
+        String stichprobe = ermittleStichprobe(tabellenname);
+        if (!stichprobe.isEmpty()) {
+            Logger.info("Tabelle " + tabellenname + " wird als Stichprobe exportiert:" + stichprobe);
+        }
+        
         // 1. CREATE TABLE-Definition erzeugen
         String createTableSql = erzeugeCreateTable(tabellenname);
         speichereSQL(tabellenname + "_create.sql", createTableSql);
         Logger.info("CREATE TABLE-SQL für " + tabellenname + " erzeugt");
         
-        // 2. INSERT-Statements erzeugen
-        String insertSql = erzeugeInserts(tabellenname);
-        speichereSQL(tabellenname + "_inserts.sql", insertSql);
-        Logger.info("INSERT-Statements für " + tabellenname + " erzeugt");
+        // Im inkrementellen Modus nur die Zeilen seit der letzten Hochwassermarke exportieren,
+        // beim Fortsetzen mit dem Bereich des abgebrochenen Laufs
+        Hochwassermarken.Bereich bereich = journal.getBereich(tabellenname);
+        if (bereich == null) {
+            bereich = ermittleInkrementBereich(tabellenname);
+            if (bereich != null) {
+                journal.bereichFestgelegt(tabellenname, bereich);
+            }
+        }
+        if (bereich != null) {
+            inkrementBereiche.put(tabellenname.toUpperCase(), bereich);
+        }
+        
+        // 2. Daten direkt aus dem ResultSet in die Datei schreiben, große Tabellen in Chunks;
+        // beim Fortsetzen gelten die Chunk-Grenzen des abgebrochenen Laufs
+        List<DatenChunk> chunks = journal.getGeplanteChunks(tabellenname);
+        if (chunks == null) {
+            chunks = ermittleChunks(tabellenname);
+            if (!MigrationsJournal.kannFesthalten(chunks)) {
+                Logger.warnung("Die Schlüssel der Teilmenge von " + tabellenname + " können nicht im Journal festgehalten werden, "
+                        + "beim Fortsetzen wird die Tabelle vollständig neu gelesen");
+            } else if (!chunks.isEmpty()) {
+                journal.chunksGeplant(tabellenname, chunks);
+            }
+        }
+        if (chunks.isEmpty()) {
+            schreibeDaten(tabellenname, null);
+        } else {
+            migriereDatenInChunks(tabellenname, chunks);
+        }
+        
+        // 3. Neue Hochwassermarke erst nach dem vollständigen Export speichern
+        if (bereich != null && bereich.getBis() != null) {
+            hochwassermarken.setzeMarke(tabellenname, bereich.getBis());
+        }
+        journal.tabelleAbgeschlossen(tabellenname);
+    }
+    
+    /**
+     * Schreibt die Daten einer Tabelle oder eines Chunks im konfigurierten Format in eine Datei.
+     * Bei Chunks wird die Chunk-Nummer an den Dateinamen angehängt (z.B. KUNDEN_inserts_part0001.sql,
+     * bei Partitionen zusätzlich deren Name), so dass die Teildateien in der richtigen Reihenfolge sortiert werden.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @param chunk Der zu schreibende Chunk oder null für die ganze Tabelle
+     * @throws SQLException Bei Datenbankfehlern
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    private void schreibeDaten(String tabellenname, DatenChunk chunk) throws SQLException, IOException {
+        String teil = chunk == null ? "" : chunk.getDateiZusatz();
+        String bezeichnung = chunk == null ? tabellenname : tabellenname + " (" + chunk + ")";
+        
+        // Inkrementelle Exporte werden immer als Upsert-Statements geschrieben
+        boolean inkrementell = inkrementBereiche.containsKey(tabellenname.toUpperCase());
+        
+        if (!inkrementell && Konfiguration.DATEN_FORMAT_BINAER.equals(konfiguration.getDatenFormat())) {
+            try (PgCopyBinaerWriter writer = new PgCopyBinaerWriter(oeffneAusgabeStrom(tabellenname + "_data" + teil + ".pgcopy"))) {
+                erzeugeCopyBinaerDaten(tabellenname, chunk, writer);
+                writer.beende();
+            }
+            Logger.info("Binäre COPY-Daten für " + bezeichnung + " erzeugt");
+        } else if (!inkrementell && Konfiguration.DATEN_FORMAT_COPY.equals(konfiguration.getDatenFormat())) {
+            try (Writer writer = oeffneAusgabeDatei(tabellenname + "_data" + teil + ".copy")) {
+                erzeugeCopyDaten(tabellenname, chunk, writer);
+            }
+            Logger.info("COPY-Daten für " + bezeichnung + " erzeugt");
+        } else {
+            try (Writer writer = oeffneAusgabeDatei(tabellenname + "_inserts" + teil + ".sql")) {
+                erzeugeInserts(tabellenname, chunk, writer);
+            }
+            Logger.info("INSERT-Statements für " + bezeichnung + " erzeugt");
+        }
+    }
+    
+    /**
+     * Prüft, ob eine Tabelle die Schwellwerte für die Chunk-weise Extraktion überschreitet,
+     * und teilt sie in diesem Fall in ROWID- oder Primärschlüsselbereiche auf.
+     * Grundlage sind NUM_ROWS aus USER_TABLES (Statistik) und die Segmentgröße aus USER_SEGMENTS.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Die Chunks der Tabelle oder eine leere Liste, wenn die Tabelle am Stück gelesen wird
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private List<DatenChunk> ermittleChunks(String tabellenname) throws SQLException {
+        // Tabellen der Teilmenge werden in Blöcken ihrer ausgewählten Schlüssel gelesen
+        if (teilmenge != null && teilmenge.enthaeltTabelle(tabellenname)) {
+            return DatenChunk.ermittleSchluesselChunks(teilmenge.getAuswahlSpalte(tabellenname),
+                    teilmenge.getSchluessel(tabellenname), konfiguration.getTeilmengeChunkZeilen());
+        }
+        
+        // Partitionierte Tabellen werden je Partition gelesen, jede Partition in eine eigene Datei
+        if (konfiguration.isPartitionenMigrieren() && konfiguration.getAbfrage(tabellenname) == null) {
+            SchemaModell.Partitionierung partitionierung = schemaModell.getTabelle(oracleConnection, tabellenname).getPartitionierung();
+            if (partitionierung != null && partitionierung.getPartitionen().size() > 1) {
+                List<String> partitionen = new ArrayList<>();
+                for (SchemaModell.Partition partition : partitionierung.getPartitionen()) {
+                    partitionen.add(partition.getName());
+                }
+                Logger.info("Tabelle " + tabellenname + " wird je Partition in " + partitionen.size() + " Chunks gelesen");
+                return DatenChunk.ermittlePartitionsChunks(partitionen);
+            }
+        }
+        
+        List<DatenChunk> chunks = new ArrayList<>();
+        long schwelleZeilen = konfiguration.getChunkSchwelleZeilen(tabellenname);
+        long schwelleBytes = konfiguration.getChunkSchwelleBytes(tabellenname);
+        
+        if ((schwelleZeilen <= 0 && schwelleBytes <= 0) || konfiguration.getChunkAnzahl() < 2) {
+            return chunks;
+        }
+        
+        // Eine eigene Quellabfrage hat weder ROWIDs noch Statistiken und wird am Stück gelesen
+        if (konfiguration.getAbfrage(tabellenname) != null) {
+            return chunks;
+        }
+        
+        long zeilen = 0;
+        long bytes = 0;
+        try (PreparedStatement stmt = oracleConnection.prepareStatement(
+                "SELECT NVL(t.NUM_ROWS, 0), NVL((SELECT SUM(s.BYTES) FROM USER_SEGMENTS s WHERE s.SEGMENT_NAME = t.TABLE_NAME), 0) " +
+                "FROM USER_TABLES t WHERE t.TABLE_NAME = ?")) {
+            stmt.setString(1, tabellenname.toUpperCase());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    zeilen = rs.getLong(1);
+                    bytes = rs.getLong(2);
+                }
+            }
+        }
+        
+        // Bei einer Stichprobe zählt nur der Anteil, der tatsächlich gelesen wird
+        double prozent = konfiguration.getStichprobeProzent(tabellenname);
+        if (prozent > 0) {
+            zeilen = (long) (zeilen * prozent / 100);
+            bytes = (long) (bytes * prozent / 100);
+        }
+        
+        boolean gross = (schwelleZeilen > 0 && zeilen >= schwelleZeilen) || (schwelleBytes > 0 && bytes >= schwelleBytes);
+        if (!gross) {
+            return chunks;
+        }
+        
+        int anzahl = konfiguration.getChunkAnzahl();
+        if (Konfiguration.CHUNK_METHODE_PK.equals(konfiguration.getChunkMethode())) {
+            List<String> pkSpalten = schemaModell.getTabelle(oracleConnection, tabellenname).getPkSpalten();
+            String pkSpalte = pkSpalten.size() == 1 ? pkSpalten.get(0) : null;
+            if (pkSpalte != null) {
+                chunks = DatenChunk.ermittlePkChunks(oracleConnection, ermittleQuelle(tabellenname), pkSpalte, anzahl);
+            } else {
+                Logger.warnung("Tabelle " + tabellenname + " hat keinen einspaltigen Primärschlüssel, verwende ROWID-Chunks");
+                chunks = DatenChunk.ermittleRowidChunks(oracleConnection, tabellenname, anzahl);
+            }
+        } else {
+            chunks = DatenChunk.ermittleRowidChunks(oracleConnection, tabellenname, anzahl);
+        }
+        
+        // Ein einzelner Chunk bringt keinen Vorteil gegenüber dem Lesen am Stück
+        if (chunks.size() < 2) {
+            chunks.clear();
+            return chunks;
+        }
+        
+        Logger.info("Tabelle " + tabellenname + " (" + zeilen + " Zeilen, " + (bytes / (1024 * 1024)) + " MB) wird in "
+                + chunks.size() + " Chunks gelesen");
+        return chunks;
+    }
+    
+    /**
+     * Liest die Chunks einer Tabelle parallel auf eigenen Oracle-Sitzungen und schreibt jeden Chunk
+     * in eine eigene, fortlaufend nummerierte Teildatei. Im Journal bereits abgeschlossene Chunks
+     * werden übersprungen, jeder fertige Chunk wird dort vermerkt.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @param chunks Die Chunks der Tabelle
+     * @throws SQLException Bei Datenbankfehlern
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    private void migriereDatenInChunks(String tabellenname, List<DatenChunk> chunks) throws SQLException, IOException {
+        List<DatenChunk> offeneChunks = new ArrayList<>();
+        for (DatenChunk chunk : chunks) {
+            if (!journal.isChunkAbgeschlossen(tabellenname, chunk)) {
+                offeneChunks.add(chunk);
+            }
+        }
+        if (offeneChunks.size() < chunks.size()) {
+            Logger.info("Tabelle " + tabellenname + ": " + (chunks.size() - offeneChunks.size()) + " von " + chunks.size()
+                    + " Chunks bereits abgeschlossen, setze mit den übrigen fort");
+        }
+        
+        int anzahlWorker = Math.max(1, Math.min(konfiguration.getChunkWorker(), offeneChunks.size()));
+        ExecutorService chunkPool = Executors.newFixedThreadPool(anzahlWorker);
+        List<Future<Void>> ergebnisse = new ArrayList<>();
+        
+        for (DatenChunk chunk : offeneChunks) {
+            ergebnisse.add(chunkPool.submit(() -> {
+                fuehreAufQuelleAus(tabellenname + " (" + chunk + ")", worker -> worker.schreibeDaten(tabellenname, chunk));
+                journal.chunkAbgeschlossen(tabellenname, chunk);
+                return null;
+            }));
+        }
+        chunkPool.shutdown();
+        
+        try {
+            for (Future<Void> ergebnis : ergebnisse) {
+                ergebnis.get();
+            }
+        } catch (ExecutionException e) {
+            chunkPool.shutdownNow();
+            wirfFehlerWeiter(e.getCause());
+        } catch (InterruptedException e) {
+            chunkPool.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new SQLException("Chunk-weise Extraktion von " + tabellenname + " wurde unterbrochen", e);
+        }
+        
+        Logger.info("Alle " + chunks.size() + " Chunks der Tabelle " + tabellenname + " geschrieben");
     }
     
     /**
@@ -181,308 +698,1069 @@ public class OracleToPgMigrator {
           List<String> spaltenDefinitionen = new ArrayList<>();
         List<String> ignorierteSpalten = konfiguration.getIgnorierteSpalten(tabellenname);
         
-        // Tabellendefinition aus Oracle abrufen
-        try (Statement stmt = oracleConnection.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT * FROM " + tabellenname + " WHERE 1=0")) {
+        // Tabellendefinition aus dem vorab geladenen Schema-Modell
+        SchemaModell.Tabelle tabelle = schemaModell.getTabelle(oracleConnection, tabellenname);
+        
+        // Durch alle Spalten der Tabelle bzw. der Quellabfrage gehen und CREATE TABLE-Statement erstellen
+        Set<String> exportierteSpalten = new HashSet<>();
+        for (SchemaModell.Spalte spalte : ermittleQuellSpalten(tabellenname)) {
+            String spaltenName = spalte.getName();
             
-            ResultSetMetaData metaData = rs.getMetaData();
-            int spaltenAnzahl = metaData.getColumnCount();
+            // Ignorierte Spalten überspringen
+            if (ignorierteSpalten.contains(spaltenName)) {
+                Logger.info("Spalte wird ignoriert: " + spaltenName);
+                continue;
+            }
             
-            // Zusätzliche Informationen über die Spalten holen
-            DatabaseMetaData dbMetaData = oracleConnection.getMetaData();
-            Map<String, String> spaltenInfo = new HashMap<>();
-            Map<String, String> spaltenDefaults = new HashMap<>();
-            
-            try (ResultSet columnsRs = dbMetaData.getColumns(null, null, tabellenname.toUpperCase(), null)) {
-                while (columnsRs.next()) {
-                    String spaltenName = columnsRs.getString("COLUMN_NAME");
-                    String typName = columnsRs.getString("TYPE_NAME");
-                    int spaltenSize = columnsRs.getInt("COLUMN_SIZE");
-                    int dezimalStellen = columnsRs.getInt("DECIMAL_DIGITS");
-                    String nullbar = columnsRs.getString("IS_NULLABLE");
-                    String defaultValue = columnsRs.getString("COLUMN_DEF");
-                    
-                    String oracleDatentyp = typName;
-                    if (typName.equals("NUMBER") && spaltenSize > 0) {
-                        // Spezielle Formatierung für NUMBER(1,0) zur besseren Erkennung
-                        if (spaltenSize == 1 && dezimalStellen == 0) {
-                            oracleDatentyp = "NUMBER(1,0)";
-                        } 
-                        // Normale Formatierung für andere NUMBER-Typen
-                        else if (dezimalStellen >= 0) {
-                            oracleDatentyp = "NUMBER(" + spaltenSize + "," + dezimalStellen + ")";
-                        } else {
-                            oracleDatentyp = "NUMBER(" + spaltenSize + ")";
-                        }
-                    } else if (typName.equals("VARCHAR2") || typName.equals("CHAR")) {
-                        oracleDatentyp = typName + "(" + spaltenSize + ")";
-                    }
-                    
-                    spaltenInfo.put(spaltenName, oracleDatentyp + ":" + nullbar);
-                    
-                    // Default-Werte speichern
-                    if (konfiguration.isSpaltenDefaultWerteUebertragen() && defaultValue != null && !defaultValue.trim().isEmpty()) {
-                        spaltenDefaults.put(spaltenName, defaultValue.trim());
-                    }
+            // Datentyp-Mapping durchführen
+            String postgresDatentyp = mappeOracleZuPostgresDatentyp(spalte.getOracleDatentyp(), spaltenName);
+            
+            // Spaltendefinition erstellen
+            StringBuilder spaltenDef = new StringBuilder();
+            spaltenDef.append("    ").append(spaltenName).append(" ").append(postgresDatentyp);
+            
+            // NULL/NOT NULL Constraints hinzufügen
+            if (konfiguration.isSpaltenNullConstraintsUebertragen()) {
+                if (!spalte.isNullbar()) {
+                    spaltenDef.append(" NOT NULL");
                 }
             }
             
-            // Durch alle Spalten gehen und CREATE TABLE-Statement erstellen
-            for (int i = 1; i <= spaltenAnzahl; i++) {
-                String spaltenName = metaData.getColumnName(i);
-                
-                // Ignorierte Spalten überspringen
-                if (ignorierteSpalten.contains(spaltenName)) {
-                    Logger.info("Spalte wird ignoriert: " + spaltenName);
-                    continue;
+            // Default-Werte hinzufügen
+            if (konfiguration.isSpaltenDefaultWerteUebertragen() && spalte.getDefaultWert() != null) {
+                // Oracle-Default-Werte in PostgreSQL-Format konvertieren
+                String defaultValue = konvertiereOracleDefaultZuPostgres(spalte.getDefaultWert());
+                spaltenDef.append(" DEFAULT ").append(defaultValue);
+            }
+            
+            spaltenDefinitionen.add(spaltenDef.toString());
+            exportierteSpalten.add(spaltenName);
+        }
+        
+        // Auch den Primärschlüssel hinzufügen, nicht exportierte Spalten dabei überspringen
+        List<String> pkSpalten = new ArrayList<>();
+        for (String spaltenName : tabelle.getPkSpalten()) {
+            if (exportierteSpalten.contains(spaltenName)) {
+                pkSpalten.add(spaltenName);
+            }
+        }
+        if (!pkSpalten.isEmpty()) {
+            String pkDef = "    CONSTRAINT " + tabelle.getPkName() + " PRIMARY KEY (" + String.join(", ", pkSpalten) + ")";
+            spaltenDefinitionen.add(pkDef);
+        }
+        
+        // Partitionierung übernehmen, soweit PostgreSQL sie abbilden kann
+        SchemaModell.Partitionierung partitionierung = null;
+        if (konfiguration.isPartitionenMigrieren() && tabelle.getPartitionierung() != null
+                && konfiguration.getAbfrage(tabellenname) == null) {
+            String grund = pruefePartitionierung(tabelle);
+            if (grund == null) {
+                partitionierung = tabelle.getPartitionierung();
+                Logger.info("Tabelle " + tabellenname + " wird mit " + partitionierung.getPartitionen().size()
+                        + " Partitionen (" + partitionierung.getTyp() + ") angelegt");
+                if (partitionierung.isUnterpartitioniert()) {
+                    Logger.warnung("Unterpartitionen von " + tabellenname + " werden nicht übernommen");
                 }
-                
-                String oracleDatentyp = "";
-                String nullbarkeit = "YES";
-                
-                if (spaltenInfo.containsKey(spaltenName)) {
-                    String[] teile = spaltenInfo.get(spaltenName).split(":");
-                    oracleDatentyp = teile[0];
-                    if (teile.length > 1) {
-                        nullbarkeit = teile[1];
-                    }
+            } else {
+                Logger.warnung("Tabelle " + tabellenname + " wird ohne Partitionierung angelegt, " + grund);
+            }
+        }
+        
+        // Alle Spaltendefinitionen zusammenfügen
+        createSql.append(String.join(",\n", spaltenDefinitionen));
+        createSql.append("\n)");
+        if (partitionierung != null) {
+            createSql.append(" PARTITION BY ").append(partitionierung.getTyp())
+                     .append(" (").append(String.join(", ", partitionierung.getSchluesselSpalten())).append(")");
+        }
+        createSql.append(";\n");
+        if (partitionierung != null) {
+            createSql.append(erzeugePartitionen(tabellenname, partitionierung));
+        }
+        
+        // Spalten-Kommentare hinzufügen
+        createSql.append(migriereSpaltenKommentare(tabellenname));
+        
+        return createSql.toString();
+    }
+    
+    /**
+     * Prüft, ob die Partitionierung einer Tabelle in PostgreSQL nachgebildet werden kann. PostgreSQL
+     * verlangt, dass der Primärschlüssel alle Partitionsschlüssel enthält, und partitioniert nach LIST
+     * nur über eine Spalte.
+     * 
+     * @param tabelle Die partitionierte Tabelle
+     * @return Der Grund, warum die Tabelle ohne Partitionierung angelegt wird, oder null
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private String pruefePartitionierung(SchemaModell.Tabelle tabelle) throws SQLException {
+        SchemaModell.Partitionierung partitionierung = tabelle.getPartitionierung();
+        List<String> schluessel = partitionierung.getSchluesselSpalten();
+        String typ = partitionierung.getTyp();
+        
+        if (!SchemaModell.Partitionierung.TYP_RANGE.equals(typ) && !SchemaModell.Partitionierung.TYP_LIST.equals(typ)
+                && !SchemaModell.Partitionierung.TYP_HASH.equals(typ)) {
+            return "die Partitionierungsart " + typ + " wird nicht unterstützt";
+        }
+        if (partitionierung.getPartitionen().isEmpty() || schluessel.isEmpty()) {
+            return "Partitionen oder Partitionsschlüssel nicht gefunden";
+        }
+        if (!sindSpaltenExportiert(tabelle.getName(), schluessel)) {
+            return "nicht alle Partitionsschlüssel werden exportiert";
+        }
+        if (!tabelle.getPkSpalten().isEmpty() && !tabelle.getPkSpalten().containsAll(schluessel)) {
+            return "der Primärschlüssel enthält nicht alle Partitionsschlüssel";
+        }
+        if (SchemaModell.Partitionierung.TYP_LIST.equals(typ) && schluessel.size() > 1) {
+            return "LIST-Partitionierung über mehrere Spalten";
+        }
+        return null;
+    }
+    
+    /**
+     * Gibt die Partitionierung einer Tabelle zurück, wenn sie in PostgreSQL nachgebildet wird.
+     * 
+     * @param tabelle Die Tabellendefinition
+     * @return Die Partitionierung oder null für eine ungeteilte Tabelle
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private SchemaModell.Partitionierung ermittlePartitionierung(SchemaModell.Tabelle tabelle) throws SQLException {
+        if (!konfiguration.isPartitionenMigrieren() || tabelle.getPartitionierung() == null
+                || konfiguration.getAbfrage(tabelle.getName()) != null) {
+            return null;
+        }
+        return pruefePartitionierung(tabelle) == null ? tabelle.getPartitionierung() : null;
+    }
+    
+    /**
+     * Erzeugt die Partitionen einer deklarativ partitionierten Tabelle. Eine RANGE-Partition reicht
+     * von der Grenze der vorherigen Partition (bzw. MINVALUE) bis zu ihrer eigenen, HASH-Partitionen
+     * werden über MODULUS und REMAINDER gebildet. Da Oracle und PostgreSQL unterschiedliche
+     * Hashfunktionen verwenden, verteilt PostgreSQL die Zeilen beim Laden über die Haupttabelle selbst.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @param partitionierung Die Partitionierung der Tabelle
+     * @return Die CREATE TABLE ... PARTITION OF-Statements
+     */
+    private String erzeugePartitionen(String tabellenname, SchemaModell.Partitionierung partitionierung) {
+        StringBuilder sql = new StringBuilder();
+        List<SchemaModell.Partition> partitionen = partitionierung.getPartitionen();
+        List<String> vorherigeGrenze = Collections.nCopies(partitionierung.getSchluesselSpalten().size(), "MINVALUE");
+        
+        for (int i = 0; i < partitionen.size(); i++) {
+            SchemaModell.Partition partition = partitionen.get(i);
+            sql.append("CREATE TABLE ").append(tabellenname).append('_').append(partition.getName())
+               .append(" PARTITION OF ").append(tabellenname).append(' ');
+            
+            if (SchemaModell.Partitionierung.TYP_RANGE.equals(partitionierung.getTyp())) {
+                List<String> grenze = konvertiereGrenzwerte(partition.getGrenze());
+                sql.append("FOR VALUES FROM (").append(String.join(", ", vorherigeGrenze))
+                   .append(") TO (").append(String.join(", ", grenze)).append(")");
+                vorherigeGrenze = grenze;
+            } else if (SchemaModell.Partitionierung.TYP_LIST.equals(partitionierung.getTyp())) {
+                if ("DEFAULT".equalsIgnoreCase(partition.getGrenze())) {
+                    sql.append("DEFAULT");
                 } else {
-                    // Fallback, wenn keine detaillierten Informationen verfügbar sind
-                    oracleDatentyp = metaData.getColumnTypeName(i);
-                    int precision = metaData.getPrecision(i);
-                    int scale = metaData.getScale(i);
-                    
-                    if (oracleDatentyp.equals("NUMBER") && precision > 0) {
-                        // Spezielle Formatierung für NUMBER(1,0) zur besseren Erkennung
-                        if (precision == 1 && scale == 0) {
-                            oracleDatentyp = "NUMBER(1,0)";
-                        }
-                        // Normale Formatierung für andere NUMBER-Typen
-                        else if (scale >= 0) {
-                            oracleDatentyp = "NUMBER(" + precision + "," + scale + ")";
-                        } else {
-                            oracleDatentyp = "NUMBER(" + precision + ")";
-                        }
-                    } else if (oracleDatentyp.equals("VARCHAR2") || oracleDatentyp.equals("CHAR")) {
-                        oracleDatentyp = oracleDatentyp + "(" + precision + ")";
-                    }
+                    sql.append("FOR VALUES IN (").append(String.join(", ", konvertiereGrenzwerte(partition.getGrenze()))).append(")");
                 }
+            } else {
+                sql.append("FOR VALUES WITH (MODULUS ").append(partitionen.size()).append(", REMAINDER ").append(i).append(")");
+            }
+            sql.append(";\n");
+        }
+        
+        // Oracle legt Intervall-Partitionen bei Bedarf an, in PostgreSQL fängt eine Default-Partition spätere Zeilen auf
+        if (partitionierung.isIntervall()) {
+            sql.append("CREATE TABLE ").append(tabellenname).append("_default PARTITION OF ").append(tabellenname).append(" DEFAULT;\n");
+        }
+        return sql.toString();
+    }
+    
+    /**
+     * Zerlegt eine Partitionsgrenze aus HIGH_VALUE an den Kommas zwischen den Werten und wandelt
+     * jeden Wert in ein PostgreSQL-Literal um. Kommas in Texten und Funktionsaufrufen trennen nicht.
+     * 
+     * @param grenze Die Grenze, z.B. "TO_DATE(' 2024-01-01 00:00:00', 'SYYYY-MM-DD HH24:MI:SS', ...), MAXVALUE"
+     * @return Die Werte in PostgreSQL-Schreibweise
+     */
+    private static List<String> konvertiereGrenzwerte(String grenze) {
+        List<String> werte = new ArrayList<>();
+        int tiefe = 0;
+        boolean imText = false;
+        int start = 0;
+        for (int i = 0; i < grenze.length(); i++) {
+            char c = grenze.charAt(i);
+            if (c == '\'') {
+                imText = !imText;
+            } else if (!imText && c == '(') {
+                tiefe++;
+            } else if (!imText && c == ')') {
+                tiefe--;
+            } else if (!imText && tiefe == 0 && c == ',') {
+                werte.add(konvertiereGrenzwert(grenze.substring(start, i)));
+                start = i + 1;
+            }
+        }
+        werte.add(konvertiereGrenzwert(grenze.substring(start)));
+        return werte;
+    }
+    
+    /**
+     * Wandelt einen einzelnen Grenzwert um. Datums- und Zeitwerte stehen in HIGH_VALUE als
+     * TO_DATE(' 2024-01-01 00:00:00', ...) bzw. TIMESTAMP' 2024-01-01 00:00:00' und werden zum
+     * Text-Literal; Zahlen, Texte, MAXVALUE und NULL bleiben unverändert.
+     */
+    private static String konvertiereGrenzwert(String wert) {
+        wert = wert.trim();
+        String gross = wert.toUpperCase();
+        if (gross.startsWith("TO_DATE(") || gross.startsWith("TIMESTAMP")) {
+            int anfang = wert.indexOf('\'');
+            int ende = wert.indexOf('\'', anfang + 1);
+            if (anfang >= 0 && ende > anfang) {
+                return "'" + wert.substring(anfang + 1, ende).trim() + "'";
+            }
+        }
+        return wert;
+    }
+    
+    /**
+     * Mappt einen Oracle-Datentyp zu einem PostgreSQL-Datentyp gemäß Konfiguration.
+     * 
+     * @param oracleDatentyp Der Oracle-Datentyp
+     * @return Der entsprechende PostgreSQL-Datentyp
+     */
+    private String mappeOracleZuPostgresDatentyp(String oracleDatentyp, String spaltenName) {
+        Map<String, String> mapping = konfiguration.getDatentypMapping();
+        
+        // Spezielle Behandlung für NUMBER(1,0) exakt -> BOOLEAN
+        if (oracleDatentyp.equals("NUMBER(1,0)")) {
+            return "BOOLEAN";
+        }
+        
+        // Spezielle Behandlung für NUMBER-Typen
+        if (oracleDatentyp.startsWith("NUMBER(")) {
+            // Extrahiere Precision und Scale aus NUMBER(p,s)
+            String zahlenTeil = oracleDatentyp.substring(7, oracleDatentyp.length() - 1);
+            String[] teile = zahlenTeil.split(",");
+            
+            if (teile.length >= 2) {
+                try {
+                    int precision = Integer.parseInt(teile[0].trim());
+                    int scale = Integer.parseInt(teile[1].trim());
+                    
+                    // NUMBER(1,0) -> BOOLEAN (spezifisch) - Fallback, falls exakte Übereinstimmung nicht greift
+                    if (precision == 1 && scale == 0) {
+                        return "BOOLEAN";
+                    }
+                    
+                    // Alle anderen NUMBER-Felder mit Scale 0 -> BIGINT
+                    if (scale == 0) {
+                        return "BIGINT";
+                    }
+                    
+                    // NUMBER-Felder mit Dezimalstellen -> NUMERIC
+                    return "NUMERIC";
+                    
+                } catch (NumberFormatException e) {
+                    Logger.info("Fehler beim Parsen von NUMBER-Typ: " + oracleDatentyp);
+                }
+            }
+            
+            // Für NUMBER(p) ohne Scale - behandle als Scale 0
+            if (teile.length == 1) {
+                // Alle NUMBER(p) -> BIGINT
+                return "BIGINT";
+            }
+        }
+        
+        // Behandle einfaches NUMBER ohne Klammern
+        if (oracleDatentyp.equals("NUMBER")) {
+            return "BIGINT";
+        }
+        
+        // Exakte Übereinstimmung aus Properties prüfen
+        if (mapping.containsKey(oracleDatentyp)) {
+            return mapping.get(oracleDatentyp);
+        }
+        
+        // Standardmappings für andere Typen
+        if (oracleDatentyp.startsWith("VARCHAR2")) {
+            return "VARCHAR" + oracleDatentyp.substring(7); // VARCHAR2(n) -> VARCHAR(n)
+        } else if (oracleDatentyp.startsWith("CHAR")) {
+            return oracleDatentyp; // CHAR(n) bleibt CHAR(n)
+        }
+        
+        // Fallback für nicht erkannte Typen
+        Logger.info("Unbekannter Datentyp: " + oracleDatentyp + ", verwende TEXT als Standard");
+        return "TEXT";
+    }
+    
+    /**
+     * Prüft vor dem Festlegen des Snapshots, ob die Undo-Daten die geplante Laufzeit überdauern.
+     * Maßgeblich ist die von Oracle aktuell erreichte Aufbewahrungszeit (TUNED_UNDORETENTION),
+     * ersatzweise der Parameter UNDO_RETENTION. Beim Fortsetzen mit der SCN aus dem Journal zählt
+     * deren bisheriges Alter zur geplanten Laufzeit hinzu.
+     * 
+     * @param scn Die SCN aus dem Journal oder 0 für einen neuen Snapshot
+     * @throws SQLException Wenn die Aufbewahrungszeit kürzer als die geplante Laufzeit ist oder die
+     *                      SCN aus dem Journal nicht mehr gelesen werden kann
+     */
+    private void pruefeUndoRetention(long scn) throws SQLException {
+        long geplantSekunden = konfiguration.getSnapshotLaufzeitMinuten() * 60L;
+        long alterSekunden = scn > 0 ? ermittleScnAlter(scn) : 0;
+        long retentionSekunden;
+        
+        String sql = "SELECT (SELECT MAX(TUNED_UNDORETENTION) KEEP (DENSE_RANK LAST ORDER BY END_TIME) FROM V$UNDOSTAT), " +
+                     "(SELECT TO_NUMBER(VALUE) FROM V$PARAMETER WHERE NAME = 'undo_retention') FROM DUAL";
+        try (Statement stmt = oracleConnection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            retentionSekunden = rs.getLong(1);
+            if (rs.wasNull()) {
+                retentionSekunden = rs.getLong(2);
+            }
+        } catch (SQLException e) {
+            Logger.warnung("Undo-Aufbewahrungszeit konnte nicht geprüft werden (" + e.getMessage()
+                    + "), Snapshot wird ohne Prüfung verwendet");
+            return;
+        }
+        
+        if (retentionSekunden < alterSekunden + geplantSekunden) {
+            throw new SQLException("Snapshot nicht möglich: Die Undo-Aufbewahrungszeit beträgt nur " + retentionSekunden
+                    + " Sekunden, geplant sind " + geplantSekunden + " Sekunden (snapshot.laufzeit.minuten)"
+                    + (alterSekunden > 0 ? " ab der " + alterSekunden + " Sekunden alten SCN aus dem Journal" : "") + ". "
+                    + "Spätere Abfragen würden mit ORA-01555 (snapshot too old) abbrechen. "
+                    + "UNDO_RETENTION erhöhen oder die Migration in kürzere Läufe aufteilen.");
+        }
+        Logger.info("Undo-Aufbewahrungszeit " + retentionSekunden + " Sekunden reicht für die geplante Laufzeit");
+    }
+    
+    /**
+     * Ermittelt, vor wie vielen Sekunden eine SCN erreicht wurde. Kann Oracle die SCN keinem
+     * Zeitpunkt mehr zuordnen (ORA-08181), liegt sie außerhalb der Undo-Daten.
+     * 
+     * @param scn Die SCN
+     * @return Das Alter in Sekunden
+     * @throws SQLException Wenn die SCN nicht mehr gelesen werden kann
+     */
+    private long ermittleScnAlter(long scn) throws SQLException {
+        String sql = "SELECT ROUND((CAST(SYSTIMESTAMP AS DATE) - CAST(SCN_TO_TIMESTAMP(?) AS DATE)) * 86400) FROM DUAL";
+        try (PreparedStatement stmt = oracleConnection.prepareStatement(sql)) {
+            stmt.setLong(1, scn);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return Math.max(0, rs.getLong(1));
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Die Snapshot-SCN " + scn + " aus dem Journal kann nicht mehr gelesen werden ("
+                    + e.getMessage() + "). Migration ohne --resume neu beginnen.", e);
+        }
+    }
+    
+    /**
+     * Prüft die Quellabfrage einer Tabelle (tabelle.X.query) auf den SCN-Platzhalter. Im
+     * Snapshot-Modus muss die Abfrage ihn enthalten (z.B. FROM KUNDEN AS OF SCN {SCN}), damit sie
+     * auf demselben Stand wie alle übrigen Tabellen liest; ohne Snapshot ist er nicht erlaubt.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @throws SQLException Wenn die Abfrage nicht zum Snapshot-Modus passt
+     */
+    private void pruefeQuellabfrage(String tabellenname) throws SQLException {
+        String abfrage = konfiguration.getAbfrage(tabellenname);
+        if (abfrage == null) {
+            return;
+        }
+        if (snapshotScn > 0 && !abfrage.contains(SCN_PLATZHALTER)) {
+            throw new SQLException("Die Quellabfrage für " + tabellenname + " würde nicht auf der Snapshot-SCN lesen: "
+                    + "AS OF SCN " + SCN_PLATZHALTER + " nach jeder Tabelle der Abfrage angeben");
+        }
+        if (snapshotScn == 0 && abfrage.contains(SCN_PLATZHALTER)) {
+            throw new SQLException("Die Quellabfrage für " + tabellenname + " enthält " + SCN_PLATZHALTER
+                    + ", der Platzhalter wird nur im Snapshot-Modus (snapshot=true) ersetzt");
+        }
+    }
+    
+    /**
+     * Gibt die Quellabfrage einer Tabelle zurück, im Snapshot-Modus mit eingesetzter SCN.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Das SELECT-Statement oder null
+     */
+    private String ermittleAbfrage(String tabellenname) {
+        String abfrage = konfiguration.getAbfrage(tabellenname);
+        if (abfrage == null || snapshotScn == 0) {
+            return abfrage;
+        }
+        return abfrage.replace(SCN_PLATZHALTER, String.valueOf(snapshotScn));
+    }
+    
+    /**
+     * Ermittelt die aktuelle SCN der Datenbank, z.B. als Lesezeitpunkt des Snapshots.
+     * 
+     * @return Die SCN
+     * @throws SQLException Bei Datenbankfehlern oder fehlendem Ausführungsrecht auf DBMS_FLASHBACK
+     */
+    private long ermittleAktuelleScn() throws SQLException {
+        try (Statement stmt = oracleConnection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT DBMS_FLASHBACK.GET_SYSTEM_CHANGE_NUMBER FROM DUAL")) {
+            rs.next();
+            return rs.getLong(1);
+        } catch (SQLException e) {
+            throw new SQLException("Aktuelle SCN konnte nicht ermittelt werden "
+                    + "(EXECUTE-Recht auf DBMS_FLASHBACK erforderlich): " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Bestimmt für eine inkrementell exportierte Tabelle den Bereich seit der letzten Hochwassermarke.
+     * Die obere Grenze wird vor dem Export festgelegt, damit währenddessen geänderte Zeilen
+     * vollständig im nächsten Lauf landen.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Der Exportbereich oder null, wenn die Tabelle vollständig exportiert wird
+     * @throws SQLException Bei Datenbankfehlern oder einer unbekannten Änderungsspalte
+     */
+    private Hochwassermarken.Bereich ermittleInkrementBereich(String tabellenname) throws SQLException {
+        String spalte = konfiguration.getInkrementSpalte(tabellenname);
+        if (spalte == null) {
+            return null;
+        }
+        
+        SchemaModell.Tabelle tabelle = schemaModell.getTabelle(oracleConnection, tabellenname);
+        if (tabelle.getPkSpalten().isEmpty()) {
+            Logger.warnung("Tabelle " + tabellenname + " hat keinen Primärschlüssel für das Upsert, sie wird vollständig exportiert");
+            return null;
+        }
+        
+        Object bis;
+        if (spalte.equalsIgnoreCase("ORA_ROWSCN")) {
+            bis = BigDecimal.valueOf(snapshotScn > 0 ? snapshotScn : ermittleAktuelleScn());
+        } else {
+            SchemaModell.Spalte aenderungsSpalte = tabelle.getSpalte(spalte);
+            if (aenderungsSpalte == null) {
+                throw new SQLException("Änderungsspalte " + spalte + " existiert nicht in Tabelle " + tabellenname);
+            }
+            
+            try (Statement stmt = oracleConnection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT MAX(" + spalte + ") FROM " + ermittleQuelle(tabellenname))) {
+                rs.next();
+                String datenTyp = aenderungsSpalte.getDatenTyp();
+                if (datenTyp.equals("DATE") || datenTyp.startsWith("TIMESTAMP")) {
+                    bis = rs.getTimestamp(1);
+                } else if (datenTyp.equals("NUMBER") || datenTyp.equals("FLOAT")) {
+                    bis = rs.getBigDecimal(1);
+                } else {
+                    bis = rs.getString(1);
+                }
+            }
+        }
+        
+        Hochwassermarken.Bereich bereich = new Hochwassermarken.Bereich(spalte, hochwassermarken.getMarke(tabellenname), bis);
+        Logger.info("Inkrementeller Export von " + tabellenname + ": " + bereich);
+        return bereich;
+    }
+    
+    /**
+     * Erzeugt die ON CONFLICT-Klausel für das Upsert über den Primärschlüssel.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @param spaltenListe Die exportierten Spalten
+     * @return Die Klausel mit führendem Zeilenumbruch
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private String erzeugeUpsertKlausel(String tabellenname, List<String> spaltenListe) throws SQLException {
+        List<String> pkSpalten = schemaModell.getTabelle(oracleConnection, tabellenname).getPkSpalten();
+        List<String> zuweisungen = new ArrayList<>();
+        for (String spaltenName : spaltenListe) {
+            if (!pkSpalten.contains(spaltenName)) {
+                zuweisungen.add(spaltenName + " = EXCLUDED." + spaltenName);
+            }
+        }
+        
+        String klausel = "\nON CONFLICT (" + String.join(", ", pkSpalten) + ") DO ";
+        return zuweisungen.isEmpty() ? klausel + "NOTHING" : klausel + "UPDATE SET " + String.join(", ", zuweisungen);
+    }
+    
+    /**
+     * Gibt den FROM-Ausdruck für die Daten einer Tabelle zurück, im Snapshot-Modus mit AS OF SCN.
+     * Ist eine eigene Quellabfrage konfiguriert, wird sie als Inline-View gelesen.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Der Tabellenname, ggf. mit Flashback-Klausel, oder die Quellabfrage in Klammern
+     */
+    private String ermittleQuelle(String tabellenname) {
+        return ermittleQuelle(tabellenname, "");
+    }
+    
+    /**
+     * Gibt den FROM-Ausdruck für die Daten einer Tabelle mit Partitions- und Stichproben-Klausel zurück.
+     * Oracle erwartet PARTITION und SAMPLE in dieser Reihenfolge direkt nach dem Tabellennamen und vor AS OF SCN.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @param zusatz Die PARTITION- und SAMPLE-Klausel mit führendem Leerzeichen oder ""
+     * @return Der FROM-Ausdruck
+     */
+    private String ermittleQuelle(String tabellenname, String zusatz) {
+        String abfrage = ermittleAbfrage(tabellenname);
+        if (abfrage != null) {
+            return "(" + abfrage + ")";
+        }
+        return snapshotScn > 0 ? tabellenname + zusatz + " AS OF SCN " + snapshotScn : tabellenname + zusatz;
+    }
+    
+    /**
+     * Gibt die Stichproben-Klausel für die Datenabfrage einer Tabelle zurück. SAMPLE BLOCK liest
+     * nur den Anteil der Blöcke und ist damit deutlich schneller, SAMPLE verteilt die Zeilen
+     * gleichmäßiger. Mit festem SEED liefert jeder Lauf dieselbe Stichprobe. Chunk-Planung und
+     * Hochwassermarken lesen weiterhin die ganze Tabelle.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Die Klausel mit führendem Leerzeichen oder "" für einen vollständigen Export
+     */
+    private String ermittleStichprobe(String tabellenname) {
+        double prozent = konfiguration.getStichprobeProzent(tabellenname);
+        if (prozent <= 0 || konfiguration.getAbfrage(tabellenname) != null
+                || (teilmenge != null && teilmenge.enthaeltTabelle(tabellenname))) {
+            return "";
+        }
+        
+        String klausel = Konfiguration.STICHPROBE_METHODE_BLOCK.equals(konfiguration.getStichprobeMethode(tabellenname))
+                ? " SAMPLE BLOCK (" : " SAMPLE (";
+        klausel += BigDecimal.valueOf(prozent).stripTrailingZeros().toPlainString() + ")";
+        Long seed = konfiguration.getStichprobeSeed();
+        return seed != null ? klausel + " SEED (" + seed + ")" : klausel;
+    }
+    
+    /**
+     * Ermittelt die Spalten, die die Quelle einer Tabelle liefert: die Spalten der Tabelle oder
+     * die Projektion der eigenen Quellabfrage. Spalten der Abfrage, die mit gleichem Namen und Typ
+     * in der Tabelle vorkommen, übernehmen deren Definition samt Default-Wert und Kommentar.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Die Spalten in der Reihenfolge der Quelle
+     * @throws SQLException Bei Datenbankfehlern, z.B. einer ungültigen Quellabfrage
+     */
+    private List<SchemaModell.Spalte> ermittleQuellSpalten(String tabellenname) throws SQLException {
+        SchemaModell.Tabelle tabelle = schemaModell.getTabelle(oracleConnection, tabellenname);
+        String abfrage = ermittleAbfrage(tabellenname);
+        if (abfrage == null) {
+            return tabelle.getSpalten();
+        }
+        
+        List<SchemaModell.Spalte> projektion = abfrageProjektionen.get(tabellenname.toUpperCase());
+        if (projektion != null) {
+            return projektion;
+        }
+        
+        // Die Abfrage nur beschreiben lassen, ohne Zeilen zu lesen
+        projektion = new ArrayList<>();
+        try (Statement stmt = oracleConnection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM (" + abfrage + ") WHERE 1 = 0")) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                SchemaModell.Spalte spalte = tabelle.getSpalte(metaData.getColumnName(i).toUpperCase());
+                if (spalte == null || !spalte.getDatenTyp().startsWith(metaData.getColumnTypeName(i))) {
+                    spalte = SchemaModell.Spalte.ausAbfrage(metaData, i);
+                }
+                projektion.add(spalte);
+            }
+        }
+        
+        Logger.info("Quellabfrage für " + tabellenname + " liefert " + projektion.size() + " Spalten");
+        abfrageProjektionen.put(tabellenname.toUpperCase(), projektion);
+        return projektion;
+    }
+    
+    /**
+     * Ermittelt die exportierten Spalten einer Tabelle: die Spalten der Quelle ohne die ignorierten Spalten.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Die exportierten Spalten in der Reihenfolge der Quelle
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private List<SchemaModell.Spalte> ermittleSpalten(String tabellenname) throws SQLException {
+        List<String> ignorierteSpalten = konfiguration.getIgnorierteSpalten(tabellenname);
+        List<SchemaModell.Spalte> spalten = new ArrayList<>();
+        for (SchemaModell.Spalte spalte : ermittleQuellSpalten(tabellenname)) {
+            if (!ignorierteSpalten.contains(spalte.getName())) {
+                spalten.add(spalte);
+            }
+        }
+        return spalten;
+    }
+    
+    /**
+     * Prüft, ob alle angegebenen Spalten einer Tabelle exportiert werden. Indizes und Constraints
+     * auf ignorierten oder von der Quellabfrage nicht gelieferten Spalten werden nicht übernommen.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @param spaltenNamen Die Spalten des Index oder Constraints
+     * @return true, wenn alle Spalten in der Zieltabelle vorhanden sind
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private boolean sindSpaltenExportiert(String tabellenname, List<String> spaltenNamen) throws SQLException {
+        if (konfiguration.getAbfrage(tabellenname) == null && konfiguration.getIgnorierteSpalten(tabellenname).isEmpty()) {
+            return true;
+        }
+        
+        Set<String> exportierteSpalten = new HashSet<>();
+        for (SchemaModell.Spalte spalte : ermittleSpalten(tabellenname)) {
+            exportierteSpalten.add(spalte.getName());
+        }
+        return exportierteSpalten.containsAll(spaltenNamen);
+    }
+    
+    /**
+     * Ermittelt die Spaltenliste für die Datenabfrage einer Tabelle ohne die ignorierten Spalten.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Die Spaltenliste für das SELECT ("*", wenn keine Spalten ignoriert werden)
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private String ermittleAbfrageSpalten(String tabellenname) throws SQLException {
+        if (konfiguration.getIgnorierteSpalten(tabellenname).isEmpty()) {
+            return "*";
+        }
+        
+        // Spaltennamen, die nicht ignoriert werden sollen, aus der Quelle
+        List<String> gewünschteSpalten = new ArrayList<>();
+        for (SchemaModell.Spalte spalte : ermittleSpalten(tabellenname)) {
+            gewünschteSpalten.add(spalte.getName());
+        }
+        return String.join(", ", gewünschteSpalten);
+    }
+    
+    /**
+     * Ermittelt den Optimizer-Hint für die Datenabfrage einer Tabelle oder eines Chunks. Ein
+     * konfigurierter Hint gilt unverändert. Sonst erhalten große Tabellen, die am Stück gelesen
+     * werden, einen PARALLEL-Hint mit einem Grad nach ihrer Segmentgröße. Chunks werden bereits
+     * auf mehreren Sitzungen gelesen und bekommen keinen automatischen Hint.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @param chunk Der zu lesende Chunk oder null für die ganze Tabelle
+     * @return Der Hint ohne Kommentarzeichen oder null
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private String ermittleHint(String tabellenname, DatenChunk chunk) throws SQLException {
+        String hint = konfiguration.getHint(tabellenname);
+        if (hint != null || chunk != null || konfiguration.getHintParallelAbBytes() <= 0) {
+            return hint;
+        }
+        
+        long bytes = 0;
+        try (PreparedStatement stmt = oracleConnection.prepareStatement(
+                "SELECT NVL(SUM(BYTES), 0) FROM USER_SEGMENTS WHERE SEGMENT_NAME = ?")) {
+            stmt.setString(1, tabellenname.toUpperCase());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    bytes = rs.getLong(1);
+                }
+            }
+        }
+        if (bytes < konfiguration.getHintParallelAbBytes()) {
+            return null;
+        }
+        
+        // Ein Parallel-Server je angefangenem Block von hint.parallel.mb.je.server, mindestens 2
+        long bytesJeServer = konfiguration.getHintParallelBytesJeServer();
+        long grad = Math.max(2, Math.min(konfiguration.getHintParallelMax(), (bytes + bytesJeServer - 1) / bytesJeServer));
+        Logger.info("Parallelitätsgrad für " + tabellenname + " automatisch ermittelt: " + grad
+                + " (Segment " + bytes / (1024 * 1024) + " MB)");
+        return "PARALLEL(" + grad + ")";
+    }
+    
+    /**
+     * Beschreibt Dauer und Durchsatz einer Datenabfrage für das Protokoll, zusammen mit dem
+     * verwendeten Hint, damit dessen Wirkung zwischen zwei Läufen verglichen werden kann.
+     * 
+     * @param zeilen Die Anzahl gelesener Zeilen
+     * @param startNanos Der Zeitpunkt vor dem Ausführen der Abfrage (System.nanoTime)
+     * @param hint Der verwendete Hint oder null
+     * @return Die Beschreibung mit führendem Leerzeichen
+     */
+    private static String beschreibeDurchsatz(long zeilen, long startNanos, String hint) {
+        double sekunden = Math.max(1, System.nanoTime() - startNanos) / 1e9;
+        return String.format(" in %.1f s (%d Zeilen/s, Hint: %s)", sekunden, (long) (zeilen / sekunden),
+                hint != null ? hint : "keiner");
+    }
+    
+    /**
+     * Erstellt die Abfrage für die Daten einer Tabelle oder eines Chunks, bei inkrementellem
+     * Export beschränkt auf den Bereich seit der letzten Hochwassermarke. Ein konfigurierter
+     * Zeilenfilter wird mit AND angehängt und damit bereits in Oracle ausgewertet.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @param chunk Der zu lesende Chunk oder null für die ganze Tabelle
+     * @param hint Der Optimizer-Hint ohne Kommentarzeichen oder null
+     * @return Das vorbereitete Statement mit gebundenen Chunk- und Bereichsgrenzen
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private PreparedStatement erstelleDatenAbfrage(String tabellenname, DatenChunk chunk, String hint) throws SQLException {
+        Hochwassermarken.Bereich bereich = inkrementBereiche.get(tabellenname.toUpperCase());
+        
+        // Bedingungen mit Bind-Parametern zuerst, damit deren Reihenfolge fest bleibt
+        List<String> bedingungen = new ArrayList<>();
+        if (chunk != null && chunk.getBedingung() != null) {
+            bedingungen.add(chunk.getBedingung());
+        }
+        if (bereich != null) {
+            bedingungen.add(bereich.getBedingung());
+        }
+        // In der Teilmenge gilt der Filter nur für die Auswahl der Wurzelzeilen
+        String filter = konfiguration.getFilter(tabellenname);
+        if (filter != null && (teilmenge == null || !teilmenge.enthaeltTabelle(tabellenname))) {
+            bedingungen.add(filter);
+        }
+        
+        String sql = "SELECT " + (hint != null ? "/*+ " + hint + " */ " : "") + ermittleAbfrageSpalten(tabellenname) + " FROM "
+                + ermittleQuelle(tabellenname, (chunk != null && chunk.getPartition() != null
+                        ? " PARTITION (\"" + chunk.getPartition() + "\")" : "") + ermittleStichprobe(tabellenname));
+        if (bedingungen.size() == 1) {
+            sql += " WHERE " + bedingungen.get(0);
+        } else if (!bedingungen.isEmpty()) {
+            sql += " WHERE (" + String.join(") AND (", bedingungen) + ")";
+        }
+        
+        // Fetch-Size und LOB-Prefetch bestimmen die Anzahl der Roundtrips beim Lesen
+        int fetchSize = ermittleFetchSize(tabellenname);
+        int lobPrefetch = konfiguration.getLobPrefetch(tabellenname);
+        
+        PreparedStatement stmt = oracleConnection.prepareStatement(sql);
+        try {
+            if (chunk != null) {
+                chunk.bindeParameter(stmt);
+            }
+            if (bereich != null) {
+                bereich.bindeParameter(stmt, chunk != null ? chunk.getParameterAnzahl() + 1 : 1);
+            }
+            if (fetchSize > 0) {
+                stmt.setFetchSize(fetchSize);
+            }
+            if (lobPrefetch > 0) {
+                setzeLobPrefetch(stmt, lobPrefetch);
+            }
+            if (konfiguration.isOracleTypisiertLesen()) {
+                definiereSpaltentypen(stmt, tabellenname);
+            }
+            return stmt;
+        } catch (SQLException | RuntimeException e) {
+            // Das Statement gehört noch niemandem und würde sonst den Cursor offen halten
+            try {
+                stmt.close();
+            } catch (SQLException schliessFehler) {
+                e.addSuppressed(schliessFehler);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Ermittelt die Fetch-Size für die Datenabfrage einer Tabelle. Im Modus "auto" wird sie aus
+     * AVG_ROW_LEN in USER_TABLES so gewählt, dass ein Roundtrip etwa die konfigurierte Zielgröße überträgt.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @return Die Fetch-Size oder 0 für den Standardwert des Treibers
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private int ermittleFetchSize(String tabellenname) throws SQLException {
+        int fetchSize = konfiguration.getFetchSize(tabellenname);
+        if (fetchSize != Konfiguration.FETCHSIZE_AUTO) {
+            return fetchSize;
+        }
+        
+        long zeilenLaenge = 0;
+        try (PreparedStatement stmt = oracleConnection.prepareStatement(
+                "SELECT NVL(AVG_ROW_LEN, 0) FROM USER_TABLES WHERE TABLE_NAME = ?")) {
+            stmt.setString(1, tabellenname.toUpperCase());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    zeilenLaenge = rs.getLong(1);
+                }
+            }
+        }
+        
+        if (zeilenLaenge <= 0) {
+            Logger.info("Keine Statistik (AVG_ROW_LEN) für " + tabellenname + ", verwende Fetch-Size " + FETCHSIZE_OHNE_STATISTIK);
+            return FETCHSIZE_OHNE_STATISTIK;
+        }
+        
+        long berechnet = konfiguration.getFetchSizeZielBytes() / zeilenLaenge;
+        int ergebnis = (int) Math.max(FETCHSIZE_MIN, Math.min(FETCHSIZE_MAX, berechnet));
+        Logger.info("Fetch-Size für " + tabellenname + " automatisch ermittelt: " + ergebnis + " (AVG_ROW_LEN " + zeilenLaenge + " Bytes)");
+        return ergebnis;
+    }
+    
+    /**
+     * Setzt die LOB-Prefetch-Größe über die Oracle-Erweiterung des Statements. Der Treiber wird per
+     * Reflection angesprochen, damit zur Übersetzung kein Oracle-JDBC-Treiber benötigt wird.
+     * 
+     * @param stmt Das Statement der Datenabfrage
+     * @param groesse Die Anzahl der LOB-Bytes, die mit der Zeile übertragen werden
+     */
+    private static void setzeLobPrefetch(Statement stmt, int groesse) {
+        try {
+            Class<?> oracleStatement = Class.forName("oracle.jdbc.OracleStatement");
+            Object ziel = stmt.unwrap(oracleStatement);
+            oracleStatement.getMethod("setLobPrefetchSize", int.class).invoke(ziel, groesse);
+        } catch (Exception e) {
+            if (!lobPrefetchWarnungAusgegeben) {
+                lobPrefetchWarnungAusgegeben = true;
+                Logger.warnung("LOB-Prefetch wird vom JDBC-Treiber nicht unterstützt: " + e);
+            }
+        }
+    }
+    
+    /**
+     * Legt für ganzzahlige NUMBER-Spalten (Genauigkeit bis 18) über die Oracle-Erweiterung
+     * defineColumnType fest, dass der Treiber sie als INTEGER bzw. BIGINT liefert. Die Spalten werden
+     * dafür nur bei der ersten Abfrage einer Tabelle vor der Ausführung beschrieben, alle weiteren
+     * Chunks verwenden das Ergebnis ohne zusätzlichen Roundtrip. Der Treiber wird wie beim
+     * LOB-Prefetch per Reflection angesprochen.
+     * 
+     * @param stmt Das Statement der Datenabfrage, noch nicht ausgeführt
+     * @param tabellenname Der Name der Tabelle
+     */
+    private void definiereSpaltentypen(PreparedStatement stmt, String tabellenname) {
+        try {
+            Class<?> oracleStatement = Class.forName("oracle.jdbc.OracleStatement");
+            Object ziel = stmt.unwrap(oracleStatement);
+            Method definiere = oracleStatement.getMethod("defineColumnType", int.class, int.class);
+            
+            int[] typen = festgelegteSpaltentypen.get(tabellenname.toUpperCase());
+            if (typen == null) {
+                ResultSetMetaData metaData = stmt.getMetaData();
+                typen = new int[metaData.getColumnCount() + 1];
+                for (int i = 1; i < typen.length; i++) {
+                    if (ZeilenKodierer.istGanzzahl(metaData, i)) {
+                        typen[i] = metaData.getPrecision(i) <= 9 ? Types.INTEGER : Types.BIGINT;
+                    }
+                }
+                festgelegteSpaltentypen.put(tabellenname.toUpperCase(), typen);
+            }
+            for (int i = 1; i < typen.length; i++) {
+                if (typen[i] != 0) {
+                    definiere.invoke(ziel, i, typen[i]);
+                }
+            }
+        } catch (Exception e) {
+            if (!spaltentypenWarnungAusgegeben) {
+                spaltentypenWarnungAusgegeben = true;
+                Logger.warnung("Spaltentypen können beim JDBC-Treiber nicht festgelegt werden: " + e);
+            }
+        }
+    }
+    
+    /**
+     * Erzeugt INSERT-Statements für die Daten einer Tabelle und schreibt sie
+     * zeilenweise in den übergebenen Writer, ohne die Tabelle im Speicher aufzubauen.
+     * 
+     * @param tabellenname Der Name der Tabelle
+     * @param chunk Der zu lesende Chunk oder null für die ganze Tabelle
+     * @param writer Der Writer, in den die INSERT-Statements geschrieben werden
+     * @throws SQLException Bei Datenbankfehlern
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    private void erzeugeInserts(String tabellenname, DatenChunk chunk, Writer writer) throws SQLException, IOException {
+        String hint = ermittleHint(tabellenname, chunk);
+        long start = System.nanoTime();
+        try (PreparedStatement stmt = erstelleDatenAbfrage(tabellenname, chunk, hint);
+             ResultSet rs = stmt.executeQuery();
+             Drossel.Leser drosselLeser = drossel.oeffneLeser(stmt.getFetchSize())) {
+            
+            ResultSetMetaData metaData = rs.getMetaData();
+            int spaltenAnzahl = metaData.getColumnCount();
+            
+            // Liste der Spaltennamen für die INSERT-Statements erstellen
+            List<String> spaltenListe = new ArrayList<>();
+            String[] spaltentypen = new String[spaltenAnzahl + 1];
+            
+            for (int i = 1; i <= spaltenAnzahl; i++) {
+                String spaltenName = metaData.getColumnName(i);
+                spaltenListe.add(spaltenName);
+                spaltentypen[i] = metaData.getColumnTypeName(i);
+            }
+            
+            String statementKopf = "INSERT INTO " + tabellenname + " (" + String.join(", ", spaltenListe) + ") VALUES";
+            
+            // LOB- und LONG-Spalten werden beim Schreiben der Zeile gestreamt, große Werte ggf. ausgelagert
+            LobLeser lobLeser = erstelleLobLeser(metaData, false, tabellenname, chunk);
+            
+            // Inkrementelle Exporte als Upsert über den Primärschlüssel
+            String statementEnde = inkrementBereiche.containsKey(tabellenname.toUpperCase())
+                    ? erzeugeUpsertKlausel(tabellenname, spaltenListe) + ";\n"
+                    : ";\n";
+            
+            // Mehrere Zeilen je Statement zusammenfassen, begrenzt durch Zeilenzahl und Größe
+            int batchZeilen = konfiguration.getInsertBatchZeilen(tabellenname);
+            long batchMaxGroesse = konfiguration.getInsertBatchMaxGroesse();
+            int zeilenImBatch = 0;
+            long batchGroesse = 0;
+            
+            // Puffer für genau eine Zeile, wird für jede Zeile wiederverwendet
+            StringBuilder zeile = new StringBuilder(256);
+            ZeilenKodierer kodierer = erstelleKodierer(metaData, spaltentypen, lobLeser, false);
+            
+            // INSERT-Statements für jede Zeile erstellen
+            int zeilenZähler = 0;
+            while (drosselLeser.naechsteZeile(rs)) {
+                zeile.setLength(0);
+                zeile.append('(');
                 
-                // Datentyp-Mapping durchführen
-                String postgresDatentyp = mappeOracleZuPostgresDatentyp(oracleDatentyp, spaltenName);
+                kodierer.kodiere(rs, zeile);
                 
-                // Spaltendefinition erstellen
-                StringBuilder spaltenDef = new StringBuilder();
-                spaltenDef.append("    ").append(spaltenName).append(" ").append(postgresDatentyp);
+                zeile.append(')');
+                long zeilenLaenge = zeile.length() + lobLeser.getZusatzLaenge();
                 
-                // NULL/NOT NULL Constraints hinzufügen
-                if (konfiguration.isSpaltenNullConstraintsUebertragen()) {
-                    if (nullbarkeit.equals("NO")) {
-                        spaltenDef.append(" NOT NULL");
-                    }
+                // Laufendes Statement abschließen, wenn eine der Grenzen erreicht ist
+                if (zeilenImBatch > 0 && (zeilenImBatch >= batchZeilen || batchGroesse + zeilenLaenge > batchMaxGroesse)) {
+                    writer.write(statementEnde);
+                    zeilenImBatch = 0;
                 }
                 
-                // Default-Werte hinzufügen
-                if (konfiguration.isSpaltenDefaultWerteUebertragen() && spaltenDefaults.containsKey(spaltenName)) {
-                    String defaultValue = spaltenDefaults.get(spaltenName);
-                    // Oracle-Default-Werte in PostgreSQL-Format konvertieren
-                    defaultValue = konvertiereOracleDefaultZuPostgres(defaultValue);
-                    spaltenDef.append(" DEFAULT ").append(defaultValue);
+                if (zeilenImBatch == 0) {
+                    writer.write(statementKopf);
+                    writer.write(batchZeilen > 1 ? "\n" : " ");
+                    batchGroesse = statementKopf.length() + statementEnde.length();
+                } else {
+                    writer.write(",\n");
                 }
                 
-                spaltenDefinitionen.add(spaltenDef.toString());
-            }
-        }
-        
-        // Auch die Primärschlüssel hinzufügen
-        try (ResultSet pkRs = oracleConnection.getMetaData().getPrimaryKeys(null, null, tabellenname.toUpperCase())) {
-            Map<String, List<String>> primärschlüssel = new HashMap<>();
-            
-            while (pkRs.next()) {
-                String pkName = pkRs.getString("PK_NAME");
-                String spaltenName = pkRs.getString("COLUMN_NAME");
-                
-                // Ignorierte Spalten auch beim Primärschlüssel überspringen
-                if (ignorierteSpalten.contains(spaltenName)) {
-                    continue;
+                if (lobLeser.hatLobs()) {
+                    lobLeser.schreibeZeile(zeile, writer, zeilenZähler + 1);
+                } else {
+                    writer.append(zeile);
                 }
+                batchGroesse += zeilenLaenge + 2;
+                zeilenImBatch++;
+                
+                drosselLeser.zeileGelesen(zeilenLaenge);
                 
-                if (!primärschlüssel.containsKey(pkName)) {
-                    primärschlüssel.put(pkName, new ArrayList<>());
+                zeilenZähler++;
+                if (zeilenZähler % 1000 == 0) {
+                    Logger.info("Verarbeite Zeile " + zeilenZähler + " für Tabelle " + tabellenname);
                 }
-                primärschlüssel.get(pkName).add(spaltenName);
             }
             
-            // Primärschlüsseldefinitionen hinzufügen
-            for (String pkName : primärschlüssel.keySet()) {
-                List<String> pkSpalten = primärschlüssel.get(pkName);
-                if (!pkSpalten.isEmpty()) {
-                    String pkDef = "    CONSTRAINT " + pkName + " PRIMARY KEY (" + String.join(", ", pkSpalten) + ")";
-                    spaltenDefinitionen.add(pkDef);
-                }
+            if (zeilenImBatch > 0) {
+                writer.write(statementEnde);
             }
+            
+            Logger.info("Insgesamt " + zeilenZähler + " Zeilen für Tabelle " + tabellenname + " verarbeitet"
+                    + beschreibeDurchsatz(zeilenZähler, start, hint));
         }
-        
-        // Alle Spaltendefinitionen zusammenfügen
-        createSql.append(String.join(",\n", spaltenDefinitionen));
-        createSql.append("\n);\n");
-        
-        // Spalten-Kommentare hinzufügen
-        createSql.append(migriereSpaltenKommentare(tabellenname));
-        
-        return createSql.toString();
     }
     
     /**
-     * Mappt einen Oracle-Datentyp zu einem PostgreSQL-Datentyp gemäß Konfiguration.
+     * Erzeugt die Daten einer Tabelle im Textformat von PostgreSQL COPY und schreibt sie
+     * zeilenweise in den übergebenen Writer. Spalten werden durch Tabulatoren getrennt,
+     * NULL-Werte als \N geschrieben.
      * 
-     * @param oracleDatentyp Der Oracle-Datentyp
-     * @return Der entsprechende PostgreSQL-Datentyp
+     * @param tabellenname Der Name der Tabelle
+     * @param chunk Der zu lesende Chunk oder null für die ganze Tabelle
+     * @param writer Der Writer, in den die COPY-Daten geschrieben werden
+     * @throws SQLException Bei Datenbankfehlern
+     * @throws IOException Bei Ein-/Ausgabefehlern
      */
-    private String mappeOracleZuPostgresDatentyp(String oracleDatentyp, String spaltenName) {
-        Map<String, String> mapping = konfiguration.getDatentypMapping();
-        
-        // Spezielle Behandlung für NUMBER(1,0) exakt -> BOOLEAN
-        if (oracleDatentyp.equals("NUMBER(1,0)")) {
-            return "BOOLEAN";
-        }
-        
-        // Spezielle Behandlung für NUMBER-Typen
-        if (oracleDatentyp.startsWith("NUMBER(")) {
-            // Extrahiere Precision und Scale aus NUMBER(p,s)
-            String zahlenTeil = oracleDatentyp.substring(7, oracleDatentyp.length() - 1);
-            String[] teile = zahlenTeil.split(",");
+    private void erzeugeCopyDaten(String tabellenname, DatenChunk chunk, Writer writer) throws SQLException, IOException {
+        String hint = ermittleHint(tabellenname, chunk);
+        long start = System.nanoTime();
+        try (PreparedStatement stmt = erstelleDatenAbfrage(tabellenname, chunk, hint);
+             ResultSet rs = stmt.executeQuery();
+             Drossel.Leser drosselLeser = drossel.oeffneLeser(stmt.getFetchSize())) {
             
-            if (teile.length >= 2) {
-                try {
-                    int precision = Integer.parseInt(teile[0].trim());
-                    int scale = Integer.parseInt(teile[1].trim());
-                    
-                    // NUMBER(1,0) -> BOOLEAN (spezifisch) - Fallback, falls exakte Übereinstimmung nicht greift
-                    if (precision == 1 && scale == 0) {
-                        return "BOOLEAN";
-                    }
-                    
-                    // Alle anderen NUMBER-Felder mit Scale 0 -> BIGINT
-                    if (scale == 0) {
-                        return "BIGINT";
-                    }
-                    
-                    // NUMBER-Felder mit Dezimalstellen -> NUMERIC
-                    return "NUMERIC";
-                    
-                } catch (NumberFormatException e) {
-                    Logger.info("Fehler beim Parsen von NUMBER-Typ: " + oracleDatentyp);
-                }
+            ResultSetMetaData metaData = rs.getMetaData();
+            int spaltenAnzahl = metaData.getColumnCount();
+            
+            String[] spaltentypen = new String[spaltenAnzahl + 1];
+            for (int i = 1; i <= spaltenAnzahl; i++) {
+                spaltentypen[i] = metaData.getColumnTypeName(i);
             }
             
-            // Für NUMBER(p) ohne Scale - behandle als Scale 0
-            if (teile.length == 1) {
-                // Alle NUMBER(p) -> BIGINT
-                return "BIGINT";
+            // LOB- und LONG-Spalten werden beim Schreiben der Zeile gestreamt
+            LobLeser lobLeser = erstelleLobLeser(metaData, true, tabellenname, chunk);
+            
+            // Puffer für genau eine Zeile, wird für jede Zeile wiederverwendet
+            StringBuilder zeile = new StringBuilder(256);
+            ZeilenKodierer kodierer = erstelleKodierer(metaData, spaltentypen, lobLeser, true);
+            
+            int zeilenZähler = 0;
+            while (drosselLeser.naechsteZeile(rs)) {
+                zeile.setLength(0);
+                
+                kodierer.kodiere(rs, zeile);
+                
+                zeile.append('\n');
+                long zeilenLaenge = zeile.length() + lobLeser.getZusatzLaenge();
+                if (lobLeser.hatLobs()) {
+                    lobLeser.schreibeZeile(zeile, writer, zeilenZähler + 1);
+                } else {
+                    writer.append(zeile);
+                }
+                
+                drosselLeser.zeileGelesen(zeilenLaenge);
+                
+                zeilenZähler++;
+                if (zeilenZähler % 1000 == 0) {
+                    Logger.info("Verarbeite Zeile " + zeilenZähler + " für Tabelle " + tabellenname);
+                }
             }
+            
+            Logger.info("Insgesamt " + zeilenZähler + " Zeilen für Tabelle " + tabellenname + " verarbeitet"
+                    + beschreibeDurchsatz(zeilenZähler, start, hint));
         }
-        
-        // Behandle einfaches NUMBER ohne Klammern
-        if (oracleDatentyp.equals("NUMBER")) {
-            return "BIGINT";
-        }
-        
-        // Exakte Übereinstimmung aus Properties prüfen
-        if (mapping.containsKey(oracleDatentyp)) {
-            return mapping.get(oracleDatentyp);
-        }
-        
-        // Standardmappings für andere Typen
-        if (oracleDatentyp.startsWith("VARCHAR2")) {
-            return "VARCHAR" + oracleDatentyp.substring(7); // VARCHAR2(n) -> VARCHAR(n)
-        } else if (oracleDatentyp.startsWith("CHAR")) {
-            return oracleDatentyp; // CHAR(n) bleibt CHAR(n)
-        }
-        
-        // Fallback für nicht erkannte Typen
-        Logger.info("Unbekannter Datentyp: " + oracleDatentyp + ", verwende TEXT als Standard");
-        return "TEXT";
     }
     
     /**
-     * Erzeugt INSERT-Statements für die Daten einer Tabelle.
+     * Erzeugt die Daten einer Tabelle im binären COPY-Format von PostgreSQL. Die Feldtypen
+     * werden einmalig aus den PostgreSQL-Datentypen abgeleitet, die auch für das
+     * CREATE TABLE verwendet werden; die Werte werden ohne Umweg über Text geschrieben.
      * 
      * @param tabellenname Der Name der Tabelle
-     * @return Die erzeugten INSERT-Statements
+     * @param chunk Der zu lesende Chunk oder null für die ganze Tabelle
+     * @param writer Der Writer für das binäre COPY-Format
      * @throws SQLException Bei Datenbankfehlern
+     * @throws IOException Bei Ein-/Ausgabefehlern
      */
-    private String erzeugeInserts(String tabellenname) throws SQLException {
-        List<String> ignorierteSpalten = konfiguration.getIgnorierteSpalten(tabellenname);
-        
-        // SQL-Abfrage erstellen, die nur die gewünschten Spalten enthält
-        String abfrageSpalten = "*";
-        
-        if (!ignorierteSpalten.isEmpty()) {
-            // Liste der Spaltennamen abrufen, die nicht ignoriert werden sollen
-            List<String> alleSpalten = new ArrayList<>();
-            List<String> gewünschteSpalten = new ArrayList<>();
-            
-            try (Statement stmt = oracleConnection.createStatement();
-                 ResultSet rs = stmt.executeQuery("SELECT * FROM " + tabellenname + " WHERE 1=0")) {
-                
-                ResultSetMetaData metaData = rs.getMetaData();
-                int spaltenAnzahl = metaData.getColumnCount();
-                
-                for (int i = 1; i <= spaltenAnzahl; i++) {
-                    String spaltenName = metaData.getColumnName(i);
-                    alleSpalten.add(spaltenName);
-                    
-                    if (!ignorierteSpalten.contains(spaltenName)) {
-                        gewünschteSpalten.add(spaltenName);
-                    }
-                }
-            }
-            
-            abfrageSpalten = String.join(", ", gewünschteSpalten);
-        }
-        
-        StringBuilder insertBuilder = new StringBuilder();
-        
-        try (Statement stmt = oracleConnection.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT " + abfrageSpalten + " FROM " + tabellenname)) {
+    private void erzeugeCopyBinaerDaten(String tabellenname, DatenChunk chunk, PgCopyBinaerWriter writer) throws SQLException, IOException {
+        String hint = ermittleHint(tabellenname, chunk);
+        long start = System.nanoTime();
+        try (PreparedStatement stmt = erstelleDatenAbfrage(tabellenname, chunk, hint);
+             ResultSet rs = stmt.executeQuery();
+             Drossel.Leser drosselLeser = drossel.oeffneLeser(stmt.getFetchSize())) {
             
             ResultSetMetaData metaData = rs.getMetaData();
             int spaltenAnzahl = metaData.getColumnCount();
             
-            // Liste der Spaltennamen für die INSERT-Statements erstellen
-            List<String> spaltenListe = new ArrayList<>();
-            Map<Integer, String> spaltentypen = new HashMap<>();
-            
+            Map<String, SchemaModell.Spalte> spalten = new HashMap<>();
+            for (SchemaModell.Spalte spalte : ermittleSpalten(tabellenname)) {
+                spalten.put(spalte.getName(), spalte);
+            }
+            int[] feldTypen = new int[spaltenAnzahl + 1];
             for (int i = 1; i <= spaltenAnzahl; i++) {
-                String spaltenName = metaData.getColumnName(i);
-                spaltenListe.add(spaltenName);
-                spaltentypen.put(i, metaData.getColumnTypeName(i));
+                SchemaModell.Spalte spalte = spalten.get(metaData.getColumnName(i));
+                if (spalte == null) {
+                    spalte = spalten.get(metaData.getColumnName(i).toUpperCase());
+                }
+                if (spalte == null) {
+                    // Alias oder berechnete Spalte einer Quellabfrage: Typ aus den Metadaten der Abfrage
+                    spalte = SchemaModell.Spalte.ausAbfrage(metaData, i);
+                }
+                String postgresDatentyp = mappeOracleZuPostgresDatentyp(spalte.getOracleDatentyp(), spalte.getName());
+                feldTypen[i] = ermittleBinaerFeldTyp(postgresDatentyp, metaData.getColumnTypeName(i), metaData.getScale(i));
             }
             
-            String spaltenTeil = "(" + String.join(", ", spaltenListe) + ")";
-            
-            // INSERT-Statements für jede Zeile erstellen
             int zeilenZähler = 0;
-            while (rs.next()) {
-                List<String> werte = new ArrayList<>();
+            long bytesBisher = writer.getGeschriebeneBytes();
+            while (drosselLeser.naechsteZeile(rs)) {
+                writer.beginneZeile(spaltenAnzahl);
                 
                 for (int i = 1; i <= spaltenAnzahl; i++) {
-                    String spaltentyp = spaltentypen.get(i);
-                    Object wert = rs.getObject(i);
-                    
-                    if (rs.wasNull() || wert == null) {
-                        werte.add("NULL");
-                    } else {
-                        // Typspezifische Formatierung und Transformation
-                        String formatiertWert = formatierteWert(wert, spaltentyp);
-                        werte.add(formatiertWert);
-                    }
+                    writer.schreibeFeld(rs, i, feldTypen[i]);
                 }
                 
-                String werteTeil = "(" + String.join(", ", werte) + ")";
-                insertBuilder.append("INSERT INTO ").append(tabellenname).append(" ").append(spaltenTeil)
-                           .append(" VALUES ").append(werteTeil).append(";\n");
+                long geschrieben = writer.getGeschriebeneBytes();
+                drosselLeser.zeileGelesen(geschrieben - bytesBisher);
+                bytesBisher = geschrieben;
                 
                 zeilenZähler++;
                 if (zeilenZähler % 1000 == 0) {
@@ -490,10 +1768,160 @@ public class OracleToPgMigrator {
                 }
             }
             
-            Logger.info("Insgesamt " + zeilenZähler + " Zeilen für Tabelle " + tabellenname + " verarbeitet");
+            Logger.info("Insgesamt " + zeilenZähler + " Zeilen für Tabelle " + tabellenname + " verarbeitet"
+                    + beschreibeDurchsatz(zeilenZähler, start, hint));
+        }
+    }
+    
+    /**
+     * Erstellt den Leser für die LOB-, LONG- und RAW-Spalten einer Datenabfrage.
+     * Ausgelagerte Werte landen im Unterverzeichnis "lobs" des Ausgabeverzeichnisses.
+     * 
+     * @param metaData Die Metadaten der Abfrage
+     * @param copyFormat true für das COPY-Textformat, false für INSERT-Statements
+     * @param tabellenname Der Name der Tabelle
+     * @param chunk Der gelesene Chunk oder null für die ganze Tabelle
+     * @return Der LOB-Leser
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    private LobLeser erstelleLobLeser(ResultSetMetaData metaData, boolean copyFormat, String tabellenname, DatenChunk chunk) throws SQLException {
+        String dateiPraefix = tabellenname + (chunk == null ? "" : chunk.getDateiZusatz());
+        String serverpfad = konfiguration.getLobAuslagernServerpfad();
+        return new LobLeser(metaData, copyFormat, new File(ausgabePfad, "lobs"), dateiPraefix,
+                serverpfad != null ? serverpfad + "/lobs" : null, konfiguration.getLobAuslagernAbBytes());
+    }
+    
+    /**
+     * Ermittelt den Feldtyp einer Spalte für das binäre COPY-Format. CLOB und BLOB werden
+     * über ihren Locator stückweise übertragen, statt sie als Ganzes zu lesen. BIGINT-Spalten aus
+     * NUMBER ohne deklarierte Skala werden geprüft gelesen, damit Nachkommastellen nicht still
+     * abgeschnitten werden.
+     * 
+     * @param postgresDatentyp Der PostgreSQL-Datentyp der Spalte
+     * @param oracleTyp Der Oracle-Typname aus den Metadaten der Abfrage
+     * @param skala Die Skala aus den Metadaten der Abfrage (-127 bei NUMBER ohne Skala)
+     * @return Der Feldtyp (PgCopyBinaerWriter.TYP_*)
+     * @throws SQLException Wenn der Datentyp im binären Format nicht unterstützt wird
+     */
+    private static int ermittleBinaerFeldTyp(String postgresDatentyp, String oracleTyp, int skala) throws SQLException {
+        int feldTyp = PgCopyBinaerWriter.ermittleFeldTyp(postgresDatentyp);
+        int lobArt = LobLeser.ermittleArt(oracleTyp);
+        if (lobArt == LobLeser.ART_CLOB && feldTyp == PgCopyBinaerWriter.TYP_TEXT) {
+            return PgCopyBinaerWriter.TYP_CLOB;
+        } else if (lobArt == LobLeser.ART_BLOB && feldTyp == PgCopyBinaerWriter.TYP_BYTEA) {
+            return PgCopyBinaerWriter.TYP_BLOB;
+        } else if (feldTyp == PgCopyBinaerWriter.TYP_BIGINT && skala != 0) {
+            return PgCopyBinaerWriter.TYP_BIGINT_GEPRUEFT;
+        }
+        return feldTyp;
+    }
+    
+    /**
+     * Erstellt den Zeilenkodierer einer Datenabfrage. Bei breiten Tabellen wird auf Wunsch
+     * (kodierer.generieren) eine auf die Spaltenfolge spezialisierte Klasse verwendet.
+     * 
+     * @param metaData Die Metadaten der Abfrage
+     * @param spaltentypen Die Oracle-Datentypen der Spalten (Index ab 1)
+     * @param lobLeser Der Leser für LOB-, LONG- und RAW-Spalten
+     * @param copy true für das COPY-Textformat, false für INSERT-Statements
+     * @return Der Zeilenkodierer
+     * @throws SQLException Bei Fehlern beim Lesen der Metadaten
+     */
+    private ZeilenKodierer erstelleKodierer(ResultSetMetaData metaData, String[] spaltentypen, LobLeser lobLeser, boolean copy) throws SQLException {
+        boolean generieren = konfiguration.isKodiererGenerieren()
+                && spaltentypen.length - 1 >= konfiguration.getKodiererAbSpalten();
+        return ZeilenKodierer.erstelle(metaData, erstelleKonverter(spaltentypen, copy), lobLeser, copy,
+                konfiguration.isOracleTypisiertLesen(), generieren);
+    }
+    
+    /**
+     * Wählt für jede Spalte einmalig den Konverter aus ihrem Oracle-Datentyp und den konfigurierten
+     * Wertetransformationen, damit die Zeilenschleife ohne Typvergleiche und Map-Zugriffe auskommt.
+     * Spalten, deren Java-Typ erst zur Laufzeit feststeht (DATE, TIMESTAMP u.a.), werden wie bisher
+     * über formatierteWert bzw. formatiereCopyWert formatiert.
+     * 
+     * @param spaltentypen Die Oracle-Datentypen der Spalten (Index ab 1)
+     * @param copy true für das COPY-Textformat, false für INSERT-Statements
+     * @return Die Konverter je Spalte (Index ab 1)
+     */
+    private ZeilenKodierer.WertKonverter[] erstelleKonverter(String[] spaltentypen, boolean copy) {
+        Map<String, String> transformation = konfiguration.getWertetransformation("NUMBER(1)");
+        String ersatzNull = transformation.get("0");
+        String ersatzEins = transformation.get("1");
+        
+        ZeilenKodierer.WertKonverter[] konverter = new ZeilenKodierer.WertKonverter[spaltentypen.length];
+        for (int i = 1; i < spaltentypen.length; i++) {
+            String spaltentyp = spaltentypen[i];
+            
+            ZeilenKodierer.WertKonverter basis;
+            if (istTextTyp(spaltentyp)) {
+                basis = copy ? ZeilenKodierer.COPY_TEXT : ZeilenKodierer.SQL_TEXT;
+            } else if (istZahlTyp(spaltentyp)) {
+                // Zahlen enthalten keine Zeichen, die im COPY-Format maskiert werden müssten
+                basis = copy ? ZeilenKodierer.COPY_ZAHL : ZeilenKodierer.SQL_ZAHL;
+            } else if (copy) {
+                basis = (wert, ziel) -> ZeilenKodierer.schreibeCopyText(formatiereCopyWert(wert, spaltentyp), ziel);
+            } else {
+                basis = (wert, ziel) -> ziel.append(formatierteWert(wert, spaltentyp));
+            }
+            
+            // Boolesche Transformation der Werte 0 und 1 nur für NUMBER-Spalten und nur, wenn konfiguriert
+            if (spaltentyp.equals("NUMBER") && (ersatzNull != null || ersatzEins != null)) {
+                ZeilenKodierer.WertKonverter zahl = basis;
+                basis = (wert, ziel) -> {
+                    String text = wert instanceof Number ? wert.toString() : "";
+                    String ersatz = text.equals("0") ? ersatzNull : text.equals("1") ? ersatzEins : null;
+                    if (ersatz == null) {
+                        zahl.schreibe(wert, ziel);
+                    } else if (copy) {
+                        ZeilenKodierer.schreibeCopyText(ersatz, ziel);
+                    } else {
+                        ziel.append(ersatz);
+                    }
+                };
+            }
+            konverter[i] = basis;
+        }
+        return konverter;
+    }
+    
+    private static boolean istTextTyp(String spaltentyp) {
+        return spaltentyp.equals("VARCHAR2") || spaltentyp.equals("NVARCHAR2") || spaltentyp.equals("CHAR")
+                || spaltentyp.equals("NCHAR") || spaltentyp.equals("VARCHAR");
+    }
+    
+    private static boolean istZahlTyp(String spaltentyp) {
+        return spaltentyp.equals("NUMBER") || spaltentyp.equals("FLOAT") || spaltentyp.equals("BINARY_FLOAT")
+                || spaltentyp.equals("BINARY_DOUBLE");
+    }
+    
+    /**
+     * Formatiert einen Wert als unmaskierten Text für das COPY-Textformat.
+     * Wendet dieselben Transformationen an wie formatierteWert, jedoch ohne Anführungszeichen.
+     * 
+     * @param wert Der zu formatierende Wert
+     * @param spaltentyp Der Oracle-Datentyp der Spalte
+     * @return Der Wert als Text
+     */
+    private String formatiereCopyWert(Object wert, String spaltentyp) {
+        wert = wandleOracleZeitwert(wert);
+        
+        // Transformationen gemäß Konfiguration durchführen
+        if (wert instanceof Number && spaltentyp.equals("NUMBER")) {
+            if (wert.toString().equals("0") || wert.toString().equals("1")) {
+                Map<String, String> transformation = konfiguration.getWertetransformation("NUMBER(1)");
+                if (transformation != null && transformation.containsKey(wert.toString())) {
+                    return transformation.get(wert.toString());
+                }
+            }
+        }
+        
+        // Keine wissenschaftliche Notation, da ganzzahlige Spalten diese nicht einlesen können
+        if (wert instanceof BigDecimal) {
+            return ((BigDecimal) wert).toPlainString();
         }
         
-        return insertBuilder.toString();
+        return wert.toString();
     }
     
     /**
@@ -504,6 +1932,8 @@ public class OracleToPgMigrator {
      * @return Der formatierte Wert als String
      */
     private String formatierteWert(Object wert, String spaltentyp) {
+        wert = wandleOracleZeitwert(wert);
+        
         // Transformationen gemäß Konfiguration durchführen
         if (wert instanceof Number && spaltentyp.equals("NUMBER")) {
             // Boolesche Transformation prüfen (0/1 -> false/true)
@@ -525,6 +1955,27 @@ public class OracleToPgMigrator {
         }
     }
     
+    /**
+     * Wandelt die Oracle-eigenen Zeitwerte (oracle.sql.TIMESTAMP, oracle.sql.DATE), die getObject
+     * für TIMESTAMP-Spalten liefert, in java.sql.Timestamp um. Ohne diese Umwandlung würden sie
+     * über toString ohne Anführungszeichen ausgegeben. Der Treiber wird per Reflection
+     * angesprochen, alle anderen Werte bleiben unverändert.
+     * 
+     * @param wert Der gelesene Wert
+     * @return Der Wert als Timestamp bzw. unverändert
+     */
+    private static Object wandleOracleZeitwert(Object wert) {
+        String klasse = wert.getClass().getName();
+        if (!klasse.equals("oracle.sql.TIMESTAMP") && !klasse.equals("oracle.sql.DATE")) {
+            return wert;
+        }
+        try {
+            return wert.getClass().getMethod("timestampValue").invoke(wert);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Oracle-Zeitwert kann nicht umgewandelt werden: " + klasse, e);
+        }
+    }
+    
     /**
      * Escaped einen String-Wert für SQL.
      * 
@@ -535,6 +1986,34 @@ public class OracleToPgMigrator {
         return wert.replace("'", "''");
     }
     
+    /**
+     * Öffnet eine Ausgabedatei mit einem gepufferten Writer. Die Puffergröße kommt
+     * aus der Konfiguration, sodass der Speicherbedarf beim Schreiben großer Tabellen
+     * nicht mit der Tabellengröße wächst.
+     * 
+     * @param dateiname Der Name der zu erstellenden Datei
+     * @return Der gepufferte Writer
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    private Writer oeffneAusgabeDatei(String dateiname) throws IOException {
+        String pfad = ausgabePfad + File.separator + dateiname;
+        Logger.info("Schreibe Daten in Datei: " + pfad);
+        return new BufferedWriter(new FileWriter(pfad), konfiguration.getAusgabePufferGroesse());
+    }
+    
+    /**
+     * Öffnet eine binäre Ausgabedatei mit der konfigurierten Puffergröße.
+     * 
+     * @param dateiname Der Name der zu erstellenden Datei
+     * @return Der gepufferte Ausgabestrom
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    private OutputStream oeffneAusgabeStrom(String dateiname) throws IOException {
+        String pfad = ausgabePfad + File.separator + dateiname;
+        Logger.info("Schreibe Daten in Datei: " + pfad);
+        return new BufferedOutputStream(new FileOutputStream(pfad), konfiguration.getAusgabePufferGroesse());
+    }
+    
     /**
      * Speichert ein SQL-Skript in eine Datei.
      * 
@@ -701,36 +2180,31 @@ public class OracleToPgMigrator {
     private void migrierenIndizes() throws SQLException, IOException {
         Logger.info("Beginne Migration der Indizes");
         
-        String sql = "SELECT i.INDEX_NAME, i.TABLE_NAME, i.UNIQUENESS, " +
-                    "LISTAGG(ic.COLUMN_NAME, ', ') WITHIN GROUP (ORDER BY ic.COLUMN_POSITION) AS COLUMNS " +
-                    "FROM USER_INDEXES i " +
-                    "JOIN USER_IND_COLUMNS ic ON i.INDEX_NAME = ic.INDEX_NAME " +
-                    "WHERE i.INDEX_TYPE = 'NORMAL' AND i.GENERATED = 'N' " +
-                    "GROUP BY i.INDEX_NAME, i.TABLE_NAME, i.UNIQUENESS " +
-                    "ORDER BY i.TABLE_NAME, i.INDEX_NAME";
-        
         StringBuilder sqlBuilder = new StringBuilder();
         sqlBuilder.append("-- Indizes Migration\n");
         sqlBuilder.append("-- Erstellt von Oracle-zu-PostgreSQL Migration\n\n");
         
-        try (Statement stmt = oracleConnection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                String indexName = rs.getString("INDEX_NAME");
-                String tableName = rs.getString("TABLE_NAME");
-                String uniqueness = rs.getString("UNIQUENESS");
-                String columns = rs.getString("COLUMNS");
+        for (SchemaModell.Tabelle tabelle : schemaModell.getAlleTabellen(oracleConnection)) {
+            for (SchemaModell.Index index : tabelle.getIndizes()) {
+                if (!sindSpaltenExportiert(tabelle.getName(), index.getSpalten())) {
+                    Logger.info("Index " + index.getName() + " wird übersprungen, nicht alle Spalten werden exportiert");
+                    continue;
+                }
                 
                 sqlBuilder.append("CREATE ");
                 
-                if ("UNIQUE".equals(uniqueness)) {
+                // Eindeutige Indizes partitionierter Tabellen müssen in PostgreSQL alle Partitionsschlüssel enthalten
+                SchemaModell.Partitionierung partitionierung = ermittlePartitionierung(tabelle);
+                if (index.isEindeutig() && partitionierung != null && !index.getSpalten().containsAll(partitionierung.getSchluesselSpalten())) {
+                    Logger.warnung("Eindeutiger Index " + index.getName() + " enthält nicht alle Partitionsschlüssel von "
+                            + tabelle.getName() + " und wird ohne UNIQUE angelegt");
+                } else if (index.isEindeutig()) {
                     sqlBuilder.append("UNIQUE ");
                 }
                 
-                sqlBuilder.append("INDEX ").append(indexName);
-                sqlBuilder.append(" ON ").append(tableName);
-                sqlBuilder.append(" (").append(columns).append(");\n\n");
+                sqlBuilder.append("INDEX ").append(index.getName());
+                sqlBuilder.append(" ON ").append(tabelle.getName());
+                sqlBuilder.append(" (").append(String.join(", ", index.getSpalten())).append(");\n\n");
             }
         }
         
@@ -781,25 +2255,11 @@ public class OracleToPgMigrator {
      * Migriert Primary Key Constraints.
      */
     private void migrierePrimaryKeyConstraints(StringBuilder sqlBuilder) throws SQLException {
-        String sql = "SELECT c.CONSTRAINT_NAME, c.TABLE_NAME, " +
-                    "LISTAGG(cc.COLUMN_NAME, ', ') WITHIN GROUP (ORDER BY cc.POSITION) AS COLUMNS " +
-                    "FROM USER_CONSTRAINTS c " +
-                    "JOIN USER_CONS_COLUMNS cc ON c.CONSTRAINT_NAME = cc.CONSTRAINT_NAME " +
-                    "WHERE c.CONSTRAINT_TYPE = 'P' " +
-                    "GROUP BY c.CONSTRAINT_NAME, c.TABLE_NAME " +
-                    "ORDER BY c.TABLE_NAME";
-        
-        try (Statement stmt = oracleConnection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                String constraintName = rs.getString("CONSTRAINT_NAME");
-                String tableName = rs.getString("TABLE_NAME");
-                String columns = rs.getString("COLUMNS");
-                
-                sqlBuilder.append("ALTER TABLE ").append(tableName);
-                sqlBuilder.append(" ADD CONSTRAINT ").append(constraintName);
-                sqlBuilder.append(" PRIMARY KEY (").append(columns).append(");\n");
+        for (SchemaModell.Tabelle tabelle : schemaModell.getAlleTabellen(oracleConnection)) {
+            if (tabelle.getPkName() != null && sindSpaltenExportiert(tabelle.getName(), tabelle.getPkSpalten())) {
+                sqlBuilder.append("ALTER TABLE ").append(tabelle.getName());
+                sqlBuilder.append(" ADD CONSTRAINT ").append(tabelle.getPkName());
+                sqlBuilder.append(" PRIMARY KEY (").append(String.join(", ", tabelle.getPkSpalten())).append(");\n");
             }
         }
     }
@@ -808,33 +2268,25 @@ public class OracleToPgMigrator {
      * Migriert Foreign Key Constraints.
      */
     private void migriereForeignKeyConstraints(StringBuilder sqlBuilder) throws SQLException {
-        String sql = "SELECT c.CONSTRAINT_NAME, c.TABLE_NAME, c.R_CONSTRAINT_NAME, " +
-                    "LISTAGG(cc.COLUMN_NAME, ', ') WITHIN GROUP (ORDER BY cc.POSITION) AS COLUMNS, " +
-                    "rc.TABLE_NAME as R_TABLE_NAME, " +
-                    "LISTAGG(rcc.COLUMN_NAME, ', ') WITHIN GROUP (ORDER BY rcc.POSITION) AS R_COLUMNS " +
-                    "FROM USER_CONSTRAINTS c " +
-                    "JOIN USER_CONS_COLUMNS cc ON c.CONSTRAINT_NAME = cc.CONSTRAINT_NAME " +
-                    "JOIN USER_CONSTRAINTS rc ON c.R_CONSTRAINT_NAME = rc.CONSTRAINT_NAME " +
-                    "JOIN USER_CONS_COLUMNS rcc ON rc.CONSTRAINT_NAME = rcc.CONSTRAINT_NAME " +
-                    "WHERE c.CONSTRAINT_TYPE = 'R' " +
-                    "GROUP BY c.CONSTRAINT_NAME, c.TABLE_NAME, c.R_CONSTRAINT_NAME, rc.TABLE_NAME " +
-                    "ORDER BY c.TABLE_NAME";
-        
-        try (Statement stmt = oracleConnection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                String constraintName = rs.getString("CONSTRAINT_NAME");
-                String tableName = rs.getString("TABLE_NAME");
-                String columns = rs.getString("COLUMNS");
-                String rTableName = rs.getString("R_TABLE_NAME");
-                String rColumns = rs.getString("R_COLUMNS");
+        for (SchemaModell.Tabelle tabelle : schemaModell.getAlleTabellen(oracleConnection)) {
+            for (SchemaModell.Constraint constraint : tabelle.getConstraints()) {
+                // Fremdschlüssel auf Tabellen anderer Schemas werden nicht übernommen
+                if (!SchemaModell.Constraint.TYP_FREMDSCHLUESSEL.equals(constraint.getTyp())
+                        || constraint.getReferenzTabelle() == null) {
+                    continue;
+                }
                 
-                sqlBuilder.append("ALTER TABLE ").append(tableName);
-                sqlBuilder.append(" ADD CONSTRAINT ").append(constraintName);
-                sqlBuilder.append(" FOREIGN KEY (").append(columns).append(")");
-                sqlBuilder.append(" REFERENCES ").append(rTableName);
-                sqlBuilder.append(" (").append(rColumns).append(");\n");
+                if (!sindSpaltenExportiert(tabelle.getName(), constraint.getSpalten())
+                        || !sindSpaltenExportiert(constraint.getReferenzTabelle(), constraint.getReferenzSpalten())) {
+                    Logger.info("Fremdschlüssel " + constraint.getName() + " wird übersprungen, nicht alle Spalten werden exportiert");
+                    continue;
+                }
+                
+                sqlBuilder.append("ALTER TABLE ").append(tabelle.getName());
+                sqlBuilder.append(" ADD CONSTRAINT ").append(constraint.getName());
+                sqlBuilder.append(" FOREIGN KEY (").append(String.join(", ", constraint.getSpalten())).append(")");
+                sqlBuilder.append(" REFERENCES ").append(constraint.getReferenzTabelle());
+                sqlBuilder.append(" (").append(String.join(", ", constraint.getReferenzSpalten())).append(");\n");
             }
         }
     }
@@ -843,22 +2295,13 @@ public class OracleToPgMigrator {
      * Migriert Check Constraints.
      */
     private void migriereCheckConstraints(StringBuilder sqlBuilder) throws SQLException {
-        String sql = "SELECT CONSTRAINT_NAME, TABLE_NAME, SEARCH_CONDITION " +
-                    "FROM USER_CONSTRAINTS " +
-                    "WHERE CONSTRAINT_TYPE = 'C' AND GENERATED = 'USER NAME' " +
-                    "ORDER BY TABLE_NAME";
-        
-        try (Statement stmt = oracleConnection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                String constraintName = rs.getString("CONSTRAINT_NAME");
-                String tableName = rs.getString("TABLE_NAME");
-                String searchCondition = rs.getString("SEARCH_CONDITION");
-                
-                sqlBuilder.append("ALTER TABLE ").append(tableName);
-                sqlBuilder.append(" ADD CONSTRAINT ").append(constraintName);
-                sqlBuilder.append(" CHECK (").append(searchCondition).append(");\n");
+        for (SchemaModell.Tabelle tabelle : schemaModell.getAlleTabellen(oracleConnection)) {
+            for (SchemaModell.Constraint constraint : tabelle.getConstraints()) {
+                if (SchemaModell.Constraint.TYP_CHECK.equals(constraint.getTyp())) {
+                    sqlBuilder.append("ALTER TABLE ").append(tabelle.getName());
+                    sqlBuilder.append(" ADD CONSTRAINT ").append(constraint.getName());
+                    sqlBuilder.append(" CHECK (").append(constraint.getBedingung()).append(");\n");
+                }
             }
         }
     }
@@ -954,30 +2397,13 @@ public class OracleToPgMigrator {
         StringBuilder kommentarSql = new StringBuilder();
         kommentarSql.append("\n-- Spalten-Kommentare für Tabelle ").append(tabellenname).append("\n");
         
-        String sql = "SELECT COLUMN_NAME, COMMENTS " +
-                    "FROM USER_COL_COMMENTS " +
-                    "WHERE TABLE_NAME = '" + tabellenname.toUpperCase() + "' " +
-                    "AND COMMENTS IS NOT NULL " +
-                    "ORDER BY COLUMN_NAME";
-        
-        try (Statement stmt = oracleConnection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                String spaltenName = rs.getString("COLUMN_NAME");
-                String kommentar = rs.getString("COMMENTS");
-                
-                // Ignorierte Spalten überspringen
-                List<String> ignorierteSpalten = konfiguration.getIgnorierteSpalten(tabellenname);
-                if (ignorierteSpalten.contains(spaltenName)) {
-                    continue;
-                }
-                
-                if (kommentar != null && !kommentar.trim().isEmpty()) {
-                    kommentarSql.append("COMMENT ON COLUMN ").append(tabellenname).append(".")
-                               .append(spaltenName).append(" IS '")
-                               .append(kommentar.replace("'", "''")).append("';\n");
-                }
+        // Kommentare aus dem Schema-Modell, nur für die exportierten Spalten
+        for (SchemaModell.Spalte spalte : ermittleSpalten(tabellenname)) {
+            String kommentar = spalte.getKommentar();
+            if (kommentar != null && !kommentar.trim().isEmpty()) {
+                kommentarSql.append("COMMENT ON COLUMN ").append(tabellenname).append(".")
+                           .append(spalte.getName()).append(" IS '")
+                           .append(kommentar.replace("'", "''")).append("';\n");
             }
         }
         
@@ -0,0 +1,591 @@
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schreibt Tabellendaten im binären COPY-Format von PostgreSQL (PGCOPY).
+ * 
+ * Aufbau einer Datei: Signatur, Flags und Header-Erweiterung, danach pro Zeile die
+ * Anzahl der Felder (int16) und für jedes Feld die Länge (int32, -1 für NULL) gefolgt
+ * von den Bytes in Netzwerk-Byte-Reihenfolge. Am Ende steht der Trailer (int16 -1), den nur
+ * beende() schreibt. Wird der Writer ohne beende() geschlossen, etwa nach einem Fehler mitten in
+ * einer Zeile, folgt statt des Trailers eine Zeile mit 0 Feldern, die COPY abweist; eine
+ * abgebrochene Datei kann so nicht versehentlich als vollständig geladen werden.
+ * Die Werte werden direkt über die typisierten ResultSet-Getter gelesen, eine
+ * Umwandlung in Text ist weder beim Export noch beim Laden nötig.
+ */
+public class PgCopyBinaerWriter implements Closeable {
+    // Feldtypen, abgeleitet aus dem PostgreSQL-Datentyp der Spalte
+    public static final int TYP_TEXT = 0;
+    public static final int TYP_BIGINT = 1;
+    public static final int TYP_INTEGER = 2;
+    public static final int TYP_SMALLINT = 3;
+    public static final int TYP_NUMERIC = 4;
+    public static final int TYP_BOOLEAN = 5;
+    public static final int TYP_DATE = 6;
+    public static final int TYP_TIMESTAMP = 7;
+    public static final int TYP_BYTEA = 8;
+    public static final int TYP_DOUBLE = 9;
+    public static final int TYP_REAL = 10;
+    
+    // Oracle-LOBs, die stückweise über den Locator übertragen werden (TEXT bzw. BYTEA in PostgreSQL)
+    public static final int TYP_CLOB = 11;
+    public static final int TYP_BLOB = 12;
+    
+    // BIGINT aus NUMBER ohne deklarierte Skala: über BigDecimal gelesen und auf Nachkommastellen geprüft
+    public static final int TYP_BIGINT_GEPRUEFT = 13;
+    
+    // TIMESTAMP WITH TIME ZONE: der Zeitpunkt in UTC, unabhängig von der Zeitzone der JVM
+    public static final int TYP_TIMESTAMPTZ = 14;
+    
+    // CLOBs bis zu dieser Zeichenzahl werden im Speicher kodiert, größere über eine temporäre Datei
+    private static final int CLOB_SPEICHER_GRENZE = 1024 * 1024;
+    private static final int STUECK_GROESSE = 32768;
+    
+    private static final byte[] SIGNATUR = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    
+    // PostgreSQL zählt Datum und Zeit ab dem 01.01.2000
+    private static final long PG_EPOCHE_TAGE = LocalDate.of(2000, 1, 1).toEpochDay();
+    private static final long PG_EPOCHE_SEKUNDEN = PG_EPOCHE_TAGE * 86400L;
+    
+    // Konstanten für das binäre NUMERIC-Format
+    private static final int NUMERIC_POSITIV = 0x0000;
+    private static final int NUMERIC_NEGATIV = 0x4000;
+    
+    private final DataOutputStream out;
+    
+    // Zählt die an das Ziel übergebenen Bytes; liegt hinter dem Puffer, damit nicht jedes Byte einzeln gezählt wird
+    private final ZaehlenderStrom zaehler;
+    
+    // Felder der laufenden Zeile, die noch geschrieben werden müssen
+    private int offeneFelder;
+    private boolean beendet;
+    
+    /**
+     * Erstellt den Writer und schreibt den PGCOPY-Dateikopf.
+     * 
+     * @param ziel Der Ausgabestrom, wird zusätzlich gepuffert
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    public PgCopyBinaerWriter(OutputStream ziel) throws IOException {
+        this.zaehler = new ZaehlenderStrom(ziel);
+        this.out = new DataOutputStream(new BufferedOutputStream(zaehler));
+        out.write(SIGNATUR);
+        out.writeInt(0); // Flags: keine OIDs
+        out.writeInt(0); // Länge der Header-Erweiterung
+    }
+    
+    /**
+     * Ermittelt den Feldtyp für einen PostgreSQL-Datentyp, wie ihn mappeOracleZuPostgresDatentyp liefert.
+     * 
+     * @param postgresTyp Der PostgreSQL-Datentyp (z.B. "BIGINT", "VARCHAR", "CHAR(10)")
+     * @return Der Feldtyp (TYP_*)
+     * @throws SQLException Wenn der Datentyp im binären Format nicht unterstützt wird
+     */
+    public static int ermittleFeldTyp(String postgresTyp) throws SQLException {
+        if (postgresTyp == null) {
+            return TYP_TEXT;
+        }
+        
+        // Nur die Längen- bzw. Genauigkeitsangabe entfernen, Zusätze wie WITH TIME ZONE bleiben erhalten
+        String typ = postgresTyp.trim().toUpperCase().replaceAll("\\s*\\([^)]*\\)", "").replaceAll("\\s+", " ");
+        
+        switch (typ) {
+            case "BIGINT":
+            case "INT8":
+                return TYP_BIGINT;
+            case "INTEGER":
+            case "INT":
+            case "INT4":
+                return TYP_INTEGER;
+            case "SMALLINT":
+            case "INT2":
+                return TYP_SMALLINT;
+            case "NUMERIC":
+            case "DECIMAL":
+                return TYP_NUMERIC;
+            case "BOOLEAN":
+            case "BOOL":
+                return TYP_BOOLEAN;
+            case "DATE":
+                return TYP_DATE;
+            case "TIMESTAMP":
+            case "TIMESTAMP WITHOUT TIME ZONE":
+                return TYP_TIMESTAMP;
+            case "TIMESTAMP WITH TIME ZONE":
+            case "TIMESTAMPTZ":
+                return TYP_TIMESTAMPTZ;
+            case "BYTEA":
+                return TYP_BYTEA;
+            case "DOUBLE PRECISION":
+            case "FLOAT8":
+                return TYP_DOUBLE;
+            case "REAL":
+            case "FLOAT4":
+                return TYP_REAL;
+            case "TEXT":
+            case "VARCHAR":
+            case "CHARACTER VARYING":
+            case "CHAR":
+            case "CHARACTER":
+            case "BPCHAR":
+                return TYP_TEXT;
+            default:
+                throw new SQLException("PostgreSQL-Datentyp " + postgresTyp
+                        + " wird im binären COPY-Format nicht unterstützt (daten.format=copy verwenden)");
+        }
+    }
+    
+    /**
+     * Beginnt eine neue Zeile.
+     * 
+     * @param feldAnzahl Anzahl der Felder der Zeile
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    public void beginneZeile(int feldAnzahl) throws IOException {
+        out.writeShort(feldAnzahl);
+        offeneFelder = feldAnzahl;
+    }
+    
+    /**
+     * Liest eine Spalte aus dem ResultSet und schreibt sie als binäres Feld.
+     * 
+     * @param rs Das ResultSet, positioniert auf der aktuellen Zeile
+     * @param index Der Spaltenindex (1-basiert)
+     * @param feldTyp Der Feldtyp aus {@link #ermittleFeldTyp(String)}
+     * @throws SQLException Bei Datenbankfehlern
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    public void schreibeFeld(ResultSet rs, int index, int feldTyp) throws SQLException, IOException {
+        switch (feldTyp) {
+            case TYP_BIGINT: {
+                long wert = rs.getLong(index);
+                if (rs.wasNull()) {
+                    schreibeNull();
+                } else {
+                    out.writeInt(8);
+                    out.writeLong(wert);
+                }
+                break;
+            }
+            case TYP_BIGINT_GEPRUEFT: {
+                BigDecimal wert = rs.getBigDecimal(index);
+                if (wert == null) {
+                    schreibeNull();
+                } else {
+                    long ganzzahl;
+                    try {
+                        ganzzahl = wert.longValueExact();
+                    } catch (ArithmeticException e) {
+                        throw new SQLException("Wert " + wert.toPlainString() + " in Spalte " + index
+                                + " ist keine Ganzzahl im Bereich von BIGINT; NUMBER ohne Skala über das Typ-Mapping als NUMERIC abbilden");
+                    }
+                    out.writeInt(8);
+                    out.writeLong(ganzzahl);
+                }
+                break;
+            }
+            case TYP_INTEGER: {
+                int wert = rs.getInt(index);
+                if (rs.wasNull()) {
+                    schreibeNull();
+                } else {
+                    out.writeInt(4);
+                    out.writeInt(wert);
+                }
+                break;
+            }
+            case TYP_SMALLINT: {
+                short wert = rs.getShort(index);
+                if (rs.wasNull()) {
+                    schreibeNull();
+                } else {
+                    out.writeInt(2);
+                    out.writeShort(wert);
+                }
+                break;
+            }
+            case TYP_DOUBLE: {
+                double wert = rs.getDouble(index);
+                if (rs.wasNull()) {
+                    schreibeNull();
+                } else {
+                    out.writeInt(8);
+                    out.writeDouble(wert);
+                }
+                break;
+            }
+            case TYP_REAL: {
+                float wert = rs.getFloat(index);
+                if (rs.wasNull()) {
+                    schreibeNull();
+                } else {
+                    out.writeInt(4);
+                    out.writeFloat(wert);
+                }
+                break;
+            }
+            case TYP_NUMERIC: {
+                BigDecimal wert = rs.getBigDecimal(index);
+                if (wert == null) {
+                    schreibeNull();
+                } else {
+                    schreibeNumeric(wert);
+                }
+                break;
+            }
+            case TYP_BOOLEAN: {
+                Object wert = rs.getObject(index);
+                if (wert == null) {
+                    schreibeNull();
+                } else {
+                    out.writeInt(1);
+                    out.writeByte(alsBoolean(wert) ? 1 : 0);
+                }
+                break;
+            }
+            case TYP_DATE: {
+                Timestamp wert = rs.getTimestamp(index);
+                if (wert == null) {
+                    schreibeNull();
+                } else {
+                    out.writeInt(4);
+                    out.writeInt((int) (wert.toLocalDateTime().toLocalDate().toEpochDay() - PG_EPOCHE_TAGE));
+                }
+                break;
+            }
+            case TYP_TIMESTAMP: {
+                Timestamp wert = rs.getTimestamp(index);
+                if (wert == null) {
+                    schreibeNull();
+                } else {
+                    out.writeInt(8);
+                    out.writeLong(alsPgMikrosekunden(wert.toLocalDateTime()));
+                }
+                break;
+            }
+            case TYP_TIMESTAMPTZ: {
+                Timestamp wert = rs.getTimestamp(index);
+                if (wert == null) {
+                    schreibeNull();
+                } else {
+                    out.writeInt(8);
+                    out.writeLong(alsPgMikrosekunden(LocalDateTime.ofInstant(wert.toInstant(), ZoneOffset.UTC)));
+                }
+                break;
+            }
+            case TYP_BYTEA: {
+                byte[] wert = rs.getBytes(index);
+                if (wert == null) {
+                    schreibeNull();
+                } else {
+                    out.writeInt(wert.length);
+                    out.write(wert);
+                }
+                break;
+            }
+            case TYP_CLOB: {
+                Clob wert = rs.getClob(index);
+                if (wert == null) {
+                    schreibeNull();
+                } else {
+                    try {
+                        schreibeClob(wert);
+                    } finally {
+                        wert.free();
+                    }
+                }
+                break;
+            }
+            case TYP_BLOB: {
+                Blob wert = rs.getBlob(index);
+                if (wert == null) {
+                    schreibeNull();
+                } else {
+                    try {
+                        schreibeBlob(wert);
+                    } finally {
+                        wert.free();
+                    }
+                }
+                break;
+            }
+            default: {
+                String wert = rs.getString(index);
+                if (wert == null) {
+                    schreibeNull();
+                } else {
+                    byte[] bytes = wert.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+        }
+        offeneFelder--;
+    }
+    
+    /**
+     * Schreibt ein NULL-Feld.
+     * 
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    private void schreibeNull() throws IOException {
+        out.writeInt(-1);
+    }
+    
+    /**
+     * Schreibt einen CLOB als UTF-8-Text. Da die Feldlänge in Bytes vor dem Inhalt stehen muss,
+     * werden große CLOBs zunächst stückweise in eine temporäre Datei kodiert.
+     * 
+     * @param clob Der CLOB-Locator
+     * @throws SQLException Bei Datenbankfehlern oder Werten über 1 GB
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    private void schreibeClob(Clob clob) throws SQLException, IOException {
+        long laenge = clob.length();
+        if (laenge <= CLOB_SPEICHER_GRENZE) {
+            byte[] bytes = clob.getSubString(1, (int) laenge).getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            return;
+        }
+        
+        File temp = File.createTempFile("clob", ".tmp");
+        try {
+            char[] puffer = new char[STUECK_GROESSE];
+            try (Reader ein = clob.getCharacterStream();
+                 Writer aus = new OutputStreamWriter(new BufferedOutputStream(new FileOutputStream(temp)), StandardCharsets.UTF_8)) {
+                int gelesen;
+                while ((gelesen = ein.read(puffer)) > 0) {
+                    aus.write(puffer, 0, gelesen);
+                }
+            }
+            out.writeInt(pruefeFeldLaenge(temp.length()));
+            Files.copy(temp.toPath(), out);
+        } finally {
+            temp.delete();
+        }
+    }
+    
+    /**
+     * Schreibt einen BLOB stückweise; die Länge ist über den Locator bekannt.
+     * 
+     * @param blob Der BLOB-Locator
+     * @throws SQLException Bei Datenbankfehlern oder Werten über 1 GB
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    private void schreibeBlob(Blob blob) throws SQLException, IOException {
+        out.writeInt(pruefeFeldLaenge(blob.length()));
+        byte[] puffer = new byte[STUECK_GROESSE];
+        try (InputStream ein = blob.getBinaryStream()) {
+            int gelesen;
+            while ((gelesen = ein.read(puffer)) > 0) {
+                out.write(puffer, 0, gelesen);
+            }
+        }
+    }
+    
+    /**
+     * Prüft die Länge eines Felds gegen die Obergrenze von PostgreSQL (1 GB je Feld).
+     */
+    private static int pruefeFeldLaenge(long laenge) throws SQLException {
+        if (laenge > (1L << 30)) {
+            throw new SQLException("Feld mit " + laenge + " Bytes überschreitet die Obergrenze von 1 GB je Feld in PostgreSQL");
+        }
+        return (int) laenge;
+    }
+    
+    /**
+     * Schreibt einen NUMERIC-Wert im binären Format (Ziffern zur Basis 10000).
+     * 
+     * @param wert Der zu schreibende Wert
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    private void schreibeNumeric(BigDecimal wert) throws IOException {
+        int vorzeichen = wert.signum() < 0 ? NUMERIC_NEGATIV : NUMERIC_POSITIV;
+        BigDecimal betrag = wert.abs();
+        if (betrag.scale() < 0) {
+            betrag = betrag.setScale(0);
+        }
+        int dscale = betrag.scale();
+        
+        String ziffern = betrag.unscaledValue().toString();
+        String ganzzahl;
+        String nachkomma;
+        if (ziffern.length() > dscale) {
+            ganzzahl = ziffern.substring(0, ziffern.length() - dscale);
+            nachkomma = ziffern.substring(ziffern.length() - dscale);
+        } else {
+            ganzzahl = "0";
+            nachkomma = wiederhole('0', dscale - ziffern.length()) + ziffern;
+        }
+        
+        // Auf ganze Gruppen zu je 4 Ziffern auffüllen
+        ganzzahl = wiederhole('0', (4 - ganzzahl.length() % 4) % 4) + ganzzahl;
+        nachkomma = nachkomma + wiederhole('0', (4 - nachkomma.length() % 4) % 4);
+        
+        List<Integer> gruppen = new ArrayList<>();
+        for (int i = 0; i < ganzzahl.length(); i += 4) {
+            gruppen.add(Integer.parseInt(ganzzahl.substring(i, i + 4)));
+        }
+        for (int i = 0; i < nachkomma.length(); i += 4) {
+            gruppen.add(Integer.parseInt(nachkomma.substring(i, i + 4)));
+        }
+        int gewicht = ganzzahl.length() / 4 - 1;
+        
+        // Führende und abschließende Null-Gruppen entfernen
+        int anfang = 0;
+        while (anfang < gruppen.size() && gruppen.get(anfang) == 0) {
+            anfang++;
+            gewicht--;
+        }
+        int ende = gruppen.size();
+        while (ende > anfang && gruppen.get(ende - 1) == 0) {
+            ende--;
+        }
+        
+        int anzahl = ende - anfang;
+        if (anzahl == 0) {
+            gewicht = 0;
+            vorzeichen = NUMERIC_POSITIV;
+        }
+        
+        out.writeInt(8 + 2 * anzahl);
+        out.writeShort(anzahl);
+        out.writeShort(gewicht);
+        out.writeShort(vorzeichen);
+        out.writeShort(dscale);
+        for (int i = anfang; i < ende; i++) {
+            out.writeShort(gruppen.get(i));
+        }
+    }
+    
+    /**
+     * Wandelt einen Zeitpunkt in Mikrosekunden seit dem 01.01.2000 um.
+     */
+    private static long alsPgMikrosekunden(LocalDateTime zeitpunkt) {
+        long sekunden = zeitpunkt.toEpochSecond(ZoneOffset.UTC) - PG_EPOCHE_SEKUNDEN;
+        return sekunden * 1_000_000L + zeitpunkt.getNano() / 1000;
+    }
+    
+    /**
+     * Interpretiert einen Wert als Boolean (Zahlen 0/1, Boolean oder "true"/"false").
+     */
+    private static boolean alsBoolean(Object wert) throws SQLException {
+        if (wert instanceof Boolean) {
+            return (Boolean) wert;
+        } else if (wert instanceof Number) {
+            // Nur 0 und 1 sind eindeutig, andere Zahlen werden wie unbekannte Texte abgewiesen
+            if (istZahl((Number) wert, 1)) {
+                return true;
+            } else if (istZahl((Number) wert, 0)) {
+                return false;
+            }
+            throw new SQLException("Wert '" + wert + "' kann nicht als BOOLEAN geschrieben werden");
+        }
+        
+        String s = wert.toString().trim();
+        if ("1".equals(s) || "true".equalsIgnoreCase(s)) {
+            return true;
+        } else if ("0".equals(s) || "false".equalsIgnoreCase(s)) {
+            return false;
+        }
+        throw new SQLException("Wert '" + s + "' kann nicht als BOOLEAN geschrieben werden");
+    }
+    
+    private static boolean istZahl(Number wert, int zahl) {
+        return wert instanceof BigDecimal ? ((BigDecimal) wert).compareTo(BigDecimal.valueOf(zahl)) == 0
+                : wert.doubleValue() == zahl;
+    }
+    
+    private static String wiederhole(char zeichen, int anzahl) {
+        StringBuilder sb = new StringBuilder(anzahl);
+        for (int i = 0; i < anzahl; i++) {
+            sb.append(zeichen);
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Gibt die Anzahl der bisher geschriebenen Bytes zurück. Der Inhalt des Puffers
+     * (höchstens 8 KB) ist noch nicht enthalten.
+     */
+    public long getGeschriebeneBytes() {
+        return zaehler.anzahl;
+    }
+    
+    /**
+     * Schreibt den Trailer nach der letzten vollständigen Zeile. Erst damit gilt die Datei als vollständig.
+     * 
+     * @throws IOException Bei Ein-/Ausgabefehlern oder wenn die letzte Zeile unvollständig ist
+     */
+    public void beende() throws IOException {
+        if (offeneFelder != 0) {
+            throw new IOException("Letzte Zeile unvollständig, es fehlen " + offeneFelder + " Felder");
+        }
+        out.writeShort(-1);
+        beendet = true;
+    }
+    
+    /**
+     * Schließt den Ausgabestrom. Ohne vorheriges beende() wird statt des Trailers eine Zeile
+     * mit 0 Feldern angehängt, an der COPY die Datei abweist.
+     * 
+     * @throws IOException Bei Ein-/Ausgabefehlern
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!beendet) {
+                out.writeShort(0);
+            }
+        } finally {
+            out.close();
+        }
+    }
+    
+    /**
+     * Reicht die Daten unverändert weiter und zählt dabei die Bytes.
+     */
+    private static class ZaehlenderStrom extends FilterOutputStream {
+        private long anzahl;
+        
+        ZaehlenderStrom(OutputStream ziel) {
+            super(ziel);
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            anzahl++;
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            anzahl += len;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Menge von Schlüsselwerten einer Spalte für die Teilmengen-Extraktion.
+ * 
+ * Ganzzahlige Schlüssel (der Normalfall bei Primärschlüsseln aus Sequenzen) werden ohne
+ * Objekt je Wert in einer offenen Hashtabelle aus long-Werten mit linearer Sondierung gehalten,
+ * so dass auch Millionen von Schlüsseln nur etwa 16 Bytes je Wert belegen. Andere Werte
+ * (Text, Zeitstempel, Dezimalzahlen) landen in einer gewöhnlichen HashSet.
+ */
+public class SchluesselMenge {
+    private static final int ANFANGS_KAPAZITAET = 1024;
+    
+    // Der Wert 0 markiert freie Plätze, die 0 selbst wird deshalb gesondert vermerkt
+    private long[] tabelle = new long[ANFANGS_KAPAZITAET];
+    private int anzahlGanzzahlen;
+    private boolean enthaeltNull;
+    
+    private final Set<Object> andereWerte = new HashSet<>();
+    
+    /**
+     * Fügt einen Schlüsselwert hinzu. Ganzzahlige BigDecimal-Werte im long-Bereich werden
+     * als long gespeichert, damit 42 und 42.0 als derselbe Schlüssel gelten.
+     * 
+     * @param wert Der Wert aus getObject (null wird ignoriert)
+     * @return true, wenn der Wert neu war
+     */
+    public boolean hinzufuegen(Object wert) {
+        if (wert == null) {
+            return false;
+        }
+        
+        Long ganzzahl = alsGanzzahl(wert);
+        return ganzzahl != null ? hinzufuegen(ganzzahl.longValue()) : andereWerte.add(wert);
+    }
+    
+    /**
+     * Fügt einen ganzzahligen Schlüsselwert hinzu.
+     * 
+     * @param wert Der Wert
+     * @return true, wenn der Wert neu war
+     */
+    public boolean hinzufuegen(long wert) {
+        if (wert == 0) {
+            boolean neu = !enthaeltNull;
+            enthaeltNull = true;
+            return neu;
+        }
+        
+        // Bei halb voller Tabelle verdoppeln, damit die Sondierungsketten kurz bleiben
+        if (anzahlGanzzahlen * 2 >= tabelle.length) {
+            vergroessern();
+        }
+        
+        int maske = tabelle.length - 1;
+        int platz = streue(wert) & maske;
+        while (tabelle[platz] != 0) {
+            if (tabelle[platz] == wert) {
+                return false;
+            }
+            platz = (platz + 1) & maske;
+        }
+        tabelle[platz] = wert;
+        anzahlGanzzahlen++;
+        return true;
+    }
+    
+    /**
+     * Prüft, ob ein Schlüsselwert enthalten ist.
+     */
+    public boolean enthaelt(Object wert) {
+        if (wert == null) {
+            return false;
+        }
+        
+        Long ganzzahl = alsGanzzahl(wert);
+        if (ganzzahl == null) {
+            return andereWerte.contains(wert);
+        }
+        
+        long gesucht = ganzzahl.longValue();
+        if (gesucht == 0) {
+            return enthaeltNull;
+        }
+        int maske = tabelle.length - 1;
+        int platz = streue(gesucht) & maske;
+        while (tabelle[platz] != 0) {
+            if (tabelle[platz] == gesucht) {
+                return true;
+            }
+            platz = (platz + 1) & maske;
+        }
+        return false;
+    }
+    
+    /**
+     * Gibt die Anzahl der Schlüsselwerte zurück.
+     */
+    public int groesse() {
+        return anzahlGanzzahlen + (enthaeltNull ? 1 : 0) + andereWerte.size();
+    }
+    
+    public boolean istLeer() {
+        return groesse() == 0;
+    }
+    
+    /**
+     * Gibt alle Werte zurück, ganzzahlige aufsteigend sortiert vor den übrigen. Die feste
+     * Reihenfolge sorgt dafür, dass ein fortgesetzter Lauf dieselben Chunks bildet.
+     * 
+     * @return Die Werte als Long bzw. in ihrem ursprünglichen Typ
+     */
+    public List<Object> alsListe() {
+        long[] ganzzahlen = new long[anzahlGanzzahlen + (enthaeltNull ? 1 : 0)];
+        int index = 0;
+        for (long wert : tabelle) {
+            if (wert != 0) {
+                ganzzahlen[index++] = wert;
+            }
+        }
+        if (enthaeltNull) {
+            ganzzahlen[index] = 0;
+        }
+        Arrays.sort(ganzzahlen);
+        
+        List<Object> werte = new ArrayList<>(groesse());
+        for (long wert : ganzzahlen) {
+            werte.add(wert);
+        }
+        
+        List<String> sortierteAndere = new ArrayList<>();
+        List<Object> unsortierbar = new ArrayList<>();
+        for (Object wert : andereWerte) {
+            if (wert instanceof String) {
+                sortierteAndere.add((String) wert);
+            } else {
+                unsortierbar.add(wert);
+            }
+        }
+        sortierteAndere.sort(null);
+        unsortierbar.sort((a, b) -> a.toString().compareTo(b.toString()));
+        werte.addAll(sortierteAndere);
+        werte.addAll(unsortierbar);
+        return werte;
+    }
+    
+    private void vergroessern() {
+        long[] alt = tabelle;
+        tabelle = new long[alt.length * 2];
+        anzahlGanzzahlen = 0;
+        for (long wert : alt) {
+            if (wert != 0) {
+                hinzufuegen(wert);
+            }
+        }
+    }
+    
+    /**
+     * Verteilt aufeinanderfolgende Schlüssel aus Sequenzen gleichmäßig über die Tabelle.
+     */
+    private static int streue(long wert) {
+        long h = wert * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+    
+    /**
+     * Wandelt ganzzahlige Werte im long-Bereich in Long um, alle anderen ergeben null.
+     */
+    private static Long alsGanzzahl(Object wert) {
+        if (wert instanceof Long || wert instanceof Integer || wert instanceof Short || wert instanceof Byte) {
+            return ((Number) wert).longValue();
+        }
+        if (wert instanceof BigDecimal) {
+            BigDecimal zahl = (BigDecimal) wert;
+            try {
+                return zahl.longValueExact();
+            } catch (ArithmeticException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
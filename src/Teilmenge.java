@@ -0,0 +1,363 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Ermittelt eine referenziell vollständige Teilmenge der migrierten Tabellen.
+ * 
+ * Ausgangspunkt sind die Wurzeltabellen mit ihrem Zeilenfilter (tabelle.X.filter). Von dort wird
+ * dem Fremdschlüsselgraphen aus dem Schema-Modell gefolgt: Zu jeder ausgewählten Zeile werden die
+ * referenzierten Elternzeilen immer übernommen, damit alle Fremdschlüssel erfüllt sind; Kindzeilen
+ * nur entlang des Weges von den Wurzeln nach unten, damit z.B. die Lieferanten der Produkte nicht
+ * sämtliche Bestellungen dieser Produkte nach sich ziehen.
+ * 
+ * Je Tabelle wird eine Auswahlspalte (der einspaltige Primärschlüssel oder, bei Tabellen ohne einen
+ * solchen, die erste erreichende Fremdschlüsselspalte) mit der Menge ihrer Werte geführt. Neue Werte
+ * werden in IN-Listen zu je 1000 Bind-Parametern an Oracle übergeben, so dass nur die Schlüssel
+ * und nie ganze Zeilen übertragen werden. Mehrspaltige Fremdschlüssel werden nicht verfolgt.
+ */
+public class Teilmenge {
+    // Oracle erlaubt höchstens 1000 Ausdrücke in einer IN-Liste (ORA-01795)
+    public static final int IN_LISTE_MAX = 1000;
+    
+    /**
+     * Ein einspaltiger Fremdschlüssel zwischen zwei migrierten Tabellen.
+     */
+    private static class Beziehung {
+        final String kind;
+        final String kindSpalte;
+        final String eltern;
+        final String elternSpalte;
+        
+        Beziehung(String kind, String kindSpalte, String eltern, String elternSpalte) {
+            this.kind = kind;
+            this.kindSpalte = kindSpalte;
+            this.eltern = eltern;
+            this.elternSpalte = elternSpalte;
+        }
+    }
+    
+    /**
+     * Neu ausgewählte Schlüssel einer Tabelle, deren Nachbarn noch zu verfolgen sind.
+     */
+    private static class Schritt {
+        final String tabelle;
+        final List<Object> schluessel;
+        final boolean abwaerts;
+        
+        Schritt(String tabelle, List<Object> schluessel, boolean abwaerts) {
+            this.tabelle = tabelle;
+            this.schluessel = schluessel;
+            this.abwaerts = abwaerts;
+        }
+    }
+    
+    private final Konfiguration konfiguration;
+    private final SchemaModell schemaModell;
+    private final Function<String, String> quelle;
+    
+    // Tabellen des Fremdschlüsselgraphen der Wurzeln, ihre Auswahlspalte und die ausgewählten Werte
+    private final Set<String> tabellen = new HashSet<>();
+    private final Map<String, String> auswahlSpalten = new HashMap<>();
+    private final Map<String, SchluesselMenge> auswahl = new HashMap<>();
+    
+    private final Map<String, List<Beziehung>> nachKind = new HashMap<>();
+    private final Map<String, List<Beziehung>> nachEltern = new HashMap<>();
+    
+    /**
+     * Erstellt die Teilmenge für die konfigurierten Wurzeltabellen.
+     * 
+     * @param konfiguration Die Konfiguration mit Wurzeltabellen und Zeilenfiltern
+     * @param schemaModell Das Schema-Modell mit Primär- und Fremdschlüsseln
+     * @param quelle Liefert den FROM-Ausdruck einer Tabelle, im Snapshot-Modus mit AS OF SCN
+     */
+    public Teilmenge(Konfiguration konfiguration, SchemaModell schemaModell, Function<String, String> quelle) {
+        this.konfiguration = konfiguration;
+        this.schemaModell = schemaModell;
+        this.quelle = quelle;
+    }
+    
+    /**
+     * Ermittelt die Schlüssel aller Zeilen der Teilmenge.
+     * 
+     * @param connection Die Oracle-Verbindung
+     * @param migrierteTabellen Alle Tabellen der Migration, auch die bereits abgeschlossenen
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public void ermitteln(Connection connection, List<String> migrierteTabellen) throws SQLException {
+        long start = System.currentTimeMillis();
+        ermittleBeziehungen(connection, migrierteTabellen);
+        
+        Deque<Schritt> offen = new ArrayDeque<>();
+        for (String wurzel : konfiguration.getTeilmengeWurzeln()) {
+            String tabelle = wurzel.toUpperCase();
+            if (!tabellen.contains(tabelle)) {
+                Logger.warnung("Wurzeltabelle " + wurzel + " wird nicht migriert und daher ignoriert");
+                continue;
+            }
+            
+            List<String> pkSpalten = schemaModell.getTabelle(connection, tabelle).getPkSpalten();
+            if (pkSpalten.size() != 1) {
+                Logger.warnung("Wurzeltabelle " + wurzel + " hat keinen einspaltigen Primärschlüssel und wird ignoriert");
+                continue;
+            }
+            
+            String spalte = legeAuswahlSpalteFest(tabelle, pkSpalten.get(0));
+            String filter = konfiguration.getFilter(tabelle);
+            if (filter == null) {
+                Logger.warnung("Wurzeltabelle " + wurzel + " hat keinen Zeilenfilter (tabelle." + wurzel + ".filter), alle Zeilen werden übernommen");
+            }
+            
+            List<Object> neu = new ArrayList<>();
+            String sql = "SELECT " + spalte + " FROM " + quelle.apply(tabelle) + (filter != null ? " WHERE " + filter : "");
+            try (Statement stmt = connection.createStatement()) {
+                stmt.setFetchSize(IN_LISTE_MAX);
+                try (ResultSet rs = stmt.executeQuery(sql)) {
+                    while (rs.next()) {
+                        Object wert = rs.getObject(1);
+                        if (auswahl.get(tabelle).hinzufuegen(wert)) {
+                            neu.add(wert);
+                        }
+                    }
+                }
+            }
+            Logger.info("Teilmenge: " + neu.size() + " Zeilen aus Wurzeltabelle " + tabelle);
+            offen.add(new Schritt(tabelle, neu, true));
+        }
+        
+        // Neue Schlüssel so lange weiterreichen, bis keine Tabelle mehr wächst
+        while (!offen.isEmpty()) {
+            Schritt schritt = offen.poll();
+            if (schritt.schluessel.isEmpty()) {
+                continue;
+            }
+            
+            for (Beziehung beziehung : nachKind.getOrDefault(schritt.tabelle, Collections.emptyList())) {
+                folgeZuEltern(connection, beziehung, schritt.schluessel, offen);
+            }
+            if (schritt.abwaerts && konfiguration.isTeilmengeKinderFolgen()) {
+                for (Beziehung beziehung : nachEltern.getOrDefault(schritt.tabelle, Collections.emptyList())) {
+                    folgeZuKindern(connection, beziehung, schritt.schluessel, offen);
+                }
+            }
+        }
+        
+        for (String tabelle : new TreeSet<>(tabellen)) {
+            Logger.info("Teilmenge: " + tabelle + " mit " + getSchluessel(tabelle).groesse() + " Schlüsseln"
+                    + (auswahlSpalten.containsKey(tabelle) ? " (Auswahl über " + auswahlSpalten.get(tabelle) + ")" : ""));
+        }
+        Logger.info("Teilmenge in " + (System.currentTimeMillis() - start) / 1000 + " Sekunden ermittelt");
+    }
+    
+    /**
+     * Liest die einspaltigen Fremdschlüssel zwischen den migrierten Tabellen und bestimmt die
+     * Tabellen, die über Fremdschlüssel mit den Wurzeln verbunden sind.
+     */
+    private void ermittleBeziehungen(Connection connection, List<String> migrierteTabellen) throws SQLException {
+        Set<String> migriert = new HashSet<>();
+        for (String tabelle : migrierteTabellen) {
+            migriert.add(tabelle.toUpperCase());
+        }
+        
+        for (String tabelle : migriert) {
+            for (SchemaModell.Constraint constraint : schemaModell.getTabelle(connection, tabelle).getConstraints()) {
+                if (!SchemaModell.Constraint.TYP_FREMDSCHLUESSEL.equals(constraint.getTyp())
+                        || constraint.getReferenzTabelle() == null
+                        || !migriert.contains(constraint.getReferenzTabelle().toUpperCase())) {
+                    continue;
+                }
+                if (constraint.getSpalten().size() != 1) {
+                    Logger.warnung("Mehrspaltiger Fremdschlüssel " + constraint.getName() + " wird für die Teilmenge nicht verfolgt");
+                    continue;
+                }
+                
+                Beziehung beziehung = new Beziehung(tabelle, constraint.getSpalten().get(0),
+                        constraint.getReferenzTabelle().toUpperCase(), constraint.getReferenzSpalten().get(0));
+                nachKind.computeIfAbsent(beziehung.kind, k -> new ArrayList<>()).add(beziehung);
+                nachEltern.computeIfAbsent(beziehung.eltern, k -> new ArrayList<>()).add(beziehung);
+            }
+        }
+        
+        // Zusammenhangskomponente der Wurzeln; Tabellen außerhalb werden vollständig exportiert
+        Deque<String> offen = new ArrayDeque<>();
+        for (String wurzel : konfiguration.getTeilmengeWurzeln()) {
+            if (migriert.contains(wurzel.toUpperCase()) && tabellen.add(wurzel.toUpperCase())) {
+                offen.add(wurzel.toUpperCase());
+            }
+        }
+        while (!offen.isEmpty()) {
+            String tabelle = offen.poll();
+            for (Beziehung beziehung : nachKind.getOrDefault(tabelle, Collections.emptyList())) {
+                if (tabellen.add(beziehung.eltern)) {
+                    offen.add(beziehung.eltern);
+                }
+            }
+            for (Beziehung beziehung : nachEltern.getOrDefault(tabelle, Collections.emptyList())) {
+                if (tabellen.add(beziehung.kind)) {
+                    offen.add(beziehung.kind);
+                }
+            }
+        }
+        for (String tabelle : tabellen) {
+            auswahl.put(tabelle, new SchluesselMenge());
+        }
+    }
+    
+    /**
+     * Übernimmt die Elternzeilen, die von den neu ausgewählten Zeilen einer Tabelle referenziert werden.
+     */
+    private void folgeZuEltern(Connection connection, Beziehung beziehung, List<Object> schluessel, Deque<Schritt> offen) throws SQLException {
+        String kindAuswahl = auswahlSpalten.get(beziehung.kind);
+        List<Object> werte = kindAuswahl.equals(beziehung.kindSpalte)
+                ? schluessel
+                : leseWerte(connection, beziehung.kind, beziehung.kindSpalte, kindAuswahl, schluessel, null);
+        
+        List<String> pkSpalten = schemaModell.getTabelle(connection, beziehung.eltern).getPkSpalten();
+        String elternAuswahl = legeAuswahlSpalteFest(beziehung.eltern,
+                pkSpalten.size() == 1 ? pkSpalten.get(0) : beziehung.elternSpalte);
+        
+        List<Object> neu = elternAuswahl.equals(beziehung.elternSpalte)
+                ? uebernimm(beziehung.eltern, werte)
+                : leseWerte(connection, beziehung.eltern, elternAuswahl, beziehung.elternSpalte, werte, auswahl.get(beziehung.eltern));
+        if (!neu.isEmpty()) {
+            offen.add(new Schritt(beziehung.eltern, neu, false));
+        }
+    }
+    
+    /**
+     * Übernimmt die Kindzeilen, die die neu ausgewählten Zeilen einer Tabelle referenzieren.
+     */
+    private void folgeZuKindern(Connection connection, Beziehung beziehung, List<Object> schluessel, Deque<Schritt> offen) throws SQLException {
+        String elternAuswahl = auswahlSpalten.get(beziehung.eltern);
+        List<Object> werte = elternAuswahl.equals(beziehung.elternSpalte)
+                ? schluessel
+                : leseWerte(connection, beziehung.eltern, beziehung.elternSpalte, elternAuswahl, schluessel, null);
+        
+        List<String> pkSpalten = schemaModell.getTabelle(connection, beziehung.kind).getPkSpalten();
+        String kindAuswahl = legeAuswahlSpalteFest(beziehung.kind,
+                pkSpalten.size() == 1 ? pkSpalten.get(0) : beziehung.kindSpalte);
+        
+        // Ohne Primärschlüssel wählt schon der Wert der Fremdschlüsselspalte die Kindzeilen aus
+        List<Object> neu = kindAuswahl.equals(beziehung.kindSpalte)
+                ? uebernimm(beziehung.kind, werte)
+                : leseWerte(connection, beziehung.kind, kindAuswahl, beziehung.kindSpalte, werte, auswahl.get(beziehung.kind));
+        if (!neu.isEmpty()) {
+            offen.add(new Schritt(beziehung.kind, neu, true));
+        }
+    }
+    
+    /**
+     * Legt die Auswahlspalte einer Tabelle beim ersten Erreichen fest und gibt die gültige zurück.
+     */
+    private String legeAuswahlSpalteFest(String tabelle, String spalte) {
+        String vorhanden = auswahlSpalten.putIfAbsent(tabelle, spalte);
+        return vorhanden != null ? vorhanden : spalte;
+    }
+    
+    /**
+     * Fügt Werte der Auswahl einer Tabelle hinzu.
+     * 
+     * @return Die bisher nicht enthaltenen Werte
+     */
+    private List<Object> uebernimm(String tabelle, List<Object> werte) {
+        SchluesselMenge menge = auswahl.get(tabelle);
+        List<Object> neu = new ArrayList<>();
+        for (Object wert : werte) {
+            if (menge.hinzufuegen(wert)) {
+                neu.add(wert);
+            }
+        }
+        return neu;
+    }
+    
+    /**
+     * Liest die Werte einer Spalte für alle Zeilen, deren Filterspalte einen der angegebenen Werte hat,
+     * in IN-Listen zu je IN_LISTE_MAX Parametern.
+     * 
+     * @param ziel Die Menge, in die die Werte übernommen werden, oder null, um alle Werte zurückzugeben
+     * @return Die gelesenen Werte ohne NULL, bei einer Zielmenge nur die dort neuen
+     */
+    private List<Object> leseWerte(Connection connection, String tabelle, String spalte, String filterSpalte,
+                                   List<Object> filterWerte, SchluesselMenge ziel) throws SQLException {
+        SchluesselMenge gelesen = ziel != null ? ziel : new SchluesselMenge();
+        List<Object> ergebnis = new ArrayList<>();
+        String sqlKopf = "SELECT DISTINCT " + spalte + " FROM " + quelle.apply(tabelle) + " WHERE " + spalte + " IS NOT NULL AND ";
+        
+        // Volle IN-Listen verwenden alle dasselbe Statement
+        PreparedStatement vollesStmt = null;
+        try {
+            for (int start = 0; start < filterWerte.size(); start += IN_LISTE_MAX) {
+                List<Object> teil = filterWerte.subList(start, Math.min(filterWerte.size(), start + IN_LISTE_MAX));
+                PreparedStatement stmt;
+                if (teil.size() == IN_LISTE_MAX) {
+                    if (vollesStmt == null) {
+                        vollesStmt = connection.prepareStatement(sqlKopf + DatenChunk.erzeugeInBedingung(filterSpalte, IN_LISTE_MAX));
+                        vollesStmt.setFetchSize(IN_LISTE_MAX);
+                    }
+                    stmt = vollesStmt;
+                } else {
+                    stmt = connection.prepareStatement(sqlKopf + DatenChunk.erzeugeInBedingung(filterSpalte, teil.size()));
+                }
+                
+                try {
+                    DatenChunk.bindeWerte(stmt, 1, teil);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            Object wert = rs.getObject(1);
+                            if (gelesen.hinzufuegen(wert)) {
+                                ergebnis.add(wert);
+                            }
+                        }
+                    }
+                } finally {
+                    if (stmt != vollesStmt) {
+                        stmt.close();
+                    }
+                }
+            }
+        } finally {
+            if (vollesStmt != null) {
+                vollesStmt.close();
+            }
+        }
+        return ergebnis;
+    }
+    
+    /**
+     * Prüft, ob eine Tabelle zum Fremdschlüsselgraphen der Wurzeln gehört und damit nur
+     * mit den ausgewählten Zeilen exportiert wird.
+     */
+    public boolean enthaeltTabelle(String tabellenname) {
+        return tabellen.contains(tabellenname.toUpperCase());
+    }
+    
+    /**
+     * Gibt die Auswahlspalte einer Tabelle zurück.
+     * 
+     * @return Die Spalte oder null, wenn die Tabelle von keiner ausgewählten Zeile erreicht wurde
+     */
+    public String getAuswahlSpalte(String tabellenname) {
+        return auswahlSpalten.get(tabellenname.toUpperCase());
+    }
+    
+    /**
+     * Gibt die ausgewählten Werte der Auswahlspalte einer Tabelle zurück.
+     */
+    public SchluesselMenge getSchluessel(String tabellenname) {
+        SchluesselMenge menge = auswahl.get(tabellenname.toUpperCase());
+        return menge != null ? menge : new SchluesselMenge();
+    }
+}